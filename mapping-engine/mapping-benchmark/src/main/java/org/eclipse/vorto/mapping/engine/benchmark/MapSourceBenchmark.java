@@ -0,0 +1,203 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.Conversion;
+import org.eclipse.vorto.mapping.engine.IDataMapper;
+import org.eclipse.vorto.mapping.engine.converter.JavascriptEvalProvider;
+import org.eclipse.vorto.mapping.engine.converter.binary.BinaryFunctionFactory;
+import org.eclipse.vorto.mapping.engine.converter.binary.SpecBinaryConverter;
+import org.eclipse.vorto.mapping.engine.converter.binary.SpecWithBufferConverter;
+import org.eclipse.vorto.mapping.engine.converter.binary.SpecGattConverter;
+import org.eclipse.vorto.mapping.engine.converter.date.DateFunctionFactory;
+import org.eclipse.vorto.mapping.engine.converter.date.SpecWithTimestamp;
+import org.eclipse.vorto.mapping.engine.converter.javascript.SpecWithCustomFunction;
+import org.eclipse.vorto.mapping.engine.converter.string.StringFunctionFactory;
+import org.eclipse.vorto.mapping.engine.converter.types.TypeFunctionFactory;
+import org.eclipse.vorto.mapping.engine.decoder.CSVDeserializer;
+import org.eclipse.vorto.mapping.engine.decoder.IPayloadDeserializer;
+import org.eclipse.vorto.mapping.engine.decoder.JSONDeserializer;
+import org.eclipse.vorto.mapping.engine.decoder.StreamingJSONDeserializer;
+import org.eclipse.vorto.mapping.engine.model.binary.BinaryData;
+import org.eclipse.vorto.mapping.engine.model.blegatt.GattCharacteristic;
+import org.eclipse.vorto.mapping.engine.model.blegatt.GattDevice;
+import org.eclipse.vorto.mapping.engine.model.blegatt.GattService;
+import org.eclipse.vorto.model.runtime.InfomodelValue;
+import org.eclipse.vorto.service.mapping.spec.SpecWithConditionFunction;
+import org.eclipse.vorto.service.mapping.spec.SpecWithNestedEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import com.google.gson.Gson;
+
+/**
+ * Measures {@link IDataMapper#mapSource(Object)} for the supported source payload types, with and
+ * without converter and javascript functions. Payloads are deserialized once during setup, except
+ * for the benchmarks that explicitly include the deserializer.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapSourceBenchmark {
+
+  private IDataMapper jsonMapper;
+  private IDataMapper jsonConverterMapper;
+  private IDataMapper jsonScriptMapper;
+  private IDataMapper csvMapper;
+  private IDataMapper binaryScriptMapper;
+  private IDataMapper binaryBufferMapper;
+  private IDataMapper gattScriptMapper;
+
+  private IPayloadDeserializer jsonDeserializer = new JSONDeserializer();
+  private IPayloadDeserializer csvDeserializer = new CSVDeserializer();
+  private IPayloadDeserializer streamingJsonDeserializer = new StreamingJSONDeserializer();
+
+  private String jsonPayload;
+  private byte[] jsonPayloadBytes;
+  private Object jsonInput;
+  private Object jsonTimestampInput;
+  private Object jsonClickTypeInput;
+  private String csvPayload;
+  private Object csvInput;
+  private BinaryData binaryInput;
+  private Object gattInput;
+
+  @Setup
+  public void setup() {
+    jsonMapper = IDataMapper.newBuilder().withSpecification(new SpecWithNestedEntity()).build();
+
+    jsonConverterMapper = IDataMapper.newBuilder().withSpecification(new SpecWithTimestamp())
+        .registerConverterFunction(DateFunctionFactory.createFunctions()).build();
+
+    jsonScriptMapper = IDataMapper.newBuilder().withSpecification(new SpecWithCustomFunction())
+        .registerConverterFunction(TypeFunctionFactory.createFunctions())
+        .registerConverterFunction(StringFunctionFactory.createFunctions())
+        .registerScriptEvalProvider(new JavascriptEvalProvider()).build();
+
+    csvMapper =
+        IDataMapper.newBuilder().withSpecification(new SpecWithConditionFunction()).build();
+
+    binaryScriptMapper = IDataMapper.newBuilder().withSpecification(new SpecBinaryConverter())
+        .registerConverterFunction(BinaryFunctionFactory.createFunctions())
+        .registerScriptEvalProvider(new JavascriptEvalProvider()).build();
+
+    binaryBufferMapper = IDataMapper.newBuilder().withSpecification(new SpecWithBufferConverter())
+        .registerConverterFunction(BinaryFunctionFactory.createFunctions()).build();
+
+    gattScriptMapper = IDataMapper.newBuilder().withSpecification(new SpecGattConverter())
+        .registerConverterFunction(BinaryFunctionFactory.createFunctions())
+        .registerScriptEvalProvider(new JavascriptEvalProvider()).build();
+
+    jsonPayload = "{\"temperature\" : 21.3 }";
+    jsonPayloadBytes = jsonPayload.getBytes(StandardCharsets.UTF_8);
+    jsonInput = jsonDeserializer.deserialize(jsonPayload);
+    jsonTimestampInput =
+        jsonDeserializer.deserialize("{\"time\" : " + System.currentTimeMillis() + "}");
+    jsonClickTypeInput = jsonDeserializer.deserialize("{\"clickType\" : \"DOUBLE\"}");
+
+    csvPayload = "1,2,3";
+    csvInput = csvDeserializer.deserialize(csvPayload);
+
+    byte[] dest = new byte[4]; // 2 byte temperature (Byte 1-2), 2 byte humidity (Byte 3-4)
+    Conversion.intToByteArray(2000, 0, dest, 0, 2);
+    Conversion.intToByteArray(8819, 0, dest, 2, 2);
+    binaryInput = new BinaryData(dest);
+
+    gattInput = jsonDeserializer.deserialize(new Gson().toJson(createGattDevice()));
+  }
+
+  private static GattDevice createGattDevice() {
+    byte[] dest = new byte[6];
+    byte[] value = Conversion.intToByteArray(2000, 0, dest, 3, 3);
+
+    List<GattCharacteristic> characteristics = new ArrayList<GattCharacteristic>();
+    characteristics
+        .add(new GattCharacteristic("23-D1-13-EF-5F-78-23-15-DE-EF-12-12-0D-F0-00-00", value));
+
+    GattService gattService = new GattService();
+    gattService.setCharacteristics(characteristics);
+    List<GattService> services = new ArrayList<GattService>();
+    services.add(gattService);
+
+    GattDevice gattDevice = new GattDevice();
+    gattDevice.setModelNumber("23-23-23");
+    gattDevice.setServices(services);
+    gattDevice.setCharacteristics(characteristics);
+    return gattDevice;
+  }
+
+  @Benchmark
+  public InfomodelValue jsonWithoutConverter() {
+    return jsonMapper.mapSource(jsonInput);
+  }
+
+  @Benchmark
+  public InfomodelValue jsonWithoutConverterIncludingDeserializer() {
+    return jsonMapper.mapSource(jsonDeserializer.deserialize(jsonPayload));
+  }
+
+  @Benchmark
+  public InfomodelValue jsonWithoutConverterIncludingStreamingDeserializer() {
+    return jsonMapper.mapSource(streamingJsonDeserializer.deserialize(jsonPayloadBytes));
+  }
+
+  @Benchmark
+  public InfomodelValue jsonWithBuiltInConverter() {
+    return jsonConverterMapper.mapSource(jsonTimestampInput);
+  }
+
+  @Benchmark
+  public InfomodelValue jsonWithBuiltInConverterAndJavascript() {
+    return jsonScriptMapper.mapSource(jsonClickTypeInput);
+  }
+
+  @Benchmark
+  public InfomodelValue csvWithCondition() {
+    return csvMapper.mapSource(csvInput);
+  }
+
+  @Benchmark
+  public InfomodelValue csvWithConditionIncludingDeserializer() {
+    return csvMapper.mapSource(csvDeserializer.deserialize(csvPayload));
+  }
+
+  @Benchmark
+  public InfomodelValue binaryWithBuiltInConverterAndJavascript() {
+    return binaryScriptMapper.mapSource(binaryInput);
+  }
+
+  @Benchmark
+  public InfomodelValue binaryBufferWithBuiltInConverter() {
+    return binaryBufferMapper.mapSource(binaryInput);
+  }
+
+  @Benchmark
+  public InfomodelValue gattWithBuiltInConverterAndJavascript() {
+    return gattScriptMapper.mapSource(gattInput);
+  }
+}
@@ -0,0 +1,75 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine.benchmark;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.vorto.mapping.engine.IDataMapper;
+import org.eclipse.vorto.mapping.engine.functions.ClassFunction;
+import org.eclipse.vorto.mapping.engine.model.spec.IMappingSpecification;
+import org.eclipse.vorto.model.runtime.ModelValueFactory;
+import org.eclipse.vorto.model.runtime.PropertyValue;
+import org.eclipse.vorto.service.mapping.spec.SpecWithConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link IDataMapper#mapTarget(PropertyValue, Optional, String)} of a configuration
+ * property using a java converter function.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapTargetBenchmark {
+
+  private IDataMapper mapper;
+
+  private PropertyValue newValue;
+
+  private Optional<PropertyValue> oldValue;
+
+  @Setup
+  public void setup() {
+    IMappingSpecification spec = new SpecWithConfiguration();
+    mapper = IDataMapper.newBuilder().withSpecification(spec)
+        .registerConverterFunction(new ClassFunction("button", MapTargetBenchmark.class))
+        .build();
+
+    newValue =
+        ModelValueFactory.createFBPropertyValue(spec.getFunctionBlock("button"), "enable", true);
+    oldValue = Optional.of(
+        ModelValueFactory.createFBPropertyValue(spec.getFunctionBlock("button"), "enable", false));
+  }
+
+  @Benchmark
+  public Object configurationWithConverter() {
+    return mapper.mapTarget(newValue, oldValue, "button");
+  }
+
+  public static Object convertEnable(Map<String, Object> ctx) {
+    return ((Boolean) ctx.get("newValue")).booleanValue() ? "1" : "0";
+  }
+}
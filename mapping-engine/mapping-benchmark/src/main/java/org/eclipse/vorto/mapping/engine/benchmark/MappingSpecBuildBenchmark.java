@@ -0,0 +1,84 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.io.IOUtils;
+import org.eclipse.vorto.mapping.engine.IDataMapper;
+import org.eclipse.vorto.mapping.engine.converter.JavascriptEvalProvider;
+import org.eclipse.vorto.mapping.engine.converter.binary.BinaryFunctionFactory;
+import org.eclipse.vorto.mapping.engine.model.spec.IMappingSpecification;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures loading a mapping specification from its JSON representation and building a data
+ * mapper from it.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingSpecBuildBenchmark {
+
+  private byte[] specification;
+
+  private IMappingSpecification parsedSpecification;
+
+  @Setup
+  public void setup() throws IOException {
+    try (InputStream input = MappingSpecBuildBenchmark.class.getClassLoader()
+        .getResourceAsStream("mappingspec.json")) {
+      specification = IOUtils.toByteArray(input);
+    }
+    parsedSpecification = readSpecification();
+  }
+
+  private IMappingSpecification readSpecification() {
+    return IMappingSpecification.newBuilder()
+        .fromInputStream(new ByteArrayInputStream(specification)).build();
+  }
+
+  @Benchmark
+  public IMappingSpecification buildSpecification() {
+    return readSpecification();
+  }
+
+  @Benchmark
+  public IDataMapper buildMapper() {
+    return IDataMapper.newBuilder().withSpecification(parsedSpecification)
+        .registerConverterFunction(BinaryFunctionFactory.createFunctions())
+        .registerScriptEvalProvider(new JavascriptEvalProvider()).build();
+  }
+
+  @Benchmark
+  public IDataMapper buildSpecificationAndMapper() {
+    return IDataMapper.newBuilder().withSpecification(readSpecification())
+        .registerConverterFunction(BinaryFunctionFactory.createFunctions())
+        .registerScriptEvalProvider(new JavascriptEvalProvider()).build();
+  }
+}
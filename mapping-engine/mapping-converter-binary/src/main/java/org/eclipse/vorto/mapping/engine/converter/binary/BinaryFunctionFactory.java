@@ -27,6 +27,8 @@ public class BinaryFunctionFactory {
       new ClassFunction("vorto_conversion2", DatatypeConverter.class);
   private static final IFunction FUNC_BASE64 = new ClassFunction("vorto_base64", Base64.class);
   private static final IFunction FUNC_ENDIAN = new ClassFunction("vorto_endian", EndianUtils.class);
+  private static final IFunction FUNC_BINARY =
+      new ClassFunction("vorto_binary", BinaryFunctions.class);
 
   @Deprecated
   private static final IFunction FUNC_CONVERSION_OLD =
@@ -40,8 +42,8 @@ public class BinaryFunctionFactory {
   private static final IFunction FUNC_ENDIAN_OLD = new ClassFunction("endian", EndianUtils.class);
 
   public static IFunction[] createFunctions() {
-    return Arrays.asList(FUNC_CONVERSION, FUNC_CONVERSION2, FUNC_BASE64, FUNC_ENDIAN,
+    return Arrays.asList(FUNC_CONVERSION, FUNC_CONVERSION2, FUNC_BASE64, FUNC_ENDIAN, FUNC_BINARY,
         FUNC_CONVERSION_OLD, FUNC_CONVERSION2_OLD, FUNC_BASE64_OLD, FUNC_ENDIAN_OLD)
-        .toArray(new IFunction[8]);
+        .toArray(new IFunction[9]);
   }
 }
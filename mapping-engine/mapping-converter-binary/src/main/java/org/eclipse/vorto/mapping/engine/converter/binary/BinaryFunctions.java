@@ -0,0 +1,103 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine.converter.binary;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Converter functions reading numbers directly from the <code>buffer</code> of a
+ * {@link org.eclipse.vorto.mapping.engine.model.binary.BinaryData} payload, e.g.
+ * <code>vorto_binary:getInt16LE(buffer, 2)</code>. Offsets are byte offsets from the start of the
+ * payload. No intermediate arrays are created and the buffer position is left untouched.
+ *
+ */
+public final class BinaryFunctions {
+
+  private BinaryFunctions() {}
+
+  public static int getInt8(ByteBuffer buffer, int offset) {
+    return buffer.get(offset);
+  }
+
+  public static int getUInt8(ByteBuffer buffer, int offset) {
+    return buffer.get(offset) & 0xFF;
+  }
+
+  public static int getInt16LE(ByteBuffer buffer, int offset) {
+    return (short) getUInt16LE(buffer, offset);
+  }
+
+  public static int getInt16BE(ByteBuffer buffer, int offset) {
+    return (short) getUInt16BE(buffer, offset);
+  }
+
+  public static int getUInt16LE(ByteBuffer buffer, int offset) {
+    return (buffer.get(offset) & 0xFF) | (buffer.get(offset + 1) & 0xFF) << 8;
+  }
+
+  public static int getUInt16BE(ByteBuffer buffer, int offset) {
+    return (buffer.get(offset) & 0xFF) << 8 | (buffer.get(offset + 1) & 0xFF);
+  }
+
+  public static int getInt24LE(ByteBuffer buffer, int offset) {
+    return getUInt24LE(buffer, offset) << 8 >> 8;
+  }
+
+  public static int getInt24BE(ByteBuffer buffer, int offset) {
+    return getUInt24BE(buffer, offset) << 8 >> 8;
+  }
+
+  public static int getUInt24LE(ByteBuffer buffer, int offset) {
+    return getUInt16LE(buffer, offset) | (buffer.get(offset + 2) & 0xFF) << 16;
+  }
+
+  public static int getUInt24BE(ByteBuffer buffer, int offset) {
+    return getUInt16BE(buffer, offset) << 8 | (buffer.get(offset + 2) & 0xFF);
+  }
+
+  public static int getInt32LE(ByteBuffer buffer, int offset) {
+    return getUInt16LE(buffer, offset) | getUInt16LE(buffer, offset + 2) << 16;
+  }
+
+  public static int getInt32BE(ByteBuffer buffer, int offset) {
+    return getUInt16BE(buffer, offset) << 16 | getUInt16BE(buffer, offset + 2);
+  }
+
+  public static long getUInt32LE(ByteBuffer buffer, int offset) {
+    return getInt32LE(buffer, offset) & 0xFFFFFFFFL;
+  }
+
+  public static long getUInt32BE(ByteBuffer buffer, int offset) {
+    return getInt32BE(buffer, offset) & 0xFFFFFFFFL;
+  }
+
+  public static float getFloat32LE(ByteBuffer buffer, int offset) {
+    return Float.intBitsToFloat(getInt32LE(buffer, offset));
+  }
+
+  public static float getFloat32BE(ByteBuffer buffer, int offset) {
+    return Float.intBitsToFloat(getInt32BE(buffer, offset));
+  }
+
+  /**
+   * Reads a single bit, e.g. a flag of a status byte
+   * 
+   * @param buffer payload
+   * @param offset byte offset
+   * @param bit index of the bit within the byte, 0 being the least significant bit
+   * @return whether the bit is set
+   */
+  public static boolean getBit(ByteBuffer buffer, int offset, int bit) {
+    return (buffer.get(offset) >> bit & 1) == 1;
+  }
+}
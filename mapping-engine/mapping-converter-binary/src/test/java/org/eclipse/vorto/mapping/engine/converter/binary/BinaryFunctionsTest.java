@@ -0,0 +1,81 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine.converter.binary;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import org.eclipse.vorto.mapping.engine.IDataMapper;
+import org.eclipse.vorto.mapping.engine.converter.JavascriptEvalProvider;
+import org.eclipse.vorto.mapping.engine.model.binary.BinaryData;
+import org.eclipse.vorto.model.runtime.InfomodelValue;
+import org.junit.Test;
+
+public class BinaryFunctionsTest {
+
+  private static final byte[] PAYLOAD =
+      {(byte) 0xFE, (byte) 0xFF, 0x01, 0x02, 0x03, (byte) 0x80, 0x00, 0x00, (byte) 0xC0, 0x3F};
+
+  @Test
+  public void testReadIntegers() {
+    ByteBuffer buffer = ByteBuffer.wrap(PAYLOAD);
+
+    assertEquals(-2, BinaryFunctions.getInt8(buffer, 0));
+    assertEquals(254, BinaryFunctions.getUInt8(buffer, 0));
+    assertEquals(-2, BinaryFunctions.getInt16LE(buffer, 0));
+    assertEquals(0xFEFF, BinaryFunctions.getUInt16BE(buffer, 0));
+    assertEquals(0x0201, BinaryFunctions.getInt16LE(buffer, 2));
+    assertEquals(0x0102, BinaryFunctions.getInt16BE(buffer, 2));
+    assertEquals(0x030201, BinaryFunctions.getUInt24LE(buffer, 2));
+    assertEquals(-0x7FFCFE, BinaryFunctions.getInt24LE(buffer, 3));
+    assertEquals(0x80030201, BinaryFunctions.getInt32LE(buffer, 2));
+    assertEquals(0x80030201L, BinaryFunctions.getUInt32LE(buffer, 2));
+    assertEquals(0x01020380, BinaryFunctions.getInt32BE(buffer, 2));
+    assertEquals(1.5f, BinaryFunctions.getFloat32LE(buffer, 6), 0.0f);
+    assertTrue(BinaryFunctions.getBit(buffer, 5, 7));
+    assertFalse(BinaryFunctions.getBit(buffer, 5, 6));
+    assertEquals(0, buffer.position());
+  }
+
+  @Test
+  public void testMapBufferWithoutCopying() {
+    IDataMapper mapper = IDataMapper.newBuilder().withSpecification(new SpecWithBufferConverter())
+        .registerConverterFunction(BinaryFunctionFactory.createFunctions()).build();
+
+    ByteBuffer frame = ByteBuffer.allocate(5).order(ByteOrder.LITTLE_ENDIAN);
+    frame.put((byte) 0x7F).putShort((short) -2000).putShort((short) 8819);
+    frame.flip();
+    frame.get(); // skip the frame header
+
+    InfomodelValue mapped = mapper.mapSource(new BinaryData(frame));
+    assertEquals(-2000, mapped.get("temperature").getStatusProperty("value").get().getValue());
+    assertEquals(8819, mapped.get("humidity").getStatusProperty("value").get().getValue());
+  }
+
+  @Test
+  public void testMapBufferWithArrayConversion() {
+    IDataMapper mapper = IDataMapper.newBuilder().withSpecification(new SpecBinaryConverter())
+        .registerConverterFunction(BinaryFunctionFactory.createFunctions())
+        .registerScriptEvalProvider(new JavascriptEvalProvider()).build();
+
+    ByteBuffer buffer = ByteBuffer.allocateDirect(4);
+    buffer.put((byte) 0xD0).put((byte) 0x07).put((byte) 0x73).put((byte) 0x22);
+    buffer.flip();
+
+    InfomodelValue mapped = mapper.mapSource(new BinaryData(buffer));
+    assertEquals(20.00, mapped.get("temperature").getStatusProperty("value").get().getValue());
+    assertEquals(88.19, mapped.get("humidity").getStatusProperty("value").get().getValue());
+  }
+}
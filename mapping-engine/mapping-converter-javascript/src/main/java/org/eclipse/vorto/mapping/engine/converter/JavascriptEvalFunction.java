@@ -14,8 +14,11 @@ package org.eclipse.vorto.mapping.engine.converter;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import javax.script.Bindings;
-import javax.script.Invocable;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
 import javax.script.ScriptContext;
 import javax.script.ScriptEngine;
 import javax.script.ScriptException;
@@ -26,46 +29,50 @@ import org.apache.commons.jxpath.JXPathException;
 import org.apache.commons.jxpath.JXPathInvalidAccessException;
 import org.apache.commons.jxpath.util.TypeUtils;
 import jdk.nashorn.api.scripting.ClassFilter;
+import jdk.nashorn.api.scripting.JSObject;
+import jdk.nashorn.api.scripting.NashornException;
 import jdk.nashorn.api.scripting.NashornScriptEngineFactory;
 
+/**
+ * Javascript converter function. The function body is compiled once per function and evaluated
+ * into sandboxed script globals, which are pooled and reused across invocations. A pooled global is
+ * only ever used by one thread at a time, so a function can be invoked concurrently.
+ *
+ */
 @SuppressWarnings("restriction")
 public class JavascriptEvalFunction implements Function {
 
+  private static final int DEFAULT_POOL_SIZE = Runtime.getRuntime().availableProcessors() * 2;
+
+  private static final NashornScriptEngineFactory ENGINE_FACTORY =
+      new NashornScriptEngineFactory();
+
+  private static final String[] RESTRICTED_GLOBALS =
+      {"print", "load", "loadWithNewGlobal", "exit", "quit"};
+
   private String functionName;
 
   private String functionBody;
 
+  private ScriptEngine engine;
+
+  private volatile CompiledScript compiledScript;
+
+  private final BlockingQueue<Bindings> sandboxPool;
+
   public JavascriptEvalFunction(String funcName, String funcBody) {
+    this(funcName, funcBody, DEFAULT_POOL_SIZE);
+  }
+
+  public JavascriptEvalFunction(String funcName, String funcBody, int poolSize) {
     this.functionName = funcName;
     this.functionBody = funcBody;
+    this.sandboxPool = new ArrayBlockingQueue<>(poolSize);
   }
 
   @Override
   @SuppressWarnings({"rawtypes"})
   public Object invoke(ExpressionContext context, Object[] parameters) {
-    NashornScriptEngineFactory factory = new NashornScriptEngineFactory();
-    ScriptEngine engine = factory.getScriptEngine(new ClassFilter() {
-
-      @Override
-      public boolean exposeToScripts(String s) {
-        return false;
-      }
-
-    });
-    try {
-      final Bindings bindings = engine.getBindings(ScriptContext.ENGINE_SCOPE);
-      bindings.remove("print");
-      bindings.remove("load");
-      bindings.remove("loadWithNewGlobal");
-      bindings.remove("exit");
-      bindings.remove("quit");
-      engine.eval(functionBody);
-
-    } catch (ScriptException e) {
-      throw new JXPathException("Problem evaluating " + functionName, e);
-    }
-
-    Invocable inv = (Invocable) engine;
     Object[] args;
     int pi = 0;
     Class[] types = toTypes(parameters);
@@ -80,12 +87,84 @@ public class JavascriptEvalFunction implements Function {
       args[i + pi] = TypeUtils.convert(parameters[i], types[i + pi]);
     }
 
+    Bindings sandbox = acquireSandbox();
     try {
-      return inv.invokeFunction(functionName, unwrap(args));
-    } catch (NoSuchMethodException e) {
-      throw new JXPathInvalidAccessException("Cannot find function with the list of parameters", e);
-    } catch (ScriptException e) {
+      Object function = sandbox.get(functionName);
+      if (!(function instanceof JSObject) || !((JSObject) function).isFunction()) {
+        throw new JXPathInvalidAccessException("Cannot find function with the list of parameters",
+            new NoSuchMethodException(functionName));
+      }
+      return ((JSObject) function).call(null, unwrap(args));
+    } catch (JXPathException e) {
+      throw e;
+    } catch (NashornException e) {
+      throw new JXPathInvalidAccessException("Problem executing javascript",
+          new ScriptException(e));
+    } catch (RuntimeException e) {
       throw new JXPathInvalidAccessException("Problem executing javascript", e);
+    } finally {
+      releaseSandbox(sandbox);
+    }
+  }
+
+  private Bindings acquireSandbox() {
+    Bindings sandbox = sandboxPool.poll();
+    if (sandbox != null) {
+      return sandbox;
+    }
+    CompiledScript script = getCompiledScript();
+    sandbox = script.getEngine().createBindings();
+    removeRestrictedGlobals(sandbox);
+    try {
+      script.eval(sandbox);
+    } catch (ScriptException e) {
+      throw new JXPathException("Problem evaluating " + functionName, e);
+    }
+    return sandbox;
+  }
+
+  private void releaseSandbox(Bindings sandbox) {
+    // a full pool means the sandbox is surplus, so it is left to the garbage collector
+    sandboxPool.offer(sandbox);
+  }
+
+  private CompiledScript getCompiledScript() {
+    CompiledScript script = compiledScript;
+    if (script == null) {
+      synchronized (this) {
+        script = compiledScript;
+        if (script == null) {
+          try {
+            script = ((Compilable) getEngine()).compile(functionBody);
+          } catch (ScriptException e) {
+            throw new JXPathException("Problem evaluating " + functionName, e);
+          }
+          compiledScript = script;
+        }
+      }
+    }
+    return script;
+  }
+
+  private ScriptEngine getEngine() {
+    if (engine == null) {
+      engine = ENGINE_FACTORY.getScriptEngine(new ClassFilter() {
+
+        @Override
+        public boolean exposeToScripts(String s) {
+          return false;
+        }
+
+      });
+      // unresolved names of every sandbox fall back to the engine scope of the engine context
+      removeRestrictedGlobals(engine.getBindings(ScriptContext.ENGINE_SCOPE));
+    }
+    return engine;
+  }
+
+  private static void removeRestrictedGlobals(Bindings bindings) {
+    for (String restricted : RESTRICTED_GLOBALS) {
+      bindings.remove(restricted);
     }
   }
 
@@ -114,7 +193,7 @@ public class JavascriptEvalFunction implements Function {
         }
       } else {
         result.add(Object.class);
-      }  
+      }
     }
     return result.toArray(new Class[parameters.length]);
   }
@@ -13,9 +13,9 @@
 package org.eclipse.vorto.mapping.engine.converter;
 
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.commons.jxpath.Function;
 import org.apache.commons.jxpath.Functions;
 import org.eclipse.vorto.mapping.engine.functions.IScriptEvaluator;
@@ -25,15 +25,15 @@ public class JavascriptFunctions implements Functions, IScriptEvaluator {
 
   private String namespace;
 
-  private Map<String, String> functions;
+  private Map<String, JavascriptEvalFunction> functions;
 
   public JavascriptFunctions(String namespace) {
     this.namespace = namespace;
-    this.functions = new HashMap<String, String>();
+    this.functions = new ConcurrentHashMap<String, JavascriptEvalFunction>();
   }
 
   public void addFunction(String functionName, String functionBody) {
-    this.functions.put(functionName, functionBody);
+    this.functions.put(functionName, new JavascriptEvalFunction(functionName, functionBody));
   }
 
   @SuppressWarnings("rawtypes")
@@ -48,11 +48,7 @@ public class JavascriptFunctions implements Functions, IScriptEvaluator {
       return null;
     }
 
-    if (!this.functions.containsKey(name)) {
-      return null;
-    }
-
-    return new JavascriptEvalFunction(name, functions.get(name));
+    return this.functions.get(name);
   }
 
   @Override
@@ -62,7 +58,7 @@ public class JavascriptFunctions implements Functions, IScriptEvaluator {
 
   @Override
   public void addScriptFunction(ScriptClassFunction function) {
-    this.functions.put(function.getName(), function.getValue());
+    addFunction(function.getName(), function.getValue());
   }
 
 }
@@ -14,6 +14,11 @@ package org.eclipse.vorto.mapping.engine.converter.javascript;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.eclipse.vorto.mapping.engine.IDataMapper;
 import org.eclipse.vorto.mapping.engine.MappingException;
 import org.eclipse.vorto.mapping.engine.converter.JavascriptEvalProvider;
@@ -60,6 +65,27 @@ public class JsonMappingTest {
     assertEquals("#H",buttonFunctionblockData.getStatusProperty("flag").get().getValue());
   }
   
+  @Test
+  public void testInvokeJsFunctionConcurrently() throws Exception {
+    IDataMapper mapper = IDataMapper.newBuilder().withSpecification(new SpecWithMultipleParams())
+        .registerScriptEvalProvider(new JavascriptEvalProvider()).build();
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<Object>> results = new ArrayList<>();
+      for (int i = 0; i < 100; i++) {
+        final String prefix = Integer.toString(i);
+        results.add(executor.submit(() -> mapper.mapSource(new MyData("Hallo".getBytes(), prefix))
+            .get("button").getStatusProperty("flag").get().getValue()));
+      }
+      for (int i = 0; i < results.size(); i++) {
+        assertEquals(i + "H", results.get(i).get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
   @Test
   public void testMapNestedEntityWithCustomFunction() {
     IDataMapper mapper = IDataMapper.newBuilder().withSpecification(new SpecWithNestedEntityAndCustomFunction())
@@ -12,12 +12,14 @@
  */
 package org.eclipse.vorto.mapping.engine;
 
+import java.util.concurrent.ForkJoinPool;
 import org.eclipse.vorto.mapping.engine.functions.ClassFunction;
 import org.eclipse.vorto.mapping.engine.functions.IFunction;
 import org.eclipse.vorto.mapping.engine.functions.IScriptEvalProvider;
 import org.eclipse.vorto.mapping.engine.internal.DataMapperJxpath;
 import org.eclipse.vorto.mapping.engine.internal.functions.CustomFunctionsLibrary;
 import org.eclipse.vorto.mapping.engine.internal.functions.Jxpath;
+import org.eclipse.vorto.mapping.engine.internal.plan.MappingPlan;
 import org.eclipse.vorto.mapping.engine.model.spec.IMappingSpecification;
 
 public class DataMapperBuilder {
@@ -32,6 +34,8 @@ public class DataMapperBuilder {
 
   private IScriptEvalProvider provider = null;
 
+  private ForkJoinPool batchExecutor = null;
+
   protected DataMapperBuilder() {
     registerConditionFunction(FUNC_XPATH);
   }
@@ -55,9 +59,22 @@ public class DataMapperBuilder {
     return this;
   }
 
+  /**
+   * Maps batches passed to {@link IDataMapper#mapSourceBatch(java.util.List)} in parallel, using
+   * the given pool. By default, batches are mapped in the calling thread.
+   * 
+   * @param batchExecutor pool to map batches with
+   * @return this builder
+   */
+  public DataMapperBuilder withBatchExecutor(ForkJoinPool batchExecutor) {
+    this.batchExecutor = batchExecutor;
+    return this;
+  }
+
   public IDataMapper build() {
     this.functionLibrary.addConverterFunctions(specification.getScriptFunctions(this.provider));
-    return new DataMapperJxpath(specification, functionLibrary);
+    return new DataMapperJxpath(MappingPlan.compile(specification, functionLibrary),
+        functionLibrary, batchExecutor);
   }
 
   public DataMapperBuilder withSpecification(IMappingSpecification specification) {
@@ -12,12 +12,18 @@
  */
 package org.eclipse.vorto.mapping.engine;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.eclipse.vorto.model.runtime.InfomodelValue;
 import org.eclipse.vorto.model.runtime.PropertyValue;
 
 /**
  * Data Mapper that maps specific device payload to Vorto compliant data and vica versa.
+ * 
+ * Mappers created by {@link #newBuilder()} are thread-safe, so one mapper per specification can be
+ * shared by all threads mapping payloads of that specification.
  *
  * @param <Result>
  */
@@ -42,6 +48,37 @@ public interface IDataMapper {
    */
   InfomodelValue mapSource(Object input);
 
+  /**
+   * Maps the given source objects to Vorto compliant data structures. A source object that fails
+   * to map does not abort the batch, but is reported as a failed {@link MappingResult}.
+   * 
+   * @param inputs source input data that is supposed to get mapped.
+   * @return mapping results in the order of the given inputs
+   */
+  default List<MappingResult> mapSourceBatch(List<?> inputs) {
+    return mapSourceStream(inputs.stream()).collect(Collectors.toList());
+  }
+
+  /**
+   * Lazily maps the given stream of source objects to Vorto compliant data structures. A source
+   * object that fails to map is reported as a failed {@link MappingResult}.
+   * 
+   * @param inputs source input data that is supposed to get mapped.
+   * @return stream of mapping results, ordered like the given stream
+   */
+  default Stream<MappingResult> mapSourceStream(Stream<?> inputs) {
+    return inputs.map(input -> {
+      try {
+        return MappingResult.success(input, mapSource(input));
+      } catch (MappingException ex) {
+        return MappingResult.failure(input, ex);
+      } catch (RuntimeException ex) {
+        return MappingResult.failure(input,
+            new MappingException("A problem occured during mapping", ex));
+      }
+    });
+  }
+
   /**
    * Maps the given new property
    * 
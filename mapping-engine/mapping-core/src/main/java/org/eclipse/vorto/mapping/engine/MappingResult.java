@@ -0,0 +1,73 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine;
+
+import org.eclipse.vorto.model.runtime.InfomodelValue;
+
+/**
+ * Outcome of mapping a single source object of a batch. A failing item does not abort the batch,
+ * but is reported with the cause of the failure.
+ *
+ */
+public class MappingResult {
+
+  private Object input;
+
+  private InfomodelValue value;
+
+  private MappingException error;
+
+  private MappingResult(Object input, InfomodelValue value, MappingException error) {
+    this.input = input;
+    this.value = value;
+    this.error = error;
+  }
+
+  public static MappingResult success(Object input, InfomodelValue value) {
+    return new MappingResult(input, value, null);
+  }
+
+  public static MappingResult failure(Object input, MappingException error) {
+    return new MappingResult(input, null, error);
+  }
+
+  /**
+   * @return the source object that was mapped
+   */
+  public Object getInput() {
+    return input;
+  }
+
+  public boolean isSuccess() {
+    return error == null;
+  }
+
+  /**
+   * @return the mapped value or null if the mapping failed
+   */
+  public InfomodelValue getValue() {
+    return value;
+  }
+
+  /**
+   * @return the cause of the failure or null if the mapping succeeded
+   */
+  public MappingException getError() {
+    return error;
+  }
+
+  @Override
+  public String toString() {
+    return "MappingResult [input=" + input + ", value=" + value + ", error=" + error + "]";
+  }
+}
@@ -12,7 +12,20 @@
  */
 package org.eclipse.vorto.mapping.engine.decoder;
 
+import java.nio.charset.StandardCharsets;
+
 public interface IPayloadDeserializer {
 
   Object deserialize(String source);
+
+  /**
+   * Deserializes the given UTF-8 encoded payload. Implementations that can parse bytes directly
+   * should override this method, as the default decodes the payload into a String first.
+   * 
+   * @param source UTF-8 encoded payload
+   * @return deserialized payload
+   */
+  default Object deserialize(byte[] source) {
+    return deserialize(new String(source, StandardCharsets.UTF_8));
+  }
 }
@@ -12,6 +12,9 @@
  */
 package org.eclipse.vorto.mapping.engine.decoder;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 
@@ -24,4 +27,11 @@ public class JSONDeserializer implements IPayloadDeserializer {
     return gson.fromJson((String)source, Object.class); 
   }
 
+  @Override
+  public Object deserialize(byte[] source) {
+    return gson.fromJson(
+        new InputStreamReader(new ByteArrayInputStream(source), StandardCharsets.UTF_8),
+        Object.class);
+  }
+
 }
@@ -0,0 +1,74 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine.decoder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import org.apache.commons.io.IOUtils;
+import org.eclipse.vorto.mapping.engine.MappingException;
+import org.eclipse.vorto.mapping.engine.decoder.json.JsonArrayNode;
+import org.eclipse.vorto.mapping.engine.decoder.json.JsonNodes;
+import org.eclipse.vorto.mapping.engine.decoder.json.JsonObjectNode;
+
+/**
+ * JSON deserializer which indexes the UTF-8 encoded payload in a single pass instead of building a
+ * tree of Java objects. Objects and arrays are returned as read-only {@link JsonObjectNode} and
+ * {@link JsonArrayNode} views, whose values are only materialized when the mapping accesses them.
+ * Numbers are materialized as {@link Double}, just like with the {@link JSONDeserializer}.
+ *
+ */
+public class StreamingJSONDeserializer implements IPayloadDeserializer {
+
+  @Override
+  public Object deserialize(String source) {
+    return deserialize(source.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Override
+  public Object deserialize(byte[] source) {
+    return JsonNodes.parse(source, 0, source.length);
+  }
+
+  /**
+   * Deserializes the remaining bytes of the given buffer. A heap buffer is parsed in place, so it
+   * must not be modified as long as the deserialized payload is in use.
+   * 
+   * @param source buffer containing the UTF-8 encoded payload
+   * @return deserialized payload
+   */
+  public Object deserialize(ByteBuffer source) {
+    if (source.hasArray()) {
+      return JsonNodes.parse(source.array(), source.arrayOffset() + source.position(),
+          source.remaining());
+    }
+    byte[] bytes = new byte[source.remaining()];
+    source.duplicate().get(bytes);
+    return deserialize(bytes);
+  }
+
+  /**
+   * Deserializes the given stream, which is read to its end but not closed.
+   * 
+   * @param source stream of the UTF-8 encoded payload
+   * @return deserialized payload
+   */
+  public Object deserialize(InputStream source) {
+    try {
+      return deserialize(IOUtils.toByteArray(source));
+    } catch (IOException e) {
+      throw new MappingException("Problem reading payload", e);
+    }
+  }
+}
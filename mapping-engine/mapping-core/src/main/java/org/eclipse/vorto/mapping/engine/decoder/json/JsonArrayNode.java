@@ -0,0 +1,59 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine.decoder.json;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * Read-only JSON array backed by a {@link JsonTape}. Elements are materialized on first access.
+ *
+ */
+public final class JsonArrayNode extends AbstractList<Object> implements RandomAccess {
+
+  private final JsonTape tape;
+
+  private final int index;
+
+  private int[] elements;
+
+  JsonArrayNode(JsonTape tape, int index) {
+    this.tape = tape;
+    this.index = index;
+  }
+
+  @Override
+  public Object get(int i) {
+    if (i < 0 || i >= size()) {
+      throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + size());
+    }
+    return tape.value(elements()[i]);
+  }
+
+  @Override
+  public int size() {
+    return tape.count(index);
+  }
+
+  private int[] elements() {
+    if (elements == null) {
+      int[] positions = new int[size()];
+      int i = 0;
+      for (int element = index + 1; element < tape.next(index); element = tape.next(element)) {
+        positions[i++] = element;
+      }
+      elements = positions;
+    }
+    return elements;
+  }
+}
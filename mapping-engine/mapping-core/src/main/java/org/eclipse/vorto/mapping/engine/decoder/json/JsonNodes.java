@@ -0,0 +1,38 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine.decoder.json;
+
+import org.eclipse.vorto.mapping.engine.MappingException;
+
+/**
+ * Entry point for parsing UTF-8 encoded JSON into lazily materialized nodes.
+ *
+ */
+public final class JsonNodes {
+
+  private JsonNodes() {}
+
+  /**
+   * Parses the given JSON document
+   * 
+   * @param data buffer containing the UTF-8 encoded document
+   * @param offset offset of the document within the buffer
+   * @param length length of the document in bytes
+   * @return a {@link JsonObjectNode}, {@link JsonArrayNode}, {@link String}, {@link Double},
+   *         {@link Boolean} or null
+   * @throws MappingException if the document is not valid JSON
+   */
+  public static Object parse(byte[] data, int offset, int length) {
+    return JsonTape.parse(data, offset, length).value(0);
+  }
+}
@@ -0,0 +1,122 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine.decoder.json;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Read-only JSON object backed by a {@link JsonTape}. Members are looked up on the tape and their
+ * values are materialized on first access.
+ *
+ */
+public final class JsonObjectNode extends AbstractMap<String, Object> {
+
+  private final JsonTape tape;
+
+  private final int index;
+
+  private Set<Map.Entry<String, Object>> entrySet;
+
+  JsonObjectNode(JsonTape tape, int index) {
+    this.tape = tape;
+    this.index = index;
+  }
+
+  @Override
+  public Object get(Object key) {
+    final int valueIndex = find(key);
+    return valueIndex < 0 ? null : tape.value(valueIndex);
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return find(key) >= 0;
+  }
+
+  @Override
+  public int size() {
+    return tape.count(index);
+  }
+
+  /**
+   * @return the member names in document order
+   */
+  public String[] keys() {
+    String[] keys = new String[size()];
+    int i = 0;
+    for (int keyIndex = index + 1; keyIndex < tape.next(index); keyIndex =
+        tape.next(keyIndex + 1)) {
+      keys[i++] = tape.string(keyIndex);
+    }
+    return keys;
+  }
+
+  @Override
+  public Set<Map.Entry<String, Object>> entrySet() {
+    if (entrySet == null) {
+      entrySet = new EntrySet();
+    }
+    return entrySet;
+  }
+
+  private int find(Object key) {
+    if (!(key instanceof String)) {
+      return -1;
+    }
+    final String name = (String) key;
+    for (int keyIndex = index + 1; keyIndex < tape.next(index); keyIndex =
+        tape.next(keyIndex + 1)) {
+      if (tape.keyEquals(keyIndex, name)) {
+        return keyIndex + 1;
+      }
+    }
+    return -1;
+  }
+
+  private final class EntrySet extends AbstractSet<Map.Entry<String, Object>> {
+
+    @Override
+    public int size() {
+      return JsonObjectNode.this.size();
+    }
+
+    @Override
+    public Iterator<Map.Entry<String, Object>> iterator() {
+      return new Iterator<Map.Entry<String, Object>>() {
+
+        private int keyIndex = index + 1;
+
+        @Override
+        public boolean hasNext() {
+          return keyIndex < tape.next(index);
+        }
+
+        @Override
+        public Map.Entry<String, Object> next() {
+          if (!hasNext()) {
+            throw new NoSuchElementException();
+          }
+          Map.Entry<String, Object> entry = new AbstractMap.SimpleImmutableEntry<>(
+              tape.string(keyIndex), tape.value(keyIndex + 1));
+          keyIndex = tape.next(keyIndex + 1);
+          return entry;
+        }
+      };
+    }
+  }
+}
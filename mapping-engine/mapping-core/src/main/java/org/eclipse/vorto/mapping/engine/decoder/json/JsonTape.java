@@ -0,0 +1,408 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine.decoder.json;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.eclipse.vorto.mapping.engine.MappingException;
+
+/**
+ * Structural index of a UTF-8 encoded JSON document. The document is scanned once and every value
+ * is recorded as a tape entry pointing into the original bytes. Strings, numbers and nested nodes
+ * are only materialized when they are accessed.
+ * 
+ * Entries of an object are the key entry followed by the value entry of every member, entries of
+ * an array are its elements. For containers, {@link #ends} holds the number of members or elements
+ * instead of a byte offset.
+ *
+ */
+final class JsonTape {
+
+  static final byte OBJECT = 1;
+  static final byte ARRAY = 2;
+  static final byte STRING = 3;
+  static final byte NUMBER = 4;
+  static final byte TRUE = 5;
+  static final byte FALSE = 6;
+  static final byte NULL = 7;
+
+  private static final byte TYPE_MASK = 0x0F;
+  private static final byte ESCAPED = 0x10;
+
+  private static final int MAX_DEPTH = 512;
+
+  private final byte[] data;
+
+  private final int limit;
+
+  private byte[] types;
+
+  private int[] starts;
+
+  private int[] ends;
+
+  private int[] next;
+
+  private int size;
+
+  private int pos;
+
+  private Object[] values;
+
+  private JsonTape(byte[] data, int offset, int length) {
+    this.data = data;
+    this.pos = offset;
+    this.limit = offset + length;
+    int capacity = Math.max(16, length / 8);
+    this.types = new byte[capacity];
+    this.starts = new int[capacity];
+    this.ends = new int[capacity];
+    this.next = new int[capacity];
+  }
+
+  /**
+   * Indexes the given JSON document
+   * 
+   * @param data buffer containing the UTF-8 encoded document
+   * @param offset offset of the document within the buffer
+   * @param length length of the document in bytes
+   * @return the tape of the document, whose root value is at index 0
+   * @throws MappingException if the document is not valid JSON
+   */
+  static JsonTape parse(byte[] data, int offset, int length) {
+    JsonTape tape = new JsonTape(data, offset, length);
+    tape.skipBom();
+    tape.parseValue(0);
+    tape.skipWhitespace();
+    if (tape.pos < tape.limit) {
+      throw tape.error("Unexpected content after JSON document");
+    }
+    return tape;
+  }
+
+  byte type(int index) {
+    return (byte) (types[index] & TYPE_MASK);
+  }
+
+  int count(int index) {
+    return ends[index];
+  }
+
+  int next(int index) {
+    return next[index];
+  }
+
+  /**
+   * @return the value of the entry, i.e. a {@link JsonObjectNode}, {@link JsonArrayNode},
+   *         {@link String}, {@link Double}, {@link Boolean} or null
+   */
+  Object value(int index) {
+    if (values == null) {
+      values = new Object[size];
+    }
+    Object value = values[index];
+    if (value == null) {
+      value = materialize(index);
+      values[index] = value;
+    }
+    return value;
+  }
+
+  String string(int index) {
+    String raw = new String(data, starts[index], ends[index] - starts[index],
+        StandardCharsets.UTF_8);
+    return (types[index] & ESCAPED) != 0 ? unescape(raw) : raw;
+  }
+
+  /**
+   * Compares a key entry with the given name without materializing the key, as long as both are
+   * plain ASCII
+   */
+  boolean keyEquals(int index, String name) {
+    if ((types[index] & ESCAPED) != 0) {
+      return string(index).equals(name);
+    }
+    final int start = starts[index];
+    final int length = ends[index] - start;
+    for (int i = 0; i < length; i++) {
+      final byte b = data[start + i];
+      if (b < 0) {
+        return string(index).equals(name);
+      }
+      if (i >= name.length() || name.charAt(i) != b) {
+        return false;
+      }
+    }
+    return name.length() == length;
+  }
+
+  private Object materialize(int index) {
+    switch (type(index)) {
+      case OBJECT:
+        return new JsonObjectNode(this, index);
+      case ARRAY:
+        return new JsonArrayNode(this, index);
+      case STRING:
+        return string(index);
+      case NUMBER:
+        return Double.valueOf(
+            new String(data, starts[index], ends[index] - starts[index], StandardCharsets.US_ASCII));
+      case TRUE:
+        return Boolean.TRUE;
+      case FALSE:
+        return Boolean.FALSE;
+      default:
+        return null;
+    }
+  }
+
+  private int parseValue(int depth) {
+    if (depth > MAX_DEPTH) {
+      throw error("JSON document is nested too deeply");
+    }
+    skipWhitespace();
+    if (pos >= limit) {
+      throw error("Unexpected end of JSON document");
+    }
+    switch (data[pos]) {
+      case '{':
+        return parseObject(depth);
+      case '[':
+        return parseArray(depth);
+      case '"':
+        return parseString();
+      case 't':
+        return parseLiteral("true", TRUE);
+      case 'f':
+        return parseLiteral("false", FALSE);
+      case 'n':
+        return parseLiteral("null", NULL);
+      default:
+        return parseNumber();
+    }
+  }
+
+  private int parseObject(int depth) {
+    final int index = add(OBJECT, pos, 0);
+    pos++;
+    int count = 0;
+    skipWhitespace();
+    if (pos < limit && data[pos] == '}') {
+      pos++;
+    } else {
+      while (true) {
+        skipWhitespace();
+        if (pos >= limit || data[pos] != '"') {
+          throw error("Expected member name");
+        }
+        parseString();
+        skipWhitespace();
+        expect(':');
+        parseValue(depth + 1);
+        count++;
+        skipWhitespace();
+        if (pos < limit && data[pos] == ',') {
+          pos++;
+        } else {
+          expect('}');
+          break;
+        }
+      }
+    }
+    ends[index] = count;
+    next[index] = size;
+    return index;
+  }
+
+  private int parseArray(int depth) {
+    final int index = add(ARRAY, pos, 0);
+    pos++;
+    int count = 0;
+    skipWhitespace();
+    if (pos < limit && data[pos] == ']') {
+      pos++;
+    } else {
+      while (true) {
+        parseValue(depth + 1);
+        count++;
+        skipWhitespace();
+        if (pos < limit && data[pos] == ',') {
+          pos++;
+        } else {
+          expect(']');
+          break;
+        }
+      }
+    }
+    ends[index] = count;
+    next[index] = size;
+    return index;
+  }
+
+  private int parseString() {
+    final int start = ++pos;
+    boolean escaped = false;
+    while (pos < limit) {
+      final byte b = data[pos];
+      if (b == '"') {
+        final int index = add(escaped ? (byte) (STRING | ESCAPED) : STRING, start, pos);
+        pos++;
+        return index;
+      } else if (b == '\\') {
+        escaped = true;
+        pos += 2;
+      } else if (b >= 0 && b < 0x20) {
+        throw error("Unescaped control character in string");
+      } else {
+        pos++;
+      }
+    }
+    throw error("Unterminated string");
+  }
+
+  private int parseNumber() {
+    final int start = pos;
+    if (pos < limit && data[pos] == '-') {
+      pos++;
+    }
+    if (skipDigits() == 0) {
+      throw error("Unexpected character");
+    }
+    if (pos < limit && data[pos] == '.') {
+      pos++;
+      if (skipDigits() == 0) {
+        throw error("Expected digit");
+      }
+    }
+    if (pos < limit && (data[pos] == 'e' || data[pos] == 'E')) {
+      pos++;
+      if (pos < limit && (data[pos] == '+' || data[pos] == '-')) {
+        pos++;
+      }
+      if (skipDigits() == 0) {
+        throw error("Expected digit");
+      }
+    }
+    return add(NUMBER, start, pos);
+  }
+
+  private int skipDigits() {
+    final int start = pos;
+    while (pos < limit && data[pos] >= '0' && data[pos] <= '9') {
+      pos++;
+    }
+    return pos - start;
+  }
+
+  private int parseLiteral(String literal, byte type) {
+    final int start = pos;
+    for (int i = 0; i < literal.length(); i++) {
+      if (pos >= limit || data[pos] != literal.charAt(i)) {
+        throw error("Unexpected character");
+      }
+      pos++;
+    }
+    return add(type, start, pos);
+  }
+
+  private void expect(char c) {
+    if (pos >= limit || data[pos] != c) {
+      throw error("Expected '" + c + "'");
+    }
+    pos++;
+  }
+
+  private void skipWhitespace() {
+    while (pos < limit) {
+      final byte b = data[pos];
+      if (b == ' ' || b == '\n' || b == '\r' || b == '\t') {
+        pos++;
+      } else {
+        return;
+      }
+    }
+  }
+
+  private void skipBom() {
+    if (limit - pos >= 3 && data[pos] == (byte) 0xEF && data[pos + 1] == (byte) 0xBB
+        && data[pos + 2] == (byte) 0xBF) {
+      pos += 3;
+    }
+  }
+
+  private int add(byte type, int start, int end) {
+    if (size == types.length) {
+      final int capacity = size * 2;
+      types = Arrays.copyOf(types, capacity);
+      starts = Arrays.copyOf(starts, capacity);
+      ends = Arrays.copyOf(ends, capacity);
+      next = Arrays.copyOf(next, capacity);
+    }
+    types[size] = type;
+    starts[size] = start;
+    ends[size] = end;
+    next[size] = size + 1;
+    return size++;
+  }
+
+  private MappingException error(String message) {
+    return new MappingException(message + " at offset " + pos);
+  }
+
+  private static String unescape(String raw) {
+    StringBuilder sb = new StringBuilder(raw.length());
+    for (int i = 0; i < raw.length(); i++) {
+      char c = raw.charAt(i);
+      if (c != '\\') {
+        sb.append(c);
+        continue;
+      }
+      if (++i >= raw.length()) {
+        throw new MappingException("Invalid escape sequence in JSON string");
+      }
+      c = raw.charAt(i);
+      switch (c) {
+        case 'b':
+          sb.append('\b');
+          break;
+        case 'f':
+          sb.append('\f');
+          break;
+        case 'n':
+          sb.append('\n');
+          break;
+        case 'r':
+          sb.append('\r');
+          break;
+        case 't':
+          sb.append('\t');
+          break;
+        case 'u':
+          if (i + 4 >= raw.length()) {
+            throw new MappingException("Invalid unicode escape in JSON string");
+          }
+          try {
+            sb.append((char) Integer.parseInt(raw.substring(i + 1, i + 5), 16));
+          } catch (NumberFormatException e) {
+            throw new MappingException("Invalid unicode escape in JSON string");
+          }
+          i += 4;
+          break;
+        default:
+          // '"', '\\' and '/' stand for themselves
+          sb.append(c);
+      }
+    }
+    return sb.toString();
+  }
+}
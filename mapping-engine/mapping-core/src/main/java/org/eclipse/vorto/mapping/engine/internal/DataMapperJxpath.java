@@ -12,32 +12,30 @@
  */
 package org.eclipse.vorto.mapping.engine.internal;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import org.apache.commons.jexl2.Expression;
-import org.apache.commons.jexl2.JexlContext;
-import org.apache.commons.jexl2.JexlEngine;
-import org.apache.commons.jexl2.ObjectContext;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.apache.commons.jxpath.JXPathContext;
 import org.apache.commons.jxpath.JXPathInvalidAccessException;
 import org.apache.commons.jxpath.JXPathNotFoundException;
-import org.apache.commons.text.StrSubstitutor;
 import org.eclipse.vorto.mapping.engine.IDataMapper;
 import org.eclipse.vorto.mapping.engine.MappingContext;
 import org.eclipse.vorto.mapping.engine.MappingException;
+import org.eclipse.vorto.mapping.engine.MappingResult;
 import org.eclipse.vorto.mapping.engine.internal.functions.CustomFunctionsLibrary;
+import org.eclipse.vorto.mapping.engine.internal.plan.FunctionblockPlan;
+import org.eclipse.vorto.mapping.engine.internal.plan.MappingPlan;
+import org.eclipse.vorto.mapping.engine.internal.plan.PropertyPlan;
 import org.eclipse.vorto.mapping.engine.model.spec.IMappingSpecification;
-import org.eclipse.vorto.model.EntityModel;
-import org.eclipse.vorto.model.EnumModel;
 import org.eclipse.vorto.model.FunctionblockModel;
-import org.eclipse.vorto.model.IModel;
-import org.eclipse.vorto.model.Infomodel;
-import org.eclipse.vorto.model.ModelProperty;
 import org.eclipse.vorto.model.Stereotype;
 import org.eclipse.vorto.model.runtime.EntityValue;
-import org.eclipse.vorto.model.runtime.EnumValue;
 import org.eclipse.vorto.model.runtime.FunctionblockValue;
 import org.eclipse.vorto.model.runtime.InfomodelValue;
 import org.eclipse.vorto.model.runtime.PropertyValue;
@@ -46,67 +44,83 @@ import org.eclipse.vorto.model.runtime.PropertyValue;
  * 
  * Extend this class in order to implement a platform mapper that maps normlized vorto model to the
  * target platform specific data model
+ * 
+ * A mapper is safe for concurrent use: the mapping plan is immutable, every mapping gets its own
+ * JXPath and JEXL context and no global state is written while mapping. A single instance per
+ * specification can therefore be shared by all consumer threads. The source objects must not be
+ * modified while they are mapped, converter functions must be thread-safe.
  *
  */
 public class DataMapperJxpath implements IDataMapper {
 
-  private IMappingSpecification specification;
+  private final IMappingSpecification specification;
+
+  private final MappingPlan plan;
 
-  private JxPathFactory jxpathHelper = null;
+  private final JxPathFactory jxpathHelper;
 
-  private JexlEngine jexlEngine = null;
+  private final ForkJoinPool batchExecutor;
 
-  private static final String STEREOTYPE_SOURCE = "source";
   private static final String STEREOTYPE_TARGET = "target";
-  private static final String ATTRIBUTE_XPATH = "xpath";
-  private static final String ATTRIBUTE_CONDITION = "condition";
 
   public DataMapperJxpath(IMappingSpecification mappingSpecification,
       CustomFunctionsLibrary functionLibrary) {
-    this.specification = mappingSpecification;
-    this.jxpathHelper = new JxPathFactory(functionLibrary);
-    this.jexlEngine = createJexlEngine(functionLibrary);
+    this(MappingPlan.compile(mappingSpecification, functionLibrary), functionLibrary);
   }
 
-  private static JexlEngine createJexlEngine(CustomFunctionsLibrary functionLibrary) {
-    JexlEngine jexl = new JexlEngine();
-    jexl.setFunctions(functionLibrary.getConditionFunctions());
-    return jexl;
+  public DataMapperJxpath(MappingPlan plan, CustomFunctionsLibrary functionLibrary) {
+    this(plan, functionLibrary, null);
   }
 
-  public InfomodelValue map(Object input, MappingContext mappingContext) {
+  /**
+   * @param plan compiled mapping specification
+   * @param functionLibrary converter and condition functions
+   * @param batchExecutor pool that batches are mapped in parallel with, or null to map batches in
+   *        the calling thread
+   */
+  public DataMapperJxpath(MappingPlan plan, CustomFunctionsLibrary functionLibrary,
+      ForkJoinPool batchExecutor) {
+    this.plan = plan;
+    this.specification = plan.getSpecification();
+    this.jxpathHelper = new JxPathFactory(functionLibrary);
+    this.batchExecutor = batchExecutor;
+  }
 
-    JXPathContext context = jxpathHelper.newContext(input);
+  public InfomodelValue map(Object input, MappingContext mappingContext) {
+    return map(jxpathHelper.newContext(input));
+  }
 
-    InfomodelValue normalized = new InfomodelValue(specification.getInfoModel());
+  private InfomodelValue map(JXPathContext context) {
 
-    final Infomodel deviceInfoModel = specification.getInfoModel();
+    InfomodelValue normalized = plan.newValue();
 
-    for (ModelProperty fbProperty : deviceInfoModel.getFunctionblocks()) {
-      FunctionblockValue mappedFb = mapFunctionBlock(fbProperty, context);
+    for (FunctionblockPlan fbPlan : plan.getFunctionblocks()) {
+      FunctionblockValue mappedFb = mapFunctionBlock(fbPlan, context);
       if (mappedFb != null) {
-        normalized.withFunctionblock(fbProperty.getName(), mappedFb);
+        normalized.withFunctionblock(fbPlan.getPropertyName(), mappedFb);
       }
     }
 
     return normalized;
   }
 
-  private FunctionblockValue mapFunctionBlock(ModelProperty fbProperty, JXPathContext context) {
-
-    FunctionblockModel fbModel = specification.getFunctionBlock(fbProperty.getName());
+  private FunctionblockValue mapFunctionBlock(FunctionblockPlan fbPlan, JXPathContext context) {
 
-    if (!matchesCondition(fbModel, context)) {
+    if (!fbPlan.getCondition().matches(context.getContextBean())) {
       return null;
     }
 
-    FunctionblockValue fbData = new FunctionblockValue(fbModel);
+    FunctionblockValue fbData = fbPlan.newValue();
 
-    for (ModelProperty statusProperty : fbModel.getStatusProperties()) {
+    for (PropertyPlan statusProperty : fbPlan.getStatusProperties()) {
 
       try {
-        Object mapped = this.mapProperty(fbModel, statusProperty, context);
-        if (mapped != null) {
+        Object mapped = this.mapProperty(statusProperty, context);
+        if (mapped == PropertyPlan.MISSING) {
+          if (statusProperty.isMandatory()) {
+            return null;
+          }
+        } else if (mapped != null) {
           fbData.withStatusProperty(statusProperty.getName(), mapped);
         }
       } catch (JXPathNotFoundException ex) {
@@ -124,11 +138,15 @@ public class DataMapperJxpath implements IDataMapper {
 
     }
 
-    for (ModelProperty configProperty : fbModel.getConfigurationProperties()) {
+    for (PropertyPlan configProperty : fbPlan.getConfigurationProperties()) {
 
       try {
-        Object mapped = this.mapProperty(fbModel, configProperty, context);
-        if (mapped != null) {
+        Object mapped = this.mapProperty(configProperty, context);
+        if (mapped == PropertyPlan.MISSING) {
+          if (configProperty.isMandatory()) {
+            return null;
+          }
+        } else if (mapped != null) {
           fbData.withConfigurationProperty(configProperty.getName(), mapped);
         }
       } catch (JXPathNotFoundException ex) {
@@ -148,22 +166,8 @@ public class DataMapperJxpath implements IDataMapper {
     return onlyReturnIfPopulated(fbData);
   }
 
-  private boolean matchesCondition(FunctionblockModel fbModel, JXPathContext context) {
-    Optional<Stereotype> conditionStereotype = fbModel.getStereotype("condition");
-    if (conditionStereotype.isPresent() && conditionStereotype.get().hasAttribute("value")) {
-      Expression e = jexlEngine.createExpression(
-          normalizeCondition(conditionStereotype.get().getAttributes().get("value")));
-      JexlContext jc = new ObjectContext<Object>(jexlEngine, context.getContextBean());
-      jc.set("this", context.getContextBean());
-      jc.set("obj", context.getContextBean());
-      return (boolean) e.evaluate(jc);
-    } else {
-      return true;
-    }
-  }
-
   private FunctionblockValue onlyReturnIfPopulated(FunctionblockValue fbData) {
-    if (!fbData.getConfiguration().isEmpty() || !fbData.getStatus().isEmpty()) {
+    if (!fbData.isEmpty()) {
       return fbData;
     } else {
       return null;
@@ -177,27 +181,25 @@ public class DataMapperJxpath implements IDataMapper {
     return null;
   }
 
-  private Object mapProperty(IModel parent, ModelProperty property, JXPathContext input) {
-    Optional<Stereotype> sourceStereotype = property.getStereotype(STEREOTYPE_SOURCE);
-    if (sourceStereotype.isPresent() && hasXpath(sourceStereotype.get().getAttributes())) {
-      String expression =
-          replacePlaceHolders(sourceStereotype.get().getAttributes().get(ATTRIBUTE_XPATH),
-              sourceStereotype.get().getAttributes());
-
-      if (matchesPropertyCondition(sourceStereotype.get(), input)) {
-        return input.getValue(expression);
-      }
-    } else if (property.getType() instanceof IModel) {
-      IModel referencedModel = (IModel) property.getType();
-      if (referencedModel instanceof EntityModel) {
-        EntityModel entityModel = (EntityModel) referencedModel;
-        EntityValue value = new EntityValue(entityModel);
+  private Object mapProperty(PropertyPlan property, JXPathContext input) {
+    switch (property.getKind()) {
+      case XPATH:
+        if (property.getCondition().matches(input.getContextBean())) {
+          return property.evaluate(input);
+        }
+        return null;
+      case ENTITY:
+        EntityValue value = new EntityValue(property.getEntityModel());
 
-        for (ModelProperty entityProperty : entityModel.getProperties()) {
+        for (PropertyPlan entityProperty : property.getEntityProperties()) {
 
           try {
-            Object mapped = this.mapProperty(entityModel, entityProperty, input);
-            if (mapped != null) {
+            Object mapped = this.mapProperty(entityProperty, input);
+            if (mapped == PropertyPlan.MISSING) {
+              if (entityProperty.isMandatory()) {
+                return null;
+              }
+            } else if (mapped != null) {
               value.withProperty(entityProperty.getName(), mapped);
             }
           } catch (JXPathNotFoundException ex) {
@@ -216,64 +218,52 @@ public class DataMapperJxpath implements IDataMapper {
         }
 
         return onlyReturnIfPopulated(value);
-      } else if (referencedModel instanceof EnumModel) {
-        EnumModel enumModel = (EnumModel) referencedModel;
-        EnumValue value = new EnumValue(enumModel);
-        if (sourceStereotype.isPresent() && hasXpath(sourceStereotype.get().getAttributes())) {
-          String expression =
-              replacePlaceHolders(sourceStereotype.get().getAttributes().get(ATTRIBUTE_XPATH),
-                  sourceStereotype.get().getAttributes());
-
-          if (matchesPropertyCondition(sourceStereotype.get(), input)) {
-            Object mappedEnumValue = input.getValue(expression);
-            if (mappedEnumValue instanceof String) {
-              value.setValue((String) mappedEnumValue);
-            }
-            return value;
-          }
-        }
-      }
+      default:
+        return null;
     }
-
-    return null;
-
   }
 
-  private boolean matchesPropertyCondition(Stereotype stereotype, JXPathContext context) {
-    if (stereotype.hasAttribute(ATTRIBUTE_CONDITION)) {
-      Expression e = jexlEngine.createExpression(
-          normalizeCondition(stereotype.getAttributes().get(ATTRIBUTE_CONDITION)));
-      JexlContext jc = new ObjectContext<Object>(jexlEngine, context.getContextBean());
-      jc.set("this", context.getContextBean());
-      return (boolean) e.evaluate(jc);
-    } else {
-      return true;
-    }
+  @Override
+  public InfomodelValue mapSource(Object input) {
+    return this.map(wrapArray(input), MappingContext.empty());
   }
 
-  private String normalizeCondition(final String expression) {
-    return expression.replaceAll("/", "\\.");
+  @Override
+  public List<MappingResult> mapSourceBatch(List<?> inputs) {
+    if (batchExecutor == null || inputs.size() < 2) {
+      List<MappingResult> results = new ArrayList<>(inputs.size());
+      for (Object input : inputs) {
+        results.add(mapBatchItem(input));
+      }
+      return results;
+    }
+    return batchExecutor.submit(() -> inputs.parallelStream().map(this::mapBatchItem)
+        .collect(Collectors.toList())).join();
   }
 
-  private boolean hasXpath(Map<String, String> stereotypeAttributes) {
-    return stereotypeAttributes.containsKey(ATTRIBUTE_XPATH)
-        && !stereotypeAttributes.get(ATTRIBUTE_XPATH).equals("");
+  @Override
+  public Stream<MappingResult> mapSourceStream(Stream<?> inputs) {
+    return inputs.map(this::mapBatchItem);
   }
 
-  private String replacePlaceHolders(String expression, Map<String, String> mappedAttributes) {
-    StrSubstitutor sub = new StrSubstitutor(mappedAttributes);
-    return sub.replace(expression);
+  private MappingResult mapBatchItem(Object input) {
+    try {
+      return MappingResult.success(input, map(jxpathHelper.newContext(wrapArray(input))));
+    } catch (MappingException ex) {
+      return MappingResult.failure(input, ex);
+    } catch (RuntimeException ex) {
+      return MappingResult.failure(input,
+          new MappingException("A problem occured during mapping", ex));
+    }
   }
 
-  @Override
-  public InfomodelValue mapSource(Object input) {
-    Object _input = input;
+  private static Object wrapArray(Object input) {
     if (input instanceof Object[] || input instanceof Collection<?>) {
       Map<String, Object> wrapped = new HashMap<>();
       wrapped.put("array", input);
-      _input = wrapped;
+      return wrapped;
     }
-    return this.map(_input, MappingContext.empty());
+    return input;
   }
 
   @Override
@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine.internal;
+
+import java.util.Locale;
+import org.apache.commons.jxpath.DynamicPropertyHandler;
+import org.apache.commons.jxpath.ri.JXPathContextReferenceImpl;
+import org.apache.commons.jxpath.ri.QName;
+import org.apache.commons.jxpath.ri.model.NodePointer;
+import org.apache.commons.jxpath.ri.model.NodePointerFactory;
+import org.apache.commons.jxpath.ri.model.dynamic.DynamicPointer;
+import org.apache.commons.jxpath.ri.model.dynamic.DynamicPointerFactory;
+import org.eclipse.vorto.mapping.engine.decoder.json.JsonObjectNode;
+
+/**
+ * Lets JXPath navigate {@link JsonObjectNode}s by looking up single members on the node, instead
+ * of treating them as any other map. Arrays are plain lists and handled by JXPath already.
+ *
+ */
+public class JsonNodePointerFactory implements NodePointerFactory {
+
+  public static final int JSON_NODE_POINTER_FACTORY_ORDER =
+      DynamicPointerFactory.DYNAMIC_POINTER_FACTORY_ORDER - 10;
+
+  private static final DynamicPropertyHandler HANDLER = new JsonObjectPropertyHandler();
+
+  private static volatile boolean registered = false;
+
+  /**
+   * Registers the factory with JXPath, if this has not happened yet
+   */
+  public static synchronized void register() {
+    if (!registered) {
+      JXPathContextReferenceImpl.addNodePointerFactory(new JsonNodePointerFactory());
+      registered = true;
+    }
+  }
+
+  @Override
+  public int getOrder() {
+    return JSON_NODE_POINTER_FACTORY_ORDER;
+  }
+
+  @Override
+  public NodePointer createNodePointer(QName name, Object object, Locale locale) {
+    if (object instanceof JsonObjectNode) {
+      return new DynamicPointer(name, object, HANDLER, locale);
+    }
+    return null;
+  }
+
+  @Override
+  public NodePointer createNodePointer(NodePointer parent, QName name, Object object) {
+    if (object instanceof JsonObjectNode) {
+      return new DynamicPointer(parent, name, object, HANDLER);
+    }
+    return null;
+  }
+
+  private static class JsonObjectPropertyHandler implements DynamicPropertyHandler {
+
+    @Override
+    public String[] getPropertyNames(Object object) {
+      return ((JsonObjectNode) object).keys();
+    }
+
+    @Override
+    public Object getProperty(Object object, String propertyName) {
+      return ((JsonObjectNode) object).get(propertyName);
+    }
+
+    @Override
+    public void setProperty(Object object, String propertyName, Object value) {
+      throw new UnsupportedOperationException("JSON payloads are read-only");
+    }
+  }
+}
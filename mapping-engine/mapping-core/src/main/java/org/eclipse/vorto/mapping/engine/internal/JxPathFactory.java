@@ -12,21 +12,58 @@
  */
 package org.eclipse.vorto.mapping.engine.internal;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.TreeMap;
 import org.apache.commons.jxpath.BasicNodeSet;
 import org.apache.commons.jxpath.JXPathContext;
+import org.apache.commons.jxpath.JXPathIntrospector;
 import org.apache.commons.jxpath.JXPathNotFoundException;
 import org.apache.commons.jxpath.util.BasicTypeConverter;
 import org.apache.commons.jxpath.util.TypeUtils;
+import org.eclipse.vorto.mapping.engine.decoder.json.JsonArrayNode;
+import org.eclipse.vorto.mapping.engine.decoder.json.JsonObjectNode;
 import org.eclipse.vorto.mapping.engine.internal.functions.CustomFunctionsLibrary;
+import org.eclipse.vorto.mapping.engine.model.binary.BinaryData;
+import com.google.gson.internal.LinkedTreeMap;
 
+/**
+ * Creates JXPath contexts for mapping a source object. A factory is immutable once it is configured
+ * and can be used by concurrently mapping threads.
+ * 
+ * JXPath resolves type conversions through the JVM-global {@link TypeUtils}. The converter of the
+ * mapping engine is installed once when this class is loaded, so that creating a context does not
+ * write any global state.
+ *
+ */
 public class JxPathFactory {
 
   private boolean lenient = false;
 
-  private CustomFunctionsLibrary functionLibrary;
+  private static final MyTypeConverter TYPE_CONVERTER = new MyTypeConverter();
+
+  static {
+    TypeUtils.setTypeConverter(TYPE_CONVERTER);
+    JsonNodePointerFactory.register();
+    warmUpIntrospector();
+  }
+
+  private final CustomFunctionsLibrary functionLibrary;
+
+  /**
+   * Context holding the converter functions, shared as parent by all contexts created by this
+   * factory, so that the function lookup is set up only once
+   */
+  private final JXPathContext functionsContext;
 
   public JxPathFactory(CustomFunctionsLibrary functionLibrary) {
     this.functionLibrary = functionLibrary;
+    this.functionsContext = JXPathContext.newContext(null);
+    this.functionsContext.setFunctions(functionLibrary.getConverterFunctions());
+    // the function library builds its namespace index lazily and without synchronization
+    functionLibrary.getConverterFunctions().getUsedNamespaces();
   }
 
   public JxPathFactory() {
@@ -34,9 +71,7 @@ public class JxPathFactory {
   }
 
   public JXPathContext newContext(Object ctxObject) {
-    JXPathContext context = JXPathContext.newContext(ctxObject);
-    TypeUtils.setTypeConverter(new MyTypeConverter());
-    context.setFunctions(functionLibrary.getConverterFunctions());
+    JXPathContext context = JXPathContext.newContext(functionsContext, ctxObject);
     context.setLenient(this.lenient);
     return context;
   }
@@ -45,6 +80,21 @@ public class JxPathFactory {
     this.lenient = lenient;
   }
 
+  /**
+   * JXPath caches the bean info of every class it navigates in a map that is not synchronized.
+   * Looking up the classes of typical payloads once, before any mapping thread runs, keeps
+   * concurrent mappings from writing to that map.
+   */
+  private static void warmUpIntrospector() {
+    Class<?>[] payloadClasses = {HashMap.class, LinkedHashMap.class, TreeMap.class,
+        LinkedTreeMap.class, ArrayList.class, LinkedList.class, String.class, Double.class,
+        Integer.class, Long.class, Boolean.class, Object[].class, String[].class, byte[].class,
+        BinaryData.class, JsonObjectNode.class, JsonArrayNode.class};
+    for (Class<?> payloadClass : payloadClasses) {
+      JXPathIntrospector.getBeanInfo(payloadClass);
+    }
+  }
+
   public static class MyTypeConverter extends BasicTypeConverter {
 
     @SuppressWarnings("rawtypes")
@@ -12,15 +12,38 @@
  */
 package org.eclipse.vorto.mapping.engine.internal.functions;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.commons.jxpath.CompiledExpression;
 import org.apache.commons.jxpath.JXPathContext;
 import org.eclipse.vorto.mapping.engine.internal.JxPathFactory;
 
 public class Jxpath {
 
+  private static final int MAX_CACHED_EXPRESSIONS = 1024;
+
   private static JxPathFactory helper = new JxPathFactory(CustomFunctionsLibrary.createDefault());
 
+  /**
+   * Expressions compiled by condition evaluations. Interpreting an expression string goes through
+   * the globally synchronized expression cache of JXPath, which concurrent mappings contend on.
+   */
+  private static final Map<String, CompiledExpression> compiledExpressions =
+      new ConcurrentHashMap<>();
+
   public static Object eval(String exp, Object value) {
     JXPathContext context = helper.newContext(value);
-    return context.getValue(exp.replaceAll("\\.", "/"));
+    return compile(exp).getValue(context);
+  }
+
+  private static CompiledExpression compile(String exp) {
+    CompiledExpression compiled = compiledExpressions.get(exp);
+    if (compiled == null) {
+      compiled = JXPathContext.compile(exp.replaceAll("\\.", "/"));
+      if (compiledExpressions.size() < MAX_CACHED_EXPRESSIONS) {
+        compiledExpressions.put(exp, compiled);
+      }
+    }
+    return compiled;
   }
 }
@@ -0,0 +1,111 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine.internal.plan;
+
+import org.apache.commons.jexl2.Expression;
+import org.apache.commons.jexl2.JexlContext;
+import org.apache.commons.jexl2.JexlEngine;
+import org.apache.commons.jexl2.JexlException;
+import org.apache.commons.jexl2.ObjectContext;
+
+/**
+ * Precompiled JEXL condition of a function block or a property mapping rule.
+ *
+ */
+public final class ConditionPlan {
+
+  public static final ConditionPlan ALWAYS = new ConditionPlan(null, null, null, false);
+
+  private final JexlEngine jexlEngine;
+
+  private final String source;
+
+  private final Expression expression;
+
+  private final boolean exposeAsObj;
+
+  private ConditionPlan(JexlEngine jexlEngine, String source, Expression expression,
+      boolean exposeAsObj) {
+    this.jexlEngine = jexlEngine;
+    this.source = source;
+    this.expression = expression;
+    this.exposeAsObj = exposeAsObj;
+  }
+
+  /**
+   * Parses the given condition once. The returned plan can be evaluated concurrently.
+   *
+   * @param jexlEngine engine with registered condition functions
+   * @param condition condition in the mapping notation, i.e. using '/' as path separator
+   * @param exposeAsObj whether the source object is also available as 'obj' to the expression
+   * @return compiled condition
+   */
+  static ConditionPlan compile(JexlEngine jexlEngine, String condition, boolean exposeAsObj) {
+    final String normalized = normalizeCondition(condition);
+    try {
+      return new ConditionPlan(jexlEngine, normalized, jexlEngine.createExpression(normalized),
+          exposeAsObj);
+    } catch (JexlException invalidExpression) {
+      // report the invalid condition when it is evaluated, as the interpreted engine did
+      return new ConditionPlan(jexlEngine, normalized, null, exposeAsObj);
+    }
+  }
+
+  private static String normalizeCondition(final String expression) {
+    return expression.replaceAll("/", "\\.");
+  }
+
+  public boolean isUnconditional() {
+    return source == null;
+  }
+
+  public boolean matches(Object contextBean) {
+    if (source == null) {
+      return true;
+    }
+    Expression e = expression != null ? expression : jexlEngine.createExpression(source);
+    JexlContext jc = new ConditionContext(jexlEngine, contextBean, exposeAsObj);
+    return (boolean) e.evaluate(jc);
+  }
+
+  /**
+   * Resolves 'this' (and 'obj') to the source object without writing them into it, as the source
+   * object may be read-only or shared by concurrently mapping threads
+   */
+  private static final class ConditionContext extends ObjectContext<Object> {
+
+    private final Object contextBean;
+
+    private final boolean exposeAsObj;
+
+    ConditionContext(JexlEngine jexlEngine, Object contextBean, boolean exposeAsObj) {
+      super(jexlEngine, contextBean);
+      this.contextBean = contextBean;
+      this.exposeAsObj = exposeAsObj;
+    }
+
+    @Override
+    public Object get(String name) {
+      return isSourceObject(name) ? contextBean : super.get(name);
+    }
+
+    @Override
+    public boolean has(String name) {
+      return isSourceObject(name) || super.has(name);
+    }
+
+    private boolean isSourceObject(String name) {
+      return "this".equals(name) || (exposeAsObj && "obj".equals(name));
+    }
+  }
+}
@@ -0,0 +1,84 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine.internal.plan;
+
+import java.util.Collections;
+import java.util.List;
+import org.eclipse.vorto.model.FunctionblockModel;
+import org.eclipse.vorto.model.runtime.FunctionblockValue;
+import org.eclipse.vorto.model.runtime.PropertySlots;
+
+/**
+ * Precompiled mapping rules of a function block property of the information model.
+ *
+ */
+public final class FunctionblockPlan {
+
+  private final String propertyName;
+
+  private final FunctionblockModel model;
+
+  private final ConditionPlan condition;
+
+  private final List<PropertyPlan> statusProperties;
+
+  private final List<PropertyPlan> configurationProperties;
+
+  private final PropertySlots statusSlots;
+
+  private final PropertySlots configurationSlots;
+
+  FunctionblockPlan(String propertyName, FunctionblockModel model, ConditionPlan condition,
+      List<PropertyPlan> statusProperties, List<PropertyPlan> configurationProperties) {
+    this.propertyName = propertyName;
+    this.model = model;
+    this.condition = condition;
+    this.statusProperties = Collections.unmodifiableList(statusProperties);
+    this.configurationProperties = Collections.unmodifiableList(configurationProperties);
+    this.statusSlots = PropertySlots.of(model.getStatusProperties());
+    this.configurationSlots = PropertySlots.of(model.getConfigurationProperties());
+  }
+
+  /**
+   * @return new, empty value of the function block, sharing the property slots of this plan
+   */
+  public FunctionblockValue newValue() {
+    return new FunctionblockValue(model, statusSlots, configurationSlots);
+  }
+
+  public String getPropertyName() {
+    return propertyName;
+  }
+
+  public FunctionblockModel getModel() {
+    return model;
+  }
+
+  public ConditionPlan getCondition() {
+    return condition;
+  }
+
+  public List<PropertyPlan> getStatusProperties() {
+    return statusProperties;
+  }
+
+  public List<PropertyPlan> getConfigurationProperties() {
+    return configurationProperties;
+  }
+
+  @Override
+  public String toString() {
+    return "FunctionblockPlan [propertyName=" + propertyName + ", statusProperties="
+        + statusProperties + ", configurationProperties=" + configurationProperties + "]";
+  }
+}
@@ -0,0 +1,179 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine.internal.plan;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.apache.commons.jexl2.JexlEngine;
+import org.apache.commons.jxpath.CompiledExpression;
+import org.apache.commons.jxpath.JXPathContext;
+import org.apache.commons.jxpath.JXPathException;
+import org.apache.commons.text.StrSubstitutor;
+import org.eclipse.vorto.mapping.engine.internal.functions.CustomFunctionsLibrary;
+import org.eclipse.vorto.mapping.engine.model.spec.IMappingSpecification;
+import org.eclipse.vorto.model.EntityModel;
+import org.eclipse.vorto.model.FunctionblockModel;
+import org.eclipse.vorto.model.ModelProperty;
+import org.eclipse.vorto.model.Stereotype;
+import org.eclipse.vorto.model.runtime.InfomodelValue;
+import org.eclipse.vorto.model.runtime.PropertySlots;
+
+/**
+ * Immutable, precompiled form of a {@link IMappingSpecification}. All stereotypes are resolved,
+ * placeholders substituted and xpath as well as condition expressions parsed once, so that mapping
+ * a message only evaluates the plan. A plan can be shared by concurrently mapping threads.
+ *
+ */
+public final class MappingPlan {
+
+  private static final String STEREOTYPE_SOURCE = "source";
+  private static final String STEREOTYPE_CONDITION = "condition";
+  private static final String ATTRIBUTE_XPATH = "xpath";
+  private static final String ATTRIBUTE_CONDITION = "condition";
+  private static final String ATTRIBUTE_VALUE = "value";
+
+  private final IMappingSpecification specification;
+
+  private final JexlEngine jexlEngine;
+
+  private final List<FunctionblockPlan> functionblocks;
+
+  private final Map<String, FunctionblockPlan> functionblocksByName;
+
+  private final PropertySlots functionblockSlots;
+
+  private MappingPlan(IMappingSpecification specification, JexlEngine jexlEngine,
+      List<FunctionblockPlan> functionblocks) {
+    this.specification = specification;
+    this.jexlEngine = jexlEngine;
+    this.functionblocks = Collections.unmodifiableList(functionblocks);
+    Map<String, FunctionblockPlan> byName = new HashMap<>();
+    for (FunctionblockPlan fbPlan : functionblocks) {
+      byName.put(fbPlan.getPropertyName(), fbPlan);
+    }
+    this.functionblocksByName = Collections.unmodifiableMap(byName);
+    this.functionblockSlots =
+        PropertySlots.of(specification.getInfoModel().getFunctionblocks());
+  }
+
+  /**
+   * Compiles the given specification into a mapping plan
+   *
+   * @param specification mapping specification to compile
+   * @param functionLibrary library containing the condition functions used by the specification
+   * @return compiled mapping plan
+   */
+  public static MappingPlan compile(IMappingSpecification specification,
+      CustomFunctionsLibrary functionLibrary) {
+    JexlEngine jexl = new JexlEngine();
+    jexl.setFunctions(functionLibrary.getConditionFunctions());
+
+    List<FunctionblockPlan> fbPlans = new ArrayList<>();
+    for (ModelProperty fbProperty : specification.getInfoModel().getFunctionblocks()) {
+      FunctionblockModel fbModel = specification.getFunctionBlock(fbProperty.getName());
+      fbPlans.add(compileFunctionblock(jexl, fbProperty.getName(), fbModel));
+    }
+    return new MappingPlan(specification, jexl, fbPlans);
+  }
+
+  private static FunctionblockPlan compileFunctionblock(JexlEngine jexl, String propertyName,
+      FunctionblockModel fbModel) {
+    ConditionPlan condition = ConditionPlan.ALWAYS;
+    Optional<Stereotype> conditionStereotype = fbModel.getStereotype(STEREOTYPE_CONDITION);
+    if (conditionStereotype.isPresent() && conditionStereotype.get().hasAttribute(ATTRIBUTE_VALUE)) {
+      condition = ConditionPlan.compile(jexl,
+          conditionStereotype.get().getAttributes().get(ATTRIBUTE_VALUE), true);
+    }
+
+    List<PropertyPlan> statusPlans = new ArrayList<>();
+    for (ModelProperty statusProperty : fbModel.getStatusProperties()) {
+      statusPlans.add(compileProperty(jexl, statusProperty));
+    }
+
+    List<PropertyPlan> configPlans = new ArrayList<>();
+    for (ModelProperty configProperty : fbModel.getConfigurationProperties()) {
+      configPlans.add(compileProperty(jexl, configProperty));
+    }
+
+    return new FunctionblockPlan(propertyName, fbModel, condition, statusPlans, configPlans);
+  }
+
+  private static PropertyPlan compileProperty(JexlEngine jexl, ModelProperty property) {
+    Optional<Stereotype> sourceStereotype = property.getStereotype(STEREOTYPE_SOURCE);
+    if (sourceStereotype.isPresent() && hasXpath(sourceStereotype.get().getAttributes())) {
+      Map<String, String> attributes = sourceStereotype.get().getAttributes();
+      String expression = replacePlaceHolders(attributes.get(ATTRIBUTE_XPATH), attributes);
+
+      ConditionPlan condition = ConditionPlan.ALWAYS;
+      if (sourceStereotype.get().hasAttribute(ATTRIBUTE_CONDITION)) {
+        condition = ConditionPlan.compile(jexl, attributes.get(ATTRIBUTE_CONDITION), false);
+      }
+      return PropertyPlan.xpath(property, expression, compileXpath(expression), condition);
+    } else if (property.getType() instanceof EntityModel) {
+      EntityModel entityModel = (EntityModel) property.getType();
+      List<PropertyPlan> entityPlans = new ArrayList<>();
+      for (ModelProperty entityProperty : entityModel.getProperties()) {
+        entityPlans.add(compileProperty(jexl, entityProperty));
+      }
+      return PropertyPlan.entity(property, entityModel, entityPlans);
+    }
+    return PropertyPlan.unmapped(property);
+  }
+
+  private static CompiledExpression compileXpath(String expression) {
+    try {
+      return JXPathContext.compile(expression);
+    } catch (JXPathException invalidExpression) {
+      // report the invalid xpath when it is evaluated, as the interpreted engine did
+      return null;
+    }
+  }
+
+  private static boolean hasXpath(Map<String, String> stereotypeAttributes) {
+    return stereotypeAttributes.containsKey(ATTRIBUTE_XPATH)
+        && !stereotypeAttributes.get(ATTRIBUTE_XPATH).equals("");
+  }
+
+  private static String replacePlaceHolders(String expression,
+      Map<String, String> mappedAttributes) {
+    StrSubstitutor sub = new StrSubstitutor(mappedAttributes);
+    return sub.replace(expression);
+  }
+
+  public IMappingSpecification getSpecification() {
+    return specification;
+  }
+
+  public JexlEngine getJexlEngine() {
+    return jexlEngine;
+  }
+
+  public List<FunctionblockPlan> getFunctionblocks() {
+    return functionblocks;
+  }
+
+  public Optional<FunctionblockPlan> getFunctionblock(String propertyName) {
+    return Optional.ofNullable(functionblocksByName.get(propertyName));
+  }
+
+  /**
+   * @return new, empty value of the information model, sharing the property slots of this plan
+   */
+  public InfomodelValue newValue() {
+    return new InfomodelValue(specification.getInfoModel(), functionblockSlots);
+  }
+}
@@ -0,0 +1,172 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine.internal.plan;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Direct accessor for simple xpath expressions, i.e. paths of child steps such as
+ * <code>/data/value</code>, <code>/data[2]/value</code> or <code>/@value</code>. The path is
+ * resolved by plain {@link Map} and {@link List} lookups, following the JXPath semantics for these
+ * types. Whenever the source holds any other kind of object, the accessor declines and the
+ * expression has to be evaluated by JXPath.
+ *
+ */
+final class PathAccessor {
+
+  /**
+   * The path does not exist in the source
+   */
+  static final Object MISSING = new Object() {
+    @Override
+    public String toString() {
+      return "MISSING";
+    }
+  };
+
+  /**
+   * The source cannot be navigated by the accessor
+   */
+  static final Object NOT_APPLICABLE = new Object() {
+    @Override
+    public String toString() {
+      return "NOT_APPLICABLE";
+    }
+  };
+
+  private final String[] names;
+
+  /**
+   * 1-based xpath position per step, or 0 if the step has no position predicate
+   */
+  private final int[] positions;
+
+  private PathAccessor(String[] names, int[] positions) {
+    this.names = names;
+    this.positions = positions;
+  }
+
+  /**
+   * @param xpath xpath expression
+   * @return the accessor or null if the expression is not a simple path
+   */
+  static PathAccessor compile(String xpath) {
+    String path = xpath.trim();
+    if (path.startsWith("/")) {
+      path = path.substring(1);
+    }
+    if (path.isEmpty()) {
+      return null;
+    }
+    List<String> names = new ArrayList<>();
+    List<Integer> positions = new ArrayList<>();
+    for (String step : path.split("/", -1)) {
+      int position = 0;
+      int predicate = step.indexOf('[');
+      if (predicate >= 0) {
+        if (!step.endsWith("]")) {
+          return null;
+        }
+        position = parsePosition(step.substring(predicate + 1, step.length() - 1));
+        if (position < 1) {
+          return null;
+        }
+        step = step.substring(0, predicate);
+      }
+      if (step.startsWith("@")) {
+        step = step.substring(1);
+      }
+      if (!isName(step)) {
+        return null;
+      }
+      names.add(step);
+      positions.add(position);
+    }
+    int[] positionArray = new int[positions.size()];
+    for (int i = 0; i < positionArray.length; i++) {
+      positionArray[i] = positions.get(i);
+    }
+    return new PathAccessor(names.toArray(new String[names.size()]), positionArray);
+  }
+
+  /**
+   * Resolves the path against the given source object
+   *
+   * @param source root object of the path
+   * @return the value, which may be null, {@link #MISSING} if the path does not exist or
+   *         {@link #NOT_APPLICABLE} if the source must be navigated by JXPath
+   */
+  Object get(Object source) {
+    Object current = source;
+    for (int i = 0; i < names.length; i++) {
+      if (current == null || isScalar(current)) {
+        return MISSING;
+      }
+      if (!(current instanceof Map<?, ?>)) {
+        // beans and collections of nodes are left to JXPath
+        return NOT_APPLICABLE;
+      }
+      current = ((Map<?, ?>) current).get(names[i]);
+      if (positions[i] > 0) {
+        current = select(current, positions[i]);
+        if (current == MISSING || current == NOT_APPLICABLE) {
+          return current;
+        }
+      }
+    }
+    return current;
+  }
+
+  private static Object select(Object value, int position) {
+    if (value instanceof List<?>) {
+      List<?> list = (List<?>) value;
+      return position <= list.size() ? list.get(position - 1) : MISSING;
+    } else if (value instanceof Map<?, ?> || isScalar(value)) {
+      // a single node is a node set of size one
+      return position == 1 ? value : MISSING;
+    }
+    return NOT_APPLICABLE;
+  }
+
+  private static boolean isScalar(Object value) {
+    return value instanceof String || value instanceof Number || value instanceof Boolean
+        || value instanceof Character;
+  }
+
+  private static int parsePosition(String predicate) {
+    if (predicate.isEmpty() || predicate.length() > 9) {
+      return -1;
+    }
+    for (int i = 0; i < predicate.length(); i++) {
+      if (predicate.charAt(i) < '0' || predicate.charAt(i) > '9') {
+        return -1;
+      }
+    }
+    return Integer.parseInt(predicate);
+  }
+
+  private static boolean isName(String step) {
+    if (step.isEmpty() || !(Character.isLetter(step.charAt(0)) || step.charAt(0) == '_')) {
+      return false;
+    }
+    for (int i = 1; i < step.length(); i++) {
+      char c = step.charAt(i);
+      if (!(Character.isLetterOrDigit(c) || c == '_' || c == '-' || c == '.')) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
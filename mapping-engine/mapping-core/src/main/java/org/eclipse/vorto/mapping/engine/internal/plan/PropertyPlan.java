@@ -0,0 +1,159 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine.internal.plan;
+
+import java.util.Collections;
+import java.util.List;
+import org.apache.commons.jxpath.CompiledExpression;
+import org.apache.commons.jxpath.JXPathContext;
+import org.eclipse.vorto.model.EntityModel;
+import org.eclipse.vorto.model.ModelProperty;
+
+/**
+ * Precompiled mapping rule of a single function block or entity property.
+ *
+ */
+public final class PropertyPlan {
+
+  public enum Kind {
+    /**
+     * property is mapped with a xpath source stereotype
+     */
+    XPATH,
+    /**
+     * property is an entity whose properties are mapped individually
+     */
+    ENTITY,
+    /**
+     * property does not define any mapping rule and is skipped
+     */
+    UNMAPPED
+  }
+
+  /**
+   * Result of {@link #evaluate(JXPathContext)} if the xpath does not exist in the source
+   */
+  public static final Object MISSING = PathAccessor.MISSING;
+
+  private final ModelProperty property;
+
+  private final Kind kind;
+
+  private final String xpath;
+
+  private final CompiledExpression compiledXpath;
+
+  private final PathAccessor pathAccessor;
+
+  private final ConditionPlan condition;
+
+  private final EntityModel entityModel;
+
+  private final List<PropertyPlan> entityProperties;
+
+  private PropertyPlan(ModelProperty property, Kind kind, String xpath,
+      CompiledExpression compiledXpath, PathAccessor pathAccessor, ConditionPlan condition,
+      EntityModel entityModel, List<PropertyPlan> entityProperties) {
+    this.property = property;
+    this.kind = kind;
+    this.xpath = xpath;
+    this.compiledXpath = compiledXpath;
+    this.pathAccessor = pathAccessor;
+    this.condition = condition;
+    this.entityModel = entityModel;
+    this.entityProperties = entityProperties;
+  }
+
+  static PropertyPlan xpath(ModelProperty property, String xpath, CompiledExpression compiled,
+      ConditionPlan condition) {
+    return new PropertyPlan(property, Kind.XPATH, xpath, compiled,
+        compiled != null ? PathAccessor.compile(xpath) : null, condition, null,
+        Collections.emptyList());
+  }
+
+  static PropertyPlan entity(ModelProperty property, EntityModel entityModel,
+      List<PropertyPlan> entityProperties) {
+    return new PropertyPlan(property, Kind.ENTITY, null, null, null, ConditionPlan.ALWAYS, entityModel,
+        Collections.unmodifiableList(entityProperties));
+  }
+
+  static PropertyPlan unmapped(ModelProperty property) {
+    return new PropertyPlan(property, Kind.UNMAPPED, null, null, null, ConditionPlan.ALWAYS, null,
+        Collections.emptyList());
+  }
+
+  public ModelProperty getProperty() {
+    return property;
+  }
+
+  public String getName() {
+    return property.getName();
+  }
+
+  public boolean isMandatory() {
+    return property.isMandatory();
+  }
+
+  public Kind getKind() {
+    return kind;
+  }
+
+  public ConditionPlan getCondition() {
+    return condition;
+  }
+
+  public EntityModel getEntityModel() {
+    return entityModel;
+  }
+
+  public List<PropertyPlan> getEntityProperties() {
+    return entityProperties;
+  }
+
+  /**
+   * @return whether the xpath is a simple path that is resolved without JXPath for map and list
+   *         sources
+   */
+  public boolean hasDirectPath() {
+    return pathAccessor != null;
+  }
+
+  /**
+   * Evaluates the xpath of this property against the given context. Simple paths are resolved
+   * directly on map and list sources. Other expressions are evaluated by JXPath, those that could
+   * not be precompiled are interpreted, so that syntax errors surface at mapping time as before.
+   *
+   * @param context jxpath context of the source object
+   * @return the value at the xpath or {@link #MISSING}, if a directly resolved path does not exist
+   * @throws org.apache.commons.jxpath.JXPathNotFoundException if a path evaluated by JXPath does not exist
+   */
+  public Object evaluate(JXPathContext context) {
+    if (pathAccessor != null) {
+      Object value = pathAccessor.get(context.getContextBean());
+      if (value != PathAccessor.NOT_APPLICABLE) {
+        return value;
+      }
+    }
+    if (compiledXpath != null) {
+      return compiledXpath.getValue(context);
+    } else {
+      return context.getValue(xpath);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "PropertyPlan [property=" + property.getName() + ", kind=" + kind + ", xpath=" + xpath
+        + "]";
+  }
+}
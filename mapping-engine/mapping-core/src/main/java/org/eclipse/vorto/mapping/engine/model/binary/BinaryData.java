@@ -12,24 +12,70 @@
  */
 package org.eclipse.vorto.mapping.engine.model.binary;
 
+import java.nio.ByteBuffer;
+
+/**
+ * Binary source payload. The payload is accessible as byte array via <code>data</code> and as
+ * {@link ByteBuffer} via <code>buffer</code>. Mapping functions that read from the buffer access
+ * the payload in place, whereas JXPath copies a byte array element by element when it passes it to
+ * a function.
+ *
+ */
 public class BinaryData {
 
   private byte[] data;
 
+  private transient ByteBuffer buffer;
+
   public BinaryData(byte[] data) {
     this.data = data;
   }
 
+  /**
+   * Wraps the remaining bytes of the given buffer without copying them. The buffer content must not
+   * be modified while the payload is mapped.
+   * 
+   * @param buffer buffer containing the payload
+   */
+  public BinaryData(ByteBuffer buffer) {
+    this.buffer = buffer.slice();
+    if (buffer.hasArray() && buffer.arrayOffset() == 0 && buffer.position() == 0
+        && buffer.remaining() == buffer.array().length) {
+      this.data = buffer.array();
+    }
+  }
+
   public BinaryData() {
 
   }
 
+  /**
+   * @return the payload as array. For payloads wrapping a part of a buffer, the bytes are copied on
+   *         first access.
+   */
   public byte[] getData() {
+    if (data == null && buffer != null) {
+      ByteBuffer source = buffer.duplicate();
+      byte[] copy = new byte[source.remaining()];
+      source.get(copy);
+      data = copy;
+    }
     return data;
   }
 
   public void setData(byte[] data) {
     this.data = data;
+    this.buffer = null;
   }
 
+  /**
+   * @return the payload as buffer, starting at index 0. Its position and limit must not be
+   *         modified, so use absolute reads only.
+   */
+  public ByteBuffer getBuffer() {
+    if (buffer == null && data != null) {
+      buffer = ByteBuffer.wrap(data);
+    }
+    return buffer;
+  }
 }
@@ -13,8 +13,9 @@
 package org.eclipse.vorto.mapping.engine.model.spec;
 
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.lang.reflect.Type;
-import org.apache.commons.io.IOUtils;
+import java.nio.charset.StandardCharsets;
 import org.eclipse.vorto.model.BooleanAttributeProperty;
 import org.eclipse.vorto.model.DictionaryType;
 import org.eclipse.vorto.model.EntityModel;
@@ -72,7 +73,8 @@ public class MappingSpecBuilder {
 
   public IMappingSpecification build() {
     try {
-      return gson.fromJson(IOUtils.toString(this.input), MappingSpecification.class);
+      return gson.fromJson(new InputStreamReader(this.input, StandardCharsets.UTF_8),
+          MappingSpecification.class);
     } catch (Exception e) {
       throw new RuntimeException(e);
     }
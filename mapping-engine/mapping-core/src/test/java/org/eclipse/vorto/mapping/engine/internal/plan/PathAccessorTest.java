@@ -0,0 +1,79 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine.internal.plan;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import org.apache.commons.jxpath.JXPathContext;
+import org.apache.commons.jxpath.JXPathNotFoundException;
+import org.eclipse.vorto.mapping.engine.decoder.IPayloadDeserializer;
+import org.eclipse.vorto.mapping.engine.decoder.JSONDeserializer;
+import org.eclipse.vorto.mapping.engine.decoder.StreamingJSONDeserializer;
+import org.eclipse.vorto.mapping.engine.internal.JxPathFactory;
+import org.eclipse.vorto.mapping.engine.model.binary.BinaryData;
+import org.junit.Test;
+
+public class PathAccessorTest {
+
+  private static final String JSON =
+      "{\"a\" : 1.0, \"n\" : null, \"l\" : [{\"v\" : 1}, {\"v\" : 2}], \"m\" : {\"x\" : \"y\"},"
+          + " \"e\" : []}";
+
+  private static final String[] SIMPLE_PATHS = {"/a", "a", "/missing", "/n", "/n/x", "/l",
+      "/l[1]", "/l[2]/v", "/l[3]", "/m/x", "/m/missing", "/a[1]", "/a[2]", "/@a", "/m/x/y", "/e",
+      "/e[1]", "/m[1]/x", "/a/b", "/missing/x"};
+
+  @Test
+  public void testCompileSimplePaths() {
+    for (String path : SIMPLE_PATHS) {
+      assertNotNull(path, PathAccessor.compile(path));
+    }
+  }
+
+  @Test
+  public void testDoNotCompileExpressions() {
+    for (String expression : new String[] {"/", ".", "//a", "/l[last()]", "/l[0]", "/a/*",
+        "/l[@id = 1]/v", "conversion:byteArrayToInt(/a, 0, 0, 0, 1)", "/a + 1", "../a",
+        "/a/text()", "count(/l)"}) {
+      assertNull(expression, PathAccessor.compile(expression));
+    }
+  }
+
+  @Test
+  public void testSameResultsAsJxpath() {
+    assertSameResultsAsJxpath(new JSONDeserializer());
+    assertSameResultsAsJxpath(new StreamingJSONDeserializer());
+  }
+
+  @Test
+  public void testBeansAreNotApplicable() {
+    BinaryData data = new BinaryData(new byte[] {1, 2});
+    assertSame(PathAccessor.NOT_APPLICABLE, PathAccessor.compile("/data").get(data));
+  }
+
+  private void assertSameResultsAsJxpath(IPayloadDeserializer deserializer) {
+    Object source = deserializer.deserialize(JSON);
+    JXPathContext context = new JxPathFactory().newContext(source);
+    for (String path : SIMPLE_PATHS) {
+      Object expected;
+      try {
+        expected = JXPathContext.compile(path).getValue(context);
+      } catch (JXPathNotFoundException notFound) {
+        expected = PathAccessor.MISSING;
+      }
+      assertEquals(path, expected, PathAccessor.compile(path).get(source));
+    }
+  }
+}
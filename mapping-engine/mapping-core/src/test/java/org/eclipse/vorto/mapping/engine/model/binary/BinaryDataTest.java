@@ -12,6 +12,7 @@
  */
 package org.eclipse.vorto.mapping.engine.model.binary;
 
+import java.nio.ByteBuffer;
 import org.junit.Test;
 
 public class BinaryDataTest {
@@ -30,4 +31,17 @@ public class BinaryDataTest {
             assert(testData[i] == compare[i]);
         }
     }
+
+    @Test public void testBinaryDataFromBuffer() {
+        ByteBuffer buffer = ByteBuffer.wrap(new byte[]{0x01, 0x02, 0x03});
+        buffer.get();
+        BinaryData data = new BinaryData(buffer);
+        assert(data.getBuffer().get(0) == 0x02);
+        assert(data.getData().length == 2);
+        assert(data.getData()[1] == 0x03);
+
+        byte[] testData = new byte[]{0x01, 0x02};
+        assert(new BinaryData(ByteBuffer.wrap(testData)).getData() == testData);
+        assert(new BinaryData(testData).getBuffer().get(1) == 0x02);
+    }
 }
@@ -0,0 +1,138 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.service.mapping;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import org.eclipse.vorto.mapping.engine.IDataMapper;
+import org.eclipse.vorto.mapping.engine.MappingResult;
+import org.eclipse.vorto.mapping.engine.decoder.IPayloadDeserializer;
+import org.eclipse.vorto.mapping.engine.decoder.JSONDeserializer;
+import org.eclipse.vorto.mapping.engine.functions.ClassFunction;
+import org.eclipse.vorto.model.FunctionblockModel;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.model.ModelProperty;
+import org.eclipse.vorto.model.PrimitiveType;
+import org.eclipse.vorto.model.runtime.EntityPropertyValue;
+import org.eclipse.vorto.model.runtime.InfomodelValue;
+import org.eclipse.vorto.service.mapping.spec.AbstractTestSpec;
+import org.eclipse.vorto.service.mapping.spec.SpecWithNestedEntity;
+import org.junit.Test;
+
+public class BatchMappingTest {
+
+  private IPayloadDeserializer deserializer = new JSONDeserializer();
+
+  @Test
+  public void testMapBatchInOrder() {
+    IDataMapper mapper =
+        IDataMapper.newBuilder().withSpecification(new SpecWithNestedEntity()).build();
+
+    List<MappingResult> results = mapper.mapSourceBatch(createTemperatures(10));
+
+    assertEquals(10, results.size());
+    for (int i = 0; i < results.size(); i++) {
+      assertTrue(results.get(i).isSuccess());
+      assertEquals((double) i, temperatureOf(results.get(i).getValue()), 0.0);
+    }
+  }
+
+  @Test
+  public void testMapBatchInParallel() {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      IDataMapper mapper = IDataMapper.newBuilder().withSpecification(new SpecWithNestedEntity())
+          .withBatchExecutor(pool).build();
+
+      List<MappingResult> results = mapper.mapSourceBatch(createTemperatures(1000));
+
+      assertEquals(1000, results.size());
+      for (int i = 0; i < results.size(); i++) {
+        assertEquals((double) i, temperatureOf(results.get(i).getValue()), 0.0);
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void testMapBatchReportsFailedItems() {
+    IDataMapper mapper = IDataMapper.newBuilder().withSpecification(new SpecWithFailingFunction())
+        .registerConverterFunction(new ClassFunction("test", BatchMappingTest.class)).build();
+
+    List<MappingResult> results = mapper.mapSourceBatch(Arrays.asList(
+        deserializer.deserialize("{\"value\" : 1 }"), deserializer.deserialize("{\"value\" : -1 }"),
+        deserializer.deserialize("{\"value\" : 2 }")));
+
+    assertEquals(3, results.size());
+    assertTrue(results.get(0).isSuccess());
+    assertFalse(results.get(1).isSuccess());
+    assertNull(results.get(1).getValue());
+    assertEquals(deserializer.deserialize("{\"value\" : -1 }"), results.get(1).getInput());
+    assertTrue(results.get(2).isSuccess());
+    assertEquals(2.0,
+        results.get(2).getValue().get("button").getStatusProperty("value").get().getValue());
+  }
+
+  @Test
+  public void testMapStream() {
+    IDataMapper mapper =
+        IDataMapper.newBuilder().withSpecification(new SpecWithNestedEntity()).build();
+
+    List<Double> temperatures = mapper.mapSourceStream(createTemperatures(5).stream())
+        .map(result -> temperatureOf(result.getValue())).collect(Collectors.toList());
+
+    assertEquals(Arrays.asList(0.0, 1.0, 2.0, 3.0, 4.0), temperatures);
+  }
+
+  private List<Object> createTemperatures(int count) {
+    List<Object> inputs = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      inputs.add(deserializer.deserialize("{\"temperature\" : " + i + " }"));
+    }
+    return inputs;
+  }
+
+  private static double temperatureOf(InfomodelValue value) {
+    EntityPropertyValue temperature =
+        (EntityPropertyValue) value.get("outdoorTemperature").getStatusProperty("value").get();
+    return (Double) temperature.getValue().getPropertyValue("value").get().getValue();
+  }
+
+  public static Object checkPositive(Double value) {
+    if (value < 0) {
+      throw new IllegalArgumentException("Value must be positive");
+    }
+    return value;
+  }
+
+  private static class SpecWithFailingFunction extends AbstractTestSpec {
+
+    @Override
+    protected void createModel() {
+      FunctionblockModel buttonModel = FunctionblockModel
+          .Builder(ModelId.fromPrettyFormat("demo.fb:PushButton:1.0.0"))
+          .statusProperty(ModelProperty.Builder("value", PrimitiveType.DOUBLE)
+              .withXPathStereotype("test:checkPositive(/value)", "demo").build())
+          .build();
+      infomodel.getFunctionblocks().add(ModelProperty.Builder("button", buttonModel).build());
+    }
+  }
+}
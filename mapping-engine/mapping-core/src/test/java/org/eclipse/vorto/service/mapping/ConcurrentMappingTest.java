@@ -0,0 +1,96 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.service.mapping;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.eclipse.vorto.mapping.engine.IDataMapper;
+import org.eclipse.vorto.mapping.engine.decoder.IPayloadDeserializer;
+import org.eclipse.vorto.mapping.engine.decoder.JSONDeserializer;
+import org.eclipse.vorto.model.runtime.InfomodelValue;
+import org.eclipse.vorto.service.mapping.spec.SpecWithConditionalProperties;
+import org.eclipse.vorto.service.mapping.spec.SpecWithPropertyConditionXpath;
+import org.junit.Test;
+
+public class ConcurrentMappingTest {
+
+  private static final int THREADS = 8;
+
+  private static final int MAPPINGS_PER_THREAD = 500;
+
+  @Test
+  public void testSharedMapperWithConditions() throws Exception {
+    IDataMapper mapper =
+        IDataMapper.newBuilder().withSpecification(new SpecWithConditionalProperties()).build();
+    IPayloadDeserializer deserializer = new JSONDeserializer();
+
+    runConcurrently(i -> {
+      int count = i % 3;
+      InfomodelValue mapped =
+          mapper.mapSource(deserializer.deserialize("{\"count\" : " + count + " }"));
+      if (count == 0) {
+        assertEquals(0.0, mapped.get("button").getStatusProperty("sensor_value").get().getValue());
+        assertFalse(mapped.get("button").getStatusProperty("sensor_value2").isPresent());
+      } else if (count == 1) {
+        assertNull(mapped.get("button"));
+      } else {
+        assertEquals(2.0,
+            mapped.get("button").getStatusProperty("sensor_value2").get().getValue());
+      }
+    });
+  }
+
+  @Test
+  public void testSharedSourceObject() throws Exception {
+    IDataMapper mapper =
+        IDataMapper.newBuilder().withSpecification(new SpecWithPropertyConditionXpath()).build();
+    Object source = new JSONDeserializer()
+        .deserialize("{\"data\" : [{\"id\": 100,\"value\": \"x\"},{\"id\": 200,\"value\": \"y\"}]}");
+
+    runConcurrently(i -> {
+      InfomodelValue mapped = mapper.mapSource(source);
+      assertEquals(100.0, mapped.get("button").getStatusProperty("sensor_value").get().getValue());
+    });
+  }
+
+  private interface Mapping {
+    void run(int iteration) throws Exception;
+  }
+
+  private void runConcurrently(Mapping mapping) throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      List<Future<Void>> results = new ArrayList<>();
+      for (int t = 0; t < THREADS; t++) {
+        results.add(executor.submit((Callable<Void>) () -> {
+          for (int i = 0; i < MAPPINGS_PER_THREAD; i++) {
+            mapping.run(i);
+          }
+          return null;
+        }));
+      }
+      for (Future<Void> result : results) {
+        result.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
@@ -0,0 +1,65 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.service.mapping;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.eclipse.vorto.mapping.engine.internal.functions.CustomFunctionsLibrary;
+import org.eclipse.vorto.mapping.engine.internal.plan.FunctionblockPlan;
+import org.eclipse.vorto.mapping.engine.internal.plan.MappingPlan;
+import org.eclipse.vorto.mapping.engine.internal.plan.PropertyPlan;
+import org.eclipse.vorto.service.mapping.spec.SpecWithConditionalProperties;
+import org.eclipse.vorto.service.mapping.spec.SpecWithConditionedRules;
+import org.eclipse.vorto.service.mapping.spec.SpecWithNestedEntity;
+import org.junit.Test;
+
+public class MappingPlanTest {
+
+  @Test
+  public void testCompileFunctionblockConditions() {
+    MappingPlan plan = MappingPlan.compile(new SpecWithConditionedRules(),
+        CustomFunctionsLibrary.createDefault());
+
+    assertEquals(2, plan.getFunctionblocks().size());
+    FunctionblockPlan doorState = plan.getFunctionblock("doorState").get();
+    assertFalse(doorState.getCondition().isUnconditional());
+    assertEquals(PropertyPlan.Kind.XPATH, doorState.getStatusProperties().get(0).getKind());
+    assertTrue(doorState.getStatusProperties().get(0).hasDirectPath());
+    assertFalse(plan.getFunctionblock("unknown").isPresent());
+  }
+
+  @Test
+  public void testCompilePropertyConditions() {
+    MappingPlan plan = MappingPlan.compile(new SpecWithConditionalProperties(),
+        CustomFunctionsLibrary.createDefault());
+
+    FunctionblockPlan button = plan.getFunctionblock("button").get();
+    assertTrue(button.getCondition().isUnconditional());
+    for (PropertyPlan property : button.getStatusProperties()) {
+      assertFalse(property.getCondition().isUnconditional());
+    }
+  }
+
+  @Test
+  public void testCompileNestedEntity() {
+    MappingPlan plan =
+        MappingPlan.compile(new SpecWithNestedEntity(), CustomFunctionsLibrary.createDefault());
+
+    PropertyPlan value =
+        plan.getFunctionblock("outdoorTemperature").get().getStatusProperties().get(0);
+    assertEquals(PropertyPlan.Kind.ENTITY, value.getKind());
+    assertEquals(1, value.getEntityProperties().size());
+    assertEquals(PropertyPlan.Kind.XPATH, value.getEntityProperties().get(0).getKind());
+  }
+}
@@ -0,0 +1,133 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.service.mapping;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.vorto.mapping.engine.IDataMapper;
+import org.eclipse.vorto.mapping.engine.MappingException;
+import org.eclipse.vorto.mapping.engine.decoder.JSONDeserializer;
+import org.eclipse.vorto.mapping.engine.decoder.StreamingJSONDeserializer;
+import org.eclipse.vorto.model.runtime.FunctionblockValue;
+import org.eclipse.vorto.model.runtime.InfomodelValue;
+import org.eclipse.vorto.service.mapping.spec.SpecWithArrayPayload;
+import org.eclipse.vorto.service.mapping.spec.SpecWithConditionalProperties;
+import org.eclipse.vorto.service.mapping.spec.SpecWithConditionedRules;
+import org.eclipse.vorto.service.mapping.spec.SpecWithPropertyConditionXpath;
+import org.eclipse.vorto.service.mapping.spec.SpecWithSameFunctionblock;
+import org.junit.Test;
+
+public class StreamingJSONDeserializerTest {
+
+  private StreamingJSONDeserializer deserializer = new StreamingJSONDeserializer();
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testDeserializeAllValueTypes() {
+    String json = "{\"s\" : \"t\\\"ext\\u00e4\", \"n\": -1.5e2, \"i\": 3, \"b\": true, \"f\": false,"
+        + " \"z\": null, \"a\": [1, \"x\", {}, []], \"o\": {\"ü\": \"€\"}}";
+
+    Map<String, Object> node = (Map<String, Object>) deserializer.deserialize(json);
+
+    assertEquals(new JSONDeserializer().deserialize(json), node);
+    assertEquals("t\"extä", node.get("s"));
+    assertEquals(-150.0, node.get("n"));
+    assertEquals(3.0, node.get("i"));
+    assertEquals(Boolean.TRUE, node.get("b"));
+    assertEquals(Boolean.FALSE, node.get("f"));
+    assertTrue(node.containsKey("z"));
+    assertNull(node.get("z"));
+    assertFalse(node.containsKey("unknown"));
+    assertEquals(4, ((List<Object>) node.get("a")).size());
+    assertEquals("€", ((Map<String, Object>) node.get("o")).get("ü"));
+  }
+
+  @Test
+  public void testDeserializeFromBuffers() {
+    byte[] json = "xx{\"count\" : 2 }yy".getBytes(StandardCharsets.UTF_8);
+
+    Object fromBuffer = deserializer.deserialize(ByteBuffer.wrap(json, 2, json.length - 4));
+    Object fromStream =
+        deserializer.deserialize(new ByteArrayInputStream(json, 2, json.length - 4));
+
+    assertEquals(2.0, ((Map<?, ?>) fromBuffer).get("count"));
+    assertEquals(fromBuffer, fromStream);
+  }
+
+  @Test(expected = MappingException.class)
+  public void testDeserializeInvalidJson() {
+    deserializer.deserialize("{\"count\" : 2 ".getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void testMapWithCondition() {
+    IDataMapper mapper =
+        IDataMapper.newBuilder().withSpecification(new SpecWithConditionalProperties()).build();
+
+    InfomodelValue mappedOutput =
+        mapper.mapSource(deserializer.deserialize("{\"count\" : 0 }".getBytes()));
+    assertEquals(0.0,
+        mappedOutput.get("button").getStatusProperty("sensor_value").get().getValue());
+    assertFalse(mappedOutput.get("button").getStatusProperty("sensor_value2").isPresent());
+  }
+
+  @Test
+  public void testMapNestedObjects() {
+    IDataMapper mapper =
+        IDataMapper.newBuilder().withSpecification(new SpecWithConditionedRules()).build();
+
+    InfomodelValue mappedOutput = mapper.mapSource(deserializer
+        .deserialize("{\"data\" : { \"key\" : \"DoorState\", \"value\" : \"Locked\"}}"));
+
+    assertNull(mappedOutput.get("operationState"));
+    assertEquals("Locked",
+        mappedOutput.get("doorState").getStatusProperty("sensor_value").get().getValue());
+  }
+
+  @Test
+  public void testMapArrays() {
+    IDataMapper mapper =
+        IDataMapper.newBuilder().withSpecification(new SpecWithPropertyConditionXpath()).build();
+    InfomodelValue mappedOutput = mapper.mapSource(deserializer.deserialize(
+        "{\"data\" : [{\"id\": 100,\"value\": \"x\"},{\"id\": 200,\"value\": \"y\"}]}"));
+    assertEquals(100.0,
+        mappedOutput.get("button").getStatusProperty("sensor_value").get().getValue());
+
+    mapper = IDataMapper.newBuilder().withSpecification(new SpecWithArrayPayload()).build();
+    mappedOutput = mapper.mapSource(
+        deserializer.deserialize("[{\"clickType\" : \"DOUBLE\" }, {\"clickType\" : \"SINGLE\" }]"));
+    assertEquals("DOUBLE",
+        mappedOutput.get("button").getStatusProperty("sensor_value").get().getValue());
+  }
+
+  @Test
+  public void testMapSameFunctionblock() {
+    IDataMapper mapper =
+        IDataMapper.newBuilder().withSpecification(new SpecWithSameFunctionblock()).build();
+
+    InfomodelValue mappedOutput =
+        mapper.mapSource(deserializer.deserialize("{\"btnvalue1\" : 2, \"btnvalue2\": 10}"));
+
+    FunctionblockValue btn1 = mappedOutput.get("btn1");
+    FunctionblockValue btn2 = mappedOutput.get("btn2");
+    assertEquals(2.0, btn1.getStatusProperty("sensor_value").get().getValue());
+    assertEquals(10.0, btn2.getStatusProperty("sensor_value").get().getValue());
+  }
+}
@@ -0,0 +1,226 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import org.eclipse.vorto.mapping.engine.model.spec.IMappingSpecification;
+import org.eclipse.vorto.model.ModelId;
+
+/**
+ * Caches built {@link MappingEngine}s by the id of their information model, so that a mapping
+ * specification is only parsed and compiled once.
+ * 
+ * The registry holds at most a configured number of engines and evicts the least recently used
+ * one when it grows beyond. Optionally, engines expire after a time to live and are then reloaded
+ * from the specification loader. Registering an updated specification or reloading an expired one
+ * swaps the engine atomically: the new engine is built before it replaces the old one, and
+ * mappings that are in flight complete with the engine they started with. While an expired engine
+ * is reloaded, other threads keep mapping with the expired engine.
+ *
+ */
+public final class MappingEngineRegistry {
+
+  private final ConcurrentMap<ModelId, CachedEngine> engines = new ConcurrentHashMap<>();
+
+  private final int maxSize;
+
+  private final long timeToLiveNanos;
+
+  private final Function<ModelId, IMappingSpecification> specificationLoader;
+
+  private MappingEngineRegistry(Builder builder) {
+    this.maxSize = builder.maxSize;
+    this.timeToLiveNanos = builder.timeToLive != null ? builder.timeToLive.toNanos() : 0;
+    this.specificationLoader = builder.specificationLoader;
+  }
+
+  public static Builder newBuilder() {
+    return new Builder();
+  }
+
+  /**
+   * Gets the engine for the given information model. Engines that are not cached or have expired
+   * are loaded with the specification loader. The loader is not called while the registry is
+   * locked, so threads missing the same engine at once may each load it, and the engine cached
+   * first is kept.
+   * 
+   * @param infomodelId id of the information model
+   * @return engine mapping payload to the information model
+   * @throws MappingException if no engine is cached and there is no specification loader
+   */
+  public MappingEngine get(ModelId infomodelId) {
+    CachedEngine cached = engines.get(infomodelId);
+    if (cached == null) {
+      if (specificationLoader == null) {
+        throw new MappingException("No mapping specification registered for " + infomodelId);
+      }
+      CachedEngine loaded = load(infomodelId);
+      cached = engines.putIfAbsent(infomodelId, loaded);
+      if (cached == null) {
+        cached = loaded;
+        evictIfNecessary();
+      }
+    } else if (isExpired(cached) && cached.reloading.compareAndSet(false, true)) {
+      CachedEngine expired = cached;
+      try {
+        CachedEngine reloaded = load(infomodelId);
+        // an engine registered while reloading is kept rather than the reloaded one
+        cached = engines.replace(infomodelId, expired, reloaded) ? reloaded
+            : engines.getOrDefault(infomodelId, reloaded);
+      } finally {
+        expired.reloading.set(false);
+      }
+    }
+    cached.lastAccess = System.nanoTime();
+    return cached.engine;
+  }
+
+  /**
+   * @param infomodelId id of the information model
+   * @return the cached engine for the given information model, even if it has expired
+   */
+  public Optional<MappingEngine> getIfPresent(ModelId infomodelId) {
+    CachedEngine cached = engines.get(infomodelId);
+    if (cached == null) {
+      return Optional.empty();
+    }
+    cached.lastAccess = System.nanoTime();
+    return Optional.of(cached.engine);
+  }
+
+  /**
+   * Builds an engine for the given specification and caches it for the information model of the
+   * specification, replacing any engine cached before.
+   * 
+   * @param specification new or updated mapping specification
+   * @return the new engine
+   */
+  public MappingEngine register(IMappingSpecification specification) {
+    CachedEngine cached = new CachedEngine(MappingEngine.create(specification));
+    engines.put(specification.getInfoModel().getId(), cached);
+    evictIfNecessary();
+    return cached.engine;
+  }
+
+  public void invalidate(ModelId infomodelId) {
+    engines.remove(infomodelId);
+  }
+
+  public void invalidateAll() {
+    engines.clear();
+  }
+
+  public int size() {
+    return engines.size();
+  }
+
+  private CachedEngine load(ModelId infomodelId) {
+    IMappingSpecification specification = specificationLoader.apply(infomodelId);
+    if (specification == null) {
+      throw new MappingException("No mapping specification found for " + infomodelId);
+    }
+    return new CachedEngine(MappingEngine.create(specification));
+  }
+
+  private boolean isExpired(CachedEngine cached) {
+    return timeToLiveNanos > 0 && specificationLoader != null
+        && System.nanoTime() - cached.loadedAt > timeToLiveNanos;
+  }
+
+  private void evictIfNecessary() {
+    while (engines.size() > maxSize) {
+      Map.Entry<ModelId, CachedEngine> leastRecentlyUsed = null;
+      for (Map.Entry<ModelId, CachedEngine> entry : engines.entrySet()) {
+        if (leastRecentlyUsed == null
+            || entry.getValue().lastAccess - leastRecentlyUsed.getValue().lastAccess < 0) {
+          leastRecentlyUsed = entry;
+        }
+      }
+      if (leastRecentlyUsed == null) {
+        return;
+      }
+      engines.remove(leastRecentlyUsed.getKey(), leastRecentlyUsed.getValue());
+    }
+  }
+
+  private static final class CachedEngine {
+
+    private final MappingEngine engine;
+
+    private final long loadedAt;
+
+    private volatile long lastAccess;
+
+    private final AtomicBoolean reloading = new AtomicBoolean(false);
+
+    CachedEngine(MappingEngine engine) {
+      this.engine = engine;
+      this.loadedAt = System.nanoTime();
+      this.lastAccess = loadedAt;
+    }
+  }
+
+  public static final class Builder {
+
+    private int maxSize = 1000;
+
+    private Duration timeToLive = null;
+
+    private Function<ModelId, IMappingSpecification> specificationLoader = null;
+
+    private Builder() {}
+
+    /**
+     * @param maxSize maximum number of cached engines, defaults to 1000
+     * @return this builder
+     */
+    public Builder maxSize(int maxSize) {
+      if (maxSize < 1) {
+        throw new IllegalArgumentException("maxSize must be positive");
+      }
+      this.maxSize = maxSize;
+      return this;
+    }
+
+    /**
+     * @param timeToLive time after which an engine is reloaded from the specification loader. By
+     *        default, engines do not expire.
+     * @return this builder
+     */
+    public Builder timeToLive(Duration timeToLive) {
+      this.timeToLive = timeToLive;
+      return this;
+    }
+
+    /**
+     * @param specificationLoader loads the mapping specification of an information model. Without
+     *        a loader, only registered specifications are available.
+     * @return this builder
+     */
+    public Builder specificationLoader(
+        Function<ModelId, IMappingSpecification> specificationLoader) {
+      this.specificationLoader = specificationLoader;
+      return this;
+    }
+
+    public MappingEngineRegistry build() {
+      return new MappingEngineRegistry(this);
+    }
+  }
+}
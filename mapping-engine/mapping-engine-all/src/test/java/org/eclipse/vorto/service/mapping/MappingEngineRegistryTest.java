@@ -0,0 +1,155 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.service.mapping;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.vorto.mapping.engine.MappingEngine;
+import org.eclipse.vorto.mapping.engine.MappingEngineRegistry;
+import org.eclipse.vorto.mapping.engine.MappingException;
+import org.eclipse.vorto.mapping.engine.model.spec.IMappingSpecification;
+import org.eclipse.vorto.mapping.engine.model.spec.MappingSpecification;
+import org.eclipse.vorto.model.FunctionblockModel;
+import org.eclipse.vorto.model.Infomodel;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.model.ModelProperty;
+import org.eclipse.vorto.model.PrimitiveType;
+import org.eclipse.vorto.model.Stereotype;
+import org.eclipse.vorto.model.runtime.InfomodelValue;
+import org.junit.Test;
+
+public class MappingEngineRegistryTest {
+
+  private final AtomicInteger loadCount = new AtomicInteger();
+
+  private IMappingSpecification loadSpecification(ModelId infomodelId) {
+    loadCount.incrementAndGet();
+    FunctionblockModel distance =
+        new FunctionblockModel(ModelId.fromPrettyFormat("com.ipso.smartobjects:Distance:1.1.0"));
+    ModelProperty sensorValue = new ModelProperty();
+    sensorValue.setName("sensor_value");
+    sensorValue.setType(PrimitiveType.STRING);
+    sensorValue.addStereotype(Stereotype.createWithXpath("/distance"));
+    distance.setStatusProperties(Arrays.asList(sensorValue));
+
+    Infomodel infomodel = new Infomodel(infomodelId);
+    infomodel.getFunctionblocks().add(ModelProperty.Builder("distance", distance).build());
+    return new MappingSpecification(infomodel);
+  }
+
+  @Test
+  public void testEngineIsLoadedOnce() {
+    MappingEngineRegistry registry =
+        MappingEngineRegistry.newBuilder().specificationLoader(this::loadSpecification).build();
+    ModelId id = ModelId.fromPrettyFormat("org.eclipse.vorto.tutorial:DistanceSensor:1.0.0");
+
+    MappingEngine engine = registry.get(id);
+    assertSame(engine, registry.get(id));
+    assertEquals(1, loadCount.get());
+
+    Map<String, Object> data = new HashMap<String, Object>();
+    data.put("distance", "100m");
+    InfomodelValue result = engine.mapSource(data);
+    assertEquals("100m", result.get("distance").getStatusProperty("sensor_value").get().getValue());
+  }
+
+  @Test
+  public void testLeastRecentlyUsedEngineIsEvicted() throws Exception {
+    MappingEngineRegistry registry = MappingEngineRegistry.newBuilder().maxSize(2)
+        .specificationLoader(this::loadSpecification).build();
+    ModelId first = ModelId.fromPrettyFormat("org.eclipse.vorto:First:1.0.0");
+    ModelId second = ModelId.fromPrettyFormat("org.eclipse.vorto:Second:1.0.0");
+    ModelId third = ModelId.fromPrettyFormat("org.eclipse.vorto:Third:1.0.0");
+
+    registry.get(first);
+    Thread.sleep(2);
+    registry.get(second);
+    Thread.sleep(2);
+    registry.get(first);
+    Thread.sleep(2);
+    registry.get(third);
+
+    assertEquals(2, registry.size());
+    assertTrue(registry.getIfPresent(first).isPresent());
+    assertFalse(registry.getIfPresent(second).isPresent());
+    assertTrue(registry.getIfPresent(third).isPresent());
+  }
+
+  @Test
+  public void testExpiredEngineIsReloaded() throws Exception {
+    MappingEngineRegistry registry = MappingEngineRegistry.newBuilder()
+        .timeToLive(Duration.ofMillis(1)).specificationLoader(this::loadSpecification).build();
+    ModelId id = ModelId.fromPrettyFormat("org.eclipse.vorto.tutorial:DistanceSensor:1.0.0");
+
+    MappingEngine engine = registry.get(id);
+    Thread.sleep(5);
+    assertNotSame(engine, registry.get(id));
+    assertEquals(2, loadCount.get());
+  }
+
+  @Test
+  public void testFailedReloadIsRetried() throws Exception {
+    AtomicInteger reloads = new AtomicInteger();
+    MappingEngineRegistry registry =
+        MappingEngineRegistry.newBuilder().timeToLive(Duration.ofMillis(1))
+            .specificationLoader(infomodelId -> loadCount.get() > 0
+                && reloads.incrementAndGet() == 1 ? null : loadSpecification(infomodelId))
+            .build();
+    ModelId id = ModelId.fromPrettyFormat("org.eclipse.vorto.tutorial:DistanceSensor:1.0.0");
+
+    MappingEngine engine = registry.get(id);
+    Thread.sleep(5);
+    try {
+      registry.get(id);
+    } catch (MappingException e) {
+      // the first reload fails
+    }
+    assertSame(engine, registry.getIfPresent(id).get());
+
+    MappingEngine reloaded = registry.get(id);
+    assertNotSame(engine, reloaded);
+    assertSame(reloaded, registry.getIfPresent(id).get());
+    assertEquals(2, loadCount.get());
+  }
+
+  @Test
+  public void testRegisterReplacesEngine() {
+    MappingEngineRegistry registry = MappingEngineRegistry.newBuilder().build();
+    ModelId id = ModelId.fromPrettyFormat("org.eclipse.vorto.tutorial:DistanceSensor:1.0.0");
+
+    MappingEngine registered = registry.register(loadSpecification(id));
+    assertSame(registered, registry.get(id));
+
+    MappingEngine updated = registry.register(loadSpecification(id));
+    assertNotSame(registered, updated);
+    assertSame(updated, registry.get(id));
+    assertEquals(1, registry.size());
+
+    registry.invalidate(id);
+    assertFalse(registry.getIfPresent(id).isPresent());
+  }
+
+  @Test(expected = MappingException.class)
+  public void testUnknownEngineWithoutLoader() {
+    MappingEngineRegistry.newBuilder().build()
+        .get(ModelId.fromPrettyFormat("org.eclipse.vorto:Unknown:1.0.0"));
+  }
+}
@@ -0,0 +1,163 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.mapping.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
+
+import org.eclipse.vorto.mapping.engine.converter.JavascriptEvalProvider;
+import org.eclipse.vorto.mapping.engine.converter.javascript.SpecWithCustomFunction;
+import org.eclipse.vorto.mapping.engine.converter.string.StringFunctionFactory;
+import org.eclipse.vorto.mapping.engine.converter.types.TypeFunctionFactory;
+import org.eclipse.vorto.mapping.engine.decoder.IPayloadDeserializer;
+import org.eclipse.vorto.mapping.engine.decoder.JSONDeserializer;
+import org.eclipse.vorto.model.runtime.EntityPropertyValue;
+import org.eclipse.vorto.model.runtime.FunctionblockValue;
+import org.eclipse.vorto.model.runtime.InfomodelValue;
+import org.eclipse.vorto.service.mapping.spec.SpecWithNestedEntity;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Maps with one mapper per specification that is shared by all threads and reports the
+ * throughput per amount of threads. The throughput is only reported, not asserted, as it depends
+ * on the machine the test runs on.
+ */
+public class ConcurrentMappingStressTest {
+
+  private static final Logger LOGGER =
+      Logger.getLogger(ConcurrentMappingStressTest.class.getName());
+
+  private static final int[] THREAD_AMOUNTS = {1, 8, 32, 64};
+
+  private static final int MAPPINGS_PER_RUN = 64_000;
+
+  private static final int WARMUP_MAPPINGS = 20_000;
+
+  static IDataMapper withoutConverterMapper, javascriptMapper;
+  static String withoutConverterInput[], javascriptInput[];
+  static Double withoutConverterOutput[];
+  static Integer javascriptOutput[];
+
+  static IPayloadDeserializer deserializer = new JSONDeserializer();
+
+  @BeforeClass
+  public static void init() {
+    withoutConverterMapper =
+        IDataMapper.newBuilder().withSpecification(new SpecWithNestedEntity()).build();
+    withoutConverterInput = new String[] {"{\"temperature\" : 21.3 }",
+        "{\"temperature\" : 0.1 }", "{\"temperature\" : 11 }"};
+    withoutConverterOutput = new Double[] {21.3, 0.1, 11.0};
+
+    javascriptMapper = IDataMapper.newBuilder().withSpecification(new SpecWithCustomFunction())
+        .registerConverterFunction(TypeFunctionFactory.createFunctions())
+        .registerConverterFunction(StringFunctionFactory.createFunctions())
+        .registerScriptEvalProvider(new JavascriptEvalProvider()).build();
+    javascriptInput = new String[] {"{\"clickType\" : \"SINGLE\"}",
+        "{\"clickType\" : \"DOUBLE\"}", "{\"clickType\" : \"\"}"};
+    javascriptOutput = new Integer[] {1, 2, 99};
+  }
+
+  @Test
+  public void withoutConverter() throws Exception {
+    report("withoutConverter", i -> {
+      int r = i % withoutConverterInput.length;
+      InfomodelValue mappedOutput =
+          withoutConverterMapper.mapSource(deserializer.deserialize(withoutConverterInput[r]));
+      EntityPropertyValue temperatureValue = (EntityPropertyValue) mappedOutput
+          .get("outdoorTemperature").getStatusProperty("value").get();
+      assertEquals(withoutConverterOutput[r],
+          temperatureValue.getValue().getPropertyValue("value").get().getValue());
+    });
+  }
+
+  @Test
+  public void builtInConverterAndJs() throws Exception {
+    report("builtInConverterAndJs", i -> {
+      int r = i % javascriptInput.length;
+      InfomodelValue mappedOutput =
+          javascriptMapper.mapSource(deserializer.deserialize(javascriptInput[r]));
+      FunctionblockValue buttonFunctionblockData = mappedOutput.get("button");
+      assertEquals(true, (Boolean) buttonFunctionblockData.getStatusProperty("digital_input_state")
+          .get().getValue());
+      assertEquals(javascriptOutput[r],
+          buttonFunctionblockData.getStatusProperty("digital_input_count").get().getValue());
+      assertNull(mappedOutput.get("voltage"));
+    });
+  }
+
+  private interface Mapping {
+    void run(int iteration) throws Exception;
+  }
+
+  /**
+   * Reports the throughput for each amount of threads, relative to the single threaded
+   * throughput. A relative throughput far below 1 means that the threads serialize on shared
+   * state.
+   */
+  private void report(String scenario, Mapping mapping) throws Exception {
+    run(mapping, 1, WARMUP_MAPPINGS);
+
+    double singleThreaded = 0;
+    for (int threads : THREAD_AMOUNTS) {
+      double throughput = run(mapping, threads, MAPPINGS_PER_RUN);
+      if (threads == 1) {
+        singleThreaded = throughput;
+      }
+      LOGGER.info(String.format("%s: %d threads, %.0f mappings/s (%.2fx)", scenario, threads,
+          throughput, throughput / singleThreaded));
+    }
+  }
+
+  /**
+   * Runs the given amount of mappings, evenly distributed across the given amount of threads
+   * 
+   * @return mappings per second
+   */
+  private double run(Mapping mapping, int threads, int mappings) throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      CountDownLatch start = new CountDownLatch(1);
+      List<Future<Void>> results = new ArrayList<>();
+      int mappingsPerThread = mappings / threads;
+      for (int t = 0; t < threads; t++) {
+        results.add(executor.submit((Callable<Void>) () -> {
+          start.await();
+          for (int i = 0; i < mappingsPerThread; i++) {
+            mapping.run(i);
+          }
+          return null;
+        }));
+      }
+      long startTime = System.nanoTime();
+      start.countDown();
+      for (Future<Void> result : results) {
+        // rethrows assertion errors of the mapping threads
+        result.get();
+      }
+      long duration = System.nanoTime() - startTime;
+      return mappingsPerThread * threads / (duration / 1_000_000_000.0);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
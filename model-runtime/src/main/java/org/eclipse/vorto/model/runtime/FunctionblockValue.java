@@ -26,12 +26,33 @@ public class FunctionblockValue implements IValidatable {
 
   private FunctionblockModel meta;
 
-  private List<PropertyValue> status = new ArrayList<PropertyValue>();
-  private List<PropertyValue> configuration = new ArrayList<PropertyValue>();
-  private List<FBEventValue> events = new ArrayList<FBEventValue>();
+  private final PropertySlots statusSlots;
+  private final PropertySlots configurationSlots;
+
+  // allocated on the first value, indexed by the slots of the properties
+  private PropertyValue[] status;
+  private PropertyValue[] configuration;
+  private List<FBEventValue> events;
 
   public FunctionblockValue(FunctionblockModel meta) {
+    this(meta, PropertySlots.NONE, PropertySlots.NONE);
+  }
+
+  /**
+   * Creates a value which shares the slots of the status and configuration properties of the model
+   * with other values of the model. Slots which do not match the current properties of the model
+   * are recomputed.
+   *
+   * @param meta function block model of the value
+   * @param statusSlots slots of the status properties of the model
+   * @param configurationSlots slots of the configuration properties of the model
+   */
+  public FunctionblockValue(FunctionblockModel meta, PropertySlots statusSlots,
+      PropertySlots configurationSlots) {
     this.meta = meta;
+    this.statusSlots = statusSlots.currentFor(meta != null ? meta.getStatusProperties() : null);
+    this.configurationSlots =
+        configurationSlots.currentFor(meta != null ? meta.getConfigurationProperties() : null);
   }
 
   public FunctionblockModel getMeta() {
@@ -39,92 +60,123 @@ public class FunctionblockValue implements IValidatable {
   }
 
   public List<PropertyValue> getStatus() {
-    return Collections.unmodifiableList(this.status);
+    return toList(this.status);
   }
 
   public Optional<PropertyValue> getStatusProperty(String propertyName) {
-    return this.status.stream().filter(p -> p.getMeta().getName().equals(propertyName)).findAny();
+    return Optional.ofNullable(get(this.status, statusSlots.slotOf(propertyName)));
   }
 
   public List<PropertyValue> getConfiguration() {
-    return Collections.unmodifiableList(this.configuration);
+    return toList(this.configuration);
   }
 
   public Optional<PropertyValue> getConfigurationProperty(String propertyName) {
-    return this.configuration.stream().filter(p -> p.getMeta().getName().equals(propertyName))
-        .findAny();
+    return Optional
+        .ofNullable(get(this.configuration, configurationSlots.slotOf(propertyName)));
+  }
+
+  /**
+   * @return true if neither a status nor a configuration property has a value
+   */
+  public boolean isEmpty() {
+    return this.status == null && this.configuration == null;
   }
 
   public FunctionblockValue withStatusProperty(String name, Object value) {
-    Optional<ModelProperty> mp = meta.getStatusProperty(name);
-    if (!mp.isPresent()) {
+    int slot = statusSlots.slotOf(name);
+    if (slot < 0) {
       throw new IllegalArgumentException(
           "Status property with given name is not defined in Function Block");
     }
 
-    Optional<PropertyValue> pv = this.getStatusProperty(name);
-    if (pv.isPresent()) {
-      pv.get().setValue(value);
+    if (this.status == null) {
+      this.status = new PropertyValue[statusSlots.size()];
+    }
+    if (this.status[slot] != null) {
+      this.status[slot].setValue(value);
     } else {
-
-      this.status.add(PropertyValueFactory.create(mp.get(), value));
+      this.status[slot] = PropertyValueFactory.create(statusSlots.get(slot), value);
     }
 
     return this;
   }
 
   public FunctionblockValue withConfigurationProperty(String name, Object value) {
-    Optional<ModelProperty> mp = meta.getConfigurationProperty(name);
-    if (!mp.isPresent()) {
+    int slot = configurationSlots.slotOf(name);
+    if (slot < 0) {
       throw new IllegalArgumentException(
           "Configuration property with given name is not defined in Function Block");
     }
 
-    Optional<PropertyValue> pv = this.getConfigurationProperty(name);
-    if (pv.isPresent()) {
-      pv.get().setValue(value);
+    if (this.configuration == null) {
+      this.configuration = new PropertyValue[configurationSlots.size()];
+    }
+    if (this.configuration[slot] != null) {
+      this.configuration[slot].setValue(value);
     } else {
-      this.configuration.add(PropertyValueFactory.create(mp.get(), value));
+      this.configuration[slot] =
+          PropertyValueFactory.create(configurationSlots.get(slot), value);
     }
 
     return this;
   }
 
   public FunctionblockValue withEvent(FBEventValue event) {
+    if (this.events == null) {
+      this.events = new ArrayList<FBEventValue>();
+    }
     this.events.add(event);
     return this;
   }
 
+  private static PropertyValue get(PropertyValue[] values, int slot) {
+    return values != null && slot >= 0 ? values[slot] : null;
+  }
+
+  private static List<PropertyValue> toList(PropertyValue[] values) {
+    if (values == null) {
+      return Collections.emptyList();
+    }
+    List<PropertyValue> result = new ArrayList<PropertyValue>(values.length);
+    for (PropertyValue value : values) {
+      if (value != null) {
+        result.add(value);
+      }
+    }
+    return Collections.unmodifiableList(result);
+  }
+
   @Override
   public String toString() {
-    return "FunctionblockData [status=" + status + ", configuration=" + configuration + "]";
+    return "FunctionblockData [status=" + getStatus() + ", configuration=" + getConfiguration()
+        + "]";
   }
 
   @Override
   public ValidationReport validate() {
     ValidationReport report = new ValidationReport();
 
-    for (ModelProperty statusProperty : meta.getStatusProperties()) {
-      checkProperty(getStatus(), statusProperty, meta.getId().getName().toLowerCase() + "", report);
+    for (int slot = 0; slot < statusSlots.size(); slot++) {
+      checkProperty(get(this.status, slot), statusSlots.get(slot),
+          meta.getId().getName().toLowerCase() + "", report);
     }
 
-    for (ModelProperty configProperty : meta.getConfigurationProperties()) {
-      checkProperty(getConfiguration(), configProperty, meta.getId().getName().toLowerCase() + "",
-          report);
+    for (int slot = 0; slot < configurationSlots.size(); slot++) {
+      checkProperty(get(this.configuration, slot), configurationSlots.get(slot),
+          meta.getId().getName().toLowerCase() + "", report);
     }
     return report;
   }
 
-  private void checkProperty(List<PropertyValue> properties, ModelProperty property, String path,
+  private void checkProperty(PropertyValue value, ModelProperty property, String path,
       ValidationReport report) {
-    Optional<PropertyValue> mpd =
-        properties.stream().filter(p -> p.getMeta().equals(property)).findAny();
-    if (property.isMandatory() && !mpd.isPresent()) {
+    if (property.isMandatory() && value == null) {
       report.addItem(property,
           "Mandatory field " + path + "/" + property.getName() + " is missing");
     } else {
-      if (mpd.isPresent() && property.getType() instanceof PrimitiveType) {
-        checkPrimitiveTypeValue(path, mpd.get().getValue(), property, report);
+      if (value != null && property.getType() instanceof PrimitiveType) {
+        checkPrimitiveTypeValue(path, value.getValue(), property, report);
       }
     }
   }
@@ -198,14 +250,18 @@ public class FunctionblockValue implements IValidatable {
   public Map<String, Object> serialize() {
     Map<String, Object> result = new HashMap<String, Object>();
 
-    for (PropertyValue statusProperty : status) {
-      result.put(statusProperty.getMeta().getName(), statusProperty.serialize());
-    }
+    serialize(this.status, result);
+    serialize(this.configuration, result);
+    return result;
+  }
 
-    for (PropertyValue configProperty : this.configuration) {
-      result.put(configProperty.getMeta().getName(), configProperty.serialize());
+  private static void serialize(PropertyValue[] values, Map<String, Object> result) {
+    if (values != null) {
+      for (PropertyValue value : values) {
+        if (value != null) {
+          result.put(value.getMeta().getName(), value.serialize());
+        }
+      }
     }
-
-    return result;
   }
 }
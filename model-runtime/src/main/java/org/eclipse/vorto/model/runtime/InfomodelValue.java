@@ -12,7 +12,9 @@
  */
 package org.eclipse.vorto.model.runtime;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import org.eclipse.vorto.model.Infomodel;
 import org.eclipse.vorto.model.ModelProperty;
@@ -21,37 +23,97 @@ public class InfomodelValue implements IValidatable {
 
   private Infomodel meta = null;
 
-  private Map<String, FunctionblockValue> functionblocks = new HashMap<>();
+  private final PropertySlots slots;
+
+  // allocated on the first function block, indexed by the slots of the function block properties
+  private FunctionblockValue[] functionblocks;
+
+  // function blocks of properties which are not defined by the information model
+  private Map<String, FunctionblockValue> undefinedFunctionblocks;
+
+  // read-only map returned by getProperties(), until a function block is set
+  private Map<String, FunctionblockValue> properties;
 
   public InfomodelValue(Infomodel meta) {
+    this(meta, PropertySlots.NONE);
+  }
+
+  /**
+   * Creates a value which shares the slots of the function block properties of the information
+   * model with other values of the model. Slots which do not match the current function block
+   * properties of the model are recomputed.
+   *
+   * @param meta information model of the value
+   * @param functionblockSlots slots of the function block properties of the model
+   */
+  public InfomodelValue(Infomodel meta, PropertySlots functionblockSlots) {
     this.meta = meta;
+    this.slots = functionblockSlots.currentFor(meta != null ? meta.getFunctionblocks() : null);
   }
 
   public void withFunctionblock(String propertyName, FunctionblockValue data) {
-    this.functionblocks.put(propertyName, data);
+    this.properties = null;
+    int slot = slots.slotOf(propertyName);
+    if (slot >= 0) {
+      if (this.functionblocks == null) {
+        this.functionblocks = new FunctionblockValue[slots.size()];
+      }
+      this.functionblocks[slot] = data;
+    } else {
+      if (this.undefinedFunctionblocks == null) {
+        this.undefinedFunctionblocks = new LinkedHashMap<>();
+      }
+      this.undefinedFunctionblocks.put(propertyName, data);
+    }
   }
 
+  /**
+   * @return read-only map of the function block values by function block property name, in the
+   *         order of the function block properties of the information model
+   */
   public Map<String, FunctionblockValue> getProperties() {
-    return functionblocks;
+    if (functionblocks == null && undefinedFunctionblocks == null) {
+      return Collections.emptyMap();
+    }
+    if (properties != null) {
+      return properties;
+    }
+    Map<String, FunctionblockValue> result = new LinkedHashMap<>();
+    if (functionblocks != null) {
+      for (int slot = 0; slot < functionblocks.length; slot++) {
+        if (functionblocks[slot] != null) {
+          result.put(slots.get(slot).getName(), functionblocks[slot]);
+        }
+      }
+    }
+    if (undefinedFunctionblocks != null) {
+      result.putAll(undefinedFunctionblocks);
+    }
+    this.properties = Collections.unmodifiableMap(result);
+    return this.properties;
   }
 
   public FunctionblockValue get(String fbProperty) {
-    return functionblocks.get(fbProperty);
+    int slot = slots.slotOf(fbProperty);
+    if (slot >= 0) {
+      return functionblocks != null ? functionblocks[slot] : null;
+    }
+    return undefinedFunctionblocks != null ? undefinedFunctionblocks.get(fbProperty) : null;
   }
 
   @Override
   public String toString() {
-    return "InfomodelData [functionblocks=" + functionblocks + "]";
+    return "InfomodelData [functionblocks=" + getProperties() + "]";
   }
 
   @Override
   public ValidationReport validate() {
     ValidationReport report = new ValidationReport();
     for (ModelProperty fbProperty : meta.getFunctionblocks()) {
-      if (fbProperty.isMandatory() && !functionblocks.containsKey(fbProperty.getName())) {
+      FunctionblockValue fbData = get(fbProperty.getName());
+      if (fbProperty.isMandatory() && fbData == null) {
         report.addItem(fbProperty, "Mandatory property is missing!");
       } else {
-        FunctionblockValue fbData = functionblocks.get(fbProperty.getName());
         if (fbData != null) {
           ValidationReport fbReport = fbData.validate();
           report.addReport(fbReport);
@@ -64,8 +126,8 @@ public class InfomodelValue implements IValidatable {
 
   public Map<String, Object> serialize() {
     Map<String, Object> result = new HashMap<String, Object>();
-    for (String fbProperty : functionblocks.keySet()) {
-      result.put(fbProperty, functionblocks.get(fbProperty).serialize());
+    for (Map.Entry<String, FunctionblockValue> fbProperty : getProperties().entrySet()) {
+      result.put(fbProperty.getKey(), fbProperty.getValue().serialize());
     }
     return result;
   }
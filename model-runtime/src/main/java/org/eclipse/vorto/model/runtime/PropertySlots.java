@@ -0,0 +1,81 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.model.runtime;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.vorto.model.ModelProperty;
+
+/**
+ * Assigns each property of a model property list a slot, so that values of the properties can be
+ * kept in an array and looked up by name in constant time. Slots are immutable and can be shared
+ * by all values of a model, e.g. by computing them once per compiled mapping and passing them to
+ * the constructors of {@link FunctionblockValue} and {@link InfomodelValue}.
+ *
+ */
+public final class PropertySlots {
+
+  static final PropertySlots NONE = new PropertySlots(Collections.emptyList());
+
+  private final List<ModelProperty> properties;
+
+  private final ModelProperty[] slots;
+
+  private final Map<String, Integer> slotsByName;
+
+  private PropertySlots(List<ModelProperty> properties) {
+    this.properties = properties;
+    this.slots = properties.toArray(new ModelProperty[properties.size()]);
+    this.slotsByName = new HashMap<>(slots.length * 2);
+    for (int i = 0; i < slots.length; i++) {
+      // the first property wins for duplicate names, as with a linear search
+      this.slotsByName.putIfAbsent(slots[i].getName(), i);
+    }
+  }
+
+  /**
+   * @param properties property list of a model, may be null
+   * @return slots of the given properties
+   */
+  public static PropertySlots of(List<ModelProperty> properties) {
+    return properties != null ? new PropertySlots(properties) : NONE;
+  }
+
+  /**
+   * @return these slots if they were computed from the given property list and the list has not
+   *         grown since, otherwise new slots of the list
+   */
+  PropertySlots currentFor(List<ModelProperty> properties) {
+    boolean current = this == NONE ? properties == null
+        : this.properties == properties && properties.size() == slots.length;
+    return current ? this : of(properties);
+  }
+
+  /**
+   * @return slot of the property with the given name, or -1 if there is no such property
+   */
+  int slotOf(String propertyName) {
+    Integer slot = slotsByName.get(propertyName);
+    return slot != null ? slot : -1;
+  }
+
+  ModelProperty get(int slot) {
+    return slots[slot];
+  }
+
+  int size() {
+    return slots.length;
+  }
+}
@@ -0,0 +1,125 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.model.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.vorto.model.FunctionblockModel;
+import org.eclipse.vorto.model.Infomodel;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.model.ModelProperty;
+import org.eclipse.vorto.model.PrimitiveType;
+import org.junit.Test;
+
+public class FunctionblockValueTest {
+
+  @Test
+  public void testStatusPropertiesInModelOrder() {
+    FunctionblockModel fbModel = createModel(60);
+    FunctionblockValue data = new FunctionblockValue(fbModel);
+    assertTrue(data.isEmpty());
+
+    data.withStatusProperty("prop42", "b").withStatusProperty("prop7", "a")
+        .withStatusProperty("prop42", "c");
+
+    assertFalse(data.isEmpty());
+    assertEquals(2, data.getStatus().size());
+    assertEquals("prop7", data.getStatus().get(0).getMeta().getName());
+    assertEquals("c", data.getStatusProperty("prop42").get().getValue());
+    assertFalse(data.getStatusProperty("prop8").isPresent());
+    assertTrue(data.getConfiguration().isEmpty());
+    assertEquals(2, data.serialize().size());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUndefinedStatusProperty() {
+    new FunctionblockValue(createModel(1)).withStatusProperty("unknown", "value");
+  }
+
+  @Test
+  public void testPropertyAddedToModel() {
+    FunctionblockModel fbModel = createModel(1);
+    new FunctionblockValue(fbModel).withStatusProperty("prop0", "value");
+
+    fbModel.getStatusProperties()
+        .add(ModelProperty.createPrimitiveProperty("added", false, PrimitiveType.STRING));
+
+    FunctionblockValue data = new FunctionblockValue(fbModel).withStatusProperty("added", "value");
+    assertEquals("value", data.getStatusProperty("added").get().getValue());
+  }
+
+  @Test
+  public void testSharedSlots() {
+    FunctionblockModel fbModel = createModel(2);
+    PropertySlots statusSlots = PropertySlots.of(fbModel.getStatusProperties());
+    PropertySlots configurationSlots = PropertySlots.of(fbModel.getConfigurationProperties());
+
+    FunctionblockValue data = new FunctionblockValue(fbModel, statusSlots, configurationSlots)
+        .withStatusProperty("prop1", "value");
+    assertEquals("value", data.getStatusProperty("prop1").get().getValue());
+
+    // slots computed before the property was added are recomputed
+    fbModel.getStatusProperties()
+        .add(ModelProperty.createPrimitiveProperty("added", false, PrimitiveType.STRING));
+    data = new FunctionblockValue(fbModel, statusSlots, configurationSlots)
+        .withStatusProperty("added", "value");
+    assertEquals("value", data.getStatusProperty("added").get().getValue());
+  }
+
+  @Test
+  public void testInfomodelValue() {
+    Infomodel infomodel = new Infomodel(ModelId.fromPrettyFormat("default:TestIM:1.0.0"));
+    FunctionblockModel fbModel = createModel(1);
+    infomodel.setFunctionblocks(new ArrayList<>(Arrays.asList(
+        ModelProperty.Builder("first", fbModel).build(),
+        ModelProperty.Builder("second", fbModel).build())));
+
+    InfomodelValue value = new InfomodelValue(infomodel);
+    assertTrue(value.getProperties().isEmpty());
+
+    FunctionblockValue second = new FunctionblockValue(fbModel).withStatusProperty("prop0", "v");
+    value.withFunctionblock("second", second);
+    value.withFunctionblock("undefined", second);
+
+    assertEquals(second, value.get("second"));
+    assertNull(value.get("first"));
+    assertEquals(Arrays.asList("second", "undefined"),
+        new ArrayList<>(value.getProperties().keySet()));
+
+    Map<String, FunctionblockValue> properties = value.getProperties();
+    assertSame(properties, value.getProperties());
+    value.withFunctionblock("first", second);
+    assertNotSame(properties, value.getProperties());
+    assertEquals(Arrays.asList("first", "second", "undefined"),
+        new ArrayList<>(value.getProperties().keySet()));
+  }
+
+  private FunctionblockModel createModel(int statusProperties) {
+    FunctionblockModel fbModel =
+        new FunctionblockModel(ModelId.fromPrettyFormat("default:TestFB:1.0.0"));
+    List<ModelProperty> properties = new ArrayList<>();
+    for (int i = 0; i < statusProperties; i++) {
+      properties.add(ModelProperty.createPrimitiveProperty("prop" + i, false, PrimitiveType.STRING));
+    }
+    fbModel.setStatusProperties(properties);
+    return fbModel;
+  }
+}
@@ -0,0 +1,202 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.plugin.generator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.eclipse.vorto.core.api.model.BuilderUtils;
+import org.eclipse.vorto.core.api.model.BuilderUtils.MappingBuilder;
+import org.eclipse.vorto.core.api.model.BuilderUtils.MappingRuleBuilder;
+import org.eclipse.vorto.core.api.model.datatype.Entity;
+import org.eclipse.vorto.core.api.model.datatype.Enum;
+import org.eclipse.vorto.core.api.model.datatype.PrimitiveType;
+import org.eclipse.vorto.core.api.model.datatype.Property;
+import org.eclipse.vorto.core.api.model.functionblock.FunctionblockModel;
+import org.eclipse.vorto.core.api.model.functionblock.Operation;
+import org.eclipse.vorto.core.api.model.mapping.EntityAttributeSource;
+import org.eclipse.vorto.core.api.model.mapping.EnumAttributeSource;
+import org.eclipse.vorto.core.api.model.mapping.MappingFactory;
+import org.eclipse.vorto.core.api.model.mapping.MappingModel;
+import org.eclipse.vorto.core.api.model.mapping.MappingRule;
+import org.eclipse.vorto.core.api.model.mapping.ModelAttribute;
+import org.eclipse.vorto.core.api.model.mapping.OperationSource;
+import org.eclipse.vorto.core.api.model.mapping.Source;
+import org.eclipse.vorto.core.api.model.mapping.StatusSource;
+import org.eclipse.vorto.core.api.model.model.ModelId;
+import org.eclipse.vorto.core.api.model.model.ModelType;
+import org.junit.Before;
+import org.junit.Test;
+
+public class InvocationContextTest {
+
+  private Enum accuracy;
+
+  private Entity position;
+
+  private FunctionblockModel location;
+
+  private FunctionblockModel tracker;
+
+  @Before
+  public void createTestData() {
+    accuracy = BuilderUtils.newEnum(new ModelId(ModelType.Datatype, "Accuracy", "org.eclipse.vorto",
+        "1.0.0")).withLiterals("LOW", "HIGH").build();
+
+    position = BuilderUtils.newEntity(new ModelId(ModelType.Datatype, "Position",
+        "org.eclipse.vorto", "1.0.0")).withProperty("latitude", PrimitiveType.FLOAT).build();
+
+    // both function blocks have a status property and an operation of the same name
+    location = BuilderUtils.newFunctionblock(new ModelId(ModelType.Functionblock, "Location",
+        "org.eclipse.vorto", "1.0.0")).withStatusProperty("value", PrimitiveType.FLOAT)
+        .withOperation("reset", null, "", false).build();
+
+    tracker = BuilderUtils.newFunctionblock(new ModelId(ModelType.Functionblock, "Tracker",
+        "org.eclipse.vorto", "1.0.0")).withStatusProperty("value", PrimitiveType.FLOAT)
+        .withOperation("reset", null, "", false).build();
+  }
+
+  @Test
+  public void testFirstRuleWins() {
+    InvocationContext ctx = createContext(
+        createMapping(createRule(createStatusSource(location), "source", "/first"),
+            createRule(createStatusSource(location), "source", "/second")),
+        createMapping(createRule(createStatusSource(location), "source", "/third")));
+
+    assertEquals("/first", ctx.getMappedElement(getStatusProperty(location), "source")
+        .getAttributeValue("xpath", null));
+  }
+
+  @Test
+  public void testStereotypeIsCaseInsensitive() {
+    InvocationContext ctx =
+        createContext(createMapping(createRule(createStatusSource(location), "OBJECT_ID", "/id")));
+
+    Property property = getStatusProperty(location);
+    assertTrue(ctx.getMappedElement(property, "OBJECT_ID").isMapped());
+    assertTrue(ctx.getMappedElement(property, "object_id").isMapped());
+    assertEquals("/id",
+        ctx.getMappedElement(property, "Object_Id").getAttributeValue("xpath", null));
+    assertFalse(ctx.getMappedElement(property, "source").isMapped());
+    assertFalse(ctx.getMappedElement(property, null).isMapped());
+  }
+
+  @Test
+  public void testPropertyIsOnlyMappedForItsFunctionblock() {
+    InvocationContext ctx = createContext(
+        createMapping(createRule(createStatusSource(location), "source", "/location")));
+
+    assertTrue(ctx.getMappedElement(getStatusProperty(location), "source").isMapped());
+    assertFalse(ctx.getMappedElement(getStatusProperty(tracker), "source").isMapped());
+
+    ctx = createContext(createMapping(createRule(createStatusSource(tracker), "source", "/tracker"),
+        createRule(createStatusSource(location), "source", "/location")));
+
+    assertEquals("/location", ctx.getMappedElement(getStatusProperty(location), "source")
+        .getAttributeValue("xpath", null));
+    assertEquals("/tracker", ctx.getMappedElement(getStatusProperty(tracker), "source")
+        .getAttributeValue("xpath", null));
+  }
+
+  @Test
+  public void testOperationIsOnlyMappedForItsFunctionblock() {
+    InvocationContext ctx = createContext(
+        createMapping(createRule(createOperationSource(location), "source", "/reset")));
+
+    assertTrue(ctx.getMappedElement(getOperation(location), "source").isMapped());
+    assertFalse(ctx.getMappedElement(getOperation(tracker), "source").isMapped());
+
+    ctx = createContext(
+        createMapping(createRule(createOperationSource(tracker), "source", "/tracker"),
+            createRule(createOperationSource(location), "source", "/location")));
+
+    assertEquals("/location",
+        ctx.getMappedElement(getOperation(location), "source").getAttributeValue("xpath", null));
+    assertEquals("/tracker",
+        ctx.getMappedElement(getOperation(tracker), "source").getAttributeValue("xpath", null));
+  }
+
+  @Test
+  public void testEnumAttribute() {
+    EnumAttributeSource source = MappingFactory.eINSTANCE.createEnumAttributeSource();
+    source.setModel(accuracy);
+    source.setAttribute(ModelAttribute.NAME);
+    InvocationContext ctx = createContext(createMapping(createRule(source, "source", "/accuracy")));
+
+    assertEquals("/accuracy", ctx.getMappedModelAttribute(accuracy, ModelAttribute.NAME, "source")
+        .getAttributeValue("xpath", null));
+    assertFalse(
+        ctx.getMappedModelAttribute(accuracy, ModelAttribute.NAMESPACE, "source").isMapped());
+    // the rule maps an attribute of an enum, not of an entity
+    assertFalse(ctx.getMappedModelAttribute(position, ModelAttribute.NAME, "source").isMapped());
+  }
+
+  @Test
+  public void testEntityAttribute() {
+    EntityAttributeSource source = MappingFactory.eINSTANCE.createEntityAttributeSource();
+    source.setModel(position);
+    source.setAttribute(ModelAttribute.NAME);
+    InvocationContext ctx = createContext(createMapping(createRule(source, "source", "/position")));
+
+    assertEquals("/position", ctx.getMappedModelAttribute(position, ModelAttribute.NAME, "source")
+        .getAttributeValue("xpath", null));
+    assertFalse(
+        ctx.getMappedModelAttribute(position, ModelAttribute.NAMESPACE, "source").isMapped());
+    // the rule maps an attribute of an entity, not of an enum
+    assertFalse(ctx.getMappedModelAttribute(accuracy, ModelAttribute.NAME, "source").isMapped());
+  }
+
+  private static Property getStatusProperty(FunctionblockModel model) {
+    return model.getFunctionblock().getStatus().getProperties().get(0);
+  }
+
+  private static Operation getOperation(FunctionblockModel model) {
+    return model.getFunctionblock().getOperations().get(0);
+  }
+
+  private static StatusSource createStatusSource(FunctionblockModel model) {
+    StatusSource source = MappingFactory.eINSTANCE.createStatusSource();
+    source.setModel(model);
+    source.setProperty(getStatusProperty(model));
+    return source;
+  }
+
+  private static OperationSource createOperationSource(FunctionblockModel model) {
+    OperationSource source = MappingFactory.eINSTANCE.createOperationSource();
+    source.setModel(model);
+    source.setOperation(getOperation(model));
+    return source;
+  }
+
+  private static MappingRule createRule(Source source, String stereoType, String xpath) {
+    return new MappingRuleBuilder().withSource(source)
+        .withStereotypeTarget(stereoType, Collections.singletonMap("xpath", xpath)).build();
+  }
+
+  private static MappingModel createMapping(MappingRule... rules) {
+    MappingBuilder mapping =
+        BuilderUtils.newMapping(new ModelId(ModelType.Mapping, "", "", ""), "test");
+    for (MappingRule rule : rules) {
+      mapping.addRule(rule);
+    }
+    return mapping.build();
+  }
+
+  private static InvocationContext createContext(MappingModel... mappings) {
+    return new InvocationContext(Arrays.asList(mappings), Collections.emptyMap());
+  }
+}
@@ -23,15 +23,19 @@
 package org.eclipse.vorto.codegen.api;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.util.EcoreUtil;
 import org.eclipse.vorto.codegen.api.mapping.DefaultMapped;
 import org.eclipse.vorto.codegen.api.mapping.IMapped;
 import org.eclipse.vorto.codegen.api.mapping.NullMapped;
 import org.eclipse.vorto.core.api.model.datatype.Entity;
+import org.eclipse.vorto.core.api.model.datatype.Enum;
 import org.eclipse.vorto.core.api.model.datatype.EnumLiteral;
 import org.eclipse.vorto.core.api.model.datatype.Property;
 import org.eclipse.vorto.core.api.model.functionblock.FunctionBlock;
@@ -63,7 +67,11 @@ import org.eclipse.vorto.core.api.model.model.Model;
 @Deprecated
 public class InvocationContext {
 
-  private List<MappingRule> mappingRules;
+  /**
+   * Mapping rules with a stereotype target, indexed by the kind of element they map, the name of
+   * the element and the stereotype name. Rules are kept in the order of the mapping models.
+   */
+  private final Map<List<Object>, List<IndexedSource>> mappingRuleIndex = new HashMap<>();
 
   private Map<String, String> configProperties;
 
@@ -77,15 +85,103 @@ public class InvocationContext {
 
   public InvocationContext(List<MappingModel> mappingModels, IGeneratorLookup generatorRuntime,
       Map<String, String> configProperties) {
-    this.mappingRules = new ArrayList<MappingRule>();
     for (MappingModel mappingModel : mappingModels) {
-      this.mappingRules.addAll(mappingModel.getRules());
+      for (MappingRule rule : mappingModel.getRules()) {
+        index(rule);
+      }
     }
     this.lookupService = generatorRuntime != null ? generatorRuntime : NOOP_RUNTIME;
 
     this.configProperties = configProperties;
   }
 
+  private void index(MappingRule rule) {
+    if (!(rule.getTarget() instanceof StereoTypeTarget)
+        || ((StereoTypeTarget) rule.getTarget()).getName() == null) {
+      return;
+    }
+    StereoTypeTarget target = (StereoTypeTarget) rule.getTarget();
+    for (Source ruleSource : rule.getSources()) {
+      if (ruleSource instanceof InfomodelSource) {
+        InformationModel model = ((InfomodelSource) ruleSource).getModel();
+        if (model != null) {
+          index(InformationModel.class, model.getName(), model, target);
+        }
+      }
+      if (ruleSource instanceof FunctionBlockSource) {
+        FunctionblockModel model = ((FunctionBlockSource) ruleSource).getModel();
+        if (model != null) {
+          index(FunctionblockModel.class, model.getName(), model, target);
+        }
+      }
+      if (ruleSource instanceof EnumPropertySource) {
+        EnumLiteral literal = ((EnumPropertySource) ruleSource).getProperty();
+        if (literal != null) {
+          index(EnumLiteral.class, literal.getName(), literal, target);
+        }
+      }
+      Property property = null;
+      if (ruleSource instanceof ConfigurationSource) {
+        property = ((ConfigurationSource) ruleSource).getProperty();
+      } else if (ruleSource instanceof StatusSource) {
+        property = ((StatusSource) ruleSource).getProperty();
+      } else if (ruleSource instanceof FaultSource) {
+        property = ((FaultSource) ruleSource).getProperty();
+      } else if (ruleSource instanceof EntityPropertySource) {
+        property = ((EntityPropertySource) ruleSource).getProperty();
+      }
+      if (property != null) {
+        index(Property.class, property.getName(), property, target);
+      }
+      if (ruleSource instanceof OperationSource) {
+        Operation operation = ((OperationSource) ruleSource).getOperation();
+        if (operation != null) {
+          index(Operation.class, operation.getName(), operation, target);
+        }
+      }
+      if (ruleSource instanceof InfoModelAttributeSource) {
+        index(InfoModelAttributeSource.class,
+            ((InfoModelAttributeSource) ruleSource).getAttribute(), null, target);
+      } else if (ruleSource instanceof FunctionBlockAttributeSource) {
+        index(FunctionBlockAttributeSource.class,
+            ((FunctionBlockAttributeSource) ruleSource).getAttribute(), null, target);
+      } else if (ruleSource instanceof EnumAttributeSource) {
+        index(EnumAttributeSource.class, ((EnumAttributeSource) ruleSource).getAttribute(), null,
+            target);
+      } else if (ruleSource instanceof EntityAttributeSource) {
+        index(EntityAttributeSource.class, ((EntityAttributeSource) ruleSource).getAttribute(),
+            null, target);
+      }
+    }
+  }
+
+  private void index(Class<?> kind, Object key, EObject element, StereoTypeTarget target) {
+    mappingRuleIndex
+        .computeIfAbsent(Arrays.asList(kind, key, stereoTypeKey(target.getName())),
+            indexKey -> new ArrayList<>())
+        .add(new IndexedSource(element, target));
+  }
+
+  private List<IndexedSource> getIndexedSources(Class<?> kind, Object key,
+      String stereoType) {
+    if (stereoType == null) {
+      return Collections.emptyList();
+    }
+    return mappingRuleIndex.getOrDefault(Arrays.asList(kind, key, stereoTypeKey(stereoType)),
+        Collections.emptyList());
+  }
+
+  /**
+   * Folds the case of the stereotype name in the same way as {@link String#equalsIgnoreCase}
+   */
+  private static String stereoTypeKey(String stereoType) {
+    char[] chars = stereoType.toCharArray();
+    for (int i = 0; i < chars.length; i++) {
+      chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+    }
+    return new String(chars);
+  }
+
   public static InvocationContext simpleInvocationContext() {
     return new InvocationContext(new ArrayList<MappingModel>(), NOOP_RUNTIME,
         Collections.<String, String>emptyMap());
@@ -104,14 +200,10 @@ public class InvocationContext {
    */
   public IMapped<InformationModel> getMappedElement(final InformationModel informationModel,
       final String stereoType) {
-    for (MappingRule rule : mappingRules) {
-      for (Source ruleSource : rule.getSources()) {
-        if (ruleSource instanceof InfomodelSource
-            && EcoreUtil.equals(((InfomodelSource) ruleSource).getModel(), informationModel)
-            && matchesStereoType(stereoType, (StereoTypeTarget) rule.getTarget())) {
-          return new DefaultMapped<InformationModel>(informationModel,
-              (StereoTypeTarget) rule.getTarget());
-        }
+    for (IndexedSource source : getIndexedSources(InformationModel.class,
+        informationModel.getName(), stereoType)) {
+      if (EcoreUtil.equals(source.element, informationModel)) {
+        return new DefaultMapped<InformationModel>(informationModel, source.target);
       }
     }
     return new NullMapped<InformationModel>(informationModel);
@@ -126,14 +218,10 @@ public class InvocationContext {
    */
   public IMapped<FunctionblockModel> getMappedElement(final FunctionblockModel functionblockModel,
       final String stereoType) {
-    for (MappingRule rule : mappingRules) {
-      for (Source ruleSource : rule.getSources()) {
-        if (ruleSource instanceof FunctionBlockSource
-            && EcoreUtil.equals(((FunctionBlockSource) ruleSource).getModel(), functionblockModel)
-            && matchesStereoType(stereoType, (StereoTypeTarget) rule.getTarget())) {
-          return new DefaultMapped<FunctionblockModel>(functionblockModel,
-              (StereoTypeTarget) rule.getTarget());
-        }
+    for (IndexedSource source : getIndexedSources(FunctionblockModel.class,
+        functionblockModel.getName(), stereoType)) {
+      if (EcoreUtil.equals(source.element, functionblockModel)) {
+        return new DefaultMapped<FunctionblockModel>(functionblockModel, source.target);
       }
     }
     return new NullMapped<FunctionblockModel>(functionblockModel);
@@ -148,23 +236,15 @@ public class InvocationContext {
    */
   public IMapped<EnumLiteral> getMappedElement(final EnumLiteral enumLiteral,
       final String stereoType) {
-    for (MappingRule rule : mappingRules) {
-      for (Source ruleSource : rule.getSources()) {
-        if (ruleSource instanceof EnumPropertySource
-            && EcoreUtil.equals(((EnumPropertySource) ruleSource).getProperty(), enumLiteral)
-            && matchesStereoType(stereoType, (StereoTypeTarget) rule.getTarget())) {
-          return new DefaultMapped<EnumLiteral>(enumLiteral, (StereoTypeTarget) rule.getTarget());
-        }
+    for (IndexedSource source : getIndexedSources(EnumLiteral.class, enumLiteral.getName(),
+        stereoType)) {
+      if (EcoreUtil.equals(source.element, enumLiteral)) {
+        return new DefaultMapped<EnumLiteral>(enumLiteral, source.target);
       }
     }
     return new NullMapped<EnumLiteral>(enumLiteral);
   }
 
-  private boolean matchesStereoType(final String stereoType,
-      final StereoTypeTarget stereoTypeTarget) {
-    return stereoTypeTarget.getName().equalsIgnoreCase(stereoType);
-  }
-
   private boolean matchesProperty(final Property srcProp, final Property tgtProp) {
     FunctionBlock srcFb = (FunctionBlock) srcProp.eContainer().eContainer();
     FunctionBlock tgtFb = (FunctionBlock) tgtProp.eContainer().eContainer();
@@ -182,25 +262,10 @@ public class InvocationContext {
    */
   public IMapped<Property> getMappedElement(final Property property, final String stereoType) {
 
-    for (MappingRule rule : mappingRules) {
-      for (Source ruleSource : rule.getSources()) {
-        if (ruleSource instanceof ConfigurationSource
-            && matchesProperty(((ConfigurationSource) ruleSource).getProperty(), property)
-            && matchesStereoType(stereoType, (StereoTypeTarget) rule.getTarget())) {
-          return new DefaultMapped<Property>(property, (StereoTypeTarget) rule.getTarget());
-        } else if (ruleSource instanceof StatusSource
-            && matchesProperty(((StatusSource) ruleSource).getProperty(), property)
-            && matchesStereoType(stereoType, (StereoTypeTarget) rule.getTarget())) {
-          return new DefaultMapped<Property>(property, (StereoTypeTarget) rule.getTarget());
-        } else if (ruleSource instanceof FaultSource
-            && matchesProperty(((FaultSource) ruleSource).getProperty(), property)
-            && matchesStereoType(stereoType, (StereoTypeTarget) rule.getTarget())) {
-          return new DefaultMapped<Property>(property, (StereoTypeTarget) rule.getTarget());
-        } else if (ruleSource instanceof EntityPropertySource
-            && matchesProperty(((EntityPropertySource) ruleSource).getProperty(), property)
-            && matchesStereoType(stereoType, (StereoTypeTarget) rule.getTarget())) {
-          return new DefaultMapped<Property>(property, (StereoTypeTarget) rule.getTarget());
-        }
+    for (IndexedSource source : getIndexedSources(Property.class, property.getName(),
+        stereoType)) {
+      if (matchesProperty((Property) source.element, property)) {
+        return new DefaultMapped<Property>(property, source.target);
       }
     }
 
@@ -223,13 +288,10 @@ public class InvocationContext {
    * @return mapped element
    */
   public IMapped<Operation> getMappedElement(final Operation operation, final String stereoType) {
-    for (MappingRule rule : mappingRules) {
-      for (Source ruleSource : rule.getSources()) {
-        if (ruleSource instanceof OperationSource
-            && matchesOperation(((OperationSource) ruleSource).getOperation(), operation)
-            && matchesStereoType(stereoType, (StereoTypeTarget) rule.getTarget())) {
-          return new DefaultMapped<Operation>(operation, (StereoTypeTarget) rule.getTarget());
-        }
+    for (IndexedSource source : getIndexedSources(Operation.class, operation.getName(),
+        stereoType)) {
+      if (matchesOperation((Operation) source.element, operation)) {
+        return new DefaultMapped<Operation>(operation, source.target);
       }
     }
 
@@ -245,26 +307,20 @@ public class InvocationContext {
    */
   public IMapped<ModelAttribute> getMappedModelAttribute(final Model model,
       final ModelAttribute attribute, final String stereoType) {
-    for (MappingRule rule : mappingRules) {
-      for (Source ruleSource : rule.getSources()) {
-        if (model instanceof InformationModel && ruleSource instanceof InfoModelAttributeSource
-            && ((InfoModelAttributeSource) ruleSource).getAttribute().equals(attribute)
-            && matchesStereoType(stereoType, (StereoTypeTarget) rule.getTarget())) {
-          return new DefaultMapped<ModelAttribute>(attribute, (StereoTypeTarget) rule.getTarget());
-        } else if (model instanceof FunctionblockModel
-            && ruleSource instanceof FunctionBlockAttributeSource
-            && ((FunctionBlockAttributeSource) ruleSource).getAttribute().equals(attribute)
-            && matchesStereoType(stereoType, (StereoTypeTarget) rule.getTarget())) {
-          return new DefaultMapped<ModelAttribute>(attribute, (StereoTypeTarget) rule.getTarget());
-        } else if (model instanceof Enum && ruleSource instanceof EnumAttributeSource
-            && ((EnumAttributeSource) ruleSource).getAttribute().equals(attribute)
-            && matchesStereoType(stereoType, (StereoTypeTarget) rule.getTarget())) {
-          return new DefaultMapped<ModelAttribute>(attribute, (StereoTypeTarget) rule.getTarget());
-        } else if (model instanceof Entity && ruleSource instanceof EnumAttributeSource
-            && ((EntityAttributeSource) ruleSource).getAttribute().equals(attribute)
-            && matchesStereoType(stereoType, (StereoTypeTarget) rule.getTarget())) {
-          return new DefaultMapped<ModelAttribute>(attribute, (StereoTypeTarget) rule.getTarget());
-        }
+    Class<?> sourceKind = null;
+    if (model instanceof InformationModel) {
+      sourceKind = InfoModelAttributeSource.class;
+    } else if (model instanceof FunctionblockModel) {
+      sourceKind = FunctionBlockAttributeSource.class;
+    } else if (model instanceof Enum) {
+      sourceKind = EnumAttributeSource.class;
+    } else if (model instanceof Entity) {
+      sourceKind = EntityAttributeSource.class;
+    }
+    if (sourceKind != null) {
+      List<IndexedSource> sources = getIndexedSources(sourceKind, attribute, stereoType);
+      if (!sources.isEmpty()) {
+        return new DefaultMapped<ModelAttribute>(attribute, sources.get(0).target);
       }
     }
 
@@ -330,4 +386,15 @@ public class InvocationContext {
     this.importedFile = importedFile;
   }
 
+  private static final class IndexedSource {
+
+    private final EObject element;
+
+    private final StereoTypeTarget target;
+
+    IndexedSource(EObject element, StereoTypeTarget target) {
+      this.element = element;
+      this.target = target;
+    }
+  }
 }
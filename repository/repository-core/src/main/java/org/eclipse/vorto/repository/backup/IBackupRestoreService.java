@@ -12,6 +12,8 @@
  */
 package org.eclipse.vorto.repository.backup;
 
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Collection;
 import java.util.function.Predicate;
 import org.eclipse.vorto.repository.domain.Namespace;
@@ -26,6 +28,15 @@ public interface IBackupRestoreService {
    */
   byte[] createBackup(Predicate<Namespace> namespaceFilter);
 
+  /**
+   * Writes a zipped backup for tenants who passed the tenantFilter to the given stream, one
+   * namespace at a time. The stream is left open.
+   *
+   * @param namespaceFilter a predicate that determines who among the namespaces are placed in the backup
+   * @param out the stream to write the zip file to
+   */
+  void createBackup(Predicate<Namespace> namespaceFilter, OutputStream out);
+
   /**
    * Restores the given backup file to its tenants
    *
@@ -35,4 +46,15 @@ public interface IBackupRestoreService {
    * @return collection of tenants restored
    */
   Collection<Namespace> restoreRepository(byte[] backupFile, Predicate<Namespace> namespaceFilter);
+
+  /**
+   * Restores the backup file read from the given stream to its tenants, one namespace at a time
+   *
+   * @param backupFile      stream of the zipped backup file
+   * @param namespaceFilter a filter for which namespaces to restore. If you want to restore to all
+   *                        namespaces, pass a predicate that returns {@literal true}.
+   * @return collection of tenants restored
+   */
+  Collection<Namespace> restoreRepository(InputStream backupFile,
+      Predicate<Namespace> namespaceFilter);
 }
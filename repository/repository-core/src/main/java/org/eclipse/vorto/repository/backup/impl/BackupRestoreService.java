@@ -17,15 +17,18 @@ import com.google.common.collect.Lists;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
+import java.util.Optional;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
+import org.apache.commons.io.output.CloseShieldOutputStream;
 import org.apache.log4j.Logger;
 import org.eclipse.vorto.repository.backup.IBackupRestoreService;
 import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
@@ -33,9 +36,7 @@ import org.eclipse.vorto.repository.core.IRepositoryManager;
 import org.eclipse.vorto.repository.domain.Namespace;
 import org.eclipse.vorto.repository.repositories.NamespaceRepository;
 import org.eclipse.vorto.repository.search.IIndexingService;
-import org.eclipse.vorto.repository.utils.ZipUtils;
 import org.eclipse.vorto.repository.web.GenericApplicationException;
-import org.modeshape.common.collection.ImmutableMapEntry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -65,43 +66,27 @@ public class BackupRestoreService implements IBackupRestoreService {
 
   @Override
   public byte[] createBackup(Predicate<Namespace> namespaceFilter) {
-    return createZippedInputStream(createBackups(namespaceFilter));
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    createBackup(namespaceFilter, baos);
+    return baos.toByteArray();
   }
 
-  private Map<String, byte[]> createBackups(Predicate<Namespace> namespaceFilter) {
-    return createBackups(namespaceRepository.findAll()
+  @Override
+  public void createBackup(Predicate<Namespace> namespaceFilter, OutputStream out) {
+    List<Namespace> namespaces = namespaceRepository.findAll()
         .stream()
         .filter(namespaceFilter)
-        .collect(Collectors.toList()));
-  }
-
-  private Map<String, byte[]> createBackups(Collection<Namespace> namespaces) {
-    return namespaces.stream()
-        .map(namespace ->
-            new ImmutableMapEntry<>(
-                namespace.getName(),
-                modelRepositoryFactory
-                    .getRepositoryManager(namespace.getWorkspaceId(), authSupplier.get()).backup())
-        ).collect(Collectors.toMap(entry -> entry.getKey(), entry -> entry.getValue()));
-  }
-
-  private byte[] createZippedInputStream(Map<String, byte[]> backups) {
-    ByteArrayOutputStream baos = new ByteArrayOutputStream();
-    ZipOutputStream zos = new ZipOutputStream(baos);
+        .collect(Collectors.toList());
 
     try {
-      for (Map.Entry<String, byte[]> entry : backups.entrySet()) {
-        ZipEntry zipEntry = new ZipEntry(entry.getKey() + ".xml");
-        zos.putNextEntry(zipEntry);
-        zos.write(entry.getValue());
+      ZipOutputStream zos = new ZipOutputStream(new CloseShieldOutputStream(out));
+      for (Namespace namespace : namespaces) {
+        zos.putNextEntry(new ZipEntry(namespace.getName() + ".xml"));
+        modelRepositoryFactory.getRepositoryManager(namespace.getWorkspaceId(), authSupplier.get())
+            .backup(zos);
         zos.closeEntry();
       }
-
       zos.close();
-      baos.close();
-
-      return baos.toByteArray();
-
     } catch (Exception ex) {
       throw new GenericApplicationException("Error while generating zip file.", ex);
     }
@@ -111,39 +96,25 @@ public class BackupRestoreService implements IBackupRestoreService {
   public Collection<Namespace> restoreRepository(byte[] backupFile,
       Predicate<Namespace> namespaceFilter) {
     Preconditions.checkNotNull(backupFile, "Backup file must not be null");
+    return restoreRepository(new ByteArrayInputStream(backupFile), namespaceFilter);
+  }
+
+  @Override
+  public Collection<Namespace> restoreRepository(InputStream backupFile,
+      Predicate<Namespace> namespaceFilter) {
+    Preconditions.checkNotNull(backupFile, "Backup file must not be null");
     try {
       Collection<Namespace> namespacesRestored = Lists.newArrayList();
-      Map<String, byte[]> backups = getBackups(backupFile);
-
-      backups.forEach((namespaceName, backup) -> {
-        LOGGER.info(String.format("Restoring backup for [%s]", namespaceName));
-        Namespace namespace = namespaceRepository.findByName(namespaceName);
-        if (null != namespace && namespaceFilter.test(namespace)) {
-          try {
-            String workspaceId = namespace.getWorkspaceId();
-            IRepositoryManager repoMgr = modelRepositoryFactory
-                .getRepositoryManager(workspaceId, authSupplier.get());
-
-            if (!repoMgr.exists(workspaceId)) {
-              repoMgr.createWorkspace(workspaceId);
-            } else {
-              repoMgr.removeWorkspace(workspaceId);
-              repoMgr.createWorkspace(workspaceId);
-            }
-
-            repoMgr.restore(backup);
-            this.modelRepositoryFactory.getPolicyManager(workspaceId,
-                SecurityContextHolder.getContext().getAuthentication()).restorePolicyEntries();
-            namespacesRestored.add(namespace);
-          } catch (Exception e) {
-            LOGGER.error(String.format("Error while restoring [%s]", namespaceName), e);
-          }
-        } else {
-          LOGGER.info(String.format(
-              "Skipping restoration of [%s] either because the namespace could not be found, or was filtered out.",
-              namespaceName));
+
+      ZipInputStream zis = new ZipInputStream(backupFile);
+      ZipEntry entry = null;
+      while ((entry = zis.getNextEntry()) != null) {
+        String fileName = entry.getName().substring(entry.getName().lastIndexOf("/") + 1);
+        if (!entry.isDirectory() && !fileName.startsWith(".")) {
+          restoreNamespace(fileName.replace(".xml", ""), zis, namespaceFilter)
+              .ifPresent(namespacesRestored::add);
         }
-      });
+      }
 
       if (!namespacesRestored.isEmpty()) {
         indexingService.reindexAllModels();
@@ -156,22 +127,36 @@ public class BackupRestoreService implements IBackupRestoreService {
     }
   }
 
-  private Map<String, byte[]> getBackups(byte[] file) throws IOException {
-    Map<String, byte[]> backups = new HashMap<>();
-
-    ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(file));
-    ZipEntry entry = null;
+  private Optional<Namespace> restoreNamespace(String namespaceName, InputStream backup,
+      Predicate<Namespace> namespaceFilter) {
+    LOGGER.info(String.format("Restoring backup for [%s]", namespaceName));
+    Namespace namespace = namespaceRepository.findByName(namespaceName);
+    if (null != namespace && namespaceFilter.test(namespace)) {
+      try {
+        String workspaceId = namespace.getWorkspaceId();
+        IRepositoryManager repoMgr = modelRepositoryFactory
+            .getRepositoryManager(workspaceId, authSupplier.get());
+
+        if (!repoMgr.exists(workspaceId)) {
+          repoMgr.createWorkspace(workspaceId);
+        } else {
+          repoMgr.removeWorkspace(workspaceId);
+          repoMgr.createWorkspace(workspaceId);
+        }
 
-    while ((entry = zis.getNextEntry()) != null) {
-      if (!entry.isDirectory()
-          && !entry.getName().substring(entry.getName().lastIndexOf("/") + 1).startsWith(".")) {
-        String namespace = entry.getName().substring(entry.getName().lastIndexOf("/") + 1)
-            .replace(".xml", "");
-        backups.put(namespace, ZipUtils.copyStream(zis, entry));
+        repoMgr.restore(backup);
+        this.modelRepositoryFactory.getPolicyManager(workspaceId,
+            SecurityContextHolder.getContext().getAuthentication()).restorePolicyEntries();
+        return Optional.of(namespace);
+      } catch (Exception e) {
+        LOGGER.error(String.format("Error while restoring [%s]", namespaceName), e);
       }
+    } else {
+      LOGGER.info(String.format(
+          "Skipping restoration of [%s] either because the namespace could not be found, or was filtered out.",
+          namespaceName));
     }
-
-    return backups;
+    return Optional.empty();
   }
 
   public Supplier<Authentication> getAuthSupplier() {
@@ -0,0 +1,266 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.conversion;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.eclipse.vorto.model.ModelContent;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.model.ModelType;
+import org.eclipse.vorto.repository.core.IModelRepository;
+import org.eclipse.vorto.repository.core.ModelInfo;
+import org.eclipse.vorto.repository.core.events.AppEvent;
+import org.eclipse.vorto.repository.core.events.EventType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caches the {@link ModelContent} of models by model id and target platform key, so that the
+ * dependencies of a model are not resolved and parsed again for every request.
+ * 
+ * The cache is bounded by the size of the DSL sources the cached contents are built from, and
+ * evicts the least recently used content first. A cached content is invalidated as soon as one of
+ * the models it is built from is created, updated or deleted, including mapping models referencing
+ * one of these models. Cached contents are shared, so callers must not modify them.
+ * 
+ * Every cached content has an entity tag derived from the ids and modification dates of the models
+ * it is built from, so that clients can revalidate a content they hold without it being converted
+ * again. The entity tag of a content is the same on every instance, and after the content was
+ * evicted or the instance restarted.
+ */
+@Component
+public class ModelContentCache implements ApplicationListener<AppEvent> {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ModelContentCache.class);
+
+  private final long maxSourceBytes;
+
+  private long sourceBytes = 0;
+
+  private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+  public ModelContentCache(
+      @Value("${repo.cache.modelContent.maxSourceBytes:#{16777216}}") long maxSourceBytes) {
+    this.maxSourceBytes = maxSourceBytes;
+  }
+
+  public synchronized Optional<ModelContent> get(ModelId modelId, Optional<String> platformKey) {
+    Entry entry = entries.get(new Key(modelId, platformKey));
+    return entry != null ? Optional.of(entry.content) : Optional.empty();
+  }
+
+  /**
+   * @return the entity tag of the cached content for the given model id and platform key, or an
+   *         empty {@link Optional} if the content is not cached
+   */
+  public synchronized Optional<String> getETag(ModelId modelId, Optional<String> platformKey) {
+    Entry entry = entries.get(new Key(modelId, platformKey));
+    return entry != null ? Optional.of(entry.etag) : Optional.empty();
+  }
+
+  /**
+   * @param modelId id of the root model of the content
+   * @param platformKey target platform key the content was built for
+   * @param content content to cache
+   * @param sources all models and mapping models the content is built from
+   * @param sourceBytes size of the DSL sources the content is built from
+   */
+  public synchronized void put(ModelId modelId, Optional<String> platformKey, ModelContent content,
+      Collection<ModelInfo> sources, long sourceBytes) {
+    if (sourceBytes > maxSourceBytes) {
+      return;
+    }
+    Entry previous = entries.put(new Key(modelId, platformKey),
+        new Entry(content, sources.stream().map(ModelInfo::getId).collect(Collectors.toSet()),
+            sourceBytes, etag(modelId, platformKey, sources)));
+    if (previous != null) {
+      this.sourceBytes -= previous.sourceBytes;
+    }
+    this.sourceBytes += sourceBytes;
+
+    Iterator<Entry> leastRecentlyUsed = entries.values().iterator();
+    while (this.sourceBytes > maxSourceBytes && leastRecentlyUsed.hasNext()) {
+      this.sourceBytes -= leastRecentlyUsed.next().sourceBytes;
+      leastRecentlyUsed.remove();
+    }
+  }
+
+  /**
+   * Removes all contents built from any of the given models
+   */
+  public synchronized void invalidate(Collection<ModelId> modelIds) {
+    Iterator<Entry> iterator = entries.values().iterator();
+    while (iterator.hasNext()) {
+      Entry entry = iterator.next();
+      if (!Collections.disjoint(entry.sources, modelIds)) {
+        this.sourceBytes -= entry.sourceBytes;
+        iterator.remove();
+      }
+    }
+  }
+
+  /**
+   * @return a hash of the sources the content is converted from, as unchanged sources yield the
+   *         same content
+   */
+  private static String etag(ModelId modelId, Optional<String> platformKey,
+      Collection<ModelInfo> sources) {
+    StringBuilder builder = new StringBuilder(modelId.getPrettyFormat());
+    builder.append('\n').append(platformKey.orElse(""));
+    sources.stream()
+        .sorted(Comparator.comparing(source -> source.getId().getPrettyFormat()))
+        .forEach(source -> builder.append('\n').append(source.getId().getPrettyFormat())
+            .append('@').append(source.getModificationDate() != null
+                ? source.getModificationDate().getTime() : 0));
+    try {
+      return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(MessageDigest
+          .getInstance("SHA-256").digest(builder.toString().getBytes(StandardCharsets.UTF_8)))
+          + "\"";
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not supported", e);
+    }
+  }
+
+  public synchronized void invalidateAll() {
+    entries.clear();
+    sourceBytes = 0;
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  @Override
+  public void onApplicationEvent(AppEvent event) {
+    if (!isModelChange(event)) {
+      return;
+    }
+    Optional<Set<ModelId>> changed = changedModels(event);
+    if (changed.isPresent()) {
+      invalidate(changed.get());
+    } else {
+      LOGGER.debug("Invalidating all model contents for event {}", event.getEventType());
+      invalidateAll();
+    }
+  }
+
+  /**
+   * Only contents built from released models are cacheable, as they do not change anymore, and
+   * only from public models, as a cached content is handed out without checking access to every
+   * model again
+   *
+   * @param sources all models and mapping models a content is built from
+   */
+  public static boolean isCacheable(Collection<ModelInfo> sources) {
+    return sources.stream().allMatch(model -> model.isReleased()
+        && IModelRepository.VISIBILITY_PUBLIC.equals(model.getVisibility()));
+  }
+
+  /**
+   * @return whether the given event creates, changes or deletes any model
+   */
+  public static boolean isModelChange(AppEvent event) {
+    return event.getEventType() == EventType.MODEL_CREATED
+        || event.getEventType() == EventType.MODEL_UPDATED
+        || event.getEventType() == EventType.MODEL_DELETED
+        || event.getEventType() == EventType.NAMESPACE_DELETED;
+  }
+
+  /**
+   * @param event an event {@link #isModelChange(AppEvent) changing models}
+   * @return the ids of the changed models, including the models a changed mapping maps, or an
+   *         empty {@link Optional} if any model may have changed
+   */
+  public static Optional<Set<ModelId>> changedModels(AppEvent event) {
+    if (event.getEventType() != EventType.NAMESPACE_DELETED) {
+      Set<ModelId> changed = new HashSet<>();
+      if (event.getSubject() instanceof ModelInfo) {
+        ModelInfo modelInfo = (ModelInfo) event.getSubject();
+        changed.add(modelInfo.getId());
+        if (modelInfo.getType() == ModelType.Mapping && modelInfo.getReferences() != null) {
+          // a new or changed mapping changes the content of the models it maps
+          changed.addAll(modelInfo.getReferences());
+        }
+      } else if (event.getSubject() instanceof ModelId) {
+        changed.add((ModelId) event.getSubject());
+      } else {
+        return Optional.empty();
+      }
+      return Optional.of(changed);
+    }
+    return Optional.empty();
+  }
+
+  private static final class Key {
+
+    private final ModelId modelId;
+
+    private final String platformKey;
+
+    Key(ModelId modelId, Optional<String> platformKey) {
+      this.modelId = modelId;
+      this.platformKey = platformKey.orElse(null);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(modelId, platformKey);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) obj;
+      return Objects.equals(modelId, other.modelId)
+          && Objects.equals(platformKey, other.platformKey);
+    }
+  }
+
+  private static final class Entry {
+
+    private final ModelContent content;
+
+    private final Set<ModelId> sources;
+
+    private final long sourceBytes;
+
+    private final String etag;
+
+    Entry(ModelContent content, Set<ModelId> sources, long sourceBytes, String etag) {
+      this.content = content;
+      this.sources = sources;
+      this.sourceBytes = sourceBytes;
+      this.etag = etag;
+    }
+  }
+}
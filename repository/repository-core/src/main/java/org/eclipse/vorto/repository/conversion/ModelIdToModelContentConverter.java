@@ -15,11 +15,16 @@ package org.eclipse.vorto.repository.conversion;
 import java.io.ByteArrayInputStream;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
 import org.eclipse.vorto.core.api.model.ModelConversionUtils;
 import org.eclipse.vorto.core.api.model.datatype.Entity;
 import org.eclipse.vorto.core.api.model.functionblock.FunctionblockModel;
@@ -39,7 +44,6 @@ import org.eclipse.vorto.repository.core.IModelRepository;
 import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
 import org.eclipse.vorto.repository.core.ModelInfo;
 import org.eclipse.vorto.repository.core.ModelNotFoundException;
-import org.eclipse.vorto.repository.core.impl.utils.DependencyManager;
 import org.eclipse.vorto.repository.web.core.ModelDtoFactory;
 import org.eclipse.vorto.utilities.reader.IModelWorkspace;
 import org.eclipse.vorto.utilities.reader.ModelWorkspaceReader;
@@ -55,12 +59,150 @@ public class ModelIdToModelContentConverter implements IModelConverter<ModelId,
 
   private IModelRepositoryFactory repositoryFactory;
 
+  private ModelContentCache contentCache;
+
   public ModelIdToModelContentConverter(IModelRepositoryFactory repositoryFactory) {
     this.repositoryFactory = repositoryFactory;
   }
 
+  /**
+   * Creates a converter that caches contents built only from released, public models. Use it only
+   * if the converted contents are not modified, as cached contents are shared.
+   */
+  public ModelIdToModelContentConverter(IModelRepositoryFactory repositoryFactory,
+      ModelContentCache contentCache) {
+    this(repositoryFactory);
+    this.contentCache = contentCache;
+  }
+
   @Override
   public ModelContent convert(ModelId modelId, Optional<String> platformKey) {
+    return convert(modelId, platformKey, contentCache != null, null);
+  }
+
+  /**
+   * Converts like {@link #convert(ModelId, Optional)}, and adds all models and mapping models the
+   * content is built from to the given sources. The content is neither taken from nor added to the
+   * content cache, so callers may modify it.
+   */
+  public ModelContent convert(ModelId modelId, Optional<String> platformKey,
+      Collection<ModelInfo> usedSources) {
+    return convert(modelId, platformKey, false, Objects.requireNonNull(usedSources));
+  }
+
+  /**
+   * Converts the given models like {@link #convert(ModelId, Optional)}, but reads and parses the
+   * union of their dependencies only once, so that models shared by several of them, e.g.
+   * datatypes, are resolved once for all of them.
+   * 
+   * @param modelIds ids of the models to convert
+   * @param platformKey target platform key to convert the models for
+   * @return the contents by the given model ids, in the order of the given model ids. Models that
+   *         do not exist are left out.
+   */
+  public Map<ModelId, ModelContent> convertAll(Collection<ModelId> modelIds,
+      Optional<String> platformKey) {
+    Map<ModelId, ModelContent> result = new LinkedHashMap<>();
+    Map<ModelId, ModelId> pending = new LinkedHashMap<>();
+    for (ModelId requested : modelIds) {
+      if (result.containsKey(requested)) {
+        continue;
+      }
+      ModelId modelId;
+      try {
+        modelId = resolveModelId(requested);
+      } catch (ModelNotFoundException notFound) {
+        LOGGER.debug("Skipping content of {}: {}", requested, notFound.getMessage());
+        continue;
+      }
+      Optional<ModelContent> cached =
+          contentCache != null ? contentCache.get(modelId, platformKey) : Optional.empty();
+      // keeps the requested order, the pending contents are filled in below
+      result.put(requested, cached.orElse(null));
+      if (!cached.isPresent()) {
+        pending.put(requested, modelId);
+      }
+    }
+    if (pending.isEmpty()) {
+      return result;
+    }
+
+    Map<ModelId, List<ModelInfo>> sourcesByRoot = new HashMap<>();
+    Map<ModelId, List<MappingModel>> mappingsByRoot = new HashMap<>();
+    Map<ModelId, ModelInfo> allSources = new LinkedHashMap<>();
+    Map<ModelId, MappingModel> loadedMappings = new HashMap<>();
+    for (ModelId root : new LinkedHashSet<>(pending.values())) {
+      List<ModelInfo> sources = new ArrayList<>(getModelWithAllDependenciesSorted(root));
+      if (platformKey.isPresent()) {
+        List<ModelInfo> mappingResources = repositoryFactory.getRepositoryByModel(root)
+            .getMappingModelsForTargetPlatform(root, platformKey.get(), Optional.empty());
+        sources.addAll(mappingResources);
+        mappingsByRoot.put(root, mappingResources.stream()
+            .map(mapping -> loadedMappings.computeIfAbsent(mapping.getId(),
+                mappingId -> (MappingModel) repositoryFactory.getRepositoryByModel(mappingId)
+                    .getEMFResource(mappingId).getModel()))
+            .collect(Collectors.toList()));
+      }
+      sourcesByRoot.put(root, sources);
+      sources.forEach(source -> allSources.putIfAbsent(source.getId(), source));
+    }
+
+    ModelWorkspaceReader workspaceReader = IModelWorkspace.newReader();
+    Map<ModelId, Long> sourceBytes = new HashMap<>();
+    for (ModelInfo source : allSources.values()) {
+      boolean isMapping = source.getType() == org.eclipse.vorto.model.ModelType.Mapping;
+      byte[] content = repositoryFactory.getRepositoryByModel(source.getId())
+          .getFileContent(source.getId(),
+              isMapping ? Optional.empty() : Optional.of(source.getFileName()))
+          .get().getContent();
+      workspaceReader.addFile(new ByteArrayInputStream(content), source.getType());
+      sourceBytes.put(source.getId(), (long) content.length);
+    }
+    Map<ModelId, Model> parsedModels = new HashMap<>();
+    workspaceReader.read().get().forEach(model -> parsedModels
+        .put(new ModelId(model.getName(), model.getNamespace(), model.getVersion()), model));
+
+    Map<ModelId, ModelContent> converted = new HashMap<>();
+    for (Map.Entry<ModelId, ModelId> requested : pending.entrySet()) {
+      ModelContent content = converted.computeIfAbsent(requested.getValue(),
+          root -> createContent(root, platformKey, sourcesByRoot.get(root),
+              mappingsByRoot.getOrDefault(root, Collections.emptyList()), parsedModels,
+              sourceBytes));
+      result.put(requested.getKey(), content);
+    }
+    return result;
+  }
+
+  private ModelContent createContent(ModelId root, Optional<String> platformKey,
+      List<ModelInfo> sources, List<MappingModel> mappings, Map<ModelId, Model> parsedModels,
+      Map<ModelId, Long> sourceBytes) {
+    ModelContent result = new ModelContent();
+    result.setRoot(root);
+    for (ModelInfo source : sources) {
+      Model model = parsedModels.get(source.getId());
+      if (model == null) {
+        continue;
+      }
+      Optional<MappingModel> mappingModel = mappings.stream()
+          .filter(mapping -> isMappingForModel(mapping, model)).findFirst();
+      AbstractModel createdModel =
+          ModelDtoFactory.createResource(flattenHierarchy(model), mappingModel);
+      // as in convert, only mapped models carry the platform key if the platform has mappings
+      if (platformKey.isPresent() && (mappings.isEmpty() || mappingModel.isPresent())) {
+        createdModel.setTargetPlatformKey(platformKey.get());
+      }
+      result.getModels().put(source.getId(), createdModel);
+    }
+
+    if (contentCache != null && ModelContentCache.isCacheable(sources)) {
+      contentCache.put(root, platformKey, result, sources,
+          sources.stream().mapToLong(source -> sourceBytes.getOrDefault(source.getId(), 0L))
+              .sum());
+    }
+    return result;
+  }
+
+  private ModelId resolveModelId(ModelId modelId) {
     IModelRepository repo = repositoryFactory
         .getRepositoryByNamespace(modelId.getNamespace());
     if (Objects.isNull(repo)) {
@@ -72,8 +214,29 @@ public class ModelIdToModelContentConverter implements IModelConverter<ModelId,
       throw new ModelNotFoundException(
           String.format("Model [%s] does not exist", modelId.getPrettyFormat()), null);
     }
+    return modelId;
+  }
+
+  private ModelContent convert(ModelId modelId, Optional<String> platformKey, boolean useCache,
+      Collection<ModelInfo> usedSources) {
+    modelId = resolveModelId(modelId);
 
-    ModelWorkspaceReader workspaceReader = getWorkspaceForModel(modelId);
+    if (useCache) {
+      Optional<ModelContent> cached = contentCache.get(modelId, platformKey);
+      if (cached.isPresent()) {
+        return cached.get();
+      }
+    }
+
+    Collection<ModelInfo> sources = getModelWithAllDependenciesSorted(modelId);
+    ModelWorkspaceReader workspaceReader = IModelWorkspace.newReader();
+    long sourceBytes = 0;
+    for (ModelInfo model : sources) {
+      FileContent modelContent = repositoryFactory.getRepositoryByModel(model.getId())
+          .getFileContent(model.getId(), Optional.of(model.getFileName())).get();
+      workspaceReader.addFile(new ByteArrayInputStream(modelContent.getContent()), model.getType());
+      sourceBytes += modelContent.getContent().length;
+    }
 
     ModelContent result = new ModelContent();
     result.setRoot(modelId);
@@ -83,10 +246,15 @@ public class ModelIdToModelContentConverter implements IModelConverter<ModelId,
           .getMappingModelsForTargetPlatform(modelId, platformKey.get(), Optional.empty());
       if (!mappingResources.isEmpty()) {
         // adding to workspace reader in order to resolve cross linking between mapping models correctly
-        mappingResources.forEach(mapping -> workspaceReader.addFile(new ByteArrayInputStream(
-                repositoryFactory.getRepositoryByModel(mapping.getId())
-                    .getFileContent(mapping.getId(), Optional.empty()).get().getContent()),
-            org.eclipse.vorto.model.ModelType.Mapping));
+        for (ModelInfo mapping : mappingResources) {
+          byte[] mappingContent = repositoryFactory.getRepositoryByModel(mapping.getId())
+              .getFileContent(mapping.getId(), Optional.empty()).get().getContent();
+          workspaceReader.addFile(new ByteArrayInputStream(mappingContent),
+              org.eclipse.vorto.model.ModelType.Mapping);
+          sourceBytes += mappingContent.length;
+        }
+        sources = new ArrayList<>(sources);
+        sources.addAll(mappingResources);
 
         final IModelWorkspace workspace = workspaceReader.read();
         workspace.get().forEach(model -> {
@@ -126,6 +294,13 @@ public class ModelIdToModelContentConverter implements IModelConverter<ModelId,
                 createdModel);
       });
     }
+
+    if (useCache && ModelContentCache.isCacheable(sources)) {
+      contentCache.put(modelId, platformKey, result, sources, sourceBytes);
+    }
+    if (usedSources != null) {
+      usedSources.addAll(sources);
+    }
     return result;
   }
 
@@ -147,26 +322,11 @@ public class ModelIdToModelContentConverter implements IModelConverter<ModelId,
   }
 
 
-  private ModelWorkspaceReader getWorkspaceForModel(final ModelId modelId) {
-    Collection<ModelInfo> allModels = getModelWithAllDependencies(modelId);
-    DependencyManager dm = new DependencyManager(new HashSet<>(allModels));
-    allModels = dm.getSorted();
-
-    ModelWorkspaceReader workspaceReader = IModelWorkspace.newReader();
-    for (ModelInfo model : allModels) {
-      FileContent modelContent = repositoryFactory.getRepositoryByModel(model.getId())
-          .getFileContent(model.getId(), Optional.of(model.getFileName())).get();
-      workspaceReader.addFile(new ByteArrayInputStream(modelContent.getContent()), model.getType());
-    }
-
-    return workspaceReader;
-  }
-
-  private List<ModelInfo> getModelWithAllDependencies(ModelId modelId) {
-    return new ArrayList<>(ForkJoinPool.commonPool()
+  private List<ModelInfo> getModelWithAllDependenciesSorted(final ModelId modelId) {
+    return ForkJoinPool.commonPool()
         .invoke(
         new ModelInfoRetrieverTask(RequestContextHolder.getRequestAttributes(),
-            SecurityContextHolder.getContext(), repositoryFactory, modelId)));
+            SecurityContextHolder.getContext(), repositoryFactory, modelId));
   }
 
   private boolean isMappingForModel(MappingModel p, Model model) {
@@ -15,23 +15,29 @@ package org.eclipse.vorto.repository.conversion;
 import org.eclipse.vorto.model.ModelId;
 import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
 import org.eclipse.vorto.repository.core.ModelInfo;
+import org.eclipse.vorto.repository.core.impl.utils.DependencyManager;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.context.request.RequestAttributes;
 import org.springframework.web.context.request.RequestContextHolder;
 
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ForkJoinTask;
 import java.util.concurrent.RecursiveTask;
 import java.util.stream.Collectors;
 
+/**
+ * Retrieves a model and all models it references directly or indirectly, sorted such that every
+ * model comes after the models it references. The references of each level of the dependency graph
+ * are retrieved in parallel, and every model is retrieved only once.
+ */
 class ModelInfoRetrieverTask extends RecursiveTask<List<ModelInfo>> {
 
     private static final long serialVersionUID = 3056763240970631787L;
-    private final List<ModelInfo> modelInfos = new ArrayList<>();
     private final ModelId rootID;
     private final IModelRepositoryFactory factory;
     private final SecurityContext securityContext;
@@ -40,38 +46,60 @@ class ModelInfoRetrieverTask extends RecursiveTask<List<ModelInfo>> {
     public ModelInfoRetrieverTask(RequestAttributes requestAttributes,
         SecurityContext securityContext, IModelRepositoryFactory factory, ModelId rootID) {
         this.requestAttributes = requestAttributes;
-        RequestContextHolder.setRequestAttributes(requestAttributes);
         this.securityContext = securityContext;
-        SecurityContextHolder.setContext(securityContext);
         this.factory = factory;
         this.rootID = rootID;
     }
 
     @Override
     protected List<ModelInfo> compute() {
-        RequestContextHolder.setRequestAttributes(requestAttributes, true);
-        SecurityContextHolder.setContext(securityContext);
-        ModelInfo modelInfo =
-            factory.getRepositoryByModelWithoutSessionHelper(rootID).getById(rootID);
-        if (Objects.nonNull(modelInfo)) {
-            modelInfos.add(modelInfo);
-            if (!modelInfo.getReferences().isEmpty()) {
-                modelInfos.addAll(processChildren(modelInfo));
+        DependencyManager dependencies = new DependencyManager();
+        Set<ModelId> visited = new HashSet<>();
+        visited.add(rootID);
+        List<ModelId> level = new ArrayList<>();
+        level.add(rootID);
+        while (!level.isEmpty()) {
+            List<ModelId> nextLevel = new ArrayList<>();
+            for (ModelInfo modelInfo : retrieve(level)) {
+                dependencies.addResource(modelInfo);
+                modelInfo.getReferences().stream().filter(visited::add).forEach(nextLevel::add);
             }
+            level = nextLevel;
         }
-        return modelInfos;
+        return dependencies.getSorted();
     }
 
-    private List<ModelInfo> processChildren(ModelInfo modelInfo) {
-        return ForkJoinTask.invokeAll(children(modelInfo)).stream().map(ForkJoinTask::join)
-            .flatMap(Collection::stream).collect(Collectors.toList());
+    private List<ModelInfo> retrieve(List<ModelId> modelIds) {
+        if (modelIds.size() == 1) {
+            return single(new Retrieval(modelIds.get(0)).compute());
+        }
+        return ForkJoinTask.invokeAll(modelIds.stream().map(Retrieval::new)
+            .collect(Collectors.toList())).stream().map(ForkJoinTask::join)
+            .filter(Objects::nonNull).collect(Collectors.toList());
     }
 
-    private Collection<ModelInfoRetrieverTask> children(ModelInfo root) {
-        return root.getReferences().stream()
-            .map(r -> new ModelInfoRetrieverTask(RequestContextHolder.getRequestAttributes(),
-                SecurityContextHolder.getContext(), factory, r)).collect(
-                Collectors.toList());
+    private static List<ModelInfo> single(ModelInfo modelInfo) {
+        List<ModelInfo> result = new ArrayList<>(1);
+        if (Objects.nonNull(modelInfo)) {
+            result.add(modelInfo);
+        }
+        return result;
     }
 
+    private class Retrieval extends RecursiveTask<ModelInfo> {
+
+        private static final long serialVersionUID = 2401871625066227413L;
+        private final ModelId modelId;
+
+        Retrieval(ModelId modelId) {
+            this.modelId = modelId;
+        }
+
+        @Override
+        protected ModelInfo compute() {
+            RequestContextHolder.setRequestAttributes(requestAttributes, true);
+            SecurityContextHolder.setContext(securityContext);
+            return factory.getRepositoryByModelWithoutSessionHelper(modelId).getById(modelId);
+        }
+    }
 }
@@ -29,6 +29,12 @@ public interface IModelRepositoryFactory {
 
   IModelRepository getRepository(String tenant);
 
+  /**
+   * Same as {@link #getRepository(String, Authentication)}, but the repository uses individual
+   * SessionHelpers, so that it can be used in a multi-threaded context of a single request.
+   */
+  IModelRepository getRepositoryWithoutSessionHelper(String tenant, Authentication user);
+
   IModelRepository getRepositoryByNamespace(String namespace);
 
   IModelRepository getRepositoryByModel(ModelId modelId);
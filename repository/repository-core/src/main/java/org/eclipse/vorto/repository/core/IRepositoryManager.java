@@ -12,6 +12,9 @@
  */
 package org.eclipse.vorto.repository.core;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+
 public interface IRepositoryManager {
 
   /**
@@ -28,6 +31,20 @@ public interface IRepositoryManager {
    */
   void restore(byte[] data);
 
+  /**
+   * Writes a backup of the given repository to the given stream. The stream is left open.
+   *
+   * @param out
+   */
+  void backup(OutputStream out);
+
+  /**
+   * Restores a repository with the data read from the given stream. The stream is left open.
+   *
+   * @param data
+   */
+  void restore(InputStream data);
+
   /**
    * Creates a workspace with the given workspaceId
    *
@@ -49,4 +66,12 @@ public interface IRepositoryManager {
    * @return true if removal is successful
    */
   boolean removeWorkspace(final String workspaceId);
+
+  /**
+   * Sets the derived property that tells whether a model has an image attachment on all models of
+   * the repository, e.g. for models created before the property existed.
+   *
+   * @return the number of models whose property changed
+   */
+  int backfillHasImage();
 }
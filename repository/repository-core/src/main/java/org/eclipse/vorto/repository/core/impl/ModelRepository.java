@@ -83,6 +83,12 @@ public class ModelRepository extends AbstractRepositoryOperation
 
   public static final String VORTO_DESCRIPTION = "vorto:description";
 
+  /**
+   * Derived from the attachments of an information model, so that listing models does not need to
+   * read the attachments
+   */
+  public static final String VORTO_HAS_IMAGE = "vorto:hasImage";
+
   public static final String JCR_LAST_MODIFIED_BY = "jcr:lastModifiedBy";
 
   public static final String JCR_LAST_MODIFIED = "jcr:lastModified";
@@ -178,8 +184,7 @@ public class ModelRepository extends AbstractRepositoryOperation
     });
   }
 
-  private ModelInfo createMinimalModelInfo(Node fileNode, boolean doInElevatedSession, IUserContext context)
-      throws RepositoryException {
+  private ModelInfo createMinimalModelInfo(Node fileNode) throws RepositoryException {
     Node folderNode = fileNode.getParent();
     ModelInfo resource = new ModelInfo(ModelIdHelper.fromPath(folderNode.getPath()),
         fileNode.getProperty(VORTO_NODE_TYPE).getString());
@@ -210,16 +215,66 @@ public class ModelRepository extends AbstractRepositoryOperation
     setReferencesOnResource(folderNode, resource);
 
     if (resource.getType() == ModelType.InformationModel) {
-      resource
-          .setHasImage(!this.getAttachmentsByTag(resource.getId(), TAG_IMAGE, doInElevatedSession, context)
-              .isEmpty());
+      resource.setHasImage(hasImage(fileNode));
     }
 
     return resource;
   }
 
-  private ModelInfo createMinimalModelInfo(Node fileNode) throws RepositoryException {
-    return createMinimalModelInfo(fileNode, false, null);
+  /**
+   * @param fileNode the model file node
+   * @return the {@link ModelRepository#VORTO_HAS_IMAGE} property, or whether one of the attachments
+   * is an image for models it is not set on yet
+   */
+  static boolean hasImage(Node fileNode) throws RepositoryException {
+    if (fileNode.hasProperty(VORTO_HAS_IMAGE)) {
+      return fileNode.getProperty(VORTO_HAS_IMAGE).getBoolean();
+    }
+    return hasImageAttachment(fileNode.getParent());
+  }
+
+  /**
+   * @param folderNode the model folder node
+   * @return whether one of the attachments of the model is tagged as image
+   */
+  static boolean hasImageAttachment(Node folderNode) throws RepositoryException {
+    if (!folderNode.hasNode(ATTACHMENTS_NODE)) {
+      return false;
+    }
+    NodeIterator attachments = folderNode.getNode(ATTACHMENTS_NODE).getNodes();
+    while (attachments.hasNext()) {
+      Node attachment = attachments.nextNode();
+      if (attachment.hasProperty(VORTO_TAGS)) {
+        for (Value tag : attachment.getProperty(VORTO_TAGS).getValues()) {
+          if (TAG_IMAGE.getId().equals(tag.getString())) {
+            return true;
+          }
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Sets the {@link ModelRepository#VORTO_HAS_IMAGE} property of the model in the given folder
+   * according to its attachments. Needs to be called whenever attachments are added or removed.
+   *
+   * @param folderNode the model folder node
+   * @return whether the property changed
+   */
+  static boolean updateHasImage(Node folderNode) throws RepositoryException {
+    NodeIterator fileNodes = folderNode.getNodes(FILE_NODES);
+    if (!fileNodes.hasNext()) {
+      return false;
+    }
+    Node fileNode = fileNodes.nextNode();
+    boolean hasImage = hasImageAttachment(folderNode);
+    if (fileNode.hasProperty(VORTO_HAS_IMAGE)
+        && fileNode.getProperty(VORTO_HAS_IMAGE).getBoolean() == hasImage) {
+      return false;
+    }
+    fileNode.setProperty(VORTO_HAS_IMAGE, hasImage);
+    return true;
   }
 
   @Override
@@ -409,7 +464,7 @@ public class ModelRepository extends AbstractRepositoryOperation
 
     ModelInfo modelResource = createModelResource(folderNode);
 
-    if (!getAttachmentsByTag(modelId, TAG_IMAGE).isEmpty()) {
+    if (hasImage(folderNode.getNodes(FILE_NODES).nextNode())) {
       modelResource.setHasImage(true);
     }
 
@@ -457,7 +512,7 @@ public class ModelRepository extends AbstractRepositoryOperation
             Node folderNode = session.getNode(modelIdHelper.getFullPath());
 
             Node modelFileNode = folderNode.getNodes(FILE_NODES).nextNode();
-            ModelInfo modelInfo = createMinimalModelInfo(modelFileNode, true, context);
+            ModelInfo modelInfo = createMinimalModelInfo(modelFileNode);
 
             setReferencesOnResource(folderNode, modelInfo);
 
@@ -865,6 +920,7 @@ public class ModelRepository extends AbstractRepositoryOperation
       Binary binary = session.getValueFactory()
           .createBinary(new ByteArrayInputStream(fileContent.getContent()));
       contentNode.setProperty(JCR_DATA, binary);
+      updateHasImage(modelFolderNode);
       session.save();
 
       eventPublisher.publishEvent(
@@ -1038,6 +1094,7 @@ public class ModelRepository extends AbstractRepositoryOperation
           if (attachmentFolderNode.hasNode(fileName)) {
             Node attachmentNode = attachmentFolderNode.getNode(fileName);
             attachmentNode.remove();
+            updateHasImage(modelFolderNode);
             session.save();
             return true;
           }
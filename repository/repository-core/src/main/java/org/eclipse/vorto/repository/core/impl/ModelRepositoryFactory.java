@@ -363,7 +363,8 @@ public class ModelRepositoryFactory implements IModelRepositoryFactory,
     return visibleWorkspaceIdSupplier;
   }
 
-  protected IModelRepository getRepositoryWithoutSessionHelper(String workspaceId,
+  @Override
+  public IModelRepository getRepositoryWithoutSessionHelper(String workspaceId,
       Authentication user) {
     ModelRepository modelRepository = new ModelRepository(this.modelSearchUtil,
         this.attachmentValidator,
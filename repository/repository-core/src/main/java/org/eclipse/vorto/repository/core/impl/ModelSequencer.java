@@ -28,6 +28,7 @@ import org.eclipse.vorto.model.ModelType;
 import org.eclipse.vorto.repository.core.ModelInfo;
 import org.eclipse.vorto.repository.core.ModelResource;
 import org.eclipse.vorto.repository.core.impl.parser.IModelParser;
+import org.eclipse.vorto.repository.core.impl.parser.LocalModelWorkspace;
 import org.eclipse.vorto.repository.core.impl.parser.ModelParserFactory;
 import org.modeshape.common.util.CheckArg;
 import org.modeshape.jcr.api.nodetype.NodeTypeManager;
@@ -56,39 +57,44 @@ public class ModelSequencer extends Sequencer {
     
     Binary binaryValue = inputProperty.getBinary();
     CheckArg.isNotNull(binaryValue, "binary");
-    IModelParser parser = ModelParserFactory.instance().getParser(fileNode.getPath());
-    ModelInfo modelResource = parser.parse(binaryValue.getStream());
+    ModelParserFactory parserFactory = ModelParserFactory.instance();
+    // the parsed model is only read here, so its resource set can be recycled afterwards
+    try (LocalModelWorkspace workspace = parserFactory.newWorkspace()) {
+      IModelParser parser = parserFactory.getParser(fileNode.getPath());
+      parser.setWorkspace(workspace);
+      ModelInfo modelResource = parser.parse(binaryValue.getStream());
 
-    fileNode.setProperty("vorto:description",
-        modelResource.getDescription() != null ? modelResource.getDescription() : "");
-    fileNode.setProperty("vorto:type", modelResource.getType().name());
-    fileNode.setProperty("vorto:displayname", modelResource.getDisplayName());
-    fileNode.setProperty("vorto:version", modelResource.getId().getVersion());
-    fileNode.setProperty("vorto:namespace", modelResource.getId().getNamespace());
-    fileNode.setProperty("vorto:name", modelResource.getId().getName());
+      fileNode.setProperty("vorto:description",
+          modelResource.getDescription() != null ? modelResource.getDescription() : "");
+      fileNode.setProperty("vorto:type", modelResource.getType().name());
+      fileNode.setProperty("vorto:displayname", modelResource.getDisplayName());
+      fileNode.setProperty("vorto:version", modelResource.getId().getVersion());
+      fileNode.setProperty("vorto:namespace", modelResource.getId().getNamespace());
+      fileNode.setProperty("vorto:name", modelResource.getId().getName());
     
-    if (modelResource.getType() == ModelType.Mapping) {
-      MappingModel mappingModel = (MappingModel) ((ModelResource)modelResource).getModel();
-      fileNode.setProperty("vorto:targetplatform", mappingModel.getTargetPlatform());
-    }
+      if (modelResource.getType() == ModelType.Mapping) {
+        MappingModel mappingModel = (MappingModel) ((ModelResource)modelResource).getModel();
+        fileNode.setProperty("vorto:targetplatform", mappingModel.getTargetPlatform());
+      }
     
-    folderNode.addMixin("mix:referenceable");
-    folderNode.addMixin("vorto:meta");
-    folderNode.setProperty("vorto:namespace", modelResource.getId().getNamespace());
-    folderNode.setProperty("vorto:type", modelResource.getType().name());
-    folderNode.setProperty("vorto:name", modelResource.getId().getName());
+      folderNode.addMixin("mix:referenceable");
+      folderNode.addMixin("vorto:meta");
+      folderNode.setProperty("vorto:namespace", modelResource.getId().getNamespace());
+      folderNode.setProperty("vorto:type", modelResource.getType().name());
+      folderNode.setProperty("vorto:name", modelResource.getId().getName());
 
 
-    if (folderNode.hasProperty("vorto:references")) { // first remove any previous references of the node.
-      folderNode.getProperty("vorto:references").remove();
-      folderNode.getSession().save();
-    }
+      if (folderNode.hasProperty("vorto:references")) { // first remove any previous references of the node.
+        folderNode.getProperty("vorto:references").remove();
+        folderNode.getSession().save();
+      }
     
-    Optional<Value[]> referencesAsValues = getReferencesAsValues(folderNode, modelResource.getReferences());
-    if (referencesAsValues.isPresent()) {
-      folderNode.setProperty("vorto:references", referencesAsValues.get());
+      Optional<Value[]> referencesAsValues = getReferencesAsValues(folderNode, modelResource.getReferences());
+      if (referencesAsValues.isPresent()) {
+        folderNode.setProperty("vorto:references", referencesAsValues.get());
+      }
     }
-    
+
     return true;
   }
   
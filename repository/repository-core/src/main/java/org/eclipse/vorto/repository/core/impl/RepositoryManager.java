@@ -15,12 +15,20 @@ package org.eclipse.vorto.repository.core.impl;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.function.Supplier;
 import javax.jcr.ImportUUIDBehavior;
+import javax.jcr.NodeIterator;
 import javax.jcr.RepositoryException;
 import javax.jcr.Session;
 import javax.jcr.Workspace;
+import javax.jcr.query.Query;
+import org.apache.commons.io.input.CloseShieldInputStream;
+import org.apache.commons.io.output.CloseShieldOutputStream;
 import org.apache.log4j.Logger;
 import org.eclipse.vorto.repository.core.FatalModelRepositoryException;
 import org.eclipse.vorto.repository.core.IRepositoryManager;
@@ -29,13 +37,23 @@ public class RepositoryManager extends AbstractRepositoryOperation implements IR
 
   private static final Logger LOGGER = Logger.getLogger(RepositoryManager.class);
 
+  private static final int BACKFILL_BATCH_SIZE = 500;
+
   private Supplier<Session> defaultSessionSupplier;
 
   @Override
   public byte[] backup() {
-    return doInSession(session -> {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    backup(baos);
+    return baos.toByteArray();
+  }
+
+  @Override
+  public void backup(OutputStream out) {
+    doInSession(session -> {
       try {
-        return backupRepository(session);
+        backupRepository(session, out);
+        return null;
       } catch (IOException e) {
         LOGGER.error("Exception while making a backup", e);
         throw new FatalModelRepositoryException(
@@ -44,36 +62,66 @@ public class RepositoryManager extends AbstractRepositoryOperation implements IR
     });
   }
 
-  private byte[] backupRepository(Session session) throws RepositoryException, IOException {
-    ByteArrayOutputStream baos = new ByteArrayOutputStream();
-    session.exportSystemView("/", baos, false, false);
-    baos.close();
-    return baos.toByteArray();
+  @Override
+  public int backfillHasImage() {
+    return doInSession(session -> {
+      Query query = session.getWorkspace().getQueryManager().createQuery(
+          "SELECT * FROM [" + ModelRepository.VORTO_META + "] WHERE ["
+              + ModelRepository.VORTO_NODE_TYPE + "] IS NOT NULL", Query.JCR_SQL2);
+      int updated = 0;
+      NodeIterator fileNodes = query.execute().getNodes();
+      while (fileNodes.hasNext()) {
+        if (ModelRepository.updateHasImage(fileNodes.nextNode().getParent())) {
+          updated++;
+          if (updated % BACKFILL_BATCH_SIZE == 0) {
+            session.save();
+          }
+        }
+      }
+      session.save();
+      LOGGER.info(String.format("Updated the image flag of %d models", updated));
+      return updated;
+    });
+  }
+
+  private void backupRepository(Session session, OutputStream out)
+      throws RepositoryException, IOException {
+    session.exportSystemView("/", new CloseShieldOutputStream(out), false, false);
   }
 
   @Override
   public void restore(byte[] data) {
+    restore(new ByteArrayInputStream(data));
+  }
+
+  @Override
+  public void restore(InputStream data) {
     doInSession(session -> {
-      byte[] oldData = null;
+      // keeps the previous data on disk rather than on the heap, as backups can be large
+      Path oldData = Files.createTempFile("vorto-restore-", ".xml");
       try {
-        oldData = backupRepository(session);
+        try (OutputStream out = Files.newOutputStream(oldData)) {
+          backupRepository(session, out);
+        }
 
         LOGGER.info("Attempting to restore backup");
-        session.getWorkspace().importXML("/", new ByteArrayInputStream(data),
+        session.getWorkspace().importXML("/", new CloseShieldInputStream(data),
             ImportUUIDBehavior.IMPORT_UUID_COLLISION_REPLACE_EXISTING);
         LOGGER.info("Restored backup successfully");
 
       } catch (RepositoryException | IOException e) {
         LOGGER.error("Backup failed. Will try to revert the restoration with previous data.", e);
-        try {
+        try (InputStream in = Files.newInputStream(oldData)) {
           LOGGER.info("Reverting to old data.");
-          session.getWorkspace().importXML("/", new ByteArrayInputStream(oldData),
+          session.getWorkspace().importXML("/", in,
               ImportUUIDBehavior.IMPORT_UUID_COLLISION_REPLACE_EXISTING);
           LOGGER.info("Reverted the restoration successfully");
         } catch (RepositoryException | IOException ex) {
           LOGGER.error("Revert of restoration unsuccessful", ex);
         }
         throw e;
+      } finally {
+        Files.deleteIfExists(oldData);
       }
       return null;
     });
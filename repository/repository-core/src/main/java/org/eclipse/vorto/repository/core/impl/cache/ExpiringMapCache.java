@@ -0,0 +1,211 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.core.impl.cache;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Application-wide {@link Cache} holding at most {@code maxSize} entries, each for at most
+ * {@code ttlSeconds} after it has been loaded. <br/>
+ * Unlike {@link org.springframework.cache.concurrent.ConcurrentMapCache}, it is meant for data that
+ * changes at runtime (e.g. namespaces and user-namespace role associations): entries are evicted
+ * explicitly on the mutation paths, and the time-to-live bounds how long a change made outside of
+ * them can go unnoticed. <br/>
+ * When full, expired entries are purged first, then the oldest entries until the cache is back to
+ * 90% of its capacity. <br/>
+ * Evictions apply immediately, so that the evicting transaction reads its own changes, and once
+ * more when the transaction completes, so that entries loaded by concurrent requests in the
+ * meantime (i.e. before the changes were committed) do not outlive it. <br/>
+ * Hits and misses are counted, in order to expose the cache statistics as metrics.
+ */
+public class ExpiringMapCache extends AbstractValueAdaptingCache {
+
+  private final String name;
+
+  private final int maxSize;
+
+  private final long ttlMillis;
+
+  private final LongSupplier clock;
+
+  private final ConcurrentMap<Object, Entry> store = new ConcurrentHashMap<>();
+
+  private final LongAdder hits = new LongAdder();
+
+  private final LongAdder misses = new LongAdder();
+
+  public ExpiringMapCache(String name, int maxSize, long ttlSeconds) {
+    this(name, maxSize, ttlSeconds, System::currentTimeMillis);
+  }
+
+  ExpiringMapCache(String name, int maxSize, long ttlSeconds, LongSupplier clock) {
+    super(true);
+    if (maxSize < 1) {
+      throw new IllegalArgumentException("Cache size must be positive.");
+    }
+    this.name = Objects.requireNonNull(name);
+    this.maxSize = maxSize;
+    this.ttlMillis = TimeUnit.SECONDS.toMillis(ttlSeconds);
+    this.clock = clock;
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public Object getNativeCache() {
+    return store;
+  }
+
+  @Override
+  protected Object lookup(Object key) {
+    Entry entry = store.get(key);
+    if (entry != null && isExpired(entry, clock.getAsLong())) {
+      store.remove(key, entry);
+      entry = null;
+    }
+    if (entry == null) {
+      misses.increment();
+      return null;
+    }
+    hits.increment();
+    return entry.value;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T get(Object key, Callable<T> valueLoader) {
+    ValueWrapper cached = get(key);
+    if (cached != null) {
+      return (T) cached.get();
+    }
+    T value;
+    try {
+      value = valueLoader.call();
+    } catch (Exception e) {
+      throw new Cache.ValueRetrievalException(key, valueLoader, e);
+    }
+    put(key, value);
+    return value;
+  }
+
+  @Override
+  public void put(Object key, Object value) {
+    store.put(key, new Entry(toStoreValue(value), clock.getAsLong()));
+    if (store.size() > maxSize) {
+      shrink();
+    }
+  }
+
+  @Override
+  public ValueWrapper putIfAbsent(Object key, Object value) {
+    long now = clock.getAsLong();
+    Entry[] previous = new Entry[1];
+    store.compute(key, (k, current) -> {
+      if (current != null && !isExpired(current, now)) {
+        previous[0] = current;
+        return current;
+      }
+      return new Entry(toStoreValue(value), now);
+    });
+    if (previous[0] != null) {
+      return toValueWrapper(previous[0].value);
+    }
+    if (store.size() > maxSize) {
+      shrink();
+    }
+    return null;
+  }
+
+  @Override
+  public void evict(Object key) {
+    store.remove(key);
+    afterTransaction(() -> store.remove(key));
+  }
+
+  @Override
+  public void clear() {
+    store.clear();
+    afterTransaction(store::clear);
+  }
+
+  public long getSize() {
+    return store.size();
+  }
+
+  public long getHitCount() {
+    return hits.sum();
+  }
+
+  public long getMissCount() {
+    return misses.sum();
+  }
+
+  private boolean isExpired(Entry entry, long now) {
+    return now - entry.loadedAt >= ttlMillis;
+  }
+
+  private static void afterTransaction(Runnable eviction) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCompletion(int status) {
+              eviction.run();
+            }
+          });
+    }
+  }
+
+  private synchronized void shrink() {
+    if (store.size() <= maxSize) {
+      return;
+    }
+    long now = clock.getAsLong();
+    store.entrySet().removeIf(e -> isExpired(e.getValue(), now));
+    int excess = store.size() - maxSize * 9 / 10;
+    if (excess > 0) {
+      store.entrySet().stream()
+          .sorted(Comparator.comparingLong((Map.Entry<Object, Entry> e) -> e.getValue().loadedAt))
+          .limit(excess)
+          .map(Map.Entry::getKey)
+          .forEach(store::remove);
+    }
+  }
+
+  private static final class Entry {
+
+    private final Object value;
+
+    private final long loadedAt;
+
+    private Entry(Object value, long loadedAt) {
+      this.value = value;
+      this.loadedAt = loadedAt;
+    }
+  }
+}
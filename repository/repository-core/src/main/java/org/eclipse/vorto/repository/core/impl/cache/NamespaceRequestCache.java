@@ -21,6 +21,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import org.apache.log4j.Logger;
@@ -35,7 +36,9 @@ import org.springframework.web.context.annotation.RequestScope;
 /**
  * Caches namespace and virtual namespace resolution within the scope of a single request. <br/>
  * <b>All namespaces are lowercased for comparison</b>. <br/>
- * All virtual namespace mappings are also lowercased.
+ * All virtual namespace mappings are also lowercased.<br/>
+ * The namespaces themselves are loaded through {@link NamespaceRepository#findAll()}, which caches
+ * them across requests, and indexed by name once per request.
  */
 @Service
 @RequestScope
@@ -46,7 +49,8 @@ public class NamespaceRequestCache {
   public static final Predicate<Namespace> PUBLIC = n -> !n.getName()
       .startsWith(PRIVATE_NAMESPACE_PREFIX);
 
-  private Collection<Namespace> namespaces = ConcurrentHashMap.newKeySet();
+  private Collection<Namespace> namespaces = Collections.emptyList();
+  private Map<String, Namespace> namespacesByName = Collections.emptyMap();
   private Map<String, Namespace> virtualNamespaces = new ConcurrentHashMap<>();
 
   private NamespaceRepository namespaceRepository;
@@ -58,6 +62,8 @@ public class NamespaceRequestCache {
   private void populateIfEmpty() {
     if (this.namespaces.isEmpty()) {
       this.namespaces = namespaceRepository.findAll();
+      this.namespacesByName = this.namespaces.stream().collect(
+          Collectors.toMap(n -> n.getName().toLowerCase(), Function.identity(), (a, b) -> a));
     }
   }
 
@@ -69,7 +75,10 @@ public class NamespaceRequestCache {
    * @return
    */
   public NamespaceRequestCache stale() {
-    this.namespaces.clear();
+    // not clearing the collection itself, as it is shared across requests
+    this.namespaces = Collections.emptyList();
+    this.namespacesByName = Collections.emptyMap();
+    this.virtualNamespaces.clear();
     return this;
   }
 
@@ -144,8 +153,7 @@ public class NamespaceRequestCache {
       return Optional.of(result);
     }
     // resolving by name equality
-    Optional<Namespace> result = this.namespaces.stream().filter(n -> n.getName().equalsIgnoreCase(name))
-        .findAny();
+    Optional<Namespace> result = Optional.ofNullable(namespacesByName.get(name.toLowerCase()));
     if (result.isPresent()) {
       LOGGER.debug(
           String.format(
@@ -178,8 +186,7 @@ public class NamespaceRequestCache {
               rootNamespaceName, currentName, trimmed
           )
       );
-      Optional<Namespace> result = namespaces.stream().filter(n -> n.getName().equals(trimmed))
-          .findAny();
+      Optional<Namespace> result = Optional.ofNullable(namespacesByName.get(trimmed));
       if (result.isPresent()) {
         // updating virtual namespace cache
         virtualNamespaces.put(rootNamespaceName, result.get());
@@ -29,7 +29,9 @@ import org.eclipse.vorto.repository.repositories.UserRepositoryRoleRepository;
  * Initial invocations of {@link IUserRequestCache#getUserNamespaceRoles()} and
  * {@link IUserRequestCache#getUserRepositoryRoles()} on this object will retrieve the
  * {@link UserNamespaceRoles} and {@link UserRepositoryRoles} respectively and cache them.<br/>
- * Subsequent invocations of those methods on this object will use the cached data.
+ * Subsequent invocations of those methods on this object will use the cached data.<br/>
+ * {@link UserNamespaceRoles} are also cached across requests by
+ * {@link UserNamespaceRoleRepository#findAllByUser(User)}, so this view holds copies of them.
  */
 public class UserRequestCache implements IUserRequestCache {
 
@@ -88,11 +90,21 @@ public class UserRequestCache implements IUserRequestCache {
   public Collection<UserNamespaceRoles> getUserNamespaceRoles() {
     // setting UNR if not already set
     if (this.userNamespaceRoles.isEmpty()) {
-      this.userNamespaceRoles.addAll(userNamespaceRoleRepository.findAllByUser(this.user));
+      // copying, as the associations are shared across requests and callers modify them
+      userNamespaceRoleRepository.findAllByUser(this.user).stream()
+          .map(UserRequestCache::copy)
+          .forEach(this.userNamespaceRoles::add);
     }
     return Collections.unmodifiableCollection(this.userNamespaceRoles);
   }
 
+  private static UserNamespaceRoles copy(UserNamespaceRoles roles) {
+    UserNamespaceRoles result = new UserNamespaceRoles();
+    result.setID(roles.getID());
+    result.setRoles(roles.getRoles());
+    return result;
+  }
+
   /**
    * Caches the {@link User}'s {@link UserRepositoryRoles} when invoked for the first time, and
    * returns them.<br/>
@@ -21,6 +21,7 @@ import org.apache.commons.io.IOUtils;
 import org.apache.log4j.Logger;
 import org.eclipse.vorto.repository.core.Diagnostic;
 import org.eclipse.vorto.repository.core.impl.RepositoryDiagnostics.NodeDiagnostic;
+import org.eclipse.vorto.repository.core.impl.parser.LocalModelWorkspace;
 import org.eclipse.vorto.repository.core.impl.parser.ModelParserFactory;
 import org.eclipse.vorto.repository.core.impl.utils.ModelIdHelper;
 import org.eclipse.vorto.repository.core.impl.validation.ValidationException;
@@ -62,9 +63,10 @@ public class ModelValidationDiagnostic implements NodeDiagnostic {
         return diagnostics;
       }
 
-      try {
+      try (LocalModelWorkspace workspace = modelParserFactory.newWorkspace()) {
         logger.debug("Validating \n" + IOUtils.toString(contentProperty.getBinary().getStream()));
         modelParserFactory.getParser(node.getName())
+        .setWorkspace(workspace)
         .enableValidation()
         .parse(contentProperty.getBinary().getStream());
       } catch (ValidationException e) {
@@ -21,6 +21,7 @@ import javax.jcr.Property;
 import org.eclipse.vorto.model.ModelId;
 import org.eclipse.vorto.model.ModelType;
 import org.eclipse.vorto.repository.core.ModelInfo;
+import org.eclipse.vorto.repository.core.impl.parser.IModelParser;
 import org.eclipse.vorto.repository.core.impl.parser.ModelParserFactory;
 import com.google.common.base.Strings;
 
@@ -38,8 +39,10 @@ public class NodeDiagnosticUtils {
         return Optional.empty();
       }
 
-      return Optional.of(
-          parserFactory.getParser(node.getName()).parse(contentProperty.getBinary().getStream()));
+      // only the metadata of the model is read, so the workspace can be released right away
+      try (IModelParser parser = parserFactory.getParser(node.getName())) {
+        return Optional.of(parser.parse(contentProperty.getBinary().getStream()));
+      }
     } catch (Exception e) {
       return Optional.empty();
     }
@@ -51,18 +51,37 @@ public abstract class AbstractModelParser implements IModelParser {
 
   private String fileName;
   private LocalModelWorkspace workspace;
+  private boolean ownsWorkspace = false;
+  private IModelRepositoryFactory repositoryFactory;
   private ErrorMessageProvider errorMessageProvider;
   private boolean isValidationEnabled = false;
 
   public AbstractModelParser(String fileName, IModelRepositoryFactory repositoryFactory) {
     this.fileName = fileName;
-    this.workspace = new LocalModelWorkspace(repositoryFactory);
+    this.repositoryFactory = repositoryFactory;
   }
 
   @Override
   public ModelInfo parse(InputStream is) {
+    long started = System.nanoTime();
+    long allocatedBefore = ParserRuntime.currentThreadAllocatedBytes();
+    try {
+      return doParse(is);
+    } finally {
+      long allocatedAfter = ParserRuntime.currentThreadAllocatedBytes();
+      ParserRuntime.instance().recordParse(System.nanoTime() - started,
+          allocatedBefore < 0 ? -1 : allocatedAfter - allocatedBefore);
+    }
+  }
+
+  private ModelInfo doParse(InputStream is) {
     Injector injector = getInjector();
 
+    if (workspace == null) {
+      // created on first use, unless a workspace has been set
+      workspace = new LocalModelWorkspace(repositoryFactory);
+      ownsWorkspace = true;
+    }
     XtextResourceSet resourceSet = workspace.getResourceSet();
 
     Resource resource = createResource(fileName, getContent(is), resourceSet)
@@ -156,10 +175,20 @@ public abstract class AbstractModelParser implements IModelParser {
   }
 
   public IModelParser setWorkspace(LocalModelWorkspace workspace) {
+    close();
     this.workspace = workspace;
     return this;
   }
 
+  @Override
+  public void close() {
+    if (ownsWorkspace) {
+      workspace.close();
+      workspace = null;
+      ownsWorkspace = false;
+    }
+  }
+
   public IModelParser enableValidation() {
     this.isValidationEnabled = true;
     return this;
@@ -12,7 +12,6 @@
  */
 package org.eclipse.vorto.repository.core.impl.parser;
 
-import org.eclipse.vorto.editor.datatype.DatatypeStandaloneSetup;
 import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
 import com.google.inject.Injector;
 
@@ -27,7 +26,7 @@ public class DatatypeModelParser extends AbstractModelParser {
 
   @Override
   protected Injector getInjector() {
-    return new DatatypeStandaloneSetup().createInjectorAndDoEMFRegistration();
+    return ParserRuntime.instance().getDatatypeInjector();
   }
 
 }
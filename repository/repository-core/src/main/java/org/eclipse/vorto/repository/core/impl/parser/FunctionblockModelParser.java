@@ -12,7 +12,6 @@
  */
 package org.eclipse.vorto.repository.core.impl.parser;
 
-import org.eclipse.vorto.editor.functionblock.FunctionblockStandaloneSetup;
 import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
 import com.google.inject.Injector;
 
@@ -27,6 +26,6 @@ public class FunctionblockModelParser extends AbstractModelParser {
 
   @Override
   protected Injector getInjector() {
-    return new FunctionblockStandaloneSetup().createInjectorAndDoEMFRegistration();
+    return ParserRuntime.instance().getFunctionblockInjector();
   }
 }
@@ -19,7 +19,7 @@ import org.eclipse.vorto.repository.core.ModelInfo;
 /**
  * @author Alexander Edelmann - Robert Bosch (SEA) Pte. Ltd.
  */
-public interface IModelParser {
+public interface IModelParser extends AutoCloseable {
 
   /**
    * builds a model resource from the given inputstream
@@ -40,4 +40,11 @@ public interface IModelParser {
    * validates the model during parsing
    */  
   IModelParser enableValidation();
+
+  /**
+   * releases the workspace that the parser created for itself. Models parsed by this parser must
+   * not be used afterwards. A workspace that has been set is left to the caller.
+   */
+  @Override
+  void close();
 }
@@ -12,7 +12,6 @@
  */
 package org.eclipse.vorto.repository.core.impl.parser;
 
-import org.eclipse.vorto.editor.infomodel.InformationModelStandaloneSetup;
 import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
 import com.google.inject.Injector;
 
@@ -27,6 +26,6 @@ public class InformationModelParser extends AbstractModelParser {
 
   @Override
   protected Injector getInjector() {
-    return new InformationModelStandaloneSetup().createInjectorAndDoEMFRegistration();
+    return ParserRuntime.instance().getInformationModelInjector();
   }
 }
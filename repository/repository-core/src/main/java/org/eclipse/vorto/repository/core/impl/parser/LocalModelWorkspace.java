@@ -25,17 +25,19 @@ import java.util.stream.Collectors;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.vorto.core.api.model.model.Model;
-import org.eclipse.vorto.editor.mapping.MappingStandaloneSetup;
 import org.eclipse.vorto.model.ModelId;
 import org.eclipse.vorto.repository.core.FileContent;
 import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
 import org.eclipse.vorto.repository.core.ModelNotFoundException;
 import org.eclipse.vorto.repository.core.impl.validation.ValidationException;
-import org.eclipse.xtext.resource.XtextResource;
 import org.eclipse.xtext.resource.XtextResourceSet;
-import com.google.inject.Injector;
 
-public class LocalModelWorkspace {
+/**
+ * Resource set in which a model is parsed together with its dependencies. The resource set is
+ * taken from the {@link ParserRuntime}. Closing the workspace returns it to the runtime, so close
+ * a workspace once the models parsed in it are not used anymore.
+ */
+public class LocalModelWorkspace implements AutoCloseable {
 
   private XtextResourceSet resourceSet;
 
@@ -43,19 +45,8 @@ public class LocalModelWorkspace {
 
   private IModelRepositoryFactory repoFactory;
 
-  static {
-    // injector = Guice.createInjector(Modules2.mixin(new DatatypeRuntimeModule(),
-    // new FunctionblockRuntimeModule(),
-    // new InformationModelRuntimeModule(),
-    // new MappingRuntimeModule()));
-
-  }
-
   public LocalModelWorkspace(IModelRepositoryFactory repositoryFactory, Collection<FileContent> files) {
-    Injector injector = new MappingStandaloneSetup().createInjectorAndDoEMFRegistration();
-    resourceSet = injector.getInstance(XtextResourceSet.class);
-    resourceSet.addLoadOption(XtextResource.OPTION_RESOLVE_ALL, Boolean.TRUE);
-    resourceSet.addLoadOption(XtextResource.OPTION_ENCODING, "UTF-8");
+    resourceSet = ParserRuntime.instance().acquireResourceSet();
 
     this.repoFactory = repositoryFactory;
     
@@ -131,9 +122,17 @@ public class LocalModelWorkspace {
   }
 
   public XtextResourceSet getResourceSet() {
+    if (this.resourceSet == null) {
+      throw new IllegalStateException("Workspace has already been closed");
+    }
     return this.resourceSet;
   }
-  
-  
 
+  @Override
+  public void close() {
+    if (this.resourceSet != null) {
+      ParserRuntime.instance().releaseResourceSet(this.resourceSet);
+      this.resourceSet = null;
+    }
+  }
 }
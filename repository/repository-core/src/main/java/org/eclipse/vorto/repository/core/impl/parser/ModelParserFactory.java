@@ -74,6 +74,14 @@ public class ModelParserFactory {
     }
   }
 
+  /**
+   * @return a new workspace resolving references from the repository. Close it once the models
+   *         parsed in it are not used anymore, so its resource set is recycled.
+   */
+  public LocalModelWorkspace newWorkspace() {
+    return new LocalModelWorkspace(modelRepoFactory);
+  }
+
   public static ModelParserFactory instance() {
     if (instance == null) {
       throw new ParsingException("Repository instance is not yet initialized.");
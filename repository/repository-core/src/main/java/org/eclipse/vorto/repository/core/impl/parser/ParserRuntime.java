@@ -0,0 +1,193 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.core.impl.parser;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.vorto.editor.datatype.DatatypeStandaloneSetup;
+import org.eclipse.vorto.editor.functionblock.FunctionblockStandaloneSetup;
+import org.eclipse.vorto.editor.infomodel.InformationModelStandaloneSetup;
+import org.eclipse.vorto.editor.mapping.MappingStandaloneSetup;
+import org.eclipse.xtext.resource.XtextResource;
+import org.eclipse.xtext.resource.XtextResourceSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.google.inject.Injector;
+
+/**
+ * Process-wide runtime of the model parsers. The Xtext injectors of the Vorto DSLs are created
+ * once, on first use, and shared by all parsers and workspaces. Resource sets of closed
+ * {@link LocalModelWorkspace}s are emptied and kept in a bounded pool for the next workspace.
+ * 
+ * The runtime also records the number, latency and allocated bytes of parses, so that parser
+ * performance can be compared between releases.
+ */
+public final class ParserRuntime {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ParserRuntime.class);
+
+  private static final int DEFAULT_POOL_SIZE = Runtime.getRuntime().availableProcessors() * 2;
+
+  private static final ParserRuntime INSTANCE = new ParserRuntime(DEFAULT_POOL_SIZE);
+
+  private final BlockingQueue<XtextResourceSet> resourceSetPool;
+
+  private final LongAdder createdResourceSets = new LongAdder();
+
+  private final LongAdder reusedResourceSets = new LongAdder();
+
+  private final LongAdder parses = new LongAdder();
+
+  private final LongAdder parseNanos = new LongAdder();
+
+  private final LongAdder parseAllocatedBytes = new LongAdder();
+
+  ParserRuntime(int poolSize) {
+    this.resourceSetPool = new ArrayBlockingQueue<>(poolSize);
+  }
+
+  public static ParserRuntime instance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Injectors are created by the first parser that needs them, as creating them takes long and the
+   * EMF registration must not happen before the DSL packages are initialized
+   */
+  private static final class Injectors {
+    static final Injector DATATYPE =
+        new DatatypeStandaloneSetup().createInjectorAndDoEMFRegistration();
+    static final Injector FUNCTIONBLOCK =
+        new FunctionblockStandaloneSetup().createInjectorAndDoEMFRegistration();
+    static final Injector INFORMATIONMODEL =
+        new InformationModelStandaloneSetup().createInjectorAndDoEMFRegistration();
+    static final Injector MAPPING =
+        new MappingStandaloneSetup().createInjectorAndDoEMFRegistration();
+  }
+
+  public Injector getDatatypeInjector() {
+    return Injectors.DATATYPE;
+  }
+
+  public Injector getFunctionblockInjector() {
+    return Injectors.FUNCTIONBLOCK;
+  }
+
+  public Injector getInformationModelInjector() {
+    return Injectors.INFORMATIONMODEL;
+  }
+
+  public Injector getMappingInjector() {
+    return Injectors.MAPPING;
+  }
+
+  /**
+   * @return an empty resource set, which can load models of all Vorto DSLs
+   */
+  public XtextResourceSet acquireResourceSet() {
+    XtextResourceSet resourceSet = resourceSetPool.poll();
+    if (resourceSet != null) {
+      reusedResourceSets.increment();
+      return resourceSet;
+    }
+    createdResourceSets.increment();
+    resourceSet = getMappingInjector().getInstance(XtextResourceSet.class);
+    resourceSet.addLoadOption(XtextResource.OPTION_RESOLVE_ALL, Boolean.TRUE);
+    resourceSet.addLoadOption(XtextResource.OPTION_ENCODING, "UTF-8");
+    return resourceSet;
+  }
+
+  /**
+   * Unloads all resources of the given resource set and returns it to the pool. Models loaded
+   * through the resource set must not be used anymore afterwards.
+   * 
+   * @param resourceSet resource set acquired from this runtime
+   */
+  public void releaseResourceSet(XtextResourceSet resourceSet) {
+    try {
+      for (Resource resource : new ArrayList<>(resourceSet.getResources())) {
+        resource.unload();
+      }
+      resourceSet.getResources().clear();
+    } catch (RuntimeException e) {
+      LOGGER.debug("Discarding resource set that could not be emptied", e);
+      return;
+    }
+    // a full pool means the resource set is surplus, so it is left to the garbage collector
+    resourceSetPool.offer(resourceSet);
+  }
+
+  void recordParse(long nanos, long allocatedBytes) {
+    parses.increment();
+    parseNanos.add(nanos);
+    if (allocatedBytes > 0) {
+      parseAllocatedBytes.add(allocatedBytes);
+    }
+  }
+
+  /**
+   * @return bytes allocated by the current thread so far, or -1 if the JVM does not measure it
+   */
+  @SuppressWarnings("restriction")
+  static long currentThreadAllocatedBytes() {
+    ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    if (threads instanceof com.sun.management.ThreadMXBean) {
+      com.sun.management.ThreadMXBean sunThreads = (com.sun.management.ThreadMXBean) threads;
+      if (sunThreads.isThreadAllocatedMemorySupported()
+          && sunThreads.isThreadAllocatedMemoryEnabled()) {
+        return sunThreads.getThreadAllocatedBytes(Thread.currentThread().getId());
+      }
+    }
+    return -1;
+  }
+
+  public long getParseCount() {
+    return parses.sum();
+  }
+
+  public double getAverageParseMillis() {
+    long count = parses.sum();
+    return count == 0 ? 0 : parseNanos.sum() / 1_000_000d / count;
+  }
+
+  public long getAverageParseAllocatedBytes() {
+    long count = parses.sum();
+    return count == 0 ? 0 : parseAllocatedBytes.sum() / count;
+  }
+
+  public long getCreatedResourceSetCount() {
+    return createdResourceSets.sum();
+  }
+
+  public long getReusedResourceSetCount() {
+    return reusedResourceSets.sum();
+  }
+
+  public int getPooledResourceSetCount() {
+    return resourceSetPool.size();
+  }
+
+  @Override
+  public String toString() {
+    return "ParserRuntime [parses=" + getParseCount() + ", averageParseMillis="
+        + getAverageParseMillis() + ", averageParseAllocatedBytes="
+        + getAverageParseAllocatedBytes() + ", createdResourceSets="
+        + getCreatedResourceSetCount() + ", reusedResourceSets=" + getReusedResourceSetCount()
+        + ", pooledResourceSets=" + getPooledResourceSetCount() + "]";
+  }
+}
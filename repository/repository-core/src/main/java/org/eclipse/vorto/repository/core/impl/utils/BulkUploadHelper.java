@@ -63,9 +63,19 @@ public class BulkUploadHelper {
       throw new FatalModelRepositoryException("Filename/type is invalid", null);
     }
 
-    ZipParseResult parseResult = parseZipFile(content);
+    if (content == null) {
+      throw new FatalModelRepositoryException("Contents of zip file are invalid", null);
+    }
+
+    Collection<FileContent> fileContents = getFileContentsFromZip(content);
+
+    // the parsed models are validated against each other, so their workspace is only released
+    // once all of them have been validated
+    LocalModelWorkspace workspace = new LocalModelWorkspace(modelRepoFactory, fileContents);
 
     try {
+      ZipParseResult parseResult = parseZipFile(fileContents, workspace);
+
       /*
        * Create mapping function that will convert from a ModelInfo to an UploadModelResult using
        * validators
@@ -91,6 +101,8 @@ public class BulkUploadHelper {
 
     } catch (Exception e) {
       throw new BulkUploadException("Invalid zip file", e);
+    } finally {
+      workspace.close();
     }
   }
 
@@ -111,21 +123,13 @@ public class BulkUploadHelper {
     Set<ModelInfo> validModels;
   }
 
-  private ZipParseResult parseZipFile(byte[] content) {
-    if (content == null) {
-      throw new FatalModelRepositoryException("Contents of zip file are invalid", null);
-    }
-
+  private ZipParseResult parseZipFile(Collection<FileContent> fileContents,
+      LocalModelWorkspace workspace) {
     ZipParseResult parsingResult = new ZipParseResult();
 
     parsingResult.invalidModels = new HashSet<>();
     parsingResult.validModels = new HashSet<>();
 
-    Collection<FileContent> fileContents = getFileContentsFromZip(content);
-    
-    LocalModelWorkspace workspace = new LocalModelWorkspace(modelRepoFactory,fileContents);
-    
-    
     fileContents.forEach(fileContent -> {
       try {
         IModelParser parser = ModelParserFactory.instance().getParser(fileContent.getFileName());
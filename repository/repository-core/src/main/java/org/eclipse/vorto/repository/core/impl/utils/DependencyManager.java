@@ -12,57 +12,125 @@
  */
 package org.eclipse.vorto.repository.core.impl.utils;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.eclipse.vorto.model.ModelId;
 import org.eclipse.vorto.repository.core.ModelInfo;
 
-
-
+/**
+ * Sorts models such that every model comes after all of the models it references. References to
+ * models that have not been added are ignored.
+ * <br/>
+ * Models are indexed by their id, and the dependency graph is sorted with Kahn's algorithm in time
+ * linear to the number of models and references. Models that do not depend on each other keep the
+ * order in which they were added.
+ */
 public class DependencyManager {
 
-  private Set<ModelInfo> resources = new HashSet<>();
+  private final Map<ModelId, ModelInfo> resources = new LinkedHashMap<>();
 
   public DependencyManager() {
   }
 
-  public DependencyManager(Set<ModelInfo> resources) {
-    this.resources = resources;
+  public DependencyManager(Collection<? extends ModelInfo> resources) {
+    resources.forEach(this::addResource);
   }
-  
+
+  /**
+   * Adds the given model, unless a model with the same id has been added before
+   */
   public void addResource(ModelInfo resource) {
-    this.resources.add(resource);
+    this.resources.putIfAbsent(resource.getId(), resource);
+  }
+
+  public boolean contains(ModelId modelId) {
+    return this.resources.containsKey(modelId);
   }
 
+  /**
+   * @return all added models, each one after the models it references
+   * @throws IllegalStateException if models reference each other in a cycle
+   */
   public List<ModelInfo> getSorted() {
-    List<ModelInfo> sorted = new ArrayList<>();
+    Map<ModelId, Integer> unresolvedReferences = new HashMap<>(resources.size() * 2);
+    Map<ModelId, List<ModelId>> referencedBy = new HashMap<>(resources.size() * 2);
+    Deque<ModelId> resolved = new ArrayDeque<>();
 
-    for (ModelInfo resource : resources) {
-      addResourceRecursive(resource, sorted);
+    for (ModelInfo resource : resources.values()) {
+      int count = 0;
+      for (ModelId reference : references(resource)) {
+        if (resources.containsKey(reference)) {
+          referencedBy.computeIfAbsent(reference, id -> new ArrayList<>()).add(resource.getId());
+          count++;
+        }
+      }
+      unresolvedReferences.put(resource.getId(), count);
+      if (count == 0) {
+        resolved.add(resource.getId());
+      }
     }
-    return sorted;
-  }
 
-  private void addResourceRecursive(ModelInfo resource, List<ModelInfo> sorted) {
-    for (ModelId reference : resource.getReferences()) {
-      ModelInfo referencedResource = findResource(reference);
-      if (referencedResource != null) {
-        addResourceRecursive(referencedResource, sorted);
+    List<ModelInfo> sorted = new ArrayList<>(resources.size());
+    while (!resolved.isEmpty()) {
+      ModelId modelId = resolved.poll();
+      sorted.add(resources.get(modelId));
+      for (ModelId dependent : referencedBy.getOrDefault(modelId, Collections.emptyList())) {
+        if (unresolvedReferences.merge(dependent, -1, Integer::sum) == 0) {
+          resolved.add(dependent);
+        }
       }
     }
-    if (!sorted.contains(resource)) {
-      sorted.add(resource);
+
+    if (sorted.size() < resources.size()) {
+      throw new IllegalStateException("Cyclic references between models " + unresolvedReferences
+          .entrySet().stream().filter(e -> e.getValue() > 0).map(e -> e.getKey().getPrettyFormat())
+          .collect(Collectors.joining(", ")));
     }
+    return sorted;
   }
 
-  private ModelInfo findResource(final ModelId modelId) {
-    for (ModelInfo resource : this.resources) {
-      if (resource.getId().equals(modelId)) {
-        return resource;
+  /**
+   * Resolves the given model and all models it references directly or indirectly, looking up every
+   * model only once.
+   *
+   * @param modelId id of the root model
+   * @param lookup returns the model for an id, or {@code null} if it does not exist
+   * @return the root model and all of its dependencies, each one after the models it references
+   */
+  public static List<ModelInfo> resolve(ModelId modelId, Function<ModelId, ModelInfo> lookup) {
+    DependencyManager dm = new DependencyManager();
+    Deque<ModelId> unresolved = new ArrayDeque<>();
+    Set<ModelId> visited = new HashSet<>();
+    unresolved.add(modelId);
+    visited.add(modelId);
+    while (!unresolved.isEmpty()) {
+      ModelInfo resource = lookup.apply(unresolved.poll());
+      if (Objects.isNull(resource)) {
+        continue;
+      }
+      dm.addResource(resource);
+      for (ModelId reference : references(resource)) {
+        if (visited.add(reference)) {
+          unresolved.add(reference);
+        }
       }
     }
-    return null;
+    return dm.getSorted();
+  }
+
+  private static List<ModelId> references(ModelInfo resource) {
+    return resource.getReferences() != null ? resource.getReferences() : Collections.emptyList();
   }
 }
@@ -284,10 +284,25 @@ public abstract class AbstractModelImporter implements IModelImporter {
     return parseDSL(fileName, content, java.util.Collections.emptyList());
   }
 
+  /**
+   * Parses the model in a workspace that is released afterwards. The returned model can still be
+   * read, but references to other models cannot be followed anymore.
+   */
   protected ModelResource parseDSL(String fileName, byte[] content,
       Collection<FileContent> fileReferences) {
+    try (LocalModelWorkspace workspace =
+        new LocalModelWorkspace(modelRepoFactory, fileReferences)) {
+      return parseDSL(fileName, content, workspace);
+    }
+  }
+
+  /**
+   * Parses the model in the given workspace, which stays open until the caller closes it
+   */
+  protected ModelResource parseDSL(String fileName, byte[] content,
+      LocalModelWorkspace workspace) {
     IModelParser modelParser = modelParserFactory.getParser(fileName);
-    modelParser.setWorkspace(new LocalModelWorkspace(modelRepoFactory, fileReferences));
+    modelParser.setWorkspace(workspace);
     modelParser.enableValidation();
     return (ModelResource) modelParser.parse(new ByteArrayInputStream(content));
   }
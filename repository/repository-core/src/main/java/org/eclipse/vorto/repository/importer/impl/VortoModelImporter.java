@@ -34,6 +34,7 @@ import org.eclipse.vorto.repository.core.FileContent;
 import org.eclipse.vorto.repository.core.IUserContext;
 import org.eclipse.vorto.repository.core.ModelInfo;
 import org.eclipse.vorto.repository.core.ModelResource;
+import org.eclipse.vorto.repository.core.impl.parser.LocalModelWorkspace;
 import org.eclipse.vorto.repository.core.impl.parser.ModelParserFactory;
 import org.eclipse.vorto.repository.core.impl.utils.BulkUploadHelper;
 import org.eclipse.vorto.repository.core.impl.validation.ValidationException;
@@ -158,8 +159,10 @@ public class VortoModelImporter extends AbstractModelImporter {
       return bulkUploadService.uploadMultiple(fileUpload.getContent(), fileUpload.getFileName(),
           context.getUser());
     } else {
-      try {
-        final ModelInfo modelInfo = parseDSL(fileUpload.getFileName(), fileUpload.getContent());
+      // the workspace stays open during the validation, as it follows the model references
+      try (LocalModelWorkspace workspace = getModelParserFactory().newWorkspace()) {
+        final ModelInfo modelInfo =
+            parseDSL(fileUpload.getFileName(), fileUpload.getContent(), workspace);
         return Arrays
             .asList(modelValidationHelper.validateModelCreation(modelInfo, context.getUser()));
       } catch (ValidationException ex) {
@@ -22,7 +22,8 @@ import org.eclipse.vorto.repository.core.ModelInfo;
 public interface IPayloadMappingService {
 
   /**
-   * Gets an existing mapping specification for the given modelId or creates one if not existing
+   * Gets an existing mapping specification for the given modelId or creates one if not existing.
+   * Every call returns a new specification instance, which the caller may modify.
    * @param modelId
    * @return
    */
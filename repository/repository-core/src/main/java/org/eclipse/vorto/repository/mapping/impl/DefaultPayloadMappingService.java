@@ -13,12 +13,18 @@
 package org.eclipse.vorto.repository.mapping.impl;
 
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 import org.apache.commons.text.StringEscapeUtils;
 import org.apache.log4j.Logger;
 import org.eclipse.vorto.core.api.model.ModelConversionUtils;
@@ -33,12 +39,18 @@ import org.eclipse.vorto.model.EntityModel;
 import org.eclipse.vorto.model.EnumModel;
 import org.eclipse.vorto.model.FunctionblockModel;
 import org.eclipse.vorto.model.IModel;
+import org.eclipse.vorto.model.IPropertyAttribute;
+import org.eclipse.vorto.model.IReferenceType;
 import org.eclipse.vorto.model.Infomodel;
 import org.eclipse.vorto.model.ModelContent;
 import org.eclipse.vorto.model.ModelId;
 import org.eclipse.vorto.model.ModelProperty;
 import org.eclipse.vorto.model.Stereotype;
 import org.eclipse.vorto.model.runtime.InfomodelValue;
+import org.eclipse.vorto.plugin.generator.adapter.ObjectMapperFactory.ModelDeserializer;
+import org.eclipse.vorto.plugin.generator.adapter.ObjectMapperFactory.ModelReferenceDeserializer;
+import org.eclipse.vorto.plugin.generator.adapter.ObjectMapperFactory.PropertyAttributeDeserializer;
+import org.eclipse.vorto.repository.conversion.ModelContentCache;
 import org.eclipse.vorto.repository.conversion.ModelIdToModelContentConverter;
 import org.eclipse.vorto.repository.core.FileContent;
 import org.eclipse.vorto.repository.core.IModelRepository;
@@ -56,7 +68,9 @@ import org.eclipse.vorto.utilities.reader.IModelWorkspace;
 import org.eclipse.vorto.utilities.reader.ModelWorkspaceReader;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.web.bind.annotation.PathVariable;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
 
 @Service
 public class DefaultPayloadMappingService implements IPayloadMappingService {
@@ -77,6 +91,14 @@ public class DefaultPayloadMappingService implements IPayloadMappingService {
 
   private static final Logger LOGGER = Logger.getLogger(DefaultPayloadMappingService.class);
 
+  private static final ObjectMapper SPECIFICATION_MAPPER = createSpecificationMapper();
+
+  @Autowired(required = false)
+  private MappingSpecificationCache specificationCache;
+
+  @Autowired(required = false)
+  private MappingEngineCache engineCache;
+
   public DefaultPayloadMappingService() {
   }
 
@@ -86,15 +108,37 @@ public class DefaultPayloadMappingService implements IPayloadMappingService {
     this.workflowService = workflowService;
   }
 
+  public void setSpecificationCache(MappingSpecificationCache specificationCache) {
+    this.specificationCache = specificationCache;
+  }
+
   @Override
   public IMappingSpecification getOrCreateSpecification(ModelId modelId) {
-    ModelContent modelContent = getModelContent(modelId, createTargetPlatformKey(modelId));
+    String targetPlatformKey = createTargetPlatformKey(modelId);
+    if (specificationCache != null) {
+      Optional<byte[]> cached = specificationCache.get(modelId, targetPlatformKey);
+      if (cached.isPresent()) {
+        return readSpecification(cached.get());
+      }
+    }
+
+    // the content of the information model holds all of its dependencies, already mapped to the
+    // target platform, so references are resolved from it rather than converted one by one
+    List<ModelInfo> sources = new ArrayList<>();
+    ModelContent modelContent = getModelContent(modelId, targetPlatformKey, sources);
 
     Infomodel infomodel = (Infomodel) modelContent.getModels().get(modelContent.getRoot());
 
     MappingSpecification specification = new MappingSpecification();
     specification.setInfoModel(infomodel);
-    addReferencesRecursive(infomodel, infomodel.getTargetPlatformKey());
+    addReferencesRecursive(infomodel,
+        new ReferenceResolution(modelContent, infomodel.getTargetPlatformKey(), sources));
+
+    if (specificationCache != null && modelContent.getRoot().equals(modelId)
+        && ModelContentCache.isCacheable(sources)) {
+      specificationCache.put(modelId, targetPlatformKey, writeSpecification(specification),
+          sources.stream().map(ModelInfo::getId).collect(Collectors.toList()));
+    }
     return specification;
   }
 
@@ -106,10 +150,11 @@ public class DefaultPayloadMappingService implements IPayloadMappingService {
     return modelId.getPrettyFormat().replace(".", "_").replace(":", "_");
   }
 
-  private ModelContent getModelContent(ModelId modelId, String targetPlatformKey) {
+  private ModelContent getModelContent(ModelId modelId, String targetPlatformKey,
+      Collection<ModelInfo> sources) {
     ModelIdToModelContentConverter converter = new ModelIdToModelContentConverter(
         this.modelRepositoryFactory);
-    return converter.convert(modelId, Optional.of(targetPlatformKey));
+    return converter.convert(modelId, Optional.of(targetPlatformKey), sources);
   }
 
   /**
@@ -117,79 +162,61 @@ public class DefaultPayloadMappingService implements IPayloadMappingService {
    *
    * @param model to traverse properties
    */
-  private void addReferencesRecursive(IModel model, String targetPlatformKey) {
+  private void addReferencesRecursive(IModel model, ReferenceResolution resolution) {
 
     if (model instanceof Infomodel) {
       Infomodel infomodel = (Infomodel) model;
       for (ModelProperty property : infomodel.getFunctionblocks()) {
-        ModelId referenceModelId = (ModelId) property.getType();
-        ModelId mappingId = property.getMappingReference();
-        IModel referenceModel = null;
-        if (mappingId != null) {
-          referenceModel = getModelContentByModelAndMappingId(referenceModelId.getPrettyFormat(),
-              mappingId.getPrettyFormat());
-        } else {
-          ModelContent modelContent = getModelContent(referenceModelId, targetPlatformKey);
-          referenceModel = modelContent.getModels().get(modelContent.getRoot());
-        }
+        IModel referenceModel = resolveReference(property, resolution);
         property.setType((FunctionblockModel) referenceModel);
-        addReferencesRecursive(referenceModel, targetPlatformKey);
+        addReferencesRecursive(referenceModel, resolution);
       }
-    } else if (model instanceof EntityModel) {
-      EntityModel entityModel = (EntityModel) model;
-      for (ModelProperty property : entityModel.getProperties()) {
+    } else if (model instanceof EntityModel || model instanceof FunctionblockModel) {
+      List<ModelProperty> properties = model instanceof EntityModel
+          ? ((EntityModel) model).getProperties()
+          : ((FunctionblockModel) model).getProperties();
+      for (ModelProperty property : properties) {
         initStereotypeIfMissing(property);
         if (property.getType() instanceof ModelId) {
-          ModelId referenceModelId = (ModelId) property.getType();
-          ModelId mappingId = property.getMappingReference();
-          IModel referenceModel = null;
-          if (mappingId != null) {
-            referenceModel = getModelContentByModelAndMappingId(referenceModelId.getPrettyFormat(),
-                mappingId.getPrettyFormat());
-          } else {
-            ModelContent modelContent = getModelContent(referenceModelId, targetPlatformKey);
-            referenceModel = modelContent.getModels().get(modelContent.getRoot());
-          }
+          IModel referenceModel = resolveReference(property, resolution);
           if (referenceModel instanceof EntityModel) {
             property.setType((EntityModel) referenceModel);
-            addReferencesRecursive(referenceModel, targetPlatformKey);
+            addReferencesRecursive(referenceModel, resolution);
           } else {
             property.setType((EnumModel) referenceModel);
           }
         }
       }
-    } else if (model instanceof FunctionblockModel) {
-      FunctionblockModel fbModel = (FunctionblockModel) model;
-      for (ModelProperty property : fbModel.getProperties()) {
-        initStereotypeIfMissing(property);
-        if (property.getType() instanceof ModelId) {
-          ModelId referenceModelId = (ModelId) property.getType();
-          ModelId mappingId = property.getMappingReference();
-          IModel referenceModel = null;
-          if (mappingId != null) {
-            referenceModel = getModelContentByModelAndMappingId(referenceModelId.getPrettyFormat(),
-                mappingId.getPrettyFormat());
-          } else {
-            ModelContent modelContent = getModelContent(referenceModelId, targetPlatformKey);
-            referenceModel = modelContent.getModels().get(modelContent.getRoot());
-          }
+    }
+  }
 
-          if (referenceModel instanceof EntityModel) {
-            property.setType((EntityModel) referenceModel);
-            addReferencesRecursive(referenceModel, targetPlatformKey);
-          } else {
-            property.setType((EnumModel) referenceModel);
-          }
-        }
+  private IModel resolveReference(ModelProperty property, ReferenceResolution resolution) {
+    ModelId referenceModelId = (ModelId) property.getType();
+    ModelId mappingId = property.getMappingReference();
+    IModel referenceModel = null;
+    if (mappingId != null) {
+      referenceModel = resolution.explicitlyMapped.computeIfAbsent(
+          Arrays.asList(referenceModelId, mappingId),
+          key -> getModelContentByModelAndMappingId(referenceModelId, mappingId,
+              resolution.sources));
+    } else {
+      referenceModel = resolution.content.getModels().get(referenceModelId);
+      if (referenceModel == null) {
+        ModelContent modelContent =
+            getModelContent(referenceModelId, resolution.targetPlatformKey, resolution.sources);
+        referenceModel = modelContent.getModels().get(modelContent.getRoot());
       }
     }
+    if (referenceModel != null && !resolution.assigned.add(referenceModel)) {
+      // the same type is used by several properties, which are mapped independently
+      referenceModel = copy(referenceModel);
+    }
+    return referenceModel;
   }
 
-  private IModel getModelContentByModelAndMappingId(final String _modelId,
-      final @PathVariable String mappingId) {
+  private IModel getModelContentByModelAndMappingId(final ModelId modelId,
+      final ModelId mappingModelId, Collection<ModelInfo> sources) {
 
-    final ModelId modelId = ModelId.fromPrettyFormat(_modelId);
-    final ModelId mappingModelId = ModelId.fromPrettyFormat(mappingId);
     IModelRepository repository = this.modelRepositoryFactory.getRepositoryByModel(modelId);
 
     ModelInfo vortoModelInfo = repository.getById(modelId);
@@ -201,11 +228,11 @@ public class DefaultPayloadMappingService implements IPayloadMappingService {
           String.format("Could not find vorto model with ID: %s", modelId));
     } else if (mappingModelInfo == null) {
       throw new ModelNotFoundException(
-          String.format("Could not find mapping with ID: %s", mappingId));
+          String.format("Could not find mapping with ID: %s", mappingModelId));
 
     }
 
-    IModelWorkspace mappingWorkspace = getWorkspaceForModel(mappingModelInfo.getId());
+    IModelWorkspace mappingWorkspace = getWorkspaceForModel(mappingModelInfo.getId(), sources);
 
     Optional<Model> model = mappingWorkspace.get().stream().filter(
         _model -> ModelUtils.fromEMFModelId(ModelIdFactory.newInstance(_model))
@@ -222,10 +249,10 @@ public class DefaultPayloadMappingService implements IPayloadMappingService {
     }
   }
 
-  private IModelWorkspace getWorkspaceForModel(final ModelId modelId) {
+  private IModelWorkspace getWorkspaceForModel(final ModelId modelId,
+      Collection<ModelInfo> sources) {
     List<ModelInfo> allModels = getModelWithAllDependencies(modelId);
-    DependencyManager dm = new DependencyManager(new HashSet<>(allModels));
-    allModels = dm.getSorted();
+    sources.addAll(allModels);
 
     ModelWorkspaceReader workspaceReader = IModelWorkspace.newReader();
     for (ModelInfo model : allModels) {
@@ -239,17 +266,8 @@ public class DefaultPayloadMappingService implements IPayloadMappingService {
 
 
   private List<ModelInfo> getModelWithAllDependencies(ModelId modelId) {
-    List<ModelInfo> modelInfos = new ArrayList<>();
-
-    ModelInfo modelResource = this.modelRepositoryFactory.getRepositoryByModel(modelId)
-        .getById(modelId);
-    modelInfos.add(modelResource);
-
-    for (ModelId reference : modelResource.getReferences()) {
-      modelInfos.addAll(getModelWithAllDependencies(reference));
-    }
-
-    return modelInfos;
+    return DependencyManager.resolve(modelId,
+        id -> this.modelRepositoryFactory.getRepositoryByModel(id).getById(id));
   }
 
   private boolean mappingMatchesModelId(MappingModel mappingModel, ModelInfo modelToMatchAgainst) {
@@ -283,6 +301,70 @@ public class DefaultPayloadMappingService implements IPayloadMappingService {
     return unescapedAttributes;
   }
 
+  private static IModel copy(IModel model) {
+    try {
+      return SPECIFICATION_MAPPER.readValue(SPECIFICATION_MAPPER.writeValueAsBytes(model),
+          model.getClass());
+    } catch (IOException e) {
+      throw new RuntimeException("Could not copy model " + model.getId(), e);
+    }
+  }
+
+  private static byte[] writeSpecification(IMappingSpecification specification) {
+    try {
+      return SPECIFICATION_MAPPER.writeValueAsBytes(specification);
+    } catch (IOException e) {
+      throw new RuntimeException("Could not serialize mapping specification", e);
+    }
+  }
+
+  private static IMappingSpecification readSpecification(byte[] specification) {
+    try {
+      return SPECIFICATION_MAPPER.readValue(specification, MappingSpecification.class);
+    } catch (IOException e) {
+      throw new RuntimeException("Could not deserialize mapping specification", e);
+    }
+  }
+
+  /**
+   * Same configuration as the mapper deserializing specifications sent by the mapping editor
+   */
+  private static ObjectMapper createSpecificationMapper() {
+    ObjectMapper mapper = new ObjectMapper();
+    SimpleModule module = new SimpleModule();
+    module.addDeserializer(IPropertyAttribute.class, new PropertyAttributeDeserializer());
+    module.addDeserializer(IReferenceType.class, new ModelReferenceDeserializer());
+    module.addDeserializer(IModel.class, new ModelDeserializer());
+    mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    mapper.registerModule(module);
+    return mapper;
+  }
+
+  /**
+   * State of resolving the references of one specification: the content of the information model
+   * with all its dependencies, the models mapped by an explicit mapping reference, the models
+   * already assigned to a property and all models the specification is built from
+   */
+  private static final class ReferenceResolution {
+
+    private final ModelContent content;
+
+    private final String targetPlatformKey;
+
+    private final Collection<ModelInfo> sources;
+
+    private final Map<List<ModelId>, IModel> explicitlyMapped = new HashMap<>();
+
+    private final Set<IModel> assigned = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    ReferenceResolution(ModelContent content, String targetPlatformKey,
+        Collection<ModelInfo> sources) {
+      this.content = content;
+      this.targetPlatformKey = targetPlatformKey;
+      this.sources = sources;
+    }
+  }
+
   @Override
   public void saveSpecification(IMappingSpecification specification, IUserContext user) {
     MappingSpecificationSerializer.create(specification).iterator()
@@ -306,6 +388,9 @@ public class DefaultPayloadMappingService implements IPayloadMappingService {
 
   @Override
   public InfomodelValue runTest(IMappingSpecification specification, Object testData) {
+    if (engineCache != null) {
+      return engineCache.mapSource(specification, testData);
+    }
     MappingEngine engine = MappingEngine.create(specification);
     return engine.mapSource(testData);
   }
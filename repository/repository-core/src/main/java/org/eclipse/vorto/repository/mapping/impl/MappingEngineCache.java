@@ -0,0 +1,266 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.mapping.impl;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.log4j.Logger;
+import org.eclipse.vorto.mapping.engine.MappingEngine;
+import org.eclipse.vorto.mapping.engine.model.spec.IMappingSpecification;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.model.runtime.InfomodelValue;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.stereotype.Component;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Caches the mapping engines built for the specifications submitted to test a mapping, so that
+ * repeatedly testing the same specification does not compile its rules and javascript functions
+ * again.
+ * 
+ * Engines are keyed by the information model id and a SHA-256 hash of the serialized
+ * specification. The memory held by an engine is accounted with the size of its serialized
+ * specification, and the cache evicts the least recently used engines once the total exceeds the
+ * configured limit. Cache statistics and the latency percentiles of the most recent mappings are
+ * exposed as {@code mappingTest.*} metrics.
+ */
+@Component
+public class MappingEngineCache implements PublicMetrics {
+
+  private static final Logger LOGGER = Logger.getLogger(MappingEngineCache.class);
+
+  private static final int LATENCY_SAMPLES = 1024;
+
+  private static final ObjectMapper SPECIFICATION_MAPPER =
+      new ObjectMapper().configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
+  private final long maxBytes;
+
+  private long bytes = 0;
+
+  private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+  private final LongAdder hits = new LongAdder();
+
+  private final LongAdder misses = new LongAdder();
+
+  private final LongAdder evictions = new LongAdder();
+
+  private final long[] latencies = new long[LATENCY_SAMPLES];
+
+  private long mappings = 0;
+
+  public MappingEngineCache(
+      @Value("${repo.cache.mappingEngine.maxBytes:#{16777216}}") long maxBytes) {
+    this.maxBytes = maxBytes;
+  }
+
+  /**
+   * Maps the given data with the engine of the given specification, building and caching the
+   * engine if it is not cached yet.
+   * 
+   * @param specification mapping specification to test
+   * @param data deserialized test payload
+   * @return mapped information model value
+   */
+  public InfomodelValue mapSource(IMappingSpecification specification, Object data) {
+    MappingEngine engine = getOrCreate(specification);
+    long start = System.nanoTime();
+    try {
+      return engine.mapSource(data);
+    } finally {
+      recordLatency(System.nanoTime() - start);
+    }
+  }
+
+  /**
+   * @param specification mapping specification
+   * @return the cached engine for the given specification or a newly built one
+   */
+  public MappingEngine getOrCreate(IMappingSpecification specification) {
+    byte[] serialized = serialize(specification);
+    if (serialized == null || specification.getInfoModel() == null) {
+      misses.increment();
+      return MappingEngine.create(specification);
+    }
+    Key key = new Key(specification.getInfoModel().getId(), hash(serialized));
+    synchronized (this) {
+      Entry entry = entries.get(key);
+      if (entry != null) {
+        hits.increment();
+        return entry.engine;
+      }
+    }
+    misses.increment();
+    // built outside of the lock, so a slow build does not block tests of other specifications
+    MappingEngine engine = MappingEngine.create(specification);
+    put(key, new Entry(engine, serialized.length));
+    return engine;
+  }
+
+  private synchronized void put(Key key, Entry entry) {
+    if (entry.bytes > maxBytes) {
+      return;
+    }
+    Entry previous = entries.put(key, entry);
+    if (previous != null) {
+      this.bytes -= previous.bytes;
+    }
+    this.bytes += entry.bytes;
+
+    Iterator<Entry> leastRecentlyUsed = entries.values().iterator();
+    while (this.bytes > maxBytes && leastRecentlyUsed.hasNext()) {
+      this.bytes -= leastRecentlyUsed.next().bytes;
+      leastRecentlyUsed.remove();
+      evictions.increment();
+    }
+  }
+
+  public synchronized void invalidateAll() {
+    entries.clear();
+    bytes = 0;
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  public synchronized long getBytes() {
+    return bytes;
+  }
+
+  public long getHitCount() {
+    return hits.sum();
+  }
+
+  public long getMissCount() {
+    return misses.sum();
+  }
+
+  private synchronized void recordLatency(long nanos) {
+    latencies[(int) (mappings % LATENCY_SAMPLES)] = nanos;
+    mappings++;
+  }
+
+  /**
+   * @param percentile percentile between 0 and 100
+   * @return the given percentile of the latencies of the most recent mappings in nanoseconds, or
+   *         0 if nothing has been mapped yet
+   */
+  public long getLatencyPercentile(double percentile) {
+    long[] samples;
+    synchronized (this) {
+      samples = Arrays.copyOf(latencies, (int) Math.min(mappings, LATENCY_SAMPLES));
+    }
+    if (samples.length == 0) {
+      return 0;
+    }
+    Arrays.sort(samples);
+    int rank = (int) Math.ceil(percentile / 100 * samples.length);
+    return samples[Math.max(0, Math.min(samples.length, rank) - 1)];
+  }
+
+  @Override
+  public Collection<Metric<?>> metrics() {
+    List<Metric<?>> metrics = new ArrayList<>();
+    synchronized (this) {
+      metrics.add(new Metric<>("mappingTest.engines.size", entries.size()));
+      metrics.add(new Metric<>("mappingTest.engines.bytes", bytes));
+      metrics.add(new Metric<>("mappingTest.mappings", mappings));
+    }
+    metrics.add(new Metric<>("mappingTest.engines.hits", hits.sum()));
+    metrics.add(new Metric<>("mappingTest.engines.misses", misses.sum()));
+    metrics.add(new Metric<>("mappingTest.engines.evictions", evictions.sum()));
+    metrics.add(new Metric<>("mappingTest.latency.p50", toMillis(getLatencyPercentile(50))));
+    metrics.add(new Metric<>("mappingTest.latency.p95", toMillis(getLatencyPercentile(95))));
+    metrics.add(new Metric<>("mappingTest.latency.p99", toMillis(getLatencyPercentile(99))));
+    return metrics;
+  }
+
+  private static double toMillis(long nanos) {
+    return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+  }
+
+  private static byte[] serialize(IMappingSpecification specification) {
+    try {
+      return SPECIFICATION_MAPPER.writeValueAsBytes(specification);
+    } catch (IOException e) {
+      LOGGER.warn("Could not serialize mapping specification, engine is not cached", e);
+      return null;
+    }
+  }
+
+  private static String hash(byte[] serialized) {
+    try {
+      return Base64.getEncoder()
+          .encodeToString(MessageDigest.getInstance("SHA-256").digest(serialized));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not supported", e);
+    }
+  }
+
+  private static final class Key {
+
+    private final ModelId modelId;
+
+    private final String hash;
+
+    Key(ModelId modelId, String hash) {
+      this.modelId = modelId;
+      this.hash = hash;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(modelId, hash);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) obj;
+      return Objects.equals(modelId, other.modelId) && Objects.equals(hash, other.hash);
+    }
+  }
+
+  private static final class Entry {
+
+    private final MappingEngine engine;
+
+    private final long bytes;
+
+    Entry(MappingEngine engine, long bytes) {
+      this.engine = engine;
+      this.bytes = bytes;
+    }
+  }
+}
@@ -0,0 +1,159 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.mapping.impl;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.repository.conversion.ModelContentCache;
+import org.eclipse.vorto.repository.core.events.AppEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caches serialized mapping specifications by model id and target platform key, so that loading
+ * the specification of an information model does not resolve and parse its dependencies again.
+ * 
+ * Specifications are held serialized, as callers modify the specifications they are handed. The
+ * cache is bounded by the size of the serialized specifications and evicts the least recently
+ * used specification first. Like the {@link ModelContentCache}, a specification is invalidated as
+ * soon as one of the models or mapping models it is built from changes.
+ */
+@Component
+public class MappingSpecificationCache implements ApplicationListener<AppEvent> {
+
+  private final long maxBytes;
+
+  private long bytes = 0;
+
+  private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+  public MappingSpecificationCache(
+      @Value("${repo.cache.mappingSpecification.maxBytes:#{8388608}}") long maxBytes) {
+    this.maxBytes = maxBytes;
+  }
+
+  public synchronized Optional<byte[]> get(ModelId modelId, String platformKey) {
+    Entry entry = entries.get(new Key(modelId, platformKey));
+    return entry != null ? Optional.of(entry.specification) : Optional.empty();
+  }
+
+  /**
+   * @param modelId id of the information model of the specification
+   * @param platformKey target platform key of the specification
+   * @param specification serialized specification
+   * @param sources ids of all models and mapping models the specification is built from
+   */
+  public synchronized void put(ModelId modelId, String platformKey, byte[] specification,
+      Collection<ModelId> sources) {
+    if (specification.length > maxBytes) {
+      return;
+    }
+    Entry previous = entries.put(new Key(modelId, platformKey),
+        new Entry(specification, new HashSet<>(sources)));
+    if (previous != null) {
+      this.bytes -= previous.specification.length;
+    }
+    this.bytes += specification.length;
+
+    Iterator<Entry> leastRecentlyUsed = entries.values().iterator();
+    while (this.bytes > maxBytes && leastRecentlyUsed.hasNext()) {
+      this.bytes -= leastRecentlyUsed.next().specification.length;
+      leastRecentlyUsed.remove();
+    }
+  }
+
+  /**
+   * Removes all specifications built from any of the given models
+   */
+  public synchronized void invalidate(Collection<ModelId> modelIds) {
+    Iterator<Entry> iterator = entries.values().iterator();
+    while (iterator.hasNext()) {
+      Entry entry = iterator.next();
+      if (!Collections.disjoint(entry.sources, modelIds)) {
+        this.bytes -= entry.specification.length;
+        iterator.remove();
+      }
+    }
+  }
+
+  public synchronized void invalidateAll() {
+    entries.clear();
+    bytes = 0;
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  @Override
+  public void onApplicationEvent(AppEvent event) {
+    if (ModelContentCache.isModelChange(event)) {
+      Optional<Set<ModelId>> changed = ModelContentCache.changedModels(event);
+      if (changed.isPresent()) {
+        invalidate(changed.get());
+      } else {
+        invalidateAll();
+      }
+    }
+  }
+
+  private static final class Key {
+
+    private final ModelId modelId;
+
+    private final String platformKey;
+
+    Key(ModelId modelId, String platformKey) {
+      this.modelId = modelId;
+      this.platformKey = platformKey;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(modelId, platformKey);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) obj;
+      return Objects.equals(modelId, other.modelId)
+          && Objects.equals(platformKey, other.platformKey);
+    }
+  }
+
+  private static final class Entry {
+
+    private final byte[] specification;
+
+    private final Set<ModelId> sources;
+
+    Entry(byte[] specification, Set<ModelId> sources) {
+      this.specification = specification;
+      this.sources = sources;
+    }
+  }
+}
@@ -28,6 +28,7 @@ import org.eclipse.vorto.model.ModelContent;
 import org.eclipse.vorto.model.ModelId;
 import org.eclipse.vorto.model.ModelType;
 import org.eclipse.vorto.plugin.generator.GeneratorPluginInfo;
+import org.eclipse.vorto.repository.conversion.ModelContentCache;
 import org.eclipse.vorto.repository.conversion.ModelIdToModelContentConverter;
 import org.eclipse.vorto.repository.core.IModelRepository;
 import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
@@ -70,6 +71,9 @@ public class DefaultGeneratorPluginService implements IGeneratorPluginService {
 
   private GeneratedOutputAttachmentHandler generatedOutputAttachmentHandler;
 
+  @Autowired
+  private ModelContentCache modelContentCache;
+
   private static final Logger LOGGER = LoggerFactory.getLogger(DefaultGeneratorPluginService.class);
 
   @Autowired
@@ -181,7 +185,7 @@ public class DefaultGeneratorPluginService implements IGeneratorPluginService {
       Map<String, String> requestParams, String baseUrl) {
 
     ModelIdToModelContentConverter converter =
-        new ModelIdToModelContentConverter(this.modelRepositoryFactory);
+        new ModelIdToModelContentConverter(this.modelRepositoryFactory, this.modelContentCache);
     ModelContent content = converter.convert(modelId, Optional.of(serviceKey));
 
     try {
@@ -14,12 +14,17 @@ package org.eclipse.vorto.repository.repositories;
 
 import java.util.Collection;
 import org.eclipse.vorto.repository.domain.Namespace;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
 /**
- * Holds all persisted namespaces.
+ * Holds all persisted namespaces.<br/>
+ * The list of all namespaces is cached across requests, as it is used to resolve namespaces and
+ * workspaces on virtually every request. Any change to namespaces evicts it, along with the
+ * user-namespace role associations referencing them.
  */
 @Repository
 public interface NamespaceRepository extends CrudRepository<Namespace, Long> {
@@ -38,6 +43,31 @@ public interface NamespaceRepository extends CrudRepository<Namespace, Long> {
   Collection<Namespace> findAllPublicNamespaces();
 
   @Override
+  @Cacheable("namespacesCache")
   Collection<Namespace> findAll();
 
+  @Override
+  @CacheEvict(value = {"namespacesCache", "userNamespaceRolesCache"}, allEntries = true)
+  <S extends Namespace> S save(S s);
+
+  @Override
+  @CacheEvict(value = {"namespacesCache", "userNamespaceRolesCache"}, allEntries = true)
+  <S extends Namespace> Iterable<S> save(Iterable<S> iterable);
+
+  @Override
+  @CacheEvict(value = {"namespacesCache", "userNamespaceRolesCache"}, allEntries = true)
+  void delete(Long aLong);
+
+  @Override
+  @CacheEvict(value = {"namespacesCache", "userNamespaceRolesCache"}, allEntries = true)
+  void delete(Iterable<? extends Namespace> iterable);
+
+  @Override
+  @CacheEvict(value = {"namespacesCache", "userNamespaceRolesCache"}, allEntries = true)
+  void delete(Namespace namespace);
+
+  @Override
+  @CacheEvict(value = {"namespacesCache", "userNamespaceRolesCache"}, allEntries = true)
+  void deleteAll();
+
 }
@@ -18,13 +18,19 @@ import org.eclipse.vorto.repository.domain.Namespace;
 import org.eclipse.vorto.repository.domain.User;
 import org.eclipse.vorto.repository.domain.UserNamespaceID;
 import org.eclipse.vorto.repository.domain.UserNamespaceRoles;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
- * Holds user-namespace role associations.
+ * Holds user-namespace role associations.<br/>
+ * The associations of a user are cached across requests, as they are checked on virtually every
+ * request. Any change to an association evicts all users' associations, as they are rarely
+ * changed.<br/>
+ * Cached {@link UserNamespaceRoles} are shared, and must be copied before being modified.
  * TODO #2265 better caching key vs eviction
  */
 @Repository
@@ -35,6 +41,7 @@ public interface UserNamespaceRoleRepository extends
   Collection<UserNamespaceRoles> findAllByNamespace(@Param("namespace") Namespace namespace);
 
   @Query("select unr from UserNamespaceRoles unr where unr.id.user = :user")
+  @Cacheable("userNamespaceRolesCache")
   Collection<UserNamespaceRoles> findAllByUser(@Param("user") User user);
 
   @Query("select unr from UserNamespaceRoles unr where unr.id.namespace = :namespace and unr.roles = :roles")
@@ -49,4 +56,28 @@ public interface UserNamespaceRoleRepository extends
   UserNamespaceRoles findByWorkspaceIdAndUser(@Param("workspaceId") String workspaceId, @Param("user") User user);
 
   Set<UserNamespaceRoles> findAll();
+
+  @Override
+  @CacheEvict(value = "userNamespaceRolesCache", allEntries = true)
+  <S extends UserNamespaceRoles> S save(S s);
+
+  @Override
+  @CacheEvict(value = "userNamespaceRolesCache", allEntries = true)
+  <S extends UserNamespaceRoles> Iterable<S> save(Iterable<S> iterable);
+
+  @Override
+  @CacheEvict(value = "userNamespaceRolesCache", allEntries = true)
+  void delete(UserNamespaceID id);
+
+  @Override
+  @CacheEvict(value = "userNamespaceRolesCache", allEntries = true)
+  void delete(Iterable<? extends UserNamespaceRoles> iterable);
+
+  @Override
+  @CacheEvict(value = "userNamespaceRolesCache", allEntries = true)
+  void delete(UserNamespaceRoles userNamespaceRoles);
+
+  @Override
+  @CacheEvict(value = "userNamespaceRolesCache", allEntries = true)
+  void deleteAll();
 }
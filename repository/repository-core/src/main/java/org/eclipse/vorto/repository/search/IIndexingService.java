@@ -12,6 +12,8 @@
  */
 package org.eclipse.vorto.repository.search;
 
+import java.util.Collection;
+import java.util.Optional;
 import org.eclipse.vorto.model.ModelId;
 import org.eclipse.vorto.repository.core.ModelInfo;
 
@@ -33,6 +35,11 @@ public interface IIndexingService {
    */
   IndexingResult forceReindexAllModels();
 
+  /**
+   * @return the progress of the currently running reindexing, if any
+   */
+  Optional<IndexingResult> getReindexProgress();
+
   /**
    * Indexes the given model with the given workspaceId
    * 
@@ -61,5 +68,14 @@ public interface IIndexingService {
    * @param workspaceId the owning tenant
    */
   void deleteIndexForWorkspace(String workspaceId);
+
+  /**
+   * Applies the given operations in one round trip, in their order. At most one operation per
+   * model is expected.
+   *
+   * @param operations the operations to apply
+   * @throws IndexingException if the operations could not be sent to the index
+   */
+  void bulkIndex(Collection<IndexingOperation> operations);
   
 }
@@ -13,6 +13,7 @@
 package org.eclipse.vorto.repository.search;
 
 import java.util.List;
+import java.util.stream.Stream;
 import org.eclipse.vorto.repository.core.IUserContext;
 import org.eclipse.vorto.repository.core.ModelInfo;
 
@@ -34,4 +35,28 @@ public interface ISearchService {
    * @return
    */
   List<ModelInfo> search(String searchExpression, IUserContext userContext);
+
+  /**
+   * Searches like {@link ISearchService#search(String, IUserContext)}, but only returns one page of
+   * the results, ordered by {@link SearchCursor#ORDER}.
+   *
+   * @param searchExpression The search expression
+   * @param userContext The user context with which to execute this query
+   * @param pageSize The maximum number of models to return
+   * @param continuationToken The token of the previous page, or {@code null} for the first page
+   * @return the page of models matching the search expression
+   * @throws IllegalArgumentException if the continuation token is invalid
+   */
+  SearchResultPage search(String searchExpression, IUserContext userContext, int pageSize,
+      String continuationToken);
+
+  /**
+   * Searches like {@link ISearchService#search(String, IUserContext)}, but fetches the results page
+   * by page as the returned stream is consumed, ordered by {@link SearchCursor#ORDER}.
+   *
+   * @param searchExpression The search expression
+   * @param userContext The user context with which to execute this query
+   * @return the models matching the search expression
+   */
+  Stream<ModelInfo> stream(String searchExpression, IUserContext userContext);
 }
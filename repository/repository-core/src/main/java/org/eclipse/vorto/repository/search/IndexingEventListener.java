@@ -17,20 +17,39 @@ import org.eclipse.vorto.repository.core.ModelInfo;
 import org.eclipse.vorto.repository.core.events.AppEvent;
 import org.eclipse.vorto.repository.core.events.EventType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationListener;
 import org.springframework.stereotype.Component;
 
+/**
+ * Keeps the index up to date with model changes. Model changes are queued on a
+ * {@link WriteBehindIndexer} if one is given, and indexed synchronously otherwise.
+ */
 @Component
 public class IndexingEventListener implements ApplicationListener<AppEvent>  {
   
   private IIndexingService indexingService;
+
+  private WriteBehindIndexer writeBehindIndexer;
   
-  public IndexingEventListener(@Autowired IIndexingService indexingService) {
+  public IndexingEventListener(IIndexingService indexingService) {
+    this.indexingService = indexingService;
+  }
+
+  @Autowired
+  public IndexingEventListener(IIndexingService indexingService,
+      WriteBehindIndexer writeBehindIndexer,
+      @Value("${config.indexing.async:true}") boolean async) {
     this.indexingService = indexingService;
+    this.writeBehindIndexer = async ? writeBehindIndexer : null;
   }
 
   @Override
   public void onApplicationEvent(AppEvent event) {
+    if (writeBehindIndexer != null) {
+      queue(event);
+      return;
+    }
     if (event.getEventType() == EventType.MODEL_CREATED) {
       ModelInfo modelInfo = (ModelInfo) event.getSubject();
       indexingService.indexModel(modelInfo, event.getUserContext().getWorkspaceId());
@@ -45,4 +64,19 @@ public class IndexingEventListener implements ApplicationListener<AppEvent>  {
     }
   }
 
+  private void queue(AppEvent event) {
+    if (event.getEventType() == EventType.MODEL_CREATED) {
+      writeBehindIndexer.submit(IndexingOperation.index((ModelInfo) event.getSubject(),
+          event.getUserContext().getWorkspaceId()));
+    } else if (event.getEventType() == EventType.MODEL_UPDATED) {
+      writeBehindIndexer.submit(IndexingOperation.update((ModelInfo) event.getSubject()));
+    } else if (event.getEventType() == EventType.MODEL_DELETED) {
+      writeBehindIndexer.submit(IndexingOperation.delete((ModelId) event.getSubject()));
+    } else if (event.getEventType() == EventType.NAMESPACE_DELETED) {
+      // pending operations on models of the namespace must not re-create them after the deletion
+      writeBehindIndexer.flush();
+      indexingService.deleteIndexForWorkspace(event.getUserContext().getWorkspaceId());
+    }
+  }
+
 }
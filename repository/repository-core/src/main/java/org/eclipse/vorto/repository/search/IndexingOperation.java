@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.search;
+
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.repository.core.ModelInfo;
+
+/**
+ * A pending change of the index for one model, as applied by
+ * {@link IIndexingService#bulkIndex(java.util.Collection)}.
+ */
+public final class IndexingOperation {
+
+  public enum Type {
+    INDEX, UPDATE, DELETE
+  }
+
+  private final Type type;
+
+  private final ModelId modelId;
+
+  private final ModelInfo modelInfo;
+
+  private final String workspaceId;
+
+  private final long createdAt;
+
+  private IndexingOperation(Type type, ModelId modelId, ModelInfo modelInfo, String workspaceId,
+      long createdAt) {
+    this.type = type;
+    this.modelId = modelId;
+    this.modelInfo = modelInfo;
+    this.workspaceId = workspaceId;
+    this.createdAt = createdAt;
+  }
+
+  public static IndexingOperation index(ModelInfo modelInfo, String workspaceId) {
+    return new IndexingOperation(Type.INDEX, modelInfo.getId(), modelInfo, workspaceId,
+        System.currentTimeMillis());
+  }
+
+  public static IndexingOperation update(ModelInfo modelInfo) {
+    return new IndexingOperation(Type.UPDATE, modelInfo.getId(), modelInfo, null,
+        System.currentTimeMillis());
+  }
+
+  public static IndexingOperation delete(ModelId modelId) {
+    return new IndexingOperation(Type.DELETE, modelId, null, null, System.currentTimeMillis());
+  }
+
+  /**
+   * Combines this operation with a later operation on the same model into one operation with the
+   * same effect on the index. The combined operation keeps the creation time of this operation, so
+   * that the lag of the index is not underestimated.
+   *
+   * @param later the later operation
+   * @return the combined operation
+   */
+  public IndexingOperation merge(IndexingOperation later) {
+    if (later.type == Type.UPDATE && this.type == Type.INDEX) {
+      // the model is not in the index yet, so the update must still create the whole document
+      return new IndexingOperation(Type.INDEX, modelId, later.modelInfo, workspaceId, createdAt);
+    }
+    return new IndexingOperation(later.type, modelId, later.modelInfo, later.workspaceId,
+        createdAt);
+  }
+
+  public Type getType() {
+    return type;
+  }
+
+  public ModelId getModelId() {
+    return modelId;
+  }
+
+  /**
+   * @return the model to index or update, {@code null} for {@link Type#DELETE}
+   */
+  public ModelInfo getModelInfo() {
+    return modelInfo;
+  }
+
+  /**
+   * @return the workspace of the model to index, only set for {@link Type#INDEX}
+   */
+  public String getWorkspaceId() {
+    return workspaceId;
+  }
+
+  public long getCreatedAt() {
+    return createdAt;
+  }
+
+  @Override
+  public String toString() {
+    return "IndexingOperation [type=" + type + ", modelId=" + modelId + "]";
+  }
+}
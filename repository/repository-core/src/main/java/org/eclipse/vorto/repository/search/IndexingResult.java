@@ -12,11 +12,22 @@
  */
 package org.eclipse.vorto.repository.search;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Result of a reindexing. While a reindexing runs, the result is updated as namespaces are indexed,
+ * so that it can be used to report the progress.
+ */
 public class IndexingResult {
-  private Map<String, Integer> indexedNamespaces = new HashMap<>();
+  private Map<String, Integer> indexedNamespaces = new ConcurrentHashMap<>();
+
+  private AtomicInteger failedModels = new AtomicInteger();
+
+  private String index;
+
+  private volatile boolean completed = false;
 
   public Map<String, Integer> getIndexedNamespaces() {
     return indexedNamespaces;
@@ -31,10 +42,37 @@ public class IndexingResult {
   }
 
   public void setIndexedNamespaces(Map<String, Integer> indexedNamespaces) {
-    this.indexedNamespaces = indexedNamespaces;
+    this.indexedNamespaces = new ConcurrentHashMap<>(indexedNamespaces);
   }
   
   public void addIndexedNamespace(String namespace, int numModels) {
     indexedNamespaces.put(namespace, numModels);
   }
+
+  public int getNumberOfFailedModels() {
+    return failedModels.get();
+  }
+
+  public void addFailedModels(int numModels) {
+    failedModels.addAndGet(numModels);
+  }
+
+  /**
+   * @return the index the models are indexed into, if the search service uses one
+   */
+  public String getIndex() {
+    return index;
+  }
+
+  public void setIndex(String index) {
+    this.index = index;
+  }
+
+  public boolean isCompleted() {
+    return completed;
+  }
+
+  public void setCompleted(boolean completed) {
+    this.completed = completed;
+  }
 }
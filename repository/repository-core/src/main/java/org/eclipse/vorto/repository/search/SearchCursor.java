@@ -0,0 +1,127 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.search;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Objects;
+import org.eclipse.vorto.repository.core.ModelInfo;
+
+/**
+ * Position in the search results after a given model, which is exchanged with clients as an opaque
+ * continuation token.<br/>
+ * Search results are ordered by {@link SearchCursor#ORDER}, i.e. newest models first and by model
+ * id for models created at the same time, so that a cursor identifies a unique position.
+ */
+public final class SearchCursor {
+
+  public static final Comparator<ModelInfo> ORDER = Comparator
+      .comparing(ModelInfo::getCreationDate, Comparator.nullsLast(Comparator.reverseOrder()))
+      .thenComparing(model -> model.getId().getPrettyFormat());
+
+  private final Long creationDate;
+
+  private final String modelId;
+
+  private SearchCursor(Long creationDate, String modelId) {
+    this.creationDate = creationDate;
+    this.modelId = modelId;
+  }
+
+  /**
+   * @param model the last model of a page of results
+   * @return the position after the given model
+   */
+  public static SearchCursor after(ModelInfo model) {
+    return new SearchCursor(
+        model.getCreationDate() == null ? null : model.getCreationDate().getTime(),
+        model.getId().getPrettyFormat());
+  }
+
+  /**
+   * @param token continuation token as returned by {@link SearchCursor#encode()}
+   * @return the decoded cursor
+   * @throws IllegalArgumentException if the token is invalid
+   */
+  public static SearchCursor decode(String token) {
+    final String decoded;
+    try {
+      decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Invalid continuation token", e);
+    }
+    int separator = decoded.indexOf(':');
+    if (separator < 0 || separator == decoded.length() - 1) {
+      throw new IllegalArgumentException("Invalid continuation token");
+    }
+    try {
+      String creationDate = decoded.substring(0, separator);
+      return new SearchCursor(creationDate.isEmpty() ? null : Long.parseLong(creationDate),
+          decoded.substring(separator + 1));
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid continuation token", e);
+    }
+  }
+
+  public String encode() {
+    String value = (creationDate == null ? "" : creationDate.toString()) + ":" + modelId;
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString(value.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * @return whether the given model comes after this position in the search results
+   */
+  public boolean isBefore(ModelInfo model) {
+    int byDate = Comparator.nullsLast(Comparator.<Long>reverseOrder()).compare(creationDate,
+        model.getCreationDate() == null ? null : model.getCreationDate().getTime());
+    if (byDate != 0) {
+      return byDate < 0;
+    }
+    return modelId.compareTo(model.getId().getPrettyFormat()) < 0;
+  }
+
+  /**
+   * @return the creation time of the model before this position, {@code null} if unknown
+   */
+  public Long getCreationDate() {
+    return creationDate;
+  }
+
+  public String getModelId() {
+    return modelId;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (!(obj instanceof SearchCursor)) {
+      return false;
+    }
+    SearchCursor other = (SearchCursor) obj;
+    return Objects.equals(creationDate, other.creationDate)
+        && Objects.equals(modelId, other.modelId);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(creationDate, modelId);
+  }
+
+  @Override
+  public String toString() {
+    return "SearchCursor [creationDate="
+        + (creationDate == null ? null : new Date(creationDate)) + ", modelId=" + modelId + "]";
+  }
+}
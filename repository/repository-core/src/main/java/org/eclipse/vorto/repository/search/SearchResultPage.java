@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.search;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.eclipse.vorto.repository.core.ModelInfo;
+
+/**
+ * One page of search results, ordered by {@link SearchCursor#ORDER}.
+ */
+public class SearchResultPage {
+
+  private List<ModelInfo> models = Collections.emptyList();
+
+  private String continuationToken = null;
+
+  public SearchResultPage() {
+  }
+
+  public SearchResultPage(List<ModelInfo> models, String continuationToken) {
+    this.models = models;
+    this.continuationToken = continuationToken;
+  }
+
+  /**
+   * Creates a page of the given models, continuing after the last of them if the page is full
+   */
+  public static SearchResultPage of(List<ModelInfo> models, int pageSize) {
+    String token = models.size() < pageSize || models.isEmpty() ? null
+        : SearchCursor.after(models.get(models.size() - 1)).encode();
+    return new SearchResultPage(models, token);
+  }
+
+  /**
+   * Lazily fetches the pages of a search as they are consumed.
+   *
+   * @param pages fetches the page for the given continuation token, {@code null} for the first
+   * @return the models of all pages
+   */
+  public static Stream<ModelInfo> stream(Function<String, SearchResultPage> pages) {
+    Spliterator<ModelInfo> spliterator =
+        new Spliterators.AbstractSpliterator<ModelInfo>(Long.MAX_VALUE,
+            Spliterator.ORDERED | Spliterator.NONNULL) {
+
+          private SearchResultPage page = null;
+
+          private int next = 0;
+
+          @Override
+          public boolean tryAdvance(Consumer<? super ModelInfo> action) {
+            if (page == null) {
+              page = pages.apply(null);
+            }
+            while (next >= page.getModels().size()) {
+              if (page.isLast()) {
+                return false;
+              }
+              page = pages.apply(page.getContinuationToken());
+              next = 0;
+            }
+            action.accept(page.getModels().get(next++));
+            return true;
+          }
+        };
+    return StreamSupport.stream(spliterator, false);
+  }
+
+  public List<ModelInfo> getModels() {
+    return models;
+  }
+
+  public void setModels(List<ModelInfo> models) {
+    this.models = models;
+  }
+
+  /**
+   * @return the token to fetch the next page with, {@code null} if this is the last page
+   */
+  public String getContinuationToken() {
+    return continuationToken;
+  }
+
+  public void setContinuationToken(String continuationToken) {
+    this.continuationToken = continuationToken;
+  }
+
+  public boolean isLast() {
+    return continuationToken == null;
+  }
+}
@@ -0,0 +1,310 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import org.apache.log4j.Logger;
+import org.eclipse.vorto.model.ModelId;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.stereotype.Component;
+
+/**
+ * Write-behind queue of index changes, which takes indexing out of the threads changing models.
+ * <br/>
+ * Pending operations are coalesced per model and sent to the {@link IIndexingService} in batches
+ * of at most {@code batchSize} operations, every {@code flushIntervalMs} or as soon as a batch is
+ * full. A failed batch is put back in front of the queue and retried with exponential backoff, up
+ * to {@code maxRetries} times before it is dropped. When more than {@code capacity} models are
+ * pending, the thread adding an operation waits up to {@code maxBlockMs} for the flushing thread
+ * to catch up. It is never failed by the index, its operation stays queued in any case. The queue
+ * statistics are exposed as {@code indexing.*} metrics.
+ */
+@Component
+public class WriteBehindIndexer implements PublicMetrics, DisposableBean {
+
+  private static final Logger LOGGER = Logger.getLogger(WriteBehindIndexer.class);
+
+  private final IIndexingService indexingService;
+
+  private final int batchSize;
+
+  private final int capacity;
+
+  private final int maxRetries;
+
+  private final long retryBackoffMs;
+
+  private final long maxBlockMs;
+
+  private final ScheduledExecutorService scheduler;
+
+  private final Object lock = new Object();
+
+  private LinkedHashMap<ModelId, IndexingOperation> pending = new LinkedHashMap<>();
+
+  // keeps batches in order, as a later batch may contain newer operations on the same models
+  private final ReentrantLock flushLock = new ReentrantLock();
+
+  private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+  private int failedAttempts = 0;
+
+  private long nextAttemptAt = 0;
+
+  private volatile long lastFlushLagMs = 0;
+
+  private final LongAdder submitted = new LongAdder();
+
+  private final LongAdder coalesced = new LongAdder();
+
+  private final LongAdder flushed = new LongAdder();
+
+  private final LongAdder failedFlushes = new LongAdder();
+
+  private final LongAdder dropped = new LongAdder();
+
+  @Autowired
+  public WriteBehindIndexer(IIndexingService indexingService,
+      @Value("${config.indexing.batchSize:#{500}}") int batchSize,
+      @Value("${config.indexing.capacity:#{10000}}") int capacity,
+      @Value("${config.indexing.flushIntervalMs:#{1000}}") long flushIntervalMs,
+      @Value("${config.indexing.maxRetries:#{5}}") int maxRetries,
+      @Value("${config.indexing.retryBackoffMs:#{500}}") long retryBackoffMs,
+      @Value("${config.indexing.maxBlockMs:#{5000}}") long maxBlockMs) {
+    this.indexingService = indexingService;
+    this.batchSize = batchSize;
+    this.capacity = capacity;
+    this.maxRetries = maxRetries;
+    this.retryBackoffMs = retryBackoffMs;
+    this.maxBlockMs = maxBlockMs;
+    this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "indexing-write-behind");
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.scheduler.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs,
+        TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Queues the given operation, replacing a pending operation on the same model. Blocks while the
+   * queue is over capacity, but never fails because of the index.
+   */
+  public void submit(IndexingOperation operation) {
+    int size;
+    synchronized (lock) {
+      IndexingOperation previous = pending.get(operation.getModelId());
+      if (previous != null) {
+        pending.put(operation.getModelId(), previous.merge(operation));
+        coalesced.increment();
+      } else {
+        pending.put(operation.getModelId(), operation);
+      }
+      size = pending.size();
+    }
+    submitted.increment();
+
+    if (size >= batchSize || size > capacity) {
+      requestFlush();
+    }
+    if (size > capacity) {
+      awaitCapacity();
+    }
+  }
+
+  private void requestFlush() {
+    if (flushRequested.compareAndSet(false, true)) {
+      try {
+        scheduler.execute(this::flushQuietly);
+      } catch (RejectedExecutionException e) {
+        // shutting down, the pending operations are flushed by destroy()
+        flushRequested.set(false);
+      }
+    }
+  }
+
+  /**
+   * Waits until the flushing thread brings the queue back to capacity, or {@code maxBlockMs} have
+   * passed, for example because the index is unavailable and the flushes are backing off.
+   */
+  private void awaitCapacity() {
+    long deadline = System.currentTimeMillis() + maxBlockMs;
+    synchronized (lock) {
+      long remaining;
+      while (pending.size() > capacity
+          && (remaining = deadline - System.currentTimeMillis()) > 0) {
+        try {
+          lock.wait(remaining);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+      }
+    }
+  }
+
+  /**
+   * Sends all pending operations to the index, regardless of a pending retry backoff.
+   *
+   * @throws IndexingException if a batch could not be indexed. The batch stays queued for a retry.
+   */
+  public void flush() {
+    flushLock.lock();
+    try {
+      List<IndexingOperation> batch;
+      while (!(batch = nextBatch()).isEmpty()) {
+        apply(batch);
+      }
+    } finally {
+      flushLock.unlock();
+    }
+  }
+
+  private void flushQuietly() {
+    flushRequested.set(false);
+    flushLock.lock();
+    try {
+      if (System.currentTimeMillis() < nextAttemptAt) {
+        return;
+      }
+      flush();
+    } catch (RuntimeException e) {
+      LOGGER.warn("Indexing failed, will be retried", e);
+    } finally {
+      flushLock.unlock();
+    }
+  }
+
+  private List<IndexingOperation> nextBatch() {
+    synchronized (lock) {
+      List<IndexingOperation> batch = new ArrayList<>(Math.min(batchSize, pending.size()));
+      Iterator<IndexingOperation> iterator = pending.values().iterator();
+      while (iterator.hasNext() && batch.size() < batchSize) {
+        batch.add(iterator.next());
+        iterator.remove();
+      }
+      if (!batch.isEmpty()) {
+        // wakes up the threads waiting for capacity
+        lock.notifyAll();
+      }
+      return batch;
+    }
+  }
+
+  private void apply(List<IndexingOperation> batch) {
+    long oldest = batch.stream().mapToLong(IndexingOperation::getCreatedAt).min().getAsLong();
+    try {
+      indexingService.bulkIndex(batch);
+    } catch (RuntimeException e) {
+      failedFlushes.increment();
+      retryLater(batch);
+      throw e;
+    }
+    flushed.add(batch.size());
+    lastFlushLagMs = System.currentTimeMillis() - oldest;
+    failedAttempts = 0;
+    nextAttemptAt = 0;
+  }
+
+  private void retryLater(List<IndexingOperation> batch) {
+    failedAttempts++;
+    if (failedAttempts > maxRetries) {
+      LOGGER.error(String.format("Dropping %d index operations after %d failed attempts",
+          batch.size(), failedAttempts));
+      dropped.add(batch.size());
+      failedAttempts = 0;
+      nextAttemptAt = 0;
+      return;
+    }
+    nextAttemptAt =
+        System.currentTimeMillis() + (retryBackoffMs << Math.min(failedAttempts - 1, 16));
+
+    synchronized (lock) {
+      // the failed operations go first, combined with operations queued in the meantime
+      LinkedHashMap<ModelId, IndexingOperation> requeued = new LinkedHashMap<>();
+      for (IndexingOperation operation : batch) {
+        requeued.put(operation.getModelId(), operation);
+      }
+      for (Map.Entry<ModelId, IndexingOperation> entry : pending.entrySet()) {
+        requeued.merge(entry.getKey(), entry.getValue(), IndexingOperation::merge);
+      }
+      pending = requeued;
+    }
+  }
+
+  public int getQueueDepth() {
+    synchronized (lock) {
+      return pending.size();
+    }
+  }
+
+  /**
+   * @return the age of the oldest pending operation in milliseconds, 0 if none is pending
+   */
+  public long getLagMs() {
+    synchronized (lock) {
+      if (pending.isEmpty()) {
+        return 0;
+      }
+      long oldest = Long.MAX_VALUE;
+      for (IndexingOperation operation : pending.values()) {
+        oldest = Math.min(oldest, operation.getCreatedAt());
+      }
+      return System.currentTimeMillis() - oldest;
+    }
+  }
+
+  @Override
+  public Collection<Metric<?>> metrics() {
+    List<Metric<?>> metrics = new ArrayList<>();
+    metrics.add(new Metric<>("indexing.queueDepth", getQueueDepth()));
+    metrics.add(new Metric<>("indexing.lagMs", getLagMs()));
+    metrics.add(new Metric<>("indexing.lastFlushLagMs", lastFlushLagMs));
+    metrics.add(new Metric<>("indexing.submitted", submitted.sum()));
+    metrics.add(new Metric<>("indexing.coalesced", coalesced.sum()));
+    metrics.add(new Metric<>("indexing.flushed", flushed.sum()));
+    metrics.add(new Metric<>("indexing.failedFlushes", failedFlushes.sum()));
+    metrics.add(new Metric<>("indexing.dropped", dropped.sum()));
+    return metrics;
+  }
+
+  /**
+   * Stops the timer and indexes the operations still pending
+   */
+  @Override
+  public void destroy() {
+    scheduler.shutdownNow();
+    try {
+      flush();
+    } catch (RuntimeException e) {
+      LOGGER.error(String.format("Could not index %d pending operations on shutdown",
+          getQueueDepth()), e);
+    }
+  }
+}
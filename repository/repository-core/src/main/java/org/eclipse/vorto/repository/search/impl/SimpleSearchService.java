@@ -20,12 +20,19 @@ import org.eclipse.vorto.repository.core.ModelInfo;
 import org.eclipse.vorto.repository.repositories.NamespaceRepository;
 import org.eclipse.vorto.repository.search.IIndexingService;
 import org.eclipse.vorto.repository.search.ISearchService;
+import org.eclipse.vorto.repository.search.IndexingOperation;
 import org.eclipse.vorto.repository.search.IndexingResult;
+import org.eclipse.vorto.repository.search.SearchCursor;
+import org.eclipse.vorto.repository.search.SearchResultPage;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Simple search which merely delegates the search to the model repository
@@ -56,6 +63,28 @@ public class SimpleSearchService implements ISearchService, IIndexingService {
     return search(expression, SecurityContextHolder.getContext().getAuthentication());
   }
   
+  /**
+   * Searches all namespaces like {@link SimpleSearchService#search(String, IUserContext)}, as the
+   * model repository cannot search from a given position, and returns the requested page only.
+   */
+  @Override
+  public SearchResultPage search(String expression, IUserContext userContext, int pageSize,
+      String continuationToken) {
+    final SearchCursor cursor =
+        continuationToken == null ? null : SearchCursor.decode(continuationToken);
+    List<ModelInfo> page = search(expression, userContext.getAuthentication()).stream()
+        .filter(model -> cursor == null || cursor.isBefore(model))
+        .sorted(SearchCursor.ORDER)
+        .limit(pageSize)
+        .collect(Collectors.toList());
+    return SearchResultPage.of(page, pageSize);
+  }
+
+  @Override
+  public Stream<ModelInfo> stream(String expression, IUserContext userContext) {
+    return search(expression, userContext.getAuthentication()).stream().sorted(SearchCursor.ORDER);
+  }
+
   private List<ModelInfo> search(String expression, Authentication authentication) {
     List<ModelInfo> result = new ArrayList<>();
     namespaceRepository.findAll().forEach(namespace -> {
@@ -77,6 +106,11 @@ public class SimpleSearchService implements ISearchService, IIndexingService {
     return new IndexingResult();
   }
 
+  @Override
+  public Optional<IndexingResult> getReindexProgress() {
+    return Optional.empty();
+  }
+
   @Override
   public void indexModel(ModelInfo modelInfo, String workspaceId) {
     // NOOP
@@ -97,4 +131,9 @@ public class SimpleSearchService implements ISearchService, IIndexingService {
     // NOOP
   }
 
+  @Override
+  public void bulkIndex(Collection<IndexingOperation> operations) {
+    // NOOP
+  }
+
 }
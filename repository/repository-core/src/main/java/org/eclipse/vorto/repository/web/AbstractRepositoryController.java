@@ -13,14 +13,13 @@
 package org.eclipse.vorto.repository.web;
 
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 import javax.servlet.http.HttpServletResponse;
@@ -139,23 +138,36 @@ public abstract class AbstractRepositoryController extends ResponseEntityExcepti
   }
 
   protected void addModelToZip(ZipOutputStream zipOutputStream, ModelId modelId) throws Exception {
+    addModelToZip(zipOutputStream, modelId, new HashSet<>());
+  }
+
+  /**
+   * Writes the given model and all models it references to the zip, skipping models already added
+   * or not accessible to the current user
+   *
+   * @param zipOutputStream
+   * @param modelId
+   * @param added ids of the models already added to the zip, updated by this method
+   * @throws Exception
+   */
+  protected void addModelToZip(ZipOutputStream zipOutputStream, ModelId modelId,
+      Set<ModelId> added) throws Exception {
+    if (!added.add(modelId)) {
+      return;
+    }
     try {
       FileContent modelFile = getModelRepository(modelId).getFileContent(modelId, Optional.empty())
           .get();
       ModelInfo modelResource = getModelRepository(modelId).getById(modelId);
 
-      try {
-        ZipEntry zipEntry = new ZipEntry(
-            modelResource.getId().getPrettyFormat() + modelResource.getType().getExtension());
-        zipOutputStream.putNextEntry(zipEntry);
-        zipOutputStream.write(modelFile.getContent());
-        zipOutputStream.closeEntry();
-      } catch (Exception ex) {
-        // entry possible exists already, so skipping TODO: ugly hack!!
-      }
+      ZipEntry zipEntry = new ZipEntry(
+          modelResource.getId().getPrettyFormat() + modelResource.getType().getExtension());
+      zipOutputStream.putNextEntry(zipEntry);
+      zipOutputStream.write(modelFile.getContent());
+      zipOutputStream.closeEntry();
 
       for (ModelId reference : modelResource.getReferences()) {
-        addModelToZip(zipOutputStream, reference);
+        addModelToZip(zipOutputStream, reference, added);
       }
     } catch (NotAuthorizedException notAuthorized) {
       return;
@@ -163,36 +175,30 @@ public abstract class AbstractRepositoryController extends ResponseEntityExcepti
 
   }
 
+  /**
+   * Streams a zip of the given models and their dependencies to the response, writing every model
+   * as soon as it is fetched
+   */
   protected void sendAsZipFile(final HttpServletResponse response, final String fileName,
       List<ModelInfo> modelInfos) {
-    ByteArrayOutputStream baos = new ByteArrayOutputStream();
-    ZipOutputStream zos = new ZipOutputStream(baos);
+    response.setHeader(CONTENT_DISPOSITION, ATTACHMENT_FILENAME + fileName);
+    response.setContentType(APPLICATION_OCTET_STREAM);
 
     try {
+      ZipOutputStream zos = new ZipOutputStream(response.getOutputStream());
+      Set<ModelId> added = new HashSet<>();
       for (ModelInfo modelInfo : modelInfos) {
-        addModelToZip(zos, modelInfo.getId());
+        addModelToZip(zos, modelInfo.getId(), added);
       }
-
-      zos.close();
-      baos.close();
+      zos.finish();
+      response.flushBuffer();
     } catch (Exception ex) {
       throw new RuntimeException(ex);
     }
-
-    response.setHeader(CONTENT_DISPOSITION, ATTACHMENT_FILENAME + fileName);
-    response.setContentType(APPLICATION_OCTET_STREAM);
-    try {
-      IOUtils.copy(new ByteArrayInputStream(baos.toByteArray()), response.getOutputStream());
-      response.flushBuffer();
-    } catch (IOException e) {
-      throw new RuntimeException("Error copying file.", e);
-    }
   }
 
   protected IModelWorkspace getWorkspaceForModel(final ModelId modelId) {
     List<ModelInfo> allModels = getModelWithAllDependencies(modelId);
-    DependencyManager dm = new DependencyManager(new HashSet<>(allModels));
-    allModels = dm.getSorted();
 
     ModelWorkspaceReader workspaceReader = IModelWorkspace.newReader();
     for (ModelInfo model : allModels) {
@@ -206,16 +212,8 @@ public abstract class AbstractRepositoryController extends ResponseEntityExcepti
 
 
   private List<ModelInfo> getModelWithAllDependencies(ModelId modelId) {
-    List<ModelInfo> modelInfos = new ArrayList<>();
-
-    ModelInfo modelResource = getModelRepository(modelId).getById(modelId);
-    modelInfos.add(modelResource);
-
-    for (ModelId reference : modelResource.getReferences()) {
-      modelInfos.addAll(getModelWithAllDependencies(reference));
-    }
-
-    return modelInfos;
+    return DependencyManager.resolve(modelId,
+        id -> getModelRepository(id).getById(id));
   }
 
   protected IModelRepository getModelRepository(ModelId modelId) {
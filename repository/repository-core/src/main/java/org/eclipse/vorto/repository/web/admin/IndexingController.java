@@ -35,4 +35,12 @@ public class IndexingController {
     return new ResponseEntity<>(result, HttpStatus.OK);
   }
 
+  @RequestMapping(value = "/rest/reindex", method = RequestMethod.GET)
+  @PreAuthorize("hasAuthority('sysadmin')")
+  public ResponseEntity<IndexingResult> getReindexProgress() {
+    return indexingServices.getReindexProgress()
+        .map(progress -> new ResponseEntity<>(progress, HttpStatus.OK))
+        .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+  }
+
 }
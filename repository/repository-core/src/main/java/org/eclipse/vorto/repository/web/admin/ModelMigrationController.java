@@ -0,0 +1,54 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.web.admin;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
+import org.eclipse.vorto.repository.repositories.NamespaceRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Migrates the model data of all namespaces to the current repository format.
+ */
+@RestController
+public class ModelMigrationController {
+
+  @Autowired
+  private IModelRepositoryFactory repoFactory;
+
+  @Autowired
+  private NamespaceRepository namespaceRepository;
+
+  /**
+   * Sets the derived image flag of all models created before the flag existed, so that listing
+   * models does not need to read their attachments.
+   *
+   * @return the number of models updated
+   */
+  @PostMapping("/rest/migration/models/hasImage")
+  @PreAuthorize("hasAuthority('sysadmin')")
+  public ResponseEntity<Integer> backfillHasImage() {
+    Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+    AtomicInteger updated = new AtomicInteger();
+    namespaceRepository.findAll().forEach(n -> updated.addAndGet(
+        this.repoFactory.getRepositoryManager(n.getWorkspaceId(), auth).backfillHasImage()));
+    return new ResponseEntity<>(updated.get(), HttpStatus.OK);
+  }
+}
@@ -13,29 +13,36 @@
 package org.eclipse.vorto.repository.web.api.v1;
 
 import io.swagger.annotations.ApiParam;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import java.util.zip.ZipOutputStream;
 import javax.servlet.http.HttpServletResponse;
-import org.apache.commons.io.IOUtils;
 import org.apache.log4j.Logger;
 import org.eclipse.vorto.model.ModelContent;
 import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.repository.conversion.ModelContentCache;
 import org.eclipse.vorto.repository.conversion.ModelIdToModelContentConverter;
 import org.eclipse.vorto.repository.core.ModelInfo;
 import org.eclipse.vorto.repository.core.ModelNotFoundException;
 import org.eclipse.vorto.repository.web.AbstractRepositoryController;
 import org.eclipse.vorto.repository.web.GenericApplicationException;
 import org.eclipse.vorto.repository.web.core.ModelDtoFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * @author Alexander Edelmann - Robert Bosch (SEA) Pte. Ltd.
@@ -46,6 +53,12 @@ public class ModelController extends AbstractRepositoryController {
 
   private static final Logger LOGGER = Logger.getLogger(ModelController.class);
 
+  @Autowired
+  private ModelContentCache modelContentCache;
+
+  @Value("${repo.config.maxBulkContentSize:#{500}}")
+  private int maxBulkContentSize = 500;
+
   @PreAuthorize("isAuthenticated() or hasAuthority('model_viewer')")
   @GetMapping("/{modelId:.+}")
   public ModelInfo getModelInfo(
@@ -70,14 +83,12 @@ public class ModelController extends AbstractRepositoryController {
   @GetMapping("/{modelId:.+}/content")
   public ModelContent getModelContent(
       @ApiParam(value = "The modelId of vorto model, e.g. com.mycompany:Car:1.0.0",
-          required = true) final @PathVariable String modelId) {
+          required = true) final @PathVariable String modelId,
+      final WebRequest request, final HttpServletResponse response) {
 
     final ModelId modelID = ModelId.fromPrettyFormat(modelId);
 
-    ModelIdToModelContentConverter converter = new ModelIdToModelContentConverter(
-        this.modelRepositoryFactory);
-
-    return converter.convert(modelID, Optional.empty());
+    return getModelContent(modelID, Optional.empty(), request, response);
   }
 
   @PreAuthorize("isAuthenticated() or hasAuthority('model_viewer')")
@@ -86,13 +97,66 @@ public class ModelController extends AbstractRepositoryController {
       @ApiParam(value = "The modelId of vorto model, e.g. com.mycompany:Car:1.0.0",
           required = true) final @PathVariable String modelId,
       @ApiParam(value = "The key of the targetplatform, e.g. lwm2m",
-          required = true) final @PathVariable String targetplatformKey) {
+          required = true) final @PathVariable String targetplatformKey,
+      final WebRequest request, final HttpServletResponse response) {
 
     final ModelId modelID = ModelId.fromPrettyFormat(modelId);
+
+    return getModelContent(modelID, Optional.of(targetplatformKey), request, response);
+  }
+
+  @PreAuthorize("isAuthenticated() or hasAuthority('model_viewer')")
+  @PostMapping("/content")
+  public Map<String, ModelContent> getModelContents(
+      @ApiParam(value = "The modelIds of vorto models, e.g. [\"com.mycompany:Car:1.0.0\"]",
+          required = true) final @RequestBody List<String> modelIds,
+      @ApiParam(value = "The key of the targetplatform, e.g. lwm2m",
+          required = false) final @RequestParam(value = "targetplatformKey",
+          required = false) String targetplatformKey) {
+    Objects.requireNonNull(modelIds, "modelIds must not be null");
+    if (modelIds.size() > maxBulkContentSize) {
+      throw new IllegalArgumentException(
+          String.format("At most %d models can be requested at once", maxBulkContentSize));
+    }
+
+    List<ModelId> modelIDs =
+        modelIds.stream().map(ModelId::fromPrettyFormat).collect(Collectors.toList());
     ModelIdToModelContentConverter converter = new ModelIdToModelContentConverter(
-        this.modelRepositoryFactory);
+        this.modelRepositoryFactory, this.modelContentCache);
 
-    return converter.convert(modelID, Optional.of(targetplatformKey));
+    Map<String, ModelContent> contents = new LinkedHashMap<>();
+    converter.convertAll(modelIDs, Optional.ofNullable(targetplatformKey))
+        .forEach((modelId, content) -> contents.put(modelId.getPrettyFormat(), content));
+    return contents;
+  }
+
+  /**
+   * Contents of released models carry the entity tag of their cached content. A request with a
+   * matching If-None-Match header is answered with 304 Not Modified, without converting the
+   * content again if it is still cached.
+   */
+  private ModelContent getModelContent(ModelId modelId, Optional<String> platformKey,
+      WebRequest request, HttpServletResponse response) {
+    Optional<String> etag = modelContentCache.getETag(modelId, platformKey);
+    if (etag.isPresent() && request.checkNotModified(etag.get())) {
+      return null;
+    }
+
+    ModelIdToModelContentConverter converter = new ModelIdToModelContentConverter(
+        this.modelRepositoryFactory, this.modelContentCache);
+    ModelContent content = converter.convert(modelId, platformKey);
+
+    if (!etag.isPresent()) {
+      // the entity tag is derived from the models, so the client may hold the content already
+      Optional<String> cachedETag = modelContentCache.getETag(modelId, platformKey);
+      if (cachedETag.isPresent()) {
+        response.setHeader(HttpHeaders.ETAG, cachedETag.get());
+        if (request.checkNotModified(cachedETag.get())) {
+          return null;
+        }
+      }
+    }
+    return content;
   }
 
   @PreAuthorize("isAuthenticated() or hasAuthority('model_viewer')")
@@ -112,32 +176,19 @@ public class ModelController extends AbstractRepositoryController {
     LOGGER.info("Download of Model file : [" + modelID.toString() + "]");
 
     if (includeDependencies) {
-      byte[] zipContent = createZipWithAllDependencies(modelID);
       response.setHeader(CONTENT_DISPOSITION, ATTACHMENT_FILENAME + modelID.getNamespace() + "_"
           + modelID.getName() + "_" + modelID.getVersion() + ".zip");
       response.setContentType(APPLICATION_OCTET_STREAM);
       try {
-        IOUtils.copy(new ByteArrayInputStream(zipContent), response.getOutputStream());
+        ZipOutputStream zos = new ZipOutputStream(response.getOutputStream());
+        addModelToZip(zos, modelID);
+        zos.finish();
         response.flushBuffer();
-      } catch (IOException e) {
-        throw new GenericApplicationException("Error copying file.", e);
+      } catch (Exception e) {
+        throw new GenericApplicationException("Error while generating zip file.", e);
       }
     } else {
       createSingleModelContent(modelID, response);
     }
   }
-
-  private byte[] createZipWithAllDependencies(ModelId modelId) {
-    ByteArrayOutputStream baos = new ByteArrayOutputStream();
-    ZipOutputStream zos = new ZipOutputStream(baos);
-
-    try {
-      addModelToZip(zos, modelId);
-      zos.close();
-      baos.close();
-      return baos.toByteArray();
-    } catch (Exception ex) {
-      throw new GenericApplicationException("Error while generating zip file.", ex);
-    }
-  }
 }
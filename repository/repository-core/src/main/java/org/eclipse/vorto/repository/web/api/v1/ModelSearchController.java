@@ -14,13 +14,18 @@ package org.eclipse.vorto.repository.web.api.v1;
 
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
-import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
+import org.eclipse.vorto.repository.core.IUserContext;
 import org.eclipse.vorto.repository.core.ModelInfo;
+import org.eclipse.vorto.repository.core.impl.UserContext;
 import org.eclipse.vorto.repository.search.ISearchService;
+import org.eclipse.vorto.repository.search.SearchResultPage;
 import org.eclipse.vorto.repository.web.AbstractRepositoryController;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
@@ -36,6 +41,12 @@ import io.swagger.annotations.ApiParam;
 @RequestMapping(value = "/api/v1/search")
 public class ModelSearchController extends AbstractRepositoryController {
   
+  private static final int DEFAULT_PAGE_SIZE = 50;
+
+  private static final int MAX_PAGE_SIZE = 1000;
+
+  private static final int MAX_SEARCH_RESULTS = 10000;
+
   @Autowired
   private ISearchService searchService;
   
@@ -46,16 +57,39 @@ public class ModelSearchController extends AbstractRepositoryController {
       @ApiParam(value = "a free-text search expression",
           required = true) @RequestParam("expression") String expression)
       throws UnsupportedEncodingException {
-        
-    List<ModelInfo> result = searchService.search(URLDecoder.decode(expression, "utf-8"));
 
-    return result.stream().sorted(new Comparator<ModelInfo>() {
-      public int compare(ModelInfo o1, ModelInfo o2) {
-        return o1.getCreationDate().after(o2.getCreationDate()) ? -1 : +1;
-      }
-    }).collect(Collectors.toList());
+    // results are streamed newest first, larger result sets need to be paged
+    return searchService.stream(URLDecoder.decode(expression, "utf-8"), currentUser())
+        .limit(MAX_SEARCH_RESULTS).collect(Collectors.toList());
+  }
+
+  @RequestMapping(value = "/models/page", method = RequestMethod.GET,
+      produces = "application/json")
+  @CrossOrigin(origins = "https://www.eclipse.org")
+  public ResponseEntity<SearchResultPage> searchPageByExpression(
+      @ApiParam(value = "a free-text search expression",
+          required = true) @RequestParam("expression") String expression,
+      @ApiParam(value = "the maximum number of models to return, at most " + MAX_PAGE_SIZE)
+      @RequestParam(value = "pageSize", defaultValue = "" + DEFAULT_PAGE_SIZE) int pageSize,
+      @ApiParam(value = "the continuation token of the previous page, omitted for the first page")
+      @RequestParam(value = "continuationToken", required = false) String continuationToken)
+      throws UnsupportedEncodingException {
+
+    if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+      return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+    }
+    try {
+      return new ResponseEntity<>(searchService.search(URLDecoder.decode(expression, "utf-8"),
+          currentUser(), pageSize, continuationToken), HttpStatus.OK);
+    } catch (IllegalArgumentException invalidToken) {
+      return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+    }
   }
-   
+
+  private static IUserContext currentUser() {
+    return UserContext.user(SecurityContextHolder.getContext().getAuthentication());
+  }
+
   public ISearchService getSearchService() {
     return searchService;
   }
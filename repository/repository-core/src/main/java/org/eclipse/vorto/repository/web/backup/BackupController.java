@@ -13,8 +13,8 @@
 package org.eclipse.vorto.repository.web.backup;
 
 import io.swagger.annotations.ApiParam;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.text.SimpleDateFormat;
 import java.util.Collection;
 import java.util.Collections;
@@ -23,7 +23,6 @@ import java.util.Optional;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import javax.servlet.http.HttpServletResponse;
-import org.apache.commons.io.IOUtils;
 import org.eclipse.vorto.repository.backup.IBackupRestoreService;
 import org.eclipse.vorto.repository.domain.Namespace;
 import org.eclipse.vorto.repository.web.AbstractRepositoryController;
@@ -97,8 +96,7 @@ public class BackupController extends AbstractRepositoryController {
     response.setContentType(APPLICATION_OCTET_STREAM);
 
     try {
-      IOUtils.copy(new ByteArrayInputStream(backupRestoreService.createBackup(namespaceFilter)),
-          response.getOutputStream());
+      backupRestoreService.createBackup(namespaceFilter, response.getOutputStream());
       response.flushBuffer();
     } catch (IOException e) {
       throw new GenericApplicationException("Error copying file.", e);
@@ -150,9 +148,11 @@ public class BackupController extends AbstractRepositoryController {
       throw new UploadTooLargeException("backup", maxBackupSize);
     }
 
-    return backupRestoreService.restoreRepository(file.getBytes(), namespaceFilter)
-        .stream().map(Namespace::getName)
-        .collect(Collectors.toList());
+    try (InputStream backup = file.getInputStream()) {
+      return backupRestoreService.restoreRepository(backup, namespaceFilter)
+          .stream().map(Namespace::getName)
+          .collect(Collectors.toList());
+    }
   }
 
 }
@@ -18,22 +18,25 @@ import io.swagger.annotations.ApiParam;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.security.Principal;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 import javax.servlet.http.HttpServletResponse;
@@ -50,6 +53,7 @@ import org.eclipse.vorto.repository.core.FileContent;
 import org.eclipse.vorto.repository.core.IDiagnostics;
 import org.eclipse.vorto.repository.core.IModelPolicyManager;
 import org.eclipse.vorto.repository.core.IModelRepository;
+import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
 import org.eclipse.vorto.repository.core.IUserContext;
 import org.eclipse.vorto.repository.core.ModelAlreadyExistsException;
 import org.eclipse.vorto.repository.core.ModelInfo;
@@ -58,6 +62,7 @@ import org.eclipse.vorto.repository.core.PolicyEntry;
 import org.eclipse.vorto.repository.core.PolicyEntry.Permission;
 import org.eclipse.vorto.repository.core.PolicyEntry.PrincipalType;
 import org.eclipse.vorto.repository.core.impl.UserContext;
+import org.eclipse.vorto.repository.core.impl.parser.IModelParser;
 import org.eclipse.vorto.repository.core.impl.parser.ModelParserFactory;
 import org.eclipse.vorto.repository.core.impl.utils.ModelValidationHelper;
 import org.eclipse.vorto.repository.core.impl.validation.AttachmentValidator;
@@ -86,6 +91,7 @@ import org.eclipse.vorto.repository.web.core.async.AsyncModelLinksFetcher;
 import org.eclipse.vorto.repository.web.core.async.AsyncModelMappingsFetcher;
 import org.eclipse.vorto.repository.web.core.async.AsyncModelReferenceFetcher;
 import org.eclipse.vorto.repository.web.core.async.AsyncModelSyntaxFetcher;
+import org.eclipse.vorto.repository.web.core.async.AsyncModelTaskExecutor;
 import org.eclipse.vorto.repository.web.core.async.AsyncWorkflowActionsFetcher;
 import org.eclipse.vorto.repository.web.core.dto.ModelContent;
 import org.eclipse.vorto.repository.web.core.exceptions.NotAuthorizedException;
@@ -109,7 +115,6 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.multipart.MultipartFile;
 
 /**
@@ -146,6 +151,9 @@ public class ModelRepositoryController extends AbstractRepositoryController {
   @Autowired
   private UserNamespaceRoleService userNamespaceRoleService;
 
+  @Autowired
+  private AsyncModelTaskExecutor asyncModelTaskExecutor;
+
   @Value("${config.requestTimeoutInSeconds:#{300}}")
   private int requestTimeoutInSeconds;
 
@@ -181,6 +189,11 @@ public class ModelRepositoryController extends AbstractRepositoryController {
    *     ... fails throwing {@link NotAuthorizedException}, returns {@code null} with status
    *     {@link HttpStatus#FORBIDDEN};
    *   </li>
+   *   <li>
+   *     If the data fetched asynchronously is not complete within
+   *     {@literal config.requestTimeoutInSeconds}, returns {@code null} with status
+   *     {@link HttpStatus#GATEWAY_TIMEOUT}.
+   *   </li>
    * </ul>
    *
    * @param modelId
@@ -207,85 +220,35 @@ public class ModelRepositoryController extends AbstractRepositoryController {
         return new ResponseEntity<>(null, HttpStatus.NOT_FOUND);
       }
 
-      // starts spawning threads to retrieve models etc.
-      final ExecutorService executor = Executors.newCachedThreadPool();
+      // one deadline for all asynchronous fetches of this request
+      final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(requestTimeoutInSeconds);
+      final IModelRepositoryFactory factory = getModelRepositoryFactory();
+
       // fetches mappings
-      Collection<ModelMinimalInfoDTO> mappings = ConcurrentHashMap.newKeySet();
-      modelInfo.getPlatformMappings().entrySet().stream()
-          .forEach(
-              e -> {
-                executor.submit(
-                    new AsyncModelMappingsFetcher(mappings, e)
-                        .with(SecurityContextHolder.getContext())
-                        .with(RequestContextHolder.getRequestAttributes())
-                        .with(getModelRepositoryFactory())
-                );
-              }
-          );
+      CompletableFuture<List<ModelMinimalInfoDTO>> mappings = asyncModelTaskExecutor
+          .supplyAll(modelInfo.getPlatformMappings().entrySet(),
+              e -> new AsyncModelMappingsFetcher(e, factory));
       // fetches references from model ids built with the root ModelInfo
-      Collection<ModelMinimalInfoDTO> references = ConcurrentHashMap.newKeySet();
-      modelInfo.getReferences().stream().forEach(
-          id ->
-              executor.submit(
-                  new AsyncModelReferenceFetcher(references, id)
-                      .with(SecurityContextHolder.getContext())
-                      .with(RequestContextHolder.getRequestAttributes())
-                      .with(getModelRepositoryFactory())
-              )
-      );
+      CompletableFuture<List<ModelMinimalInfoDTO>> references = asyncModelTaskExecutor
+          .supplyAll(modelInfo.getReferences(), id -> new AsyncModelReferenceFetcher(id, factory));
       // fetches referenced by
-      Collection<ModelMinimalInfoDTO> referencedBy = ConcurrentHashMap.newKeySet();
-      modelInfo.getReferencedBy().stream().forEach(
-          id ->
-              executor.submit(
-                  new AsyncModelReferenceFetcher(referencedBy, id)
-                      .with(SecurityContextHolder.getContext())
-                      .with(RequestContextHolder.getRequestAttributes())
-                      .with(getModelRepositoryFactory())
-              )
-      );
+      CompletableFuture<List<ModelMinimalInfoDTO>> referencedBy = asyncModelTaskExecutor
+          .supplyAll(modelInfo.getReferencedBy(),
+              id -> new AsyncModelReferenceFetcher(id, factory));
       // fetches attachments
-      Collection<Attachment> attachments = ConcurrentHashMap.newKeySet();
-      executor.submit(
-          new AsyncModelAttachmentsFetcher(attachments, modelID,
-              userRepositoryRoleService.isSysadmin(user.getName()))
-              .with(SecurityContextHolder.getContext())
-              .with(RequestContextHolder.getRequestAttributes())
-              .with(getModelRepositoryFactory())
-      );
-
+      CompletableFuture<Collection<Attachment>> attachments = asyncModelTaskExecutor.supply(
+          new AsyncModelAttachmentsFetcher(modelID,
+              userRepositoryRoleService.isSysadmin(user.getName()), factory));
       // fetches links
-      Collection<ModelLink> links = ConcurrentHashMap.newKeySet();
-      executor.submit(
-          new AsyncModelLinksFetcher(modelID, links)
-              .with(SecurityContextHolder.getContext())
-              .with(RequestContextHolder.getRequestAttributes())
-              .with(getModelRepositoryFactory())
-      );
-
+      CompletableFuture<Collection<ModelLink>> links =
+          asyncModelTaskExecutor.supply(new AsyncModelLinksFetcher(modelID, factory));
       // fetches available workflow actions
-      Collection<String> actions = ConcurrentHashMap.newKeySet();
-      executor.submit(
-          new AsyncWorkflowActionsFetcher(
-              workflowService, actions, modelID, UserContext.user(user, workspaceId)
-          )
-              .with(SecurityContextHolder.getContext())
-              .with(RequestContextHolder.getRequestAttributes())
-      );
-
+      CompletableFuture<Collection<String>> actions = asyncModelTaskExecutor.supply(
+          new AsyncWorkflowActionsFetcher(workflowService, modelID,
+              UserContext.user(user, workspaceId)));
       // fetches model syntax
-      Future<String> encodedSyntaxFuture = executor.submit(
-          new AsyncModelSyntaxFetcher(
-              modelID,
-              SecurityContextHolder.getContext(),
-              RequestContextHolder.getRequestAttributes(),
-              getModelRepositoryFactory()
-          )
-      );
-
-      // shuts down executor and waits for completion of tasks until configured timeout
-      // also retrieves callable content
-      executor.shutdown();
+      CompletableFuture<String> encodedSyntax =
+          asyncModelTaskExecutor.supply(new AsyncModelSyntaxFetcher(modelID, factory));
 
       // single-threaded calls
       // fetches policies in this thread
@@ -295,42 +258,43 @@ public class ModelRepositoryController extends AbstractRepositoryController {
           .filter(p -> userHasPolicyEntry(p, user, workspaceId))
           .collect(Collectors.toList());
 
-      // getting callables and setting executor timeout
-      String encodedSyntax = null;
+      // builds DTO once all asynchronous fetches are done, failing only if the syntax is missing
+      CompletableFuture<ModelFullDetailsDTO> dto = CompletableFuture
+          .allOf(mappings, references, referencedBy, attachments, links, actions, encodedSyntax)
+          .handle((done, failure) -> new ModelFullDetailsDTO()
+              .withModelInfo(modelInfo)
+              .withMappings(orEmpty(mappings, modelID))
+              .withReferences(orEmpty(references, modelID))
+              .withReferencedBy(orEmpty(referencedBy, modelID))
+              .withAttachments(orEmpty(attachments, modelID))
+              .withLinks(orEmpty(links, modelID))
+              .withActions(orEmpty(actions, modelID))
+              .withEncodedModelSyntax(encodedSyntax.join())
+              .withPolicies(policies));
+
       try {
-        // callable content
-        encodedSyntax = encodedSyntaxFuture.get();
-        // timeout
-        if (!executor.awaitTermination(requestTimeoutInSeconds, TimeUnit.SECONDS)) {
-          LOGGER.warn(
-              String.format(
-                  "Requesting UI data for model ID [%s] took over [%d] seconds and programmatically timed out.",
-                  modelID, requestTimeoutInSeconds
-              )
-          );
-          return new ResponseEntity<>(null, HttpStatus.GATEWAY_TIMEOUT);
-        }
+        return new ResponseEntity<>(
+            dto.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS),
+            HttpStatus.OK);
+      } catch (TimeoutException te) {
+        LOGGER.warn(
+            String.format(
+                "Requesting UI data for model ID [%s] took over [%d] seconds and programmatically timed out.",
+                modelID, requestTimeoutInSeconds
+            )
+        );
+        // cancelled fetches, including the fetches of each input, are skipped if not started yet
+        Stream.of(mappings, references, referencedBy, attachments, links, actions, encodedSyntax)
+            .forEach(future -> future.cancel(false));
+        return new ResponseEntity<>(null, HttpStatus.GATEWAY_TIMEOUT);
       } catch (InterruptedException ie) {
-        LOGGER.error("Awaiting executor termination was interrupted.");
+        LOGGER.error("Awaiting asynchronous model data was interrupted.");
+        Thread.currentThread().interrupt();
         return new ResponseEntity<>(null, HttpStatus.SERVICE_UNAVAILABLE);
       } catch (ExecutionException ee) {
-        LOGGER.error("Failed to retrieve and encode model syntax asynchronously");
+        LOGGER.error("Failed to retrieve and encode model syntax asynchronously", ee.getCause());
         return new ResponseEntity<>(null, HttpStatus.SERVICE_UNAVAILABLE);
       }
-
-      // builds DTO
-      ModelFullDetailsDTO dto = new ModelFullDetailsDTO()
-          .withModelInfo(modelInfo)
-          .withMappings(mappings)
-          .withReferences(references)
-          .withReferencedBy(referencedBy)
-          .withAttachments(attachments)
-          .withLinks(links)
-          .withActions(actions)
-          .withEncodedModelSyntax(encodedSyntax)
-          .withPolicies(policies);
-
-      return new ResponseEntity<>(dto, HttpStatus.OK);
     }
     // could not resolve "pretty format" for given model ID
     catch (IllegalArgumentException iae) {
@@ -365,6 +329,19 @@ public class ModelRepositoryController extends AbstractRepositoryController {
     }
   }
 
+  /**
+   * @return the result of the given asynchronous fetch, or an empty collection if it failed
+   */
+  private static <T> Collection<T> orEmpty(CompletableFuture<? extends Collection<T>> fetch,
+      ModelId modelId) {
+    try {
+      return fetch.join();
+    } catch (CompletionException | CancellationException e) {
+      LOGGER.warn(String.format("Failed to fetch UI data for model ID [%s]", modelId), e);
+      return Collections.emptyList();
+    }
+  }
+
   @ApiOperation(value = "Returns the image of a vorto model")
   @ApiResponses(value = {@ApiResponse(code = 400, message = "Wrong input"),
       @ApiResponse(code = 404, message = "Model not found")})
@@ -485,23 +462,25 @@ public class ModelRepositoryController extends AbstractRepositoryController {
 
       IUserContext userContext = UserContext.user(authentication, getWorkspaceId(modelId));
 
-      ModelResource modelInfo = (ModelResource) modelParserFactory
-          .getParser("model" + ModelType.valueOf(content.getType()).getExtension())
-          .parse(new ByteArrayInputStream(content.getContentDsl().getBytes()));
+      try (IModelParser parser = modelParserFactory
+          .getParser("model" + ModelType.valueOf(content.getType()).getExtension())) {
+        ModelResource modelInfo = (ModelResource) parser
+            .parse(new ByteArrayInputStream(content.getContentDsl().getBytes()));
 
-      if (!modelID.equals(modelInfo.getId())) {
-        return new ResponseEntity<>(ValidationReport.invalid(modelInfo,
-            "You may not change the model ID (name, namespace, version). For this please create a new model."),
-            HttpStatus.BAD_REQUEST);
-      }
+        if (!modelID.equals(modelInfo.getId())) {
+          return new ResponseEntity<>(ValidationReport.invalid(modelInfo,
+              "You may not change the model ID (name, namespace, version). For this please create a new model."),
+              HttpStatus.BAD_REQUEST);
+        }
 
-      ValidationReport validationReport = modelValidationHelper
-          .validateModelUpdate(modelInfo, userContext);
-      if (validationReport.isValid()) {
-        modelRepository.save(modelInfo.getId(), content.getContentDsl().getBytes(),
-            modelInfo.getId().getName() + modelInfo.getType().getExtension(), userContext);
+        ValidationReport validationReport = modelValidationHelper
+            .validateModelUpdate(modelInfo, userContext);
+        if (validationReport.isValid()) {
+          modelRepository.save(modelInfo.getId(), content.getContentDsl().getBytes(),
+              modelInfo.getId().getName() + modelInfo.getType().getExtension(), userContext);
+        }
+        return new ResponseEntity<>(validationReport, HttpStatus.OK);
       }
-      return new ResponseEntity<>(validationReport, HttpStatus.OK);
     } catch (ValidationException validationException) {
       LOGGER.warn(validationException);
       return new ResponseEntity<>(ValidationReport.invalid(null, validationException),
@@ -639,8 +618,7 @@ public class ModelRepositoryController extends AbstractRepositoryController {
     LOGGER.info("Exporting information models for user - results: "
         + userModels.size());
 
-    sendAsZipFile(response, user.getUsername() + "-models.zip",
-        getModelsAndDependencies(userModels));
+    sendAsZipFile(response, user.getUsername() + "-models.zip", userModels);
   }
 
   @ApiOperation(value = "Getting all mapping resources for the given model")
@@ -672,7 +650,7 @@ public class ModelRepositoryController extends AbstractRepositoryController {
       final String fileName =
           modelID.getNamespace() + "_" + modelID.getName() + "_" + modelID.getVersion() + ".zip";
 
-      sendAsZipFile(response, fileName, getModelsAndDependencies(mappingModelIds));
+      sendAsZipFile(response, fileName, mappingModelIds);
       return new ResponseEntity<>(true, HttpStatus.OK);
     } catch (FatalModelRepositoryException ex) {
       return new ResponseEntity<>(false, HttpStatus.NOT_FOUND);
@@ -881,34 +859,22 @@ public class ModelRepositoryController extends AbstractRepositoryController {
         .equals(entry.getPrincipalId());
   }
 
+  /**
+   * Streams a zip of the given models and their dependencies to the response, writing every model
+   * as soon as it is fetched
+   */
   private void sendAsZipFile(final HttpServletResponse response, final String fileName,
-      Map<ModelInfo, FileContent> models) {
-    ByteArrayOutputStream baos = new ByteArrayOutputStream();
-    ZipOutputStream zos = new ZipOutputStream(baos);
-
-    try {
-      for (Map.Entry<ModelInfo, FileContent> model : models.entrySet()) {
-        ModelInfo modelResource = model.getKey();
-        ZipEntry zipEntry = new ZipEntry(
-            modelResource.getId().getPrettyFormat() + modelResource.getType().getExtension());
-        zos.putNextEntry(zipEntry);
-        zos.write(model.getValue().getContent());
-        zos.closeEntry();
-      }
-
-      zos.close();
-      baos.close();
-    } catch (Exception ex) {
-      throw new GenericApplicationException("error in creating zip file.", ex);
-    }
-
+      Collection<ModelId> modelIds) {
     response.setHeader(CONTENT_DISPOSITION, ATTACHMENT_FILENAME + fileName);
     response.setContentType(APPLICATION_OCTET_STREAM);
+
     try {
-      IOUtils.copy(new ByteArrayInputStream(baos.toByteArray()), response.getOutputStream());
+      ZipOutputStream zos = new ZipOutputStream(response.getOutputStream());
+      addModelsAndDependencies(zos, modelIds, new HashSet<>());
+      zos.finish();
       response.flushBuffer();
-    } catch (IOException e) {
-      throw new GenericApplicationException("Error copying file.", e);
+    } catch (IOException ex) {
+      throw new GenericApplicationException("error in creating zip file.", ex);
     }
   }
 
@@ -916,20 +882,25 @@ public class ModelRepositoryController extends AbstractRepositoryController {
     return this.modelRepositoryFactory.getRepository(tenantId);
   }
 
-  private Map<ModelInfo, FileContent> getModelsAndDependencies(Collection<ModelId> modelIds) {
-    Map<ModelInfo, FileContent> modelsMap = new HashMap<>();
+  private void addModelsAndDependencies(ZipOutputStream zos, Collection<ModelId> modelIds,
+      Set<ModelId> added) throws IOException {
     if (modelIds != null && !modelIds.isEmpty()) {
       for (ModelId modelId : modelIds) {
+        if (!added.add(modelId)) {
+          continue;
+        }
         IModelRepository modelRepo = getModelRepository(modelId);
         ModelInfo modelInfo = modelRepo.getById(modelId);
         Optional<FileContent> modelContent = modelRepo.getFileContent(modelId, Optional.empty());
         if (modelContent.isPresent()) {
-          modelsMap.put(modelInfo, modelContent.get());
-          modelsMap.putAll(getModelsAndDependencies(modelInfo.getReferences()));
+          ZipEntry zipEntry = new ZipEntry(
+              modelInfo.getId().getPrettyFormat() + modelInfo.getType().getExtension());
+          zos.putNextEntry(zipEntry);
+          zos.write(modelContent.get().getContent());
+          zos.closeEntry();
+          addModelsAndDependencies(zos, modelInfo.getReferences(), added);
         }
       }
     }
-
-    return modelsMap;
   }
 }
@@ -14,9 +14,11 @@ package org.eclipse.vorto.repository.web.core.async;
 
 import java.util.Collection;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import org.eclipse.vorto.model.ModelId;
 import org.eclipse.vorto.repository.core.Attachment;
+import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
 
 /**
  * Fetches attachments for a given model asynchronously. <br/>
@@ -25,15 +27,16 @@ import org.eclipse.vorto.repository.core.Attachment;
  * users only receive attachments tagged with {@link Attachment#TAG_IMAGE},
  * {@link Attachment#TAG_DOCUMENTATION}, {@link Attachment#TAG_IMPORTED} or with no tags at all.
  */
-public class AsyncModelAttachmentsFetcher extends AsyncModelTaskRunner {
+public class AsyncModelAttachmentsFetcher implements Supplier<Collection<Attachment>> {
 
   private final ModelId id;
-  private final Collection<Attachment> target;
   private final Predicate<Attachment> filter;
+  private final IModelRepositoryFactory factory;
 
-  public AsyncModelAttachmentsFetcher(Collection<Attachment> target, ModelId id, boolean sysadmin) {
-    this.target = target;
+  public AsyncModelAttachmentsFetcher(ModelId id, boolean sysadmin,
+      IModelRepositoryFactory factory) {
     this.id = id;
+    this.factory = factory;
     this.filter = a -> sysadmin ? true : a.getTags()
         .contains(Attachment.TAG_IMAGE)
         || a.getTags().contains(Attachment.TAG_DOCUMENTATION)
@@ -42,10 +45,9 @@ public class AsyncModelAttachmentsFetcher extends AsyncModelTaskRunner {
   }
 
   @Override
-  public void run() {
-    super.run();
-    target.addAll(factory.getRepositoryByModelWithoutSessionHelper(id).getAttachments(id).stream()
+  public Collection<Attachment> get() {
+    return factory.getRepositoryByModelWithoutSessionHelper(id).getAttachments(id).stream()
         .filter(filter).collect(
-            Collectors.toList()));
+            Collectors.toList());
   }
 }
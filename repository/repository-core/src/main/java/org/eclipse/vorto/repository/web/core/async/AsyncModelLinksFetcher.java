@@ -13,26 +13,26 @@
 package org.eclipse.vorto.repository.web.core.async;
 
 import java.util.Collection;
+import java.util.function.Supplier;
 import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
 import org.eclipse.vorto.repository.web.api.v1.dto.ModelLink;
 
 /**
- * Fetches the given model's {@link ModelLink}s asynchronously, and populates the
- * target {@link Collection}.
+ * Fetches the given model's {@link ModelLink}s asynchronously.
  */
-public class AsyncModelLinksFetcher extends AsyncModelTaskRunner {
+public class AsyncModelLinksFetcher implements Supplier<Collection<ModelLink>> {
 
   private final ModelId id;
-  private final Collection<ModelLink> target;
+  private final IModelRepositoryFactory factory;
 
-  public AsyncModelLinksFetcher(ModelId id, Collection<ModelLink> target) {
+  public AsyncModelLinksFetcher(ModelId id, IModelRepositoryFactory factory) {
     this.id = id;
-    this.target = target;
+    this.factory = factory;
   }
 
   @Override
-  public void run() {
-    super.run();
-    target.addAll(factory.getRepositoryByModelWithoutSessionHelper(id).getLinks(id));
+  public Collection<ModelLink> get() {
+    return factory.getRepositoryByModelWithoutSessionHelper(id).getLinks(id);
   }
 }
@@ -12,37 +12,35 @@
  */
 package org.eclipse.vorto.repository.web.core.async;
 
-import java.util.Collection;
 import java.util.Map;
+import java.util.function.Supplier;
 import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
 import org.eclipse.vorto.repository.web.api.v1.dto.ModelMappingDTO;
 import org.eclipse.vorto.repository.web.api.v1.dto.ModelMinimalInfoDTO;
 
 /**
- * Fetches model mappings asynchronously, and populates the target {@link Collection}.
+ * Fetches a model mapping asynchronously.
  */
-public class AsyncModelMappingsFetcher extends AsyncModelTaskRunner {
+public class AsyncModelMappingsFetcher implements Supplier<ModelMinimalInfoDTO> {
 
   private final Map.Entry<String, String> entry;
-  private final Collection<ModelMinimalInfoDTO> target;
+  private final IModelRepositoryFactory factory;
 
-  public AsyncModelMappingsFetcher(Collection<ModelMinimalInfoDTO> target,
-      Map.Entry<String, String> entry) {
-    this.target = target;
+  public AsyncModelMappingsFetcher(Map.Entry<String, String> entry,
+      IModelRepositoryFactory factory) {
     this.entry = entry;
+    this.factory = factory;
   }
 
   @Override
-  public void run() {
-    super.run();
+  public ModelMinimalInfoDTO get() {
     ModelId id = ModelId.fromPrettyFormat(entry.getKey());
-    target.add(
-        ModelMappingDTO.fromModelInfo(
-            entry.getValue(),
-            factory
-                .getRepositoryByModelWithoutSessionHelper(id)
-                .getByIdWithPlatformMappings(id)
-        )
+    return ModelMappingDTO.fromModelInfo(
+        entry.getValue(),
+        factory
+            .getRepositoryByModelWithoutSessionHelper(id)
+            .getByIdWithPlatformMappings(id)
     );
   }
 }
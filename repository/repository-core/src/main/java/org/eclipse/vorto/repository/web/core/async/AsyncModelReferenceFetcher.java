@@ -12,38 +12,33 @@
  */
 package org.eclipse.vorto.repository.web.core.async;
 
-import java.util.Collection;
+import java.util.function.Supplier;
 import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
 import org.eclipse.vorto.repository.web.api.v1.dto.ModelMinimalInfoDTO;
 import org.eclipse.vorto.repository.web.api.v1.dto.ModelReferenceDTO;
 import org.eclipse.vorto.repository.web.core.exceptions.NotAuthorizedException;
 
 /**
- * Fetches the given model's references or "referenced by" models asynchronously, and populates the
- * target {@link Collection}.
+ * Fetches one of the given model's references or "referenced by" models asynchronously.
  */
-public class AsyncModelReferenceFetcher extends AsyncModelTaskRunner {
+public class AsyncModelReferenceFetcher implements Supplier<ModelMinimalInfoDTO> {
 
   private final ModelId id;
-  private final Collection<ModelMinimalInfoDTO> target;
+  private final IModelRepositoryFactory factory;
 
-  public AsyncModelReferenceFetcher(Collection<ModelMinimalInfoDTO> target, ModelId id) {
-    this.target = target;
+  public AsyncModelReferenceFetcher(ModelId id, IModelRepositoryFactory factory) {
     this.id = id;
+    this.factory = factory;
   }
 
   @Override
-  public void run() {
-    super.run();
+  public ModelMinimalInfoDTO get() {
     try {
-      target.add(
-          ModelReferenceDTO
-              .fromModelInfo(factory.getRepositoryByModelWithoutSessionHelper(id).getById(id))
-      );
+      return ModelReferenceDTO
+          .fromModelInfo(factory.getRepositoryByModelWithoutSessionHelper(id).getById(id));
     } catch (NotAuthorizedException nae) {
-      target.add(
-          ModelReferenceDTO.inaccessibleModelReference(id.getPrettyFormat())
-      );
+      return ModelReferenceDTO.inaccessibleModelReference(id.getPrettyFormat());
     }
   }
 }
@@ -14,38 +14,26 @@ package org.eclipse.vorto.repository.web.core.async;
 
 import java.util.Base64;
 import java.util.Optional;
-import java.util.concurrent.Callable;
+import java.util.function.Supplier;
 import org.eclipse.vorto.model.ModelId;
 import org.eclipse.vorto.repository.core.FileContent;
 import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
-import org.springframework.security.core.context.SecurityContext;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.web.context.request.RequestAttributes;
-import org.springframework.web.context.request.RequestContextHolder;
 
 /**
  * Fetches the give model's syntax asynchronously.
  */
-public class AsyncModelSyntaxFetcher implements Callable<String> {
+public class AsyncModelSyntaxFetcher implements Supplier<String> {
 
-  private ModelId id;
-  private SecurityContext context;
-  private RequestAttributes attributes;
-  private IModelRepositoryFactory factory;
+  private final ModelId id;
+  private final IModelRepositoryFactory factory;
 
-  public AsyncModelSyntaxFetcher(ModelId id, SecurityContext context, RequestAttributes attributes,
-      IModelRepositoryFactory factory) {
+  public AsyncModelSyntaxFetcher(ModelId id, IModelRepositoryFactory factory) {
     this.id = id;
-    this.context = context;
-    this.attributes = attributes;
     this.factory = factory;
   }
 
   @Override
-  public String call() {
-    SecurityContextHolder.setContext(context);
-    RequestContextHolder.setRequestAttributes(attributes);
-
+  public String get() {
     return Base64
         .getEncoder()
         .encodeToString(
@@ -0,0 +1,188 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.web.core.async;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.apache.log4j.Logger;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Shared, bounded executor for the asynchronous model fetching operations of the UI endpoints.
+ * <br/>
+ * The {@link SecurityContext} and {@link RequestAttributes} of the submitting thread are propagated
+ * to the task and cleared from the worker thread once the task is done, so fetchers do not need to
+ * handle them. Tasks are run on virtual threads where the JVM supports them, and on a fixed number
+ * of platform threads otherwise. If both the workers and the queue are busy, the submitting thread
+ * runs the task itself. The executor statistics are exposed as {@code asyncModelTasks.*} metrics.
+ */
+@Component
+public class AsyncModelTaskExecutor implements PublicMetrics, DisposableBean {
+
+  private static final Logger LOGGER = Logger.getLogger(AsyncModelTaskExecutor.class);
+
+  private final ThreadPoolExecutor executor;
+
+  private final boolean virtualThreads;
+
+  private final LongAdder submitted = new LongAdder();
+
+  private final LongAdder failed = new LongAdder();
+
+  private final LongAdder callerRuns = new LongAdder();
+
+  public AsyncModelTaskExecutor(
+      @Value("${config.asyncModelTasks.maxThreads:#{64}}") int maxThreads,
+      @Value("${config.asyncModelTasks.queueCapacity:#{1000}}") int queueCapacity) {
+    ThreadFactory virtualThreadFactory = virtualThreadFactory();
+    this.virtualThreads = virtualThreadFactory != null;
+    this.executor = new ThreadPoolExecutor(maxThreads, maxThreads, 60, TimeUnit.SECONDS,
+        new ArrayBlockingQueue<>(queueCapacity),
+        virtualThreads ? virtualThreadFactory : platformThreadFactory(),
+        (task, pool) -> {
+          if (pool.isShutdown()) {
+            throw new RejectedExecutionException("Async model task executor is shut down");
+          }
+          callerRuns.increment();
+          task.run();
+        });
+    this.executor.allowCoreThreadTimeOut(true);
+  }
+
+  /**
+   * Runs the given supplier asynchronously within the security and request context of the calling
+   * thread.
+   */
+  public <T> CompletableFuture<T> supply(Supplier<T> supplier) {
+    final SecurityContext context = SecurityContextHolder.getContext();
+    final RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+    submitted.increment();
+    return CompletableFuture.supplyAsync(() -> {
+      final SecurityContext callerContext = SecurityContextHolder.getContext();
+      final RequestAttributes callerAttributes = RequestContextHolder.getRequestAttributes();
+      SecurityContextHolder.setContext(context);
+      RequestContextHolder.setRequestAttributes(attributes);
+      try {
+        return supplier.get();
+      } catch (RuntimeException e) {
+        failed.increment();
+        throw e;
+      } finally {
+        // restores the previous context, as the caller may run the task itself
+        SecurityContextHolder.setContext(callerContext);
+        RequestContextHolder.setRequestAttributes(callerAttributes);
+      }
+    }, executor);
+  }
+
+  /**
+   * Runs the given supplier for each of the given inputs asynchronously and collects all results
+   * into one list. An input whose supplier fails or returns {@code null} is logged and left out of
+   * the list, so it does not fail the results of the other inputs. Cancelling the returned future
+   * cancels the suppliers of all inputs, so the ones not started yet are skipped.
+   */
+  public <I, T> CompletableFuture<List<T>> supplyAll(Collection<I> inputs,
+      Function<I, Supplier<T>> fetcher) {
+    List<CompletableFuture<T>> tasks = new ArrayList<>();
+    List<CompletableFuture<T>> futures = new ArrayList<>();
+    for (I input : inputs) {
+      CompletableFuture<T> task = supply(fetcher.apply(input));
+      tasks.add(task);
+      futures.add(task.exceptionally(e -> {
+        if (!(e instanceof CancellationException)) {
+          LOGGER.warn(String.format("Failed to fetch data for [%s]", input), e);
+        }
+        return null;
+      }));
+    }
+    CompletableFuture<List<T>> all = CompletableFuture
+        .allOf(futures.toArray(new CompletableFuture<?>[0]))
+        .thenApply(done -> futures.stream().map(CompletableFuture::join).filter(Objects::nonNull)
+            .collect(Collectors.toCollection(ArrayList::new)));
+    all.whenComplete((results, e) -> {
+      if (e instanceof CancellationException) {
+        tasks.forEach(task -> task.cancel(false));
+      }
+    });
+    return all;
+  }
+
+  @Override
+  public Collection<Metric<?>> metrics() {
+    List<Metric<?>> metrics = new ArrayList<>();
+    metrics.add(new Metric<>("asyncModelTasks.submitted", submitted.sum()));
+    metrics.add(new Metric<>("asyncModelTasks.failed", failed.sum()));
+    metrics.add(new Metric<>("asyncModelTasks.callerRuns", callerRuns.sum()));
+    metrics.add(new Metric<>("asyncModelTasks.active", executor.getActiveCount()));
+    metrics.add(new Metric<>("asyncModelTasks.queued", executor.getQueue().size()));
+    metrics.add(new Metric<>("asyncModelTasks.threads", executor.getPoolSize()));
+    metrics.add(new Metric<>("asyncModelTasks.largestThreads", executor.getLargestPoolSize()));
+    return metrics;
+  }
+
+  public boolean isVirtualThreads() {
+    return virtualThreads;
+  }
+
+  @Override
+  public void destroy() {
+    executor.shutdownNow();
+  }
+
+  private static ThreadFactory platformThreadFactory() {
+    final AtomicInteger count = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, "async-model-task-" + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  /**
+   * @return a factory of virtual threads, or {@code null} if the running JVM does not support them
+   */
+  private static ThreadFactory virtualThreadFactory() {
+    try {
+      Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+      Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+      builder = builderType.getMethod("name", String.class, long.class)
+          .invoke(builder, "async-model-task-", 1L);
+      return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+    } catch (ReflectiveOperationException | RuntimeException notSupported) {
+      LOGGER.debug("Virtual threads not supported, using platform threads for async model tasks");
+      return null;
+    }
+  }
+}
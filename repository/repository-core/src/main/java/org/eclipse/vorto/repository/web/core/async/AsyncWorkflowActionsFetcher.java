@@ -13,29 +13,29 @@
 package org.eclipse.vorto.repository.web.core.async;
 
 import java.util.Collection;
+import java.util.function.Supplier;
 import org.eclipse.vorto.model.ModelId;
 import org.eclipse.vorto.repository.core.impl.UserContext;
 import org.eclipse.vorto.repository.workflow.IWorkflowService;
 
-public class AsyncWorkflowActionsFetcher extends AsyncModelTaskRunner {
+/**
+ * Fetches the workflow actions the given user can perform on the given model asynchronously.
+ */
+public class AsyncWorkflowActionsFetcher implements Supplier<Collection<String>> {
 
   private final ModelId id;
-  private final Collection<String> target;
   private final UserContext userContext;
-  private IWorkflowService service;
+  private final IWorkflowService service;
 
-  public AsyncWorkflowActionsFetcher(IWorkflowService service, Collection<String> target,
-      ModelId id,
+  public AsyncWorkflowActionsFetcher(IWorkflowService service, ModelId id,
       UserContext userContext) {
     this.service = service;
-    this.target = target;
     this.id = id;
     this.userContext = userContext;
   }
 
   @Override
-  public void run() {
-    super.run();
-    target.addAll(service.getPossibleActions(id, userContext));
+  public Collection<String> get() {
+    return service.getPossibleActions(id, userContext);
   }
 }
@@ -0,0 +1,149 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.conversion;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import org.eclipse.vorto.model.ModelContent;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.model.ModelType;
+import org.eclipse.vorto.repository.core.ModelInfo;
+import org.eclipse.vorto.repository.core.events.AppEvent;
+import org.eclipse.vorto.repository.core.events.EventType;
+import org.junit.Test;
+
+public class ModelContentCacheTest {
+
+  private static final ModelId COLOR = ModelId.fromPrettyFormat("org.eclipse.vorto:Color:1.0.0");
+
+  private static final ModelId LAMP = ModelId.fromPrettyFormat("org.eclipse.vorto:Lamp:1.0.0");
+
+  private static final ModelId SWITCH = ModelId.fromPrettyFormat("org.eclipse.vorto:Switch:1.0.0");
+
+  private static final long MODIFIED = 1600000000000L;
+
+  @Test
+  public void testGetByModelIdAndPlatform() {
+    ModelContentCache cache = new ModelContentCache(1000);
+    ModelContent content = new ModelContent();
+    cache.put(LAMP, Optional.of("ios"), content, sources(LAMP, COLOR), 100);
+
+    assertSame(content, cache.get(LAMP, Optional.of("ios")).get());
+    assertFalse(cache.get(LAMP, Optional.empty()).isPresent());
+    assertFalse(cache.get(COLOR, Optional.of("ios")).isPresent());
+  }
+
+  @Test
+  public void testEvictLeastRecentlyUsedBySourceBytes() {
+    ModelContentCache cache = new ModelContentCache(250);
+    cache.put(COLOR, Optional.empty(), new ModelContent(), sources(COLOR), 100);
+    cache.put(LAMP, Optional.empty(), new ModelContent(), sources(LAMP), 100);
+    cache.get(COLOR, Optional.empty());
+    cache.put(SWITCH, Optional.empty(), new ModelContent(), sources(SWITCH), 100);
+
+    assertEquals(2, cache.size());
+    assertTrue(cache.get(COLOR, Optional.empty()).isPresent());
+    assertFalse(cache.get(LAMP, Optional.empty()).isPresent());
+    assertTrue(cache.get(SWITCH, Optional.empty()).isPresent());
+  }
+
+  @Test
+  public void testSkipContentLargerThanCache() {
+    ModelContentCache cache = new ModelContentCache(50);
+    cache.put(LAMP, Optional.empty(), new ModelContent(), sources(LAMP), 100);
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testInvalidateOnUpdatedDependency() {
+    ModelContentCache cache = new ModelContentCache(1000);
+    cache.put(LAMP, Optional.empty(), new ModelContent(), sources(LAMP, COLOR), 100);
+    cache.put(SWITCH, Optional.empty(), new ModelContent(), sources(SWITCH), 100);
+
+    cache.onApplicationEvent(
+        new AppEvent(this, new ModelInfo(COLOR, ModelType.Datatype), EventType.MODEL_UPDATED));
+
+    assertFalse(cache.get(LAMP, Optional.empty()).isPresent());
+    assertTrue(cache.get(SWITCH, Optional.empty()).isPresent());
+
+    cache.onApplicationEvent(new AppEvent(this, SWITCH, EventType.MODEL_DELETED));
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testETagChangesWithCachedContent() {
+    ModelContentCache cache = new ModelContentCache(1000);
+    assertFalse(cache.getETag(LAMP, Optional.empty()).isPresent());
+
+    cache.put(LAMP, Optional.empty(), new ModelContent(), sources(LAMP, COLOR), 100);
+    String etag = cache.getETag(LAMP, Optional.empty()).get();
+    assertEquals(etag, cache.getETag(LAMP, Optional.empty()).get());
+
+    cache.onApplicationEvent(
+        new AppEvent(this, new ModelInfo(COLOR, ModelType.Datatype), EventType.MODEL_UPDATED));
+    assertFalse(cache.getETag(LAMP, Optional.empty()).isPresent());
+
+    ModelInfo changedColor = source(COLOR);
+    changedColor.setModificationDate(new Date(MODIFIED + 1000));
+    cache.put(LAMP, Optional.empty(), new ModelContent(),
+        Arrays.asList(source(LAMP), changedColor), 100);
+    assertNotEquals(etag, cache.getETag(LAMP, Optional.empty()).get());
+  }
+
+  @Test
+  public void testETagIsDerivedFromSources() {
+    ModelContentCache cache = new ModelContentCache(1000);
+    cache.put(LAMP, Optional.empty(), new ModelContent(), sources(LAMP, COLOR), 100);
+    String etag = cache.getETag(LAMP, Optional.empty()).get();
+
+    // another instance, or this one after the content was evicted
+    ModelContentCache other = new ModelContentCache(1000);
+    other.put(LAMP, Optional.empty(), new ModelContent(), sources(COLOR, LAMP), 100);
+    assertEquals(etag, other.getETag(LAMP, Optional.empty()).get());
+
+    other.put(LAMP, Optional.of("ios"), new ModelContent(), sources(LAMP, COLOR), 100);
+    assertNotEquals(etag, other.getETag(LAMP, Optional.of("ios")).get());
+  }
+
+  @Test
+  public void testInvalidateOnCreatedMapping() {
+    ModelContentCache cache = new ModelContentCache(1000);
+    cache.put(COLOR, Optional.of("ios"), new ModelContent(), sources(COLOR), 100);
+
+    ModelInfo mapping = new ModelInfo(
+        ModelId.fromPrettyFormat("org.eclipse.vorto:ColorIosMapping:1.0.0"), ModelType.Mapping);
+    mapping.setReferences(Collections.singletonList(COLOR));
+    cache.onApplicationEvent(new AppEvent(this, mapping, EventType.MODEL_CREATED));
+
+    assertEquals(0, cache.size());
+  }
+
+  private static List<ModelInfo> sources(ModelId... modelIds) {
+    return Arrays.stream(modelIds).map(ModelContentCacheTest::source).collect(Collectors.toList());
+  }
+
+  private static ModelInfo source(ModelId modelId) {
+    ModelInfo source = new ModelInfo(modelId, ModelType.Datatype);
+    source.setModificationDate(new Date(MODIFIED));
+    return source;
+  }
+}
@@ -12,10 +12,12 @@
  */
 package org.eclipse.vorto.repository.conversion;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import org.eclipse.vorto.model.EntityModel;
 import org.eclipse.vorto.model.FunctionblockModel;
 import org.eclipse.vorto.model.ModelContent;
 import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.plugin.generator.adapter.ObjectMapperFactory;
 import org.eclipse.vorto.repository.UnitTestBase;
 import org.eclipse.vorto.repository.core.IUserContext;
 import org.eclipse.vorto.repository.core.ModelInfo;
@@ -23,6 +25,9 @@ import org.eclipse.vorto.repository.workflow.ModelState;
 import org.eclipse.vorto.repository.workflow.WorkflowException;
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.Assert.*;
@@ -78,6 +83,76 @@ public class ModelIdToModelContentConverterTest extends UnitTestBase {
     assertEquals(0,((EntityModel)content.getModels().get(content.getRoot())).getStereotypes().size());
   }
 
+  @Test
+  public void testConvertAllWithoutTargetPlatform() throws Exception {
+    importModelsWithDependencies();
+
+    assertConvertAllEqualsConvert(Optional.empty());
+  }
+
+  @Test
+  public void testConvertAllWithTargetPlatform() throws Exception {
+    importModelsWithDependencies();
+
+    Map<ModelId, ModelContent> contents = assertConvertAllEqualsConvert(Optional.of("ios"));
+    ModelContent color = contents.get(ModelId.fromPrettyFormat("org.eclipse.vorto.examples.type:Color:1.0.0"));
+    assertEquals("colortype",((EntityModel)color.getModels().get(color.getRoot())).getStereotypes().get(0).getName());
+  }
+
+  @Test
+  public void testConvertAllLeavesOutMissingModels() throws Exception {
+    importModel("Color.type");
+
+    ModelIdToModelContentConverter converter = new ModelIdToModelContentConverter(this.repositoryFactory);
+
+    Map<ModelId, ModelContent> contents = converter.convertAll(Arrays.asList(
+        ModelId.fromPrettyFormat("org.eclipse.vorto.examples.type:Missing:1.0.0"),
+        ModelId.fromPrettyFormat("org.eclipse.vorto.examples.type:Color:1.0.0")), Optional.empty());
+    assertEquals(1, contents.size());
+    assertTrue(contents.containsKey(ModelId.fromPrettyFormat("org.eclipse.vorto.examples.type:Color:1.0.0")));
+  }
+
+  private void importModelsWithDependencies() {
+    importModel("Color.type");
+    importModel("Colorlight.fbmodel");
+    importModel("ColorLightIM.infomodel");
+    importModel("Switcher.fbmodel");
+    importModel("sample.mapping");
+  }
+
+  /**
+   * Converts the imported models at once, and asserts that each content equals the content
+   * converted on its own.
+   */
+  private Map<ModelId, ModelContent> assertConvertAllEqualsConvert(Optional<String> platformKey)
+      throws JsonProcessingException {
+    List<ModelId> modelIds = Arrays.asList(
+        ModelId.fromPrettyFormat("com.mycompany:ColorLightIM:1.0.0"),
+        ModelId.fromPrettyFormat("org.eclipse.vorto.examples.fb:ColorLight:1.0.0"),
+        ModelId.fromPrettyFormat("org.eclipse.vorto.examples.type:Color:1.0.0"),
+        ModelId.fromPrettyFormat("com.mycompany.fb:Switcher:1.0.0"));
+    ModelIdToModelContentConverter converter = new ModelIdToModelContentConverter(this.repositoryFactory);
+
+    Map<ModelId, ModelContent> contents = converter.convertAll(modelIds, platformKey);
+
+    assertEquals(modelIds, Arrays.asList(contents.keySet().toArray()));
+    for (ModelId modelId : modelIds) {
+      assertSameContent(converter.convert(modelId, platformKey), contents.get(modelId));
+    }
+    return contents;
+  }
+
+  private static void assertSameContent(ModelContent expected, ModelContent actual)
+      throws JsonProcessingException {
+    assertEquals(expected.getRoot(), actual.getRoot());
+    assertEquals(expected.getModels().keySet(), actual.getModels().keySet());
+    for (ModelId modelId : expected.getModels().keySet()) {
+      assertEquals(modelId.getPrettyFormat(),
+          ObjectMapperFactory.getInstance().writeValueAsString(expected.getModels().get(modelId)),
+          ObjectMapperFactory.getInstance().writeValueAsString(actual.getModels().get(modelId)));
+    }
+  }
+
   private void setupTestDataForLatestTag() throws WorkflowException {
     IUserContext user = createUserContext("alex", "playground");
     ModelInfo color = importModel("Color.type");
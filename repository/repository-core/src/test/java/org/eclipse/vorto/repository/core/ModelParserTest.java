@@ -16,8 +16,10 @@ import org.apache.commons.io.IOUtils;
 import org.eclipse.vorto.repository.UnitTestBase;
 import org.eclipse.vorto.repository.core.impl.parser.IModelParser;
 import org.eclipse.vorto.repository.core.impl.parser.LocalModelWorkspace;
+import org.eclipse.vorto.repository.core.impl.parser.ParserRuntime;
 import org.eclipse.vorto.repository.core.impl.validation.CouldNotResolveReferenceException;
 import org.eclipse.vorto.repository.core.impl.validation.ValidationException;
+import org.eclipse.xtext.resource.XtextResourceSet;
 import org.junit.Test;
 import org.springframework.core.io.ClassPathResource;
 
@@ -129,4 +131,30 @@ public class ModelParserTest extends UnitTestBase {
         .getInputStream());
   }
 
+  @Test
+  public void testClosedWorkspaceRecyclesResourceSet() throws IOException {
+    ParserRuntime runtime = ParserRuntime.instance();
+    long parses = runtime.getParseCount();
+    XtextResourceSet resourceSet;
+    try (LocalModelWorkspace workspace = modelParserFactory.newWorkspace()) {
+      resourceSet = workspace.getResourceSet();
+      ModelInfo modelInfo = modelParserFactory.getParser("Color_encoding.type")
+          .setWorkspace(workspace)
+          .parse(new ClassPathResource("sample_models/Color_encoding.type").getInputStream());
+      assertEquals("Farbe", modelInfo.getId().getName());
+      assertFalse(resourceSet.getResources().isEmpty());
+    }
+    assertTrue(resourceSet.getResources().isEmpty());
+    assertEquals(parses + 1, runtime.getParseCount());
+
+    long reused = runtime.getReusedResourceSetCount();
+    try (LocalModelWorkspace workspace = modelParserFactory.newWorkspace()) {
+      ModelInfo modelInfo = modelParserFactory.getParser("Color_encoding.type")
+          .setWorkspace(workspace)
+          .parse(new ClassPathResource("sample_models/Color_encoding.type").getInputStream());
+      assertEquals("Farbe", modelInfo.getId().getName());
+    }
+    assertEquals(reused + 1, runtime.getReusedResourceSetCount());
+  }
+
 }
@@ -215,6 +215,35 @@ public class ModelRepositoryTest extends UnitTestBase {
         .getAttachmentsByTag(modelId, Attachment.TAG_DISPLAY_IMAGE).get(0).getFilename().contains("sample2.png"));
   }
 
+  @Test
+  public void testHasImageFollowsImageAttachments() throws Exception {
+    IUserContext admin = createUserContext("admin");
+    final ModelId modelId = new ModelId("HueLightStrips", "com.mycompany", "1.0.0");
+    importModel("Color.type");
+    importModel("Colorlight.fbmodel");
+    importModel("Switcher.fbmodel");
+    importModel("HueLightStrips.infomodel");
+
+    this.repositoryFactory.getRepository(admin).attachFile(modelId,
+        new FileContent("sample.png",
+            IOUtils
+                .toByteArray(new ClassPathResource("sample_models/sample.png").getInputStream())),
+        admin, Attachment.TAG_IMAGE);
+    assertTrue(findInSearch(admin, modelId).isHasImage());
+
+    assertTrue(this.repositoryFactory.getRepository(admin).deleteAttachment(modelId, "sample.png"));
+    assertFalse(findInSearch(admin, modelId).isHasImage());
+    assertFalse(this.repositoryFactory.getRepository(admin).getById(modelId).isHasImage());
+
+    // the flag is already up to date
+    assertEquals(0, getRepoManager(admin).backfillHasImage());
+  }
+
+  private ModelInfo findInSearch(IUserContext userContext, ModelId modelId) {
+    return this.repositoryFactory.getRepository(userContext).search("*").stream()
+        .filter(model -> model.getId().equals(modelId)).findAny().get();
+  }
+
   @Test
   public void testSaveInvalidModelWithError() {
     try {
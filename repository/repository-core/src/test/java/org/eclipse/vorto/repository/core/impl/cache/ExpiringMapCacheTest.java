@@ -0,0 +1,89 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.core.impl.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Test;
+
+public class ExpiringMapCacheTest {
+
+  private AtomicLong now = new AtomicLong(0);
+
+  private ExpiringMapCache cache = new ExpiringMapCache("test", 10, 60, now::get);
+
+  @Test
+  public void testCountsHitsAndMisses() {
+    assertNull(cache.get("key"));
+    cache.put("key", "value");
+    assertEquals("value", cache.get("key").get());
+    assertEquals("value", cache.get("key", String.class));
+
+    assertEquals(2, cache.getHitCount());
+    assertEquals(1, cache.getMissCount());
+  }
+
+  @Test
+  public void testCachesNullValues() {
+    cache.put("key", null);
+    assertNotNull(cache.get("key"));
+    assertNull(cache.get("key").get());
+  }
+
+  @Test
+  public void testExpiresEntriesAfterTimeToLive() {
+    cache.put("key", "value");
+    now.set(59_999);
+    assertNotNull(cache.get("key"));
+    now.set(60_000);
+    assertNull(cache.get("key"));
+    assertEquals(0, cache.getSize());
+  }
+
+  @Test
+  public void testLoadsValueOnce() {
+    AtomicLong loads = new AtomicLong();
+    assertEquals("value", cache.get("key", () -> loads.incrementAndGet() > 0 ? "value" : null));
+    assertEquals("value", cache.get("key", () -> loads.incrementAndGet() > 0 ? "other" : null));
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  public void testEvictsOldestEntriesWhenFull() {
+    for (int i = 0; i < 10; i++) {
+      now.set(i);
+      cache.put(i, i);
+    }
+    assertEquals(10, cache.getSize());
+
+    now.set(10);
+    cache.put(10, 10);
+    assertEquals(9, cache.getSize());
+    assertNull(cache.get(0));
+    assertNull(cache.get(1));
+    assertNotNull(cache.get(2));
+    assertNotNull(cache.get(10));
+  }
+
+  @Test
+  public void testEvictsOutsideOfTransactions() {
+    cache.put("key", "value");
+    cache.put("other", "value");
+    cache.evict("key");
+    assertNull(cache.get("key"));
+    cache.clear();
+    assertEquals(0, cache.getSize());
+  }
+}
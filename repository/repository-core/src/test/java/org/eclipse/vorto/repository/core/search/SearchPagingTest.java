@@ -0,0 +1,82 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.core.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.model.ModelType;
+import org.eclipse.vorto.repository.core.ModelInfo;
+import org.eclipse.vorto.repository.search.SearchCursor;
+import org.eclipse.vorto.repository.search.SearchResultPage;
+import org.junit.Test;
+
+public class SearchPagingTest {
+
+  @Test
+  public void testCursorRoundTrip() {
+    SearchCursor cursor = SearchCursor.after(model("Color", 1000L));
+
+    assertEquals(cursor, SearchCursor.decode(cursor.encode()));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidToken() {
+    SearchCursor.decode("%");
+  }
+
+  @Test
+  public void testCursorOrder() {
+    SearchCursor cursor = SearchCursor.after(model("Color", 1000L));
+
+    assertTrue(cursor.isBefore(model("Switch", 1000L)));
+    assertTrue(cursor.isBefore(model("Lamp", 999L)));
+    assertFalse(cursor.isBefore(model("Color", 1000L)));
+    assertFalse(cursor.isBefore(model("Alarm", 1000L)));
+    assertFalse(cursor.isBefore(model("Zone", 1001L)));
+  }
+
+  @Test
+  public void testStreamFetchesAllPages() {
+    List<ModelInfo> models = Arrays.asList(model("A", 5L), model("B", 4L), model("C", 3L),
+        model("D", 2L), model("E", 1L));
+    List<String> tokens = new ArrayList<>();
+
+    List<ModelInfo> streamed = SearchResultPage.stream(token -> {
+      tokens.add(token);
+      SearchCursor cursor = token == null ? null : SearchCursor.decode(token);
+      return SearchResultPage.of(models.stream()
+          .filter(model -> cursor == null || cursor.isBefore(model))
+          .limit(2)
+          .collect(Collectors.toList()), 2);
+    }).collect(Collectors.toList());
+
+    assertEquals(models, streamed);
+    assertEquals(3, tokens.size());
+    assertNull(tokens.get(0));
+  }
+
+  private static ModelInfo model(String name, long creationDate) {
+    ModelInfo model =
+        new ModelInfo(new ModelId(name, "org.eclipse.vorto", "1.0.0"), ModelType.Datatype);
+    model.setCreationDate(new Date(creationDate));
+    return model;
+  }
+}
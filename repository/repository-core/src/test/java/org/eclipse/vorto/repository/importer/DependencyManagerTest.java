@@ -13,8 +13,13 @@
 package org.eclipse.vorto.repository.importer;
 
 import static org.junit.Assert.assertEquals;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.eclipse.vorto.model.ModelId;
 import org.eclipse.vorto.model.ModelType;
 import org.eclipse.vorto.repository.core.ModelInfo;
@@ -85,6 +90,57 @@ public class DependencyManagerTest {
     assertEquals(fridge.getId(), dm.getSorted().get(4).getId());
   }
 
+  @Test
+  public void testSharedDependencyIsSortedOnce() {
+    ModelInfo unit = create("Unit", ModelType.Datatype);
+    ModelInfo temp = create("Temperature", ModelType.Datatype, unit);
+    ModelInfo humidity = create("Humidity", ModelType.Datatype, unit);
+    ModelInfo sensor = create("Sensor", ModelType.Functionblock, temp, humidity, unit);
+
+    dm.addResource(sensor);
+    dm.addResource(humidity);
+    dm.addResource(unit);
+    dm.addResource(temp);
+    dm.addResource(unit);
+
+    List<ModelInfo> sorted = dm.getSorted();
+    assertEquals(4, sorted.size());
+    assertEquals(unit.getId(), sorted.get(0).getId());
+    assertEquals(humidity.getId(), sorted.get(1).getId());
+    assertEquals(temp.getId(), sorted.get(2).getId());
+    assertEquals(sensor.getId(), sorted.get(3).getId());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testCyclicReferences() {
+    ModelInfo unit = create("Unit", ModelType.Datatype);
+    ModelInfo temp = create("Temperature", ModelType.Datatype, unit);
+    unit.setReferences(Arrays.asList(temp.getId()));
+
+    dm.addResource(unit);
+    dm.addResource(temp);
+    dm.getSorted();
+  }
+
+  @Test
+  public void testResolveLooksUpEveryModelOnce() {
+    ModelInfo unit = create("Unit", ModelType.Datatype);
+    ModelInfo temp = create("Temperature", ModelType.Datatype, unit);
+    ModelInfo humidity = create("Humidity", ModelType.Datatype, unit);
+    ModelInfo sensor = create("Sensor", ModelType.Functionblock, temp, humidity);
+    Map<ModelId, ModelInfo> repository = Stream.of(unit, temp, humidity, sensor)
+        .collect(Collectors.toMap(ModelInfo::getId, Function.identity()));
+
+    List<ModelId> lookups = new ArrayList<>();
+    List<ModelInfo> resolved = DependencyManager.resolve(sensor.getId(), id -> {
+      lookups.add(id);
+      return repository.get(id);
+    });
+
+    assertEquals(4, lookups.size());
+    assertEquals(Arrays.asList(unit, temp, humidity, sensor), resolved);
+  }
+
   protected ModelInfo create(String name, ModelType type, ModelInfo... references) {
     final ModelId id = new ModelId(name, "org.eclipse.vorto", "1.0.0");
     ModelInfo resource = new ModelInfo(id, type);
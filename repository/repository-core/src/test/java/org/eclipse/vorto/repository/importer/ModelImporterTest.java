@@ -19,6 +19,7 @@ import org.eclipse.vorto.repository.core.IModelRepository;
 import org.eclipse.vorto.repository.core.IUserContext;
 import org.eclipse.vorto.repository.core.ModelFileContent;
 import org.eclipse.vorto.repository.core.ModelInfo;
+import org.eclipse.vorto.repository.core.impl.parser.ParserRuntime;
 import org.eclipse.vorto.repository.domain.User;
 import org.junit.Test;
 import org.springframework.core.io.ClassPathResource;
@@ -34,6 +35,26 @@ import static org.mockito.Mockito.when;
 
 public class ModelImporterTest extends UnitTestBase {
 
+  @Test
+  public void testUploadReturnsResourceSetToParserPool() throws Exception {
+    IUserContext alex = createUserContext("alex", "playground");
+    ParserRuntime runtime = ParserRuntime.instance();
+    int pooled = runtime.getPooledResourceSetCount();
+
+    UploadModelResult uploadResult = this.importer.upload(
+        FileUpload.create("Color.type",
+            IOUtils.toByteArray(new ClassPathResource("sample_models/Color.type").getInputStream())),
+        Context.create(alex, Optional.empty()));
+    assertTrue(uploadResult.isValid());
+
+    // the resource set parsed into during the validation is back in the pool
+    assertEquals(Math.max(pooled, 1), runtime.getPooledResourceSetCount());
+
+    long reused = runtime.getReusedResourceSetCount();
+    modelParserFactory.newWorkspace().close();
+    assertEquals(reused + 1, runtime.getReusedResourceSetCount());
+  }
+
   @Test
   public void testUploadZipFile() throws Exception {
     IUserContext alex = createUserContext("alex", "playground");
@@ -0,0 +1,160 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.indexing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.model.ModelType;
+import org.eclipse.vorto.repository.core.ModelInfo;
+import org.eclipse.vorto.repository.search.IIndexingService;
+import org.eclipse.vorto.repository.search.IndexingException;
+import org.eclipse.vorto.repository.search.IndexingOperation;
+import org.eclipse.vorto.repository.search.WriteBehindIndexer;
+import org.junit.After;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class WriteBehindIndexerTest {
+
+  private static final ModelId MODEL_ID = ModelId.fromPrettyFormat("org.eclipse.vorto:Color:1.0.0");
+
+  private static final ModelId OTHER_MODEL_ID =
+      ModelId.fromPrettyFormat("org.eclipse.vorto:Switch:1.0.0");
+
+  private static final ModelId THIRD_MODEL_ID =
+      ModelId.fromPrettyFormat("org.eclipse.vorto:Dimmer:1.0.0");
+
+  private IIndexingService indexingService = Mockito.mock(IIndexingService.class);
+
+  private List<List<IndexingOperation>> batches = new ArrayList<>();
+
+  private WriteBehindIndexer indexer;
+
+  @After
+  public void tearDown() {
+    indexer.destroy();
+  }
+
+  @Test
+  public void testCoalescesOperationsPerModel() {
+    recordBatches();
+    indexer = new WriteBehindIndexer(indexingService, 100, 1000, 60000, 3, 0, 0);
+
+    ModelInfo created = new ModelInfo(MODEL_ID, ModelType.Datatype);
+    ModelInfo updated = new ModelInfo(MODEL_ID, ModelType.Datatype);
+    indexer.submit(IndexingOperation.index(created, "workspace"));
+    indexer.submit(IndexingOperation.update(updated));
+    indexer.submit(IndexingOperation.delete(OTHER_MODEL_ID));
+    assertEquals(2, indexer.getQueueDepth());
+
+    indexer.flush();
+
+    assertEquals(1, batches.size());
+    IndexingOperation first = batches.get(0).get(0);
+    assertEquals(IndexingOperation.Type.INDEX, first.getType());
+    assertSame(updated, first.getModelInfo());
+    assertEquals("workspace", first.getWorkspaceId());
+    assertEquals(IndexingOperation.Type.DELETE, batches.get(0).get(1).getType());
+    assertEquals(0, indexer.getQueueDepth());
+  }
+
+  @Test
+  public void testRetriesFailedBatch() {
+    Mockito.doThrow(new IndexingException("unavailable", null)).doNothing()
+        .when(indexingService).bulkIndex(Mockito.any());
+    indexer = new WriteBehindIndexer(indexingService, 100, 1000, 60000, 3, 0, 0);
+
+    indexer.submit(IndexingOperation.delete(MODEL_ID));
+    try {
+      indexer.flush();
+      fail("Expected the flush to fail");
+    } catch (IndexingException expected) {
+      assertEquals(1, indexer.getQueueDepth());
+    }
+
+    indexer.flush();
+    assertEquals(0, indexer.getQueueDepth());
+    Mockito.verify(indexingService, Mockito.times(2)).bulkIndex(Mockito.any());
+  }
+
+  @Test
+  public void testFlushesFullBatchInBackground() {
+    recordBatches();
+    indexer = new WriteBehindIndexer(indexingService, 2, 1000, 60000, 3, 0, 0);
+
+    indexer.submit(IndexingOperation.delete(MODEL_ID));
+    indexer.submit(IndexingOperation.delete(OTHER_MODEL_ID));
+
+    Mockito.verify(indexingService, Mockito.timeout(5000)).bulkIndex(Mockito.any());
+    assertEquals(2, batches.get(0).size());
+  }
+
+  @Test
+  public void testOverCapacityWaitsForFlushingThread() {
+    List<Thread> indexingThreads = new CopyOnWriteArrayList<>();
+    Mockito.doAnswer(invocation -> {
+      indexingThreads.add(Thread.currentThread());
+      return null;
+    }).when(indexingService).bulkIndex(Mockito.any());
+    indexer = new WriteBehindIndexer(indexingService, 100, 1, 60000, 3, 0, 5000);
+
+    indexer.submit(IndexingOperation.delete(MODEL_ID));
+    indexer.submit(IndexingOperation.delete(OTHER_MODEL_ID));
+
+    assertEquals(0, indexer.getQueueDepth());
+    Mockito.verify(indexingService, Mockito.timeout(5000)).bulkIndex(Mockito.any());
+    assertNotSame(Thread.currentThread(), indexingThreads.get(0));
+  }
+
+  @Test
+  public void testOverCapacityDoesNotFailOnIndexingError() throws InterruptedException {
+    Mockito.doThrow(new IndexingException("unavailable", null)).when(indexingService)
+        .bulkIndex(Mockito.any());
+    indexer = new WriteBehindIndexer(indexingService, 100, 1, 60000, 3, 60000, 200);
+
+    indexer.submit(IndexingOperation.delete(MODEL_ID));
+    indexer.submit(IndexingOperation.delete(OTHER_MODEL_ID));
+    Mockito.verify(indexingService, Mockito.timeout(5000)).bulkIndex(Mockito.any());
+    awaitQueueDepth(2);
+
+    // the flushes back off now, so the caller stops waiting and its operation stays queued
+    indexer.submit(IndexingOperation.delete(THIRD_MODEL_ID));
+    assertEquals(3, indexer.getQueueDepth());
+    Mockito.verify(indexingService, Mockito.times(1)).bulkIndex(Mockito.any());
+  }
+
+  private void awaitQueueDepth(int depth) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5000;
+    while (indexer.getQueueDepth() != depth) {
+      if (System.currentTimeMillis() > deadline) {
+        fail("Queue depth is " + indexer.getQueueDepth() + " instead of " + depth);
+      }
+      Thread.sleep(10);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private void recordBatches() {
+    Mockito.doAnswer(invocation -> {
+      batches.add(new ArrayList<>((Collection<IndexingOperation>) invocation.getArguments()[0]));
+      return null;
+    }).when(indexingService).bulkIndex(Mockito.any());
+  }
+}
@@ -0,0 +1,94 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.mapping;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import java.util.Collections;
+import org.eclipse.vorto.mapping.engine.MappingEngine;
+import org.eclipse.vorto.mapping.engine.model.spec.MappingSpecification;
+import org.eclipse.vorto.model.FunctionblockModel;
+import org.eclipse.vorto.model.Infomodel;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.model.ModelProperty;
+import org.eclipse.vorto.model.PrimitiveType;
+import org.eclipse.vorto.model.Stereotype;
+import org.eclipse.vorto.model.runtime.InfomodelValue;
+import org.eclipse.vorto.repository.mapping.impl.MappingEngineCache;
+import org.junit.Test;
+
+public class MappingEngineCacheTest {
+
+  @Test
+  public void testSameSpecificationReusesEngine() {
+    MappingEngineCache cache = new MappingEngineCache(1024 * 1024);
+
+    MappingEngine engine = cache.getOrCreate(createSpecification("/cap"));
+    assertSame(engine, cache.getOrCreate(createSpecification("/cap")));
+    assertEquals(1, cache.getHitCount());
+    assertEquals(1, cache.getMissCount());
+  }
+
+  @Test
+  public void testChangedSpecificationBuildsNewEngine() {
+    MappingEngineCache cache = new MappingEngineCache(1024 * 1024);
+
+    MappingEngine engine = cache.getOrCreate(createSpecification("/cap"));
+    assertNotSame(engine, cache.getOrCreate(createSpecification("/voltage")));
+    assertEquals(2, cache.size());
+  }
+
+  @Test
+  public void testEvictsLeastRecentlyUsedEngine() {
+    MappingEngineCache cache = new MappingEngineCache(1024 * 1024);
+    cache.getOrCreate(createSpecification("/cap"));
+    long bytesPerEngine = cache.getBytes();
+
+    cache = new MappingEngineCache(2 * bytesPerEngine);
+    MappingEngine cap = cache.getOrCreate(createSpecification("/cap"));
+    cache.getOrCreate(createSpecification("/vol"));
+    cache.getOrCreate(createSpecification("/cap"));
+    cache.getOrCreate(createSpecification("/tmp"));
+
+    assertEquals(2, cache.size());
+    assertTrue(cache.getBytes() <= 2 * bytesPerEngine);
+    assertSame(cap, cache.getOrCreate(createSpecification("/cap")));
+  }
+
+  @Test
+  public void testMapSourceRecordsLatency() {
+    MappingEngineCache cache = new MappingEngineCache(1024 * 1024);
+
+    InfomodelValue value = cache.mapSource(createSpecification("/cap"),
+        Collections.singletonMap("cap", 23));
+
+    assertEquals(23, value.get("battery").getStatusProperty("value").get().getValue());
+    assertTrue(cache.getLatencyPercentile(99) > 0);
+  }
+
+  private static MappingSpecification createSpecification(String xpath) {
+    FunctionblockModel battery =
+        new FunctionblockModel(ModelId.fromPrettyFormat("demo.fb:Battery:1.0.0"));
+    ModelProperty value = new ModelProperty();
+    value.setName("value");
+    value.setType(PrimitiveType.INT);
+    value.addStereotype(Stereotype.createWithXpath(xpath));
+    battery.setStatusProperties(Collections.singletonList(value));
+
+    Infomodel infomodel = new Infomodel(ModelId.fromPrettyFormat("demo:Device:1.0.0"));
+    infomodel.getFunctionblocks().add(ModelProperty.Builder("battery", battery).build());
+    return new MappingSpecification(infomodel);
+  }
+}
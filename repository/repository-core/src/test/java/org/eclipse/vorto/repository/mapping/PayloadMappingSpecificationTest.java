@@ -14,19 +14,31 @@ package org.eclipse.vorto.repository.mapping;
 
 import org.eclipse.vorto.mapping.engine.decoder.JSONDeserializer;
 import org.eclipse.vorto.mapping.engine.model.spec.IMappingSpecification;
+import org.eclipse.vorto.model.EntityModel;
+import org.eclipse.vorto.model.EnumModel;
+import org.eclipse.vorto.model.FunctionblockModel;
 import org.eclipse.vorto.model.ModelId;
 import org.eclipse.vorto.model.Stereotype;
 import org.eclipse.vorto.model.runtime.InfomodelValue;
 import org.eclipse.vorto.repository.UnitTestBase;
+import org.eclipse.vorto.repository.core.IModelRepository;
+import org.eclipse.vorto.repository.core.ModelInfo;
+import org.eclipse.vorto.repository.core.events.AppEvent;
+import org.eclipse.vorto.repository.core.events.EventType;
 import org.eclipse.vorto.repository.mapping.impl.DefaultPayloadMappingService;
+import org.eclipse.vorto.repository.mapping.impl.MappingSpecificationCache;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 
 public class PayloadMappingSpecificationTest extends UnitTestBase {
 
@@ -101,6 +113,101 @@ public class PayloadMappingSpecificationTest extends UnitTestBase {
     mappingService.saveSpecification(specification, createUserContext("alex", "playground"));
   }
   
+  @Test
+  public void testSharedFunctionblockIsCopiedPerProperty() {
+    importModel("payloadmapping/org.eclipse.vorto_Voltage_1.0.0.fbmodel");
+    importModel("payloadmapping/org.eclipse.vorto_Battery_1.0.0.fbmodel");
+    importModel("payloadmapping/org.eclipse.vorto_MyDevice_1.0.0.infomodel");
+
+    IMappingSpecification specification = mappingService.getOrCreateSpecification(ModelId.fromPrettyFormat("org.eclipse.vorto:MyDevice:1.0.0"));
+
+    FunctionblockModel battery = specification.getFunctionBlock("battery");
+    FunctionblockModel otherBattery = specification.getFunctionBlock("otherBattery");
+    assertEquals(battery.getId(), otherBattery.getId());
+    assertNotSame(battery, otherBattery);
+
+    battery.getStatusProperty("value").get().getStereotype(Stereotype.SOURCE).get().setAttributes(createXpathRule("/voltage"));
+    assertNotEquals("/voltage", otherBattery.getStatusProperty("value").get().getStereotype(Stereotype.SOURCE).get().getAttributes().get(Stereotype.XPATH_ATT));
+  }
+
+  @Test
+  public void testSharedEntityAndEnumAreCopiedPerProperty() {
+    importModel("payloadmapping/org.eclipse.vorto_Position_1.0.0.type");
+    importModel("payloadmapping/org.eclipse.vorto_Accuracy_1.0.0.type");
+    importModel("payloadmapping/org.eclipse.vorto_Location_1.0.0.fbmodel");
+    importModel("payloadmapping/org.eclipse.vorto_Tracker_1.0.0.fbmodel");
+    importModel("payloadmapping/org.eclipse.vorto_Asset_1.0.0.infomodel");
+
+    IMappingSpecification specification = mappingService.getOrCreateSpecification(ModelId.fromPrettyFormat("org.eclipse.vorto:Asset:1.0.0"));
+
+    FunctionblockModel location = specification.getFunctionBlock("location");
+    FunctionblockModel tracker = specification.getFunctionBlock("tracker");
+
+    EntityModel locationPosition = (EntityModel) location.getStatusProperty("position").get().getType();
+    EntityModel trackerPosition = (EntityModel) tracker.getStatusProperty("position").get().getType();
+    assertEquals(ModelId.fromPrettyFormat("org.eclipse.vorto:Position:1.0.0"), locationPosition.getId());
+    assertEquals(locationPosition.getId(), trackerPosition.getId());
+    assertNotSame(locationPosition, trackerPosition);
+
+    // a rule on the entity of one function block must not show up in the other function block
+    locationPosition.getProperties().get(0).getStereotype(Stereotype.SOURCE).get().setAttributes(createXpathRule("/lat"));
+    assertNotEquals("/lat", trackerPosition.getProperties().get(0).getStereotype(Stereotype.SOURCE).get().getAttributes().get(Stereotype.XPATH_ATT));
+
+    EnumModel locationAccuracy = (EnumModel) location.getStatusProperty("accuracy").get().getType();
+    EnumModel trackerAccuracy = (EnumModel) tracker.getStatusProperty("accuracy").get().getType();
+    assertEquals(ModelId.fromPrettyFormat("org.eclipse.vorto:Accuracy:1.0.0"), locationAccuracy.getId());
+    assertEquals(locationAccuracy.getId(), trackerAccuracy.getId());
+    assertNotSame(locationAccuracy, trackerAccuracy);
+  }
+
+  @Test
+  public void testSpecificationIsCachedUntilMappingChanges() throws Exception {
+    AtomicInteger hits = new AtomicInteger();
+    MappingSpecificationCache cache = new MappingSpecificationCache(1024 * 1024) {
+      @Override
+      public synchronized Optional<byte[]> get(ModelId modelId, String platformKey) {
+        Optional<byte[]> cached = super.get(modelId, platformKey);
+        cached.ifPresent(specification -> hits.incrementAndGet());
+        return cached;
+      }
+    };
+    mappingService.setSpecificationCache(cache);
+
+    // only specifications built from released, public models are cached
+    importAndPublish("payloadmapping/org.eclipse.vorto_Voltage_1.0.0.fbmodel");
+    importAndPublish("payloadmapping/org.eclipse.vorto_Battery_1.0.0.fbmodel");
+    importAndPublish("payloadmapping/org.eclipse.vorto_MyDevice_1.0.0.infomodel");
+
+    final ModelId modelId = ModelId.fromPrettyFormat("org.eclipse.vorto:MyDevice:1.0.0");
+
+    IMappingSpecification specification = mappingService.getOrCreateSpecification(modelId);
+    assertEquals(1, cache.size());
+    assertEquals(0, hits.get());
+
+    IMappingSpecification cached = mappingService.getOrCreateSpecification(modelId);
+    assertEquals(1, hits.get());
+    assertNotSame(specification, cached);
+    assertEquals(specification.getInfoModel().getId(), cached.getInfoModel().getId());
+    assertEquals(specification.getInfoModel().getTargetPlatformKey(), cached.getInfoModel().getTargetPlatformKey());
+
+    // creating the mapping changes the specification of the information model
+    cached.getFunctionBlock("battery").getStatusProperty("value").get().getStereotype(Stereotype.SOURCE).get().setAttributes(createXpathRule("/voltage"));
+    mappingService.saveSpecification(cached, createUserContext("alex", "playground"));
+    ModelInfo mapping = mappingService.resolveMappingIdForModelId(modelId).get();
+    cache.onApplicationEvent(new AppEvent(this, mapping, EventType.MODEL_CREATED));
+    assertEquals(0, cache.size());
+
+    mappingService.getOrCreateSpecification(modelId);
+    assertEquals(1, hits.get());
+  }
+
+  private void importAndPublish(String modelName) throws Exception {
+    ModelInfo model = importModel(modelName);
+    releaseModel(model.getId(), createUserContext(getCallerId(), "playground"));
+    repositoryFactory.getRepositoryByModel(model.getId()).updateVisibility(model.getId(),
+        IModelRepository.VISIBILITY_PUBLIC);
+  }
+
   private Map<String, String> createXpathRule(String rule) {
     Map<String,String> attributes = new HashMap<>();
     attributes.put(Stereotype.XPATH_ATT,rule);
@@ -0,0 +1,111 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.web.core.async;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+public class AsyncModelTaskExecutorTest {
+
+  private AsyncModelTaskExecutor executor = new AsyncModelTaskExecutor(1, 1);
+
+  @After
+  public void tearDown() {
+    executor.destroy();
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  public void testPropagatesSecurityContext() throws Exception {
+    Authentication authentication = new TestingAuthenticationToken("alex", null);
+    SecurityContextHolder.getContext().setAuthentication(authentication);
+
+    assertSame(authentication, executor
+        .supply(() -> SecurityContextHolder.getContext().getAuthentication())
+        .get(5, TimeUnit.SECONDS));
+
+    SecurityContextHolder.clearContext();
+    assertNull(executor
+        .supply(() -> SecurityContextHolder.getContext().getAuthentication())
+        .get(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void testSupplyAll() throws Exception {
+    List<Integer> lengths =
+        executor.supplyAll(Arrays.asList("a", "bb", "ccc"), s -> () -> s.length())
+            .get(5, TimeUnit.SECONDS);
+    assertEquals(Arrays.asList(1, 2, 3), lengths);
+  }
+
+  @Test
+  public void testSupplyAllLeavesOutFailedInputs() throws Exception {
+    List<Integer> lengths = executor.supplyAll(Arrays.asList("a", "fail", "ccc"), s -> () -> {
+      if (s.equals("fail")) {
+        throw new IllegalStateException("Fetching " + s + " failed");
+      }
+      return s.length();
+    }).get(5, TimeUnit.SECONDS);
+    assertEquals(Arrays.asList(1, 3), lengths);
+  }
+
+  @Test
+  public void testCancelledSupplyAllSkipsQueuedInputs() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    executor.supply(() -> {
+      try {
+        return release.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        return false;
+      }
+    });
+
+    // the only worker is busy, so the input is queued
+    AtomicInteger fetched = new AtomicInteger();
+    executor.supplyAll(Arrays.asList("a"), s -> () -> fetched.incrementAndGet()).cancel(false);
+    release.countDown();
+
+    // tasks are run in order by the only worker, so the input was dequeued by now
+    executor.supply(() -> true).get(5, TimeUnit.SECONDS);
+    assertEquals(0, fetched.get());
+  }
+
+  @Test
+  public void testCallerRunsWhenSaturated() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    executor.supply(() -> {
+      try {
+        return release.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        return false;
+      }
+    });
+    executor.supply(() -> true);
+
+    // neither a worker nor the queue is available, so this thread runs the task
+    Thread caller = Thread.currentThread();
+    assertSame(caller, executor.supply(Thread::currentThread).get(5, TimeUnit.SECONDS));
+    release.countDown();
+  }
+}
@@ -21,6 +21,8 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -29,7 +31,6 @@ import org.apache.log4j.Logger;
 import org.eclipse.vorto.model.ModelId;
 import org.eclipse.vorto.model.ModelType;
 import org.eclipse.vorto.model.ModelVisibility;
-import org.eclipse.vorto.repository.core.IModelRepository;
 import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
 import org.eclipse.vorto.repository.core.IUserContext;
 import org.eclipse.vorto.repository.core.ModelInfo;
@@ -45,7 +46,6 @@ import org.eclipse.vorto.repository.services.exceptions.OperationForbiddenExcept
 import org.eclipse.vorto.repository.utils.PreConditions;
 import org.eclipse.vorto.repository.workflow.ModelState;
 import org.elasticsearch.action.DocWriteResponse;
-import org.elasticsearch.action.admin.indices.delete.DeleteIndexRequest;
 import org.elasticsearch.action.bulk.BulkRequest;
 import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.delete.DeleteRequest;
@@ -55,6 +55,7 @@ import org.elasticsearch.action.index.IndexRequest;
 import org.elasticsearch.action.index.IndexResponse;
 import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.support.WriteRequest;
 import org.elasticsearch.action.update.UpdateRequest;
 import org.elasticsearch.action.update.UpdateResponse;
 import org.elasticsearch.client.RequestOptions;
@@ -62,17 +63,18 @@ import org.elasticsearch.client.RestHighLevelClient;
 import org.elasticsearch.client.indices.CreateIndexRequest;
 import org.elasticsearch.client.indices.CreateIndexResponse;
 import org.elasticsearch.client.indices.GetIndexRequest;
+import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.unit.TimeValue;
 import org.elasticsearch.index.query.BoolQueryBuilder;
 import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.index.query.QueryBuilders;
 import org.elasticsearch.index.reindex.BulkByScrollResponse;
 import org.elasticsearch.index.reindex.DeleteByQueryRequest;
-import org.elasticsearch.index.reindex.ReindexRequest;
 import org.elasticsearch.search.SearchHit;
 import org.elasticsearch.search.SearchHits;
 import org.elasticsearch.search.builder.SearchSourceBuilder;
 import org.elasticsearch.search.fetch.subphase.FetchSourceContext;
+import org.elasticsearch.search.sort.SortOrder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.context.SecurityContextHolder;
 
@@ -96,14 +98,14 @@ public class ElasticSearchService implements IIndexingService, ISearchService {
 
   private static final int MAX_SEARCH_RESULTS = 10000;
 
+  private static final int STREAM_PAGE_SIZE = 1000;
+
   private static final String PUBLIC = "public";
 
   private static final String DOC = "_doc";
 
   private static final String VORTO_INDEX = "vorto";
 
-  private static final String VORTO_INDEX_TEMP = "vorto_temp";
-
   private static final Logger LOGGER = Logger.getLogger(ElasticSearchService.class);
 
   private Collection<IIndexFieldExtractor> fieldExtractors = new ArrayList<>();
@@ -118,6 +120,8 @@ public class ElasticSearchService implements IIndexingService, ISearchService {
 
   private UserNamespaceRoleService userNamespaceRoleService;
 
+  private ModelReindexer reindexer;
+
   /**
    * An un-tagged name token in a search will search into the following fields:
    * <ul>
@@ -180,6 +184,7 @@ public class ElasticSearchService implements IIndexingService, ISearchService {
     this.userNamespaceRoleService = userNamespaceRoleService;
 
     this.fieldExtractors.add(new BasicIndexFieldExtractor());
+    this.reindexer = new ModelReindexer(client, repositoryFactory, this, VORTO_INDEX);
 
     init();
   }
@@ -195,18 +200,23 @@ public class ElasticSearchService implements IIndexingService, ISearchService {
     }
   }
 
+  /**
+   * Searches and writes always go through the {@link ElasticSearchService#VORTO_INDEX} alias,
+   * which points to a versioned index - see {@link ModelReindexer}. An index named like the alias,
+   * as created by earlier versions, is kept until the next reindexing replaces it.
+   */
   private void createIndexIfNotExisting() {
     LOGGER.debug("Checking index.");
     if (!indexExist(VORTO_INDEX)) {
       LOGGER.debug("Index doesn't exist. Attempting to create it.");
-      createIndexWithMapping(VORTO_INDEX, createMappingForIndex());
+      reindexer.createIndex();
       LOGGER.debug(String.format("Index '%s' created.", VORTO_INDEX));
     } else {
       LOGGER.debug("Index already exists");
     }
   }
 
-  private boolean indexExist(String index) {
+  boolean indexExist(String index) {
     GetIndexRequest request = new GetIndexRequest(index);
     try {
       return client.indices().exists(request, RequestOptions.DEFAULT);
@@ -220,113 +230,21 @@ public class ElasticSearchService implements IIndexingService, ISearchService {
    * This forces a full reindexing of all model, and should be used in the rare occasion where
    * a change in the mapping has been created, e.g. a new searchable field, or a change in a field's
    * type.<br/>
-   * The following operations are performed in order, synchronously:
-   * <ol>
-   *   <li>
-   *     Checks if the vorto index actually exists. If it doesn't, creates it and returns (nothing
-   *     else worth doing).
-   *   </li>
-   *   <li>
-   *     Checks if the vorto temp index ({@link ElasticSearchService#VORTO_INDEX_TEMP}) exists. If
-   *     so, deletes the temp index.
-   *   </li>
-   *   <li>
-   *     Creates the temp index with the current mapping.
-   *   </li>
-   *   <li>
-   *     Uses a reindex request to merge the vorto index ({@link ElasticSearchService#VORTO_INDEX})
-   *     into the temp index.
-   *   </li>
-   *   <li>
-   *     Deletes the vorto index.
-   *   </li>
-   *   <li>
-   *     Re-creates the vorto index.
-   *   </li>
-   *   <li>
-   *     Merges back the temp index in the vorto index.
-   *   </li>
-   *   <li>
-   *     Deletes the temp index.
-   *   </li>
-   *   <li>
-   *     Reindexes all model in the vorto index - see {@link IIndexingService#reindexAllModels()}.
-   *   </li>
-   * </ol>
+   * As every reindexing builds a new index with the current mapping, this is the same as
+   * {@link ElasticSearchService#reindexAllModels()}, creating the index first if there is none.
    *
    * @return
    */
   @Override
   public IndexingResult forceReindexAllModels() {
-    // no Vorto index - nothing to do
-    if (!indexExist(VORTO_INDEX)) {
-      createIndexIfNotExisting();
-      return new IndexingResult();
-    }
-    // first delete the VORTO_INDEX_TEMP index if it exists
-    if (indexExist(VORTO_INDEX_TEMP)) {
-      DeleteIndexRequest deleteTempIndexRequest = new DeleteIndexRequest()
-          .indices(VORTO_INDEX_TEMP);
-      try {
-        client.indices().delete(deleteTempIndexRequest, RequestOptions.DEFAULT);
-      } catch (IOException ioe) {
-        throw new IndexingException(ioe.getMessage(), ioe);
-      }
-    }
-    // creates the temporary index to hold the new mapping
-    CreateIndexRequest createTempIndexRequest = new CreateIndexRequest(VORTO_INDEX_TEMP);
-    createTempIndexRequest.mapping(createMappingForIndex());
-    try {
-      client.indices().create(createTempIndexRequest, RequestOptions.DEFAULT);
-    } catch (IOException ioe) {
-      throw new IndexingException(ioe.getMessage(), ioe);
-    }
-    // copies the vorto index data to the new temp index with new mapping
-    ReindexRequest reindexRequest = new ReindexRequest().setSourceIndices(VORTO_INDEX)
-        .setDestIndex(VORTO_INDEX_TEMP);
-    reindexRequest.setConflicts("proceed");
-    reindexRequest.setRefresh(true);
-    try {
-      client.reindex(reindexRequest, RequestOptions.DEFAULT);
-    } catch (IOException ioe) {
-      throw new IndexingException(ioe.getMessage(), ioe);
-    }
-    // deletes the vorto index
-    DeleteIndexRequest deleteIndexRequest = new DeleteIndexRequest().indices(VORTO_INDEX);
-    try {
-      client.indices().delete(deleteIndexRequest, RequestOptions.DEFAULT);
-    } catch (IOException ioe) {
-      throw new IndexingException(ioe.getMessage(), ioe);
-    }
-    // re-creates the vorto index
     createIndexIfNotExisting();
-
-    // moves data back to vorto index
-    ReindexRequest moveBackToVortoIndex = new ReindexRequest().setSourceIndices(VORTO_INDEX_TEMP)
-        .setDestIndex(VORTO_INDEX);
-    reindexRequest.setConflicts("proceed");
-    reindexRequest.setRefresh(true);
-    try {
-      client.reindex(moveBackToVortoIndex, RequestOptions.DEFAULT);
-    } catch (IOException ioe) {
-      throw new IndexingException(ioe.getMessage(), ioe);
-    }
-
-    // deletes the temp index
-    DeleteIndexRequest deleteTempIndexRequest = new DeleteIndexRequest().indices(VORTO_INDEX_TEMP);
-    try {
-      client.indices().delete(deleteTempIndexRequest, RequestOptions.DEFAULT);
-    } catch (IOException ioe) {
-      throw new IndexingException(ioe.getMessage(), ioe);
-    }
-
-    // finally, re-import all models
     return reindexAllModels();
   }
 
-  private boolean createIndexWithMapping(String index, Map<String, Object> mapping) {
+  boolean createIndexWithMapping(String index, Settings settings) {
     CreateIndexRequest request = new CreateIndexRequest(index);
-    request.mapping(mapping);
+    request.mapping(createMappingForIndex());
+    request.settings(settings);
     try {
       CreateIndexResponse createIndexResponse =
           client.indices().create(request, RequestOptions.DEFAULT);
@@ -357,46 +275,24 @@ public class ElasticSearchService implements IIndexingService, ISearchService {
     return property;
   }
 
-  private void deleteAllModels(String index) {
-    deleteByQuery(index, QueryBuilders.matchAllQuery());
+  /**
+   * Builds a new index with all models of all namespaces and swaps it in once complete, so that
+   * searches keep using the current index meanwhile - see {@link ModelReindexer}.
+   *
+   * @return
+   */
+  @Override
+  public IndexingResult reindexAllModels() {
+    return reindexer.reindex(namespaceRequestCache.namespaces());
   }
 
   @Override
-  public IndexingResult reindexAllModels() {
-    IndexingResult result = new IndexingResult();
-
-    // (1) Delete all models in the index
-    deleteAllModels(VORTO_INDEX);
-
-    // (2) Index all models in all the namespaces
-    namespaceRequestCache.namespaces().forEach(namespace -> {
-      IModelRepository repo = this.repositoryFactory.getRepository(namespace.getWorkspaceId());
-      List<ModelInfo> modelsToIndex = repo.search("");
-      if (!modelsToIndex.isEmpty()) {
-        BulkRequest bulkRequest = new BulkRequest();
-
-        modelsToIndex.forEach(model -> {
-          bulkRequest.add(createIndexRequest(model, repo.getWorkspaceId()));
-        });
-
-        try {
-          BulkResponse bulkResponse = client.bulk(bulkRequest, RequestOptions.DEFAULT);
-          result.addIndexedNamespace(namespace.getName(), modelsToIndex.size());
-          LOGGER.debug(
-              String.format(
-                  "Received %d replies for workspace '%s' with %d models",
-                  bulkResponse.getItems().length, repo.getWorkspaceId(), modelsToIndex.size()
-              )
-          );
-        } catch (IOException e) {
-          throw new IndexingException(
-              String.format("Error trying to index all models in '%s' workspace.",
-                  repo.getWorkspaceId()), e);
-        }
-      }
-    });
+  public Optional<IndexingResult> getReindexProgress() {
+    return reindexer.getProgress();
+  }
 
-    return result;
+  public ModelReindexer getReindexer() {
+    return reindexer;
   }
 
   private void deleteByQuery(String index, QueryBuilder query) {
@@ -439,7 +335,8 @@ public class ElasticSearchService implements IIndexingService, ISearchService {
 
     try {
       IndexResponse indexResponse =
-          client.index(createIndexRequest(modelInfo, workspaceId), RequestOptions.DEFAULT);
+          client.index(createIndexRequest(modelInfo, workspaceId, VORTO_INDEX),
+              RequestOptions.DEFAULT);
       if (indexResponse.getResult() == DocWriteResponse.Result.CREATED) {
         LOGGER.debug(String.format("Index created for '%s'", modelInfo.getId().getPrettyFormat()));
       }
@@ -447,9 +344,16 @@ public class ElasticSearchService implements IIndexingService, ISearchService {
       throw new IndexingException(
           String.format("Error while indexing '%s'", modelInfo.getId().getPrettyFormat()), e);
     }
+    reindexer.mirror(quoted(modelInfo.getId()),
+        index -> client.index(createIndexRequest(modelInfo, workspaceId, index),
+            RequestOptions.DEFAULT));
+  }
+
+  private static String quoted(ModelId modelId) {
+    return String.format("'%s'", modelId.getPrettyFormat());
   }
 
-  private IndexRequest createIndexRequest(ModelInfo modelInfo, String workspaceID) {
+  IndexRequest createIndexRequest(ModelInfo modelInfo, String workspaceID, String index) {
     Map<String, Object> jsonMap = new HashMap<>();
     jsonMap.put(WORKSPACE_ID, workspaceID);
 
@@ -459,7 +363,7 @@ public class ElasticSearchService implements IIndexingService, ISearchService {
       });
     }
 
-    return new IndexRequest(VORTO_INDEX, DOC, modelInfo.getId().getPrettyFormat()).source(jsonMap);
+    return new IndexRequest(index, DOC, modelInfo.getId().getPrettyFormat()).source(jsonMap);
   }
 
   @Override
@@ -482,6 +386,10 @@ public class ElasticSearchService implements IIndexingService, ISearchService {
               modelInfo.getId().getPrettyFormat()), e
       );
     }
+    reindexer.mirror(quoted(modelInfo.getId()),
+        index -> client.update(
+            new UpdateRequest(index, DOC, modelInfo.getId().getPrettyFormat())
+                .doc(updateMap(modelInfo)), RequestOptions.DEFAULT));
   }
 
   private Map<String, Object> updateMap(ModelInfo modelInfo) {
@@ -515,11 +423,64 @@ public class ElasticSearchService implements IIndexingService, ISearchService {
           String.format("Error while deleting the index of '%s'", modelId.getPrettyFormat()), e
       );
     }
+    reindexer.mirror(quoted(modelId),
+        index -> client.delete(new DeleteRequest(index, DOC, modelId.getPrettyFormat()),
+            RequestOptions.DEFAULT));
   }
 
   @Override
   public void deleteIndexForWorkspace(String workspaceId) {
     deleteByQuery(VORTO_INDEX, QueryBuilders.termQuery(WORKSPACE_ID, workspaceId));
+    reindexer.mirror(String.format("the models of workspace '%s'", workspaceId),
+        index -> deleteByQuery(index, QueryBuilders.termQuery(WORKSPACE_ID, workspaceId)));
+  }
+
+  @Override
+  public void bulkIndex(Collection<IndexingOperation> operations) {
+    if (operations.isEmpty()) {
+      return;
+    }
+    LOGGER.debug(String.format("Applying %d index operations", operations.size()));
+
+    try {
+      BulkResponse response =
+          client.bulk(createBulkRequest(operations, VORTO_INDEX), RequestOptions.DEFAULT);
+      if (response.hasFailures()) {
+        // failures of single documents, e.g. updates of models that were never indexed, would fail
+        // again on retry
+        LOGGER.warn(String.format("Failed to apply some of %d index operations: %s",
+            operations.size(), response.buildFailureMessage()));
+      }
+    } catch (IOException e) {
+      throw new IndexingException(
+          String.format("Error while applying %d index operations", operations.size()), e);
+    }
+    reindexer.mirror(String.format("%d index operations", operations.size()),
+        index -> client.bulk(createBulkRequest(operations, index), RequestOptions.DEFAULT));
+  }
+
+  private BulkRequest createBulkRequest(Collection<IndexingOperation> operations, String index) {
+    BulkRequest request = new BulkRequest();
+    for (IndexingOperation operation : operations) {
+      String id = operation.getModelId().getPrettyFormat();
+      switch (operation.getType()) {
+        case INDEX:
+          request.add(createIndexRequest(operation.getModelInfo(), operation.getWorkspaceId(),
+              index));
+          break;
+        case UPDATE:
+          request.add(new UpdateRequest(index, DOC, id).doc(updateMap(operation.getModelInfo())));
+          break;
+        case DELETE:
+          request.add(new DeleteRequest(index, DOC, id));
+          // deleted models disappear from searches right away, as with deleteIndex
+          request.setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE);
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown index operation " + operation.getType());
+      }
+    }
+    return request;
   }
 
   /**
@@ -652,6 +613,62 @@ public class ElasticSearchService implements IIndexingService, ISearchService {
     }
   }
 
+  /**
+   * Pages through the results with {@literal search_after}, sorted by creation date (newest first)
+   * and model id, so that a page only fetches the given number of documents however deep it is.
+   *
+   * @see ElasticSearchService#search(String, IUserContext)
+   */
+  @Override
+  public SearchResultPage search(String searchExpression, IUserContext userContext, int pageSize,
+      String continuationToken) {
+    return searchPage(searchExpression, findWorkspaceIdsForUser(userContext), pageSize,
+        continuationToken);
+  }
+
+  @Override
+  public Stream<ModelInfo> stream(String searchExpression, IUserContext userContext) {
+    final Collection<String> workspaceIds = findWorkspaceIdsForUser(userContext);
+    return SearchResultPage.stream(
+        token -> searchPage(searchExpression, workspaceIds, STREAM_PAGE_SIZE, token));
+  }
+
+  private SearchResultPage searchPage(String searchExpression, Collection<String> workspaceIds,
+      int pageSize, String continuationToken) {
+    final int size = Math.min(pageSize, MAX_SEARCH_RESULTS);
+
+    SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
+    searchSourceBuilder.query(toESQuery(SearchParameters.build(workspaceIds, searchExpression)));
+    searchSourceBuilder.size(size);
+    // creation dates are indexed as keywords, which sort like numbers as long as they have 13 digits
+    searchSourceBuilder.sort(BasicIndexFieldExtractor.MODEL_CREATIONDATE, SortOrder.DESC);
+    searchSourceBuilder.sort(BasicIndexFieldExtractor.MODEL_ID, SortOrder.ASC);
+    searchSourceBuilder.trackTotalHits(false);
+    searchSourceBuilder.timeout(new TimeValue(3, TimeUnit.MINUTES));
+    if (continuationToken != null) {
+      SearchCursor cursor = SearchCursor.decode(continuationToken);
+      searchSourceBuilder.searchAfter(new Object[] {
+          Objects.toString(cursor.getCreationDate(), ""), cursor.getModelId()});
+    }
+
+    SearchRequest searchRequest = new SearchRequest(VORTO_INDEX);
+    searchRequest.source(searchSourceBuilder);
+
+    try {
+      LOGGER.debug(String.format("Search Expression: %s Elastic Search: %s", searchExpression,
+          searchRequest.toString()));
+      SearchResponse response = client.search(searchRequest, RequestOptions.DEFAULT);
+      List<ModelInfo> models = Stream.of(response.getHits().getHits()).map(this::fromSearchHit)
+          .collect(Collectors.toList());
+      return SearchResultPage.of(models, size);
+    } catch (IOException e) {
+      throw new IndexingException(
+          String.format("Error while querying the index for '%s' expression",
+              Strings.nullToEmpty(searchExpression)), e
+      );
+    }
+  }
+
   private Collection<String> findWorkspaceIdsForUser(IUserContext userContext) {
     if (userContext.isAnonymous()) {
       return Collections.emptyList();
@@ -0,0 +1,414 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.search;
+
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.log4j.Logger;
+import org.eclipse.vorto.repository.core.IModelRepository;
+import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
+import org.eclipse.vorto.repository.core.ModelInfo;
+import org.eclipse.vorto.repository.domain.Namespace;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.admin.indices.alias.IndicesAliasesRequest;
+import org.elasticsearch.action.admin.indices.alias.IndicesAliasesRequest.AliasActions;
+import org.elasticsearch.action.admin.indices.alias.get.GetAliasesRequest;
+import org.elasticsearch.action.admin.indices.delete.DeleteIndexRequest;
+import org.elasticsearch.action.admin.indices.refresh.RefreshRequest;
+import org.elasticsearch.action.admin.indices.settings.put.UpdateSettingsRequest;
+import org.elasticsearch.action.bulk.BackoffPolicy;
+import org.elasticsearch.action.bulk.BulkProcessor;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.unit.ByteSizeUnit;
+import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.rest.RestStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Reindexes all models into a new, versioned index, while searches keep using the current index
+ * behind the {@literal vorto} alias:
+ * <ol>
+ *   <li>
+ *     Creates a new index named after the alias and the current time, with the current mapping and
+ *     refreshes disabled.
+ *   </li>
+ *   <li>
+ *     Fetches the models of the namespaces in parallel, and sends them to the new index with a
+ *     {@link BulkProcessor}. Bulk requests are bounded by number of models and bytes, and adding
+ *     models blocks while the maximum number of bulk requests is in flight. Models are only created
+ *     by the bulk requests, so that they never overwrite a newer change of the model.
+ *   </li>
+ *   <li>
+ *     Re-enables refreshes and refreshes the new index.
+ *   </li>
+ *   <li>
+ *     Applies the model changes made while the models were loaded again, as the loaded models may
+ *     be older than the changes, or be deleted by them.
+ *   </li>
+ *   <li>
+ *     Atomically moves the alias to the new index.
+ *   </li>
+ *   <li>
+ *     Deletes the previous indices.
+ *   </li>
+ * </ol>
+ * If the reindexing fails, the new index is deleted and the alias is left untouched. While a
+ * reindexing runs, {@link ElasticSearchService} also writes model changes to the new index with
+ * {@link #mirror(String, IndexWrite)}.
+ */
+public class ModelReindexer {
+
+  private static final Logger LOGGER = Logger.getLogger(ModelReindexer.class);
+
+  private static final String REFRESH_INTERVAL = "index.refresh_interval";
+
+  private final RestHighLevelClient client;
+
+  private final IModelRepositoryFactory repositoryFactory;
+
+  private final ElasticSearchService searchService;
+
+  private final String alias;
+
+  private int parallelism = 4;
+
+  private int bulkActions = 1000;
+
+  private long bulkSizeInMb = 5;
+
+  private int concurrentBulkRequests = 2;
+
+  private long timeoutInMinutes = 60;
+
+  private volatile String targetIndex = null;
+
+  private final Object mirrorLock = new Object();
+
+  // true while the models are loaded into the target index, guarded by mirrorLock
+  private boolean loading = false;
+
+  // model changes mirrored while loading, in order, guarded by mirrorLock
+  private final List<MirroredWrite> mirroredWrites = new ArrayList<>();
+
+  private volatile IndexingResult progress = null;
+
+  ModelReindexer(RestHighLevelClient client, IModelRepositoryFactory repositoryFactory,
+      ElasticSearchService searchService, String alias) {
+    this.client = client;
+    this.repositoryFactory = repositoryFactory;
+    this.searchService = searchService;
+    this.alias = alias;
+  }
+
+  /**
+   * Reindexes all models of the given namespaces. Only one reindexing runs at a time.
+   *
+   * @param namespaces all namespaces
+   * @return the number of models indexed per namespace
+   */
+  public synchronized IndexingResult reindex(Collection<Namespace> namespaces) {
+    final String index = newIndexName();
+    final IndexingResult result = new IndexingResult();
+    result.setIndex(index);
+
+    searchService.createIndexWithMapping(index,
+        Settings.builder().put(REFRESH_INTERVAL, "-1").build());
+    synchronized (mirrorLock) {
+      this.targetIndex = index;
+      this.loading = true;
+    }
+    this.progress = result;
+    try {
+      indexNamespaces(namespaces, index, result);
+      enableRefresh(index);
+      replayMirroredWrites(index);
+      swapAlias(index);
+      result.setCompleted(true);
+      LOGGER.info(String.format("Reindexed %d models of %d namespaces into '%s'",
+          result.getTotalNumberOfIndexedModels(), result.getNumberOfNamespaces(), index));
+      return result;
+    } catch (RuntimeException e) {
+      deleteQuietly(index);
+      throw e;
+    } finally {
+      synchronized (mirrorLock) {
+        this.targetIndex = null;
+        this.loading = false;
+        this.mirroredWrites.clear();
+      }
+      this.progress = null;
+    }
+  }
+
+  /**
+   * Applies a model change to the index a running reindexing builds, so that it is not lost when
+   * the new index is swapped in. Changes made while the models are loaded are recorded and applied
+   * again once all models are loaded. Failures are only logged.
+   *
+   * @param description description of the change for logging, e.g. the id of the changed model
+   * @param write the change, applied to the given index
+   */
+  void mirror(String description, IndexWrite write) {
+    synchronized (mirrorLock) {
+      String index = this.targetIndex;
+      if (index == null) {
+        return;
+      }
+      MirroredWrite mirroredWrite = new MirroredWrite(description, write);
+      if (loading) {
+        mirroredWrites.add(mirroredWrite);
+      }
+      mirroredWrite.applyTo(index);
+    }
+  }
+
+  /**
+   * Applies the changes mirrored while loading once more, in their original order. Holding the
+   * lock, later changes are applied after the replayed ones.
+   */
+  private void replayMirroredWrites(String index) {
+    synchronized (mirrorLock) {
+      this.loading = false;
+      if (!mirroredWrites.isEmpty()) {
+        LOGGER.info(String.format("Applying %d model changes made during reindexing to '%s'",
+            mirroredWrites.size(), index));
+      }
+      for (MirroredWrite mirroredWrite : mirroredWrites) {
+        mirroredWrite.applyTo(index);
+      }
+      mirroredWrites.clear();
+    }
+  }
+
+  /**
+   * Creates the first versioned index with the given mapping and points the alias to it
+   */
+  void createIndex() {
+    String index = newIndexName();
+    searchService.createIndexWithMapping(index, Settings.EMPTY);
+    swapAlias(index);
+  }
+
+  private void indexNamespaces(Collection<Namespace> namespaces, String index,
+      IndexingResult result) {
+    final AtomicInteger failures = new AtomicInteger();
+    final BulkProcessor bulkProcessor = BulkProcessor
+        .builder((request, listener) -> client.bulkAsync(request, RequestOptions.DEFAULT, listener),
+            new BulkProcessor.Listener() {
+              @Override
+              public void beforeBulk(long executionId, BulkRequest request) {
+              }
+
+              @Override
+              public void afterBulk(long executionId, BulkRequest request, BulkResponse response) {
+                if (response.hasFailures()) {
+                  // a conflict means a model change was mirrored first, which is newer
+                  int failed = (int) Arrays.stream(response.getItems())
+                      .filter(item -> item.isFailed()
+                          && item.getFailure().getStatus() != RestStatus.CONFLICT)
+                      .count();
+                  if (failed > 0) {
+                    result.addFailedModels(failed);
+                    LOGGER.warn(String.format("Failed to index %d models into '%s': %s", failed,
+                        index, response.buildFailureMessage()));
+                  }
+                }
+              }
+
+              @Override
+              public void afterBulk(long executionId, BulkRequest request, Throwable failure) {
+                result.addFailedModels(request.numberOfActions());
+                failures.incrementAndGet();
+                LOGGER.error(String.format("Failed to send %d models to '%s'",
+                    request.numberOfActions(), index), failure);
+              }
+            })
+        .setBulkActions(bulkActions)
+        .setBulkSize(new ByteSizeValue(bulkSizeInMb, ByteSizeUnit.MB))
+        .setConcurrentRequests(concurrentBulkRequests)
+        .setBackoffPolicy(BackoffPolicy.exponentialBackoff(TimeValue.timeValueMillis(100), 5))
+        .build();
+
+    final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    final ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+    try {
+      List<Future<?>> tasks = new ArrayList<>();
+      for (Namespace namespace : namespaces) {
+        tasks.add(executor.submit(() -> {
+          IModelRepository repo = repositoryFactory
+              .getRepositoryWithoutSessionHelper(namespace.getWorkspaceId(), authentication);
+          List<ModelInfo> modelsToIndex = repo.search("");
+          for (ModelInfo model : modelsToIndex) {
+            bulkProcessor.add(searchService.createIndexRequest(model, namespace.getWorkspaceId(),
+                index).opType(DocWriteRequest.OpType.CREATE));
+          }
+          if (!modelsToIndex.isEmpty()) {
+            result.addIndexedNamespace(namespace.getName(), modelsToIndex.size());
+          }
+          LOGGER.debug(String.format("Queued %d models of namespace '%s' for index '%s'",
+              modelsToIndex.size(), namespace.getName(), index));
+        }));
+      }
+      for (Future<?> task : tasks) {
+        task.get();
+      }
+      if (!bulkProcessor.awaitClose(timeoutInMinutes, TimeUnit.MINUTES)) {
+        throw new IndexingException(
+            String.format("Timed out sending models to index '%s'", index), null);
+      }
+    } catch (ExecutionException e) {
+      throw new IndexingException(
+          String.format("Error trying to index all models into '%s'.", index), e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IndexingException(String.format("Interrupted indexing into '%s'.", index), e);
+    } finally {
+      executor.shutdownNow();
+      bulkProcessor.close();
+    }
+
+    if (failures.get() > 0) {
+      throw new IndexingException(
+          String.format("%d bulk requests to index '%s' failed", failures.get(), index), null);
+    }
+  }
+
+  private void enableRefresh(String index) {
+    try {
+      client.indices().putSettings(new UpdateSettingsRequest(index)
+          .settings(Settings.builder().putNull(REFRESH_INTERVAL)), RequestOptions.DEFAULT);
+      client.indices().refresh(new RefreshRequest(index), RequestOptions.DEFAULT);
+    } catch (IOException e) {
+      throw new IndexingException(String.format("Error refreshing index '%s'.", index), e);
+    }
+  }
+
+  /**
+   * Points the alias to the given index only, in one atomic request. An index named like the alias,
+   * as created by earlier versions, is deleted by the same request.
+   */
+  private void swapAlias(String index) {
+    try {
+      Set<String> previousIndices = client.indices()
+          .getAlias(new GetAliasesRequest(alias), RequestOptions.DEFAULT).getAliases().keySet();
+
+      IndicesAliasesRequest request = new IndicesAliasesRequest();
+      request.addAliasAction(AliasActions.add().index(index).alias(alias));
+      if (previousIndices.isEmpty() && searchService.indexExist(alias)) {
+        request.addAliasAction(AliasActions.removeIndex().index(alias));
+      }
+      for (String previousIndex : previousIndices) {
+        request.addAliasAction(AliasActions.remove().index(previousIndex).alias(alias));
+      }
+      client.indices().updateAliases(request, RequestOptions.DEFAULT);
+
+      for (String previousIndex : previousIndices) {
+        deleteQuietly(previousIndex);
+      }
+    } catch (IOException e) {
+      throw new IndexingException(String.format("Error pointing alias '%s' to '%s'.", alias,
+          index), e);
+    }
+  }
+
+  private void deleteQuietly(String index) {
+    try {
+      client.indices().delete(new DeleteIndexRequest(index), RequestOptions.DEFAULT);
+    } catch (IOException | RuntimeException e) {
+      LOGGER.warn(String.format("Could not delete index '%s'", index), e);
+    }
+  }
+
+  private String newIndexName() {
+    return alias + "_" + new SimpleDateFormat("yyyyMMddHHmmssSSS").format(new Date());
+  }
+
+  /**
+   * @return the index a running reindexing builds, which model changes must also be written to
+   */
+  public Optional<String> getTargetIndex() {
+    return Optional.ofNullable(targetIndex);
+  }
+
+  public Optional<IndexingResult> getProgress() {
+    return Optional.ofNullable(progress);
+  }
+
+  public void setParallelism(int parallelism) {
+    this.parallelism = parallelism;
+  }
+
+  public void setBulkActions(int bulkActions) {
+    this.bulkActions = bulkActions;
+  }
+
+  public void setBulkSizeInMb(long bulkSizeInMb) {
+    this.bulkSizeInMb = bulkSizeInMb;
+  }
+
+  public void setConcurrentBulkRequests(int concurrentBulkRequests) {
+    this.concurrentBulkRequests = concurrentBulkRequests;
+  }
+
+  public void setTimeoutInMinutes(long timeoutInMinutes) {
+    this.timeoutInMinutes = timeoutInMinutes;
+  }
+
+  /**
+   * A model change, written to a given index
+   */
+  @FunctionalInterface
+  interface IndexWrite {
+    void execute(String index) throws IOException;
+  }
+
+  private static final class MirroredWrite {
+
+    private final String description;
+
+    private final IndexWrite write;
+
+    MirroredWrite(String description, IndexWrite write) {
+      this.description = description;
+      this.write = write;
+    }
+
+    void applyTo(String index) {
+      try {
+        write.execute(index);
+      } catch (IOException | RuntimeException e) {
+        LOGGER.warn(String.format("Could not write %s to index '%s' being rebuilt", description,
+            index), e);
+      }
+    }
+  }
+}
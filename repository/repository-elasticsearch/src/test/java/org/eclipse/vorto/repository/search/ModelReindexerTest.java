@@ -0,0 +1,186 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.http.HttpHost;
+import org.eclipse.vorto.repository.core.IModelRepository;
+import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
+import org.eclipse.vorto.repository.core.ModelInfo;
+import org.eclipse.vorto.repository.domain.Namespace;
+import org.eclipse.vorto.repository.search.extractor.BasicIndexFieldExtractor;
+import org.elasticsearch.action.admin.indices.alias.get.GetAliasesRequest;
+import org.elasticsearch.action.delete.DeleteRequest;
+import org.elasticsearch.action.get.GetRequest;
+import org.elasticsearch.action.get.GetResponse;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestClient;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.client.indices.GetIndexRequest;
+import org.elasticsearch.common.settings.Settings;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockito.stubbing.Answer;
+
+/**
+ * Tests the alias swap of {@link ModelReindexer}, and that model changes mirrored while the models
+ * are loaded are not undone by the loaded models.
+ */
+public class ModelReindexerTest {
+
+  private static final String WORKSPACE_ID = "playground";
+
+  static SearchTestInfrastructure testInfrastructure;
+
+  static RestHighLevelClient client;
+
+  static ModelInfo datatype;
+
+  private static final AtomicInteger aliases = new AtomicInteger();
+
+  private String alias;
+
+  private IModelRepository repository;
+
+  private ModelReindexer reindexer;
+
+  @BeforeClass
+  public static void beforeClass() throws Exception {
+    testInfrastructure = new SearchTestInfrastructure();
+    datatype = testInfrastructure.importModel("Color.type", testInfrastructure.getDefaultUser());
+    client = new RestHighLevelClient(RestClient.builder(
+        new HttpHost(testInfrastructure.elasticSearch.getContainerIpAddress(),
+            testInfrastructure.elasticSearch.getMappedPort(9200), "http")));
+  }
+
+  @AfterClass
+  public static void afterClass() throws Exception {
+    client.close();
+    testInfrastructure.terminate();
+  }
+
+  @Before
+  public void setUp() {
+    // each test reindexes behind its own alias
+    alias = "reindexer-test-" + aliases.incrementAndGet();
+    repository = mock(IModelRepository.class);
+    IModelRepositoryFactory repositoryFactory = mock(IModelRepositoryFactory.class);
+    when(repositoryFactory.getRepositoryWithoutSessionHelper(anyString(), any()))
+        .thenReturn(repository);
+    reindexer = new ModelReindexer(client, repositoryFactory,
+        (ElasticSearchService) testInfrastructure.getSearchService(), alias);
+  }
+
+  @Test
+  public void testReindexReplacesLegacyIndex() throws IOException {
+    // before versioned indices, the alias name was the name of the index itself
+    ((ElasticSearchService) testInfrastructure.getSearchService())
+        .createIndexWithMapping(alias, Settings.EMPTY);
+    when(repository.search("")).thenReturn(Collections.singletonList(datatype));
+
+    IndexingResult result = reindexer.reindex(namespaces());
+
+    assertTrue(result.isCompleted());
+    assertEquals(1, result.getTotalNumberOfIndexedModels());
+    assertEquals(Collections.singleton(result.getIndex()), indicesOf(alias));
+    assertTrue(exists(alias, datatype));
+  }
+
+  @Test
+  public void testReindexDeletesPreviousIndex() throws IOException {
+    when(repository.search("")).thenReturn(Collections.singletonList(datatype));
+
+    IndexingResult first = reindexer.reindex(namespaces());
+    IndexingResult second = reindexer.reindex(namespaces());
+
+    assertFalse(client.indices().exists(new GetIndexRequest(first.getIndex()),
+        RequestOptions.DEFAULT));
+    assertEquals(Collections.singleton(second.getIndex()), indicesOf(alias));
+    assertTrue(exists(alias, datatype));
+  }
+
+  @Test
+  public void testMirroredDeleteIsNotUndoneByLoadedModel() throws IOException {
+    // the model is deleted after the repository returned it, but before it is loaded
+    when(repository.search("")).thenAnswer(loadingAfter(() -> reindexer.mirror("delete",
+        index -> client.delete(new DeleteRequest(index, "_doc", id(datatype)),
+            RequestOptions.DEFAULT))));
+
+    IndexingResult result = reindexer.reindex(namespaces());
+
+    assertTrue(result.isCompleted());
+    assertFalse(exists(alias, datatype));
+  }
+
+  @Test
+  public void testMirroredChangeIsNotOverwrittenByLoadedModel() throws IOException {
+    when(repository.search("")).thenAnswer(loadingAfter(() -> reindexer.mirror("change",
+        index -> client.index(new IndexRequest(index, "_doc", id(datatype))
+            .source(BasicIndexFieldExtractor.DISPLAY_NAME, "Changed"), RequestOptions.DEFAULT))));
+
+    IndexingResult result = reindexer.reindex(namespaces());
+
+    assertTrue(result.isCompleted());
+    assertEquals(0, result.getNumberOfFailedModels());
+    GetResponse response = client.get(new GetRequest(alias, id(datatype)), RequestOptions.DEFAULT);
+    assertEquals("Changed", response.getSource().get(BasicIndexFieldExtractor.DISPLAY_NAME));
+  }
+
+  /**
+   * @return an answer running the given change, then returning the model as it was before it
+   */
+  private static Answer<List<ModelInfo>> loadingAfter(Runnable change) {
+    return invocation -> {
+      List<ModelInfo> snapshot = Collections.singletonList(datatype);
+      change.run();
+      return snapshot;
+    };
+  }
+
+  private static Collection<Namespace> namespaces() {
+    Namespace namespace = new Namespace();
+    namespace.setName("org.eclipse.vorto");
+    namespace.setId(1L);
+    namespace.setWorkspaceId(WORKSPACE_ID);
+    return Collections.singletonList(namespace);
+  }
+
+  private static Set<String> indicesOf(String alias) throws IOException {
+    return client.indices().getAlias(new GetAliasesRequest(alias), RequestOptions.DEFAULT)
+        .getAliases().keySet();
+  }
+
+  private static boolean exists(String index, ModelInfo model) throws IOException {
+    return client.exists(new GetRequest(index, id(model)), RequestOptions.DEFAULT);
+  }
+
+  private static String id(ModelInfo model) {
+    return model.getId().getPrettyFormat();
+  }
+}
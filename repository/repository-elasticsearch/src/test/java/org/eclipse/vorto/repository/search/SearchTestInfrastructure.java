@@ -396,6 +396,16 @@ public final class SearchTestInfrastructure {
         }
         return super.getRepository(workspaceId, user);
       }
+
+      @Override
+      public IModelRepository getRepositoryWithoutSessionHelper(String workspaceId,
+          Authentication user) {
+        if (user == null) {
+          return super.getRepositoryWithoutSessionHelper(workspaceId,
+              createUserContext("admin", workspaceId).getAuthentication());
+        }
+        return super.getRepositoryWithoutSessionHelper(workspaceId, user);
+      }
     };
 
     ModelRepositoryEventListener supervisor = new ModelRepositoryEventListener();
@@ -0,0 +1,129 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.client;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.repository.client.attachment.Attachment;
+import org.eclipse.vorto.repository.client.generation.GeneratedOutput;
+import org.eclipse.vorto.repository.client.generation.GeneratorInfo;
+
+/**
+ * Asynchronous variant of the {@link IRepositoryClient}. Every request is run on the executor of
+ * the client, and the returned future completes with the result of the corresponding
+ * {@link IRepositoryClient} method, or exceptionally with the exception it throws.
+ */
+public interface IAsyncRepositoryClient {
+
+  /**
+   * @see IRepositoryClient#getAvailableGeneratorKeys()
+   */
+  CompletableFuture<Set<String>> getAvailableGeneratorKeys();
+
+  /**
+   * @see IRepositoryClient#getInfo(String)
+   */
+  CompletableFuture<GeneratorInfo> getInfo(String generatorKey);
+
+  /**
+   * @see IRepositoryClient#generate(ModelId, String, Map)
+   */
+  CompletableFuture<GeneratedOutput> generate(ModelId modelId, String generatorKey,
+      Map<String, String> invocationParams);
+
+  /**
+   * @see IRepositoryClient#search(String)
+   */
+  CompletableFuture<Collection<ModelInfo>> search(String expression);
+
+  /**
+   * @see IRepositoryClient#getById(ModelId)
+   */
+  CompletableFuture<ModelInfo> getById(ModelId modelId);
+
+  /**
+   * @see IRepositoryClient#getContent(ModelId)
+   */
+  CompletableFuture<ModelContent> getContent(ModelId modelId);
+
+  /**
+   * @see IRepositoryClient#getContent(ModelId, String)
+   */
+  CompletableFuture<ModelContent> getContent(ModelId modelId, String targetPlatformKey);
+
+  /**
+   * @see IRepositoryClient#getContent(ModelId, ModelId)
+   */
+  CompletableFuture<ModelContent> getContent(ModelId modelId, ModelId mappingModelId);
+
+  /**
+   * By default, the content of each model is requested by {@link #getContent(ModelId)}.
+   * 
+   * @see IRepositoryClient#getContents(Collection)
+   */
+  default CompletableFuture<Map<ModelId, ModelContent>> getContents(
+      Collection<ModelId> modelIds) {
+    CompletableFuture<Map<ModelId, ModelContent>> contents =
+        CompletableFuture.completedFuture(new LinkedHashMap<>());
+    for (ModelId modelId : modelIds) {
+      contents = contents.thenCombine(getContent(modelId), (map, content) -> {
+        if (content != null) {
+          map.put(modelId, content);
+        }
+        return map;
+      });
+    }
+    return contents;
+  }
+
+  /**
+   * By default, the content of each model is requested by {@link #getContent(ModelId, String)}.
+   * 
+   * @see IRepositoryClient#getContents(Collection, String)
+   */
+  default CompletableFuture<Map<ModelId, ModelContent>> getContents(Collection<ModelId> modelIds,
+      String targetPlatformKey) {
+    CompletableFuture<Map<ModelId, ModelContent>> contents =
+        CompletableFuture.completedFuture(new LinkedHashMap<>());
+    for (ModelId modelId : modelIds) {
+      contents = contents.thenCombine(getContent(modelId, targetPlatformKey), (map, content) -> {
+        if (content != null) {
+          map.put(modelId, content);
+        }
+        return map;
+      });
+    }
+    return contents;
+  }
+
+  /**
+   * @see IRepositoryClient#getAttachments(ModelId)
+   */
+  CompletableFuture<List<Attachment>> getAttachments(ModelId modelId);
+
+  /**
+   * @see IRepositoryClient#downloadAttachment(ModelId, String)
+   */
+  CompletableFuture<byte[]> downloadAttachment(ModelId modelId, String attachmentFileName);
+
+  /**
+   * @return the blocking client the requests are delegated to
+   */
+  IRepositoryClient sync();
+
+}
@@ -13,6 +13,7 @@
 package org.eclipse.vorto.repository.client;
 
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -104,6 +105,46 @@ public interface IRepositoryClient {
    */
   ModelContent getContent(ModelId modelId, ModelId mappingModelId);
 
+  /**
+   * Gets the contents of several models including all their dependencies. By default, the content
+   * of each model is requested by {@link #getContent(ModelId)}. Implementations may request them
+   * with fewer requests, resolving dependencies shared by several of the models only once.
+   * 
+   * @param modelIds model ids to get the contents for
+   * @return model contents by the given model ids. Models that do not exist are left out.
+   */
+  default Map<ModelId, ModelContent> getContents(Collection<ModelId> modelIds) {
+    Map<ModelId, ModelContent> contents = new LinkedHashMap<>();
+    for (ModelId modelId : modelIds) {
+      ModelContent content = getContent(modelId);
+      if (content != null) {
+        contents.put(modelId, content);
+      }
+    }
+    return contents;
+  }
+
+  /**
+   * Gets the contents of several models and their dependencies, including the meta data for the
+   * given target platform. By default, the content of each model is requested by
+   * {@link #getContent(ModelId, String)}. Implementations may request them with fewer requests.
+   * 
+   * @param modelIds model ids to get the contents for
+   * @param targetPlatformKey key of the target platform
+   * @return model contents by the given model ids. Models that do not exist are left out.
+   */
+  default Map<ModelId, ModelContent> getContents(Collection<ModelId> modelIds,
+      String targetPlatformKey) {
+    Map<ModelId, ModelContent> contents = new LinkedHashMap<>();
+    for (ModelId modelId : modelIds) {
+      ModelContent content = getContent(modelId, targetPlatformKey);
+      if (content != null) {
+        contents.put(modelId, content);
+      }
+    }
+    return contents;
+  }
+
   /**
    * Get a list of file attachments for a model
    * 
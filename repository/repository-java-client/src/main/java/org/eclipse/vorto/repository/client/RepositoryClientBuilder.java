@@ -12,6 +12,11 @@
  */
 package org.eclipse.vorto.repository.client;
 
+import java.io.File;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.http.HttpHost;
 import org.apache.http.auth.AuthScope;
 import org.apache.http.auth.UsernamePasswordCredentials;
@@ -19,7 +24,9 @@ import org.apache.http.client.CredentialsProvider;
 import org.apache.http.client.HttpClient;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.impl.client.BasicCredentialsProvider;
+import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.eclipse.vorto.repository.api.IModelGeneration;
 import org.eclipse.vorto.repository.api.IModelRepository;
 import org.eclipse.vorto.repository.api.impl.DefaultMappingClient;
@@ -27,7 +34,9 @@ import org.eclipse.vorto.repository.api.impl.DefaultModelGeneration;
 import org.eclipse.vorto.repository.api.impl.DefaultModelRepository;
 import org.eclipse.vorto.repository.api.impl.RequestContext;
 import org.eclipse.vorto.repository.api.mapping.IMapping;
+import org.eclipse.vorto.repository.client.impl.AsyncRepositoryClient;
 import org.eclipse.vorto.repository.client.impl.DefaultRepositoryClient;
+import org.eclipse.vorto.repository.client.impl.HttpResponseCache;
 
 public class RepositoryClientBuilder {
 
@@ -37,6 +46,13 @@ public class RepositoryClientBuilder {
 	private String tenantId = null;
 	private String proxyUsername;
 	private String proxyPassword;
+	private int maxConnections = 50;
+	private int maxConnectionsPerRoute = 20;
+	private long cacheMaxBytes = 16 * 1024 * 1024;
+	private Duration cacheMaxAge = Duration.ZERO;
+	private File cacheDirectory = null;
+	private Executor executor = null;
+	private int maxContentsPerRequest = DefaultRepositoryClient.DEFAULT_MAX_CONTENTS_PER_REQUEST;
 
 	public static RepositoryClientBuilder newBuilder() {
 		return new RepositoryClientBuilder();
@@ -75,6 +91,75 @@ public class RepositoryClientBuilder {
 		return this;
 	}
 
+	/**
+	 * @param maxConnections maximum number of pooled connections, defaults to 50
+	 * @return this builder
+	 */
+	public RepositoryClientBuilder setMaxConnections(int maxConnections) {
+		this.maxConnections = maxConnections;
+		return this;
+	}
+
+	/**
+	 * @param maxConnectionsPerRoute maximum number of pooled connections to the repository, defaults to 20
+	 * @return this builder
+	 */
+	public RepositoryClientBuilder setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+		this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+		return this;
+	}
+
+	/**
+	 * @param cacheMaxBytes maximum size of the model contents cached in memory, defaults to 16 MB. 0
+	 *        disables caching.
+	 * @return this builder
+	 */
+	public RepositoryClientBuilder setCacheMaxBytes(long cacheMaxBytes) {
+		this.cacheMaxBytes = cacheMaxBytes;
+		return this;
+	}
+
+	/**
+	 * @param cacheMaxAge time a cached model content is used without asking the repository whether
+	 *        it has changed. By default, every cached content is revalidated.
+	 * @return this builder
+	 */
+	public RepositoryClientBuilder setCacheMaxAge(Duration cacheMaxAge) {
+		this.cacheMaxAge = cacheMaxAge;
+		return this;
+	}
+
+	/**
+	 * @param cacheDirectory directory to additionally store cached model contents in, so that they
+	 *        survive a restart
+	 * @return this builder
+	 */
+	public RepositoryClientBuilder setCacheDirectory(File cacheDirectory) {
+		this.cacheDirectory = cacheDirectory;
+		return this;
+	}
+
+	/**
+	 * @param executor executor running the requests of the asynchronous client. By default, a pool of
+	 *        as many threads as connections per route is used.
+	 * @return this builder
+	 */
+	public RepositoryClientBuilder setExecutor(Executor executor) {
+		this.executor = executor;
+		return this;
+	}
+
+	/**
+	 * @param maxContentsPerRequest maximum number of models to fetch the contents of with one
+	 *        request, defaults to 500. If the repository rejects a request, the models are fetched
+	 *        with smaller requests.
+	 * @return this builder
+	 */
+	public RepositoryClientBuilder setMaxContentsPerRequest(int maxContentsPerRequest) {
+		this.maxContentsPerRequest = maxContentsPerRequest;
+		return this;
+	}
+
 	@Deprecated
 	/**
 	 * Please use {@link RepositoryClientBuilder#build()} instead
@@ -99,7 +184,28 @@ public class RepositoryClientBuilder {
 	}
 	
 	public IRepositoryClient build() {
-		return new DefaultRepositoryClient(buildHttpClient(), buildRequestContext2());
+		return new DefaultRepositoryClient(buildHttpClient(), buildRequestContext2(), buildResponseCache(),
+				maxContentsPerRequest);
+	}
+
+	public IAsyncRepositoryClient buildAsync() {
+		return new AsyncRepositoryClient(build(), executor != null ? executor : buildExecutor());
+	}
+
+	private HttpResponseCache buildResponseCache() {
+		if (cacheMaxBytes <= 0) {
+			return null;
+		}
+		return new HttpResponseCache(cacheMaxBytes, cacheMaxAge.toMillis(), cacheDirectory);
+	}
+
+	private Executor buildExecutor() {
+		final AtomicInteger count = new AtomicInteger();
+		return Executors.newFixedThreadPool(maxConnectionsPerRoute, runnable -> {
+			Thread thread = new Thread(runnable, "repository-client-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
 	}
 
 	private org.eclipse.vorto.repository.client.impl.RequestContext buildRequestContext2() {
@@ -121,13 +227,17 @@ public class RepositoryClientBuilder {
 	}
 
 	private HttpClient buildHttpClient() {
+		PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+		connectionManager.setMaxTotal(maxConnections);
+		connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+		HttpClientBuilder builder = HttpClients.custom().setConnectionManager(connectionManager);
 		if (hasAuthentication()) {
 			CredentialsProvider credentialsProvider = new BasicCredentialsProvider();
 			credentialsProvider.setCredentials(new AuthScope(proxyHost, proxyPort),
 					new UsernamePasswordCredentials(proxyUsername, proxyPassword));
-			return HttpClients.custom().setDefaultCredentialsProvider(credentialsProvider).build();
+			builder.setDefaultCredentialsProvider(credentialsProvider);
 		}
-		return HttpClients.createDefault();
+		return builder.build();
 	}
 
 	private RequestContext buildRequestContext() {
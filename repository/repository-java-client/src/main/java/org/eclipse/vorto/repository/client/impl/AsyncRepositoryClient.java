@@ -0,0 +1,114 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.client.impl;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.repository.client.IAsyncRepositoryClient;
+import org.eclipse.vorto.repository.client.IRepositoryClient;
+import org.eclipse.vorto.repository.client.ModelContent;
+import org.eclipse.vorto.repository.client.ModelInfo;
+import org.eclipse.vorto.repository.client.attachment.Attachment;
+import org.eclipse.vorto.repository.client.generation.GeneratedOutput;
+import org.eclipse.vorto.repository.client.generation.GeneratorInfo;
+
+public class AsyncRepositoryClient implements IAsyncRepositoryClient {
+
+  private final IRepositoryClient client;
+
+  private final Executor executor;
+
+  public AsyncRepositoryClient(IRepositoryClient client, Executor executor) {
+    this.client = Objects.requireNonNull(client);
+    this.executor = Objects.requireNonNull(executor);
+  }
+
+  @Override
+  public CompletableFuture<Set<String>> getAvailableGeneratorKeys() {
+    return CompletableFuture.supplyAsync(client::getAvailableGeneratorKeys, executor);
+  }
+
+  @Override
+  public CompletableFuture<GeneratorInfo> getInfo(String generatorKey) {
+    return CompletableFuture.supplyAsync(() -> client.getInfo(generatorKey), executor);
+  }
+
+  @Override
+  public CompletableFuture<GeneratedOutput> generate(ModelId modelId, String generatorKey,
+      Map<String, String> invocationParams) {
+    return CompletableFuture.supplyAsync(
+        () -> client.generate(modelId, generatorKey, invocationParams), executor);
+  }
+
+  @Override
+  public CompletableFuture<Collection<ModelInfo>> search(String expression) {
+    return CompletableFuture.supplyAsync(() -> client.search(expression), executor);
+  }
+
+  @Override
+  public CompletableFuture<ModelInfo> getById(ModelId modelId) {
+    return CompletableFuture.supplyAsync(() -> client.getById(modelId), executor);
+  }
+
+  @Override
+  public CompletableFuture<ModelContent> getContent(ModelId modelId) {
+    return CompletableFuture.supplyAsync(() -> client.getContent(modelId), executor);
+  }
+
+  @Override
+  public CompletableFuture<ModelContent> getContent(ModelId modelId, String targetPlatformKey) {
+    return CompletableFuture.supplyAsync(() -> client.getContent(modelId, targetPlatformKey),
+        executor);
+  }
+
+  @Override
+  public CompletableFuture<ModelContent> getContent(ModelId modelId, ModelId mappingModelId) {
+    return CompletableFuture.supplyAsync(() -> client.getContent(modelId, mappingModelId),
+        executor);
+  }
+
+  @Override
+  public CompletableFuture<Map<ModelId, ModelContent>> getContents(
+      Collection<ModelId> modelIds) {
+    return CompletableFuture.supplyAsync(() -> client.getContents(modelIds), executor);
+  }
+
+  @Override
+  public CompletableFuture<Map<ModelId, ModelContent>> getContents(Collection<ModelId> modelIds,
+      String targetPlatformKey) {
+    return CompletableFuture.supplyAsync(() -> client.getContents(modelIds, targetPlatformKey),
+        executor);
+  }
+
+  @Override
+  public CompletableFuture<List<Attachment>> getAttachments(ModelId modelId) {
+    return CompletableFuture.supplyAsync(() -> client.getAttachments(modelId), executor);
+  }
+
+  @Override
+  public CompletableFuture<byte[]> downloadAttachment(ModelId modelId, String attachmentFileName) {
+    return CompletableFuture.supplyAsync(() -> client.downloadAttachment(modelId,
+        attachmentFileName), executor);
+  }
+
+  @Override
+  public IRepositoryClient sync() {
+    return client;
+  }
+}
@@ -18,14 +18,17 @@ import java.net.URLEncoder;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.apache.commons.io.IOUtils;
 import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
 import org.apache.http.client.HttpClient;
 import org.eclipse.vorto.model.ModelId;
 import org.eclipse.vorto.repository.client.IRepositoryClient;
@@ -45,8 +48,27 @@ public class DefaultRepositoryClient extends ImplementationBase implements IRepo
   private static final String REST_MODEL_BASE = "api/v1/models";
   private static final String REST_ATTACHMENT_BASE = "api/v1/attachments";
 
+  // the default maximum number of models the repository returns the contents of at once
+  public static final int DEFAULT_MAX_CONTENTS_PER_REQUEST = 500;
+
+  private final int maxContentsPerRequest;
+
   public DefaultRepositoryClient(HttpClient httpClient, RequestContext context) {
-    super(httpClient, context);
+    this(httpClient, context, null);
+  }
+
+  public DefaultRepositoryClient(HttpClient httpClient, RequestContext context,
+      HttpResponseCache responseCache) {
+    this(httpClient, context, responseCache, DEFAULT_MAX_CONTENTS_PER_REQUEST);
+  }
+
+  public DefaultRepositoryClient(HttpClient httpClient, RequestContext context,
+      HttpResponseCache responseCache, int maxContentsPerRequest) {
+    super(httpClient, context, responseCache);
+    if (maxContentsPerRequest < 1) {
+      throw new IllegalArgumentException("maxContentsPerRequest must be at least 1");
+    }
+    this.maxContentsPerRequest = maxContentsPerRequest;
   }
 
   @Override
@@ -97,14 +119,14 @@ public class DefaultRepositoryClient extends ImplementationBase implements IRepo
   public ModelContent getContent(ModelId modelId) {
     String url = String.format("%s/%s/%s/content", getRequestContext().getBaseUrl(),
         String.format(REST_MODEL_BASE), modelId.getPrettyFormat());
-    return requestAndTransform(url, transformToClass(ModelContent.class));
+    return requestCachedAndTransform(url, ModelContent.class);
   }
 
   @Override
   public ModelContent getContent(ModelId modelId, String targetPlatformKey) {
     String url = String.format("%s/%s/%s/content/%s", getRequestContext().getBaseUrl(),
         String.format(REST_MODEL_BASE), modelId.getPrettyFormat(), targetPlatformKey);
-    return requestAndTransform(url, transformToClass(ModelContent.class));
+    return requestCachedAndTransform(url, ModelContent.class);
   }
 
   @Override
@@ -112,7 +134,64 @@ public class DefaultRepositoryClient extends ImplementationBase implements IRepo
     String url = String.format("%s/%s/%s/content/mappings/%s", getRequestContext().getBaseUrl(),
         String.format(REST_MODEL_BASE), modelId.getPrettyFormat(),
         mappingModelId.getPrettyFormat());
-    return requestAndTransform(url, transformToClass(ModelContent.class));
+    return requestCachedAndTransform(url, ModelContent.class);
+  }
+
+  @Override
+  public Map<ModelId, ModelContent> getContents(Collection<ModelId> modelIds) {
+    return getContents(modelIds, Optional.empty());
+  }
+
+  @Override
+  public Map<ModelId, ModelContent> getContents(Collection<ModelId> modelIds,
+      String targetPlatformKey) {
+    return getContents(modelIds, Optional.of(targetPlatformKey));
+  }
+
+  private Map<ModelId, ModelContent> getContents(Collection<ModelId> modelIds,
+      Optional<String> targetPlatformKey) {
+    Objects.requireNonNull(modelIds);
+
+    String query = "";
+    if (targetPlatformKey.isPresent()) {
+      try {
+        query = "?targetplatformKey=" + URLEncoder.encode(targetPlatformKey.get(), "utf-8");
+      } catch (UnsupportedEncodingException e) {
+        throw new ModelQueryException("Error encoding the target platform key", e);
+      }
+    }
+    final String url = String.format("%s/%s/content%s", getRequestContext().getBaseUrl(),
+        String.format(REST_MODEL_BASE), query);
+
+    Map<String, ModelId> requested = new LinkedHashMap<>();
+    modelIds.forEach(modelId -> requested.put(modelId.getPrettyFormat(), modelId));
+    List<String> prettyModelIds = new ArrayList<>(requested.keySet());
+
+    Map<ModelId, ModelContent> contents = new LinkedHashMap<>();
+    int chunkSize = maxContentsPerRequest;
+    int i = 0;
+    while (i < prettyModelIds.size()) {
+      List<String> chunk =
+          prettyModelIds.subList(i, Math.min(i + chunkSize, prettyModelIds.size()));
+      // null if the repository rejected the request, e.g. as it allows fewer models per request
+      Map<String, ModelContent> chunkContents = postAndTransform(url, chunk,
+          transformToType(new TypeToken<LinkedHashMap<String, ModelContent>>() {}.getType()),
+          response -> {
+            int statusCode = response.getStatusLine().getStatusCode();
+            if (statusCode == HttpStatus.SC_BAD_REQUEST && chunk.size() > 1) {
+              return null;
+            }
+            throw new RepositoryClientException(String.format(
+                "Error in executing URL : %s, status %d for %s", url, statusCode, chunk), null);
+          });
+      if (chunkContents == null) {
+        chunkSize = chunk.size() / 2;
+        continue;
+      }
+      chunkContents.forEach((modelId, content) -> contents.put(requested.get(modelId), content));
+      i += chunk.size();
+    }
+    return contents;
   }
 
   @Override
@@ -0,0 +1,207 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.client.impl;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Optional;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Caches the bodies of responses carrying an entity tag by their URL, so that a client can
+ * revalidate a response with If-None-Match instead of downloading it again. The repository tags
+ * the contents of released models.
+ * 
+ * The cache keeps the most recently used responses in memory up to a maximum number of bytes.
+ * Optionally, responses are also written to a directory, so that they survive a restart of the
+ * client. Responses stored on disk are replaced as soon as the repository returns a new version.
+ */
+public class HttpResponseCache {
+
+  private static final Log LOGGER = LogFactory.getLog(HttpResponseCache.class);
+
+  private final long maxBytes;
+
+  private final long maxAgeMillis;
+
+  private final Path directory;
+
+  private long bytes = 0;
+
+  private final LinkedHashMap<String, CachedResponse> responses =
+      new LinkedHashMap<>(16, 0.75f, true);
+
+  /**
+   * @param maxBytes maximum size of the response bodies held in memory
+   * @param maxAgeMillis time a cached response is used without revalidating it, 0 to always
+   *        revalidate
+   * @param directory directory to store responses in, or {@code null} to only cache in memory
+   */
+  public HttpResponseCache(long maxBytes, long maxAgeMillis, File directory) {
+    this.maxBytes = maxBytes;
+    this.maxAgeMillis = maxAgeMillis;
+    this.directory = directory != null ? directory.toPath() : null;
+    if (this.directory != null) {
+      try {
+        Files.createDirectories(this.directory);
+      } catch (IOException e) {
+        throw new IllegalArgumentException("Cannot create cache directory " + directory, e);
+      }
+    }
+  }
+
+  public Optional<CachedResponse> get(String url) {
+    CachedResponse response;
+    synchronized (this) {
+      response = responses.get(url);
+    }
+    if (response == null && directory != null) {
+      response = read(url);
+      if (response != null) {
+        putInMemory(url, response);
+      }
+    }
+    return Optional.ofNullable(response);
+  }
+
+  public void put(String url, String etag, byte[] body) {
+    CachedResponse response = new CachedResponse(etag, body, System.currentTimeMillis());
+    putInMemory(url, response);
+    if (directory != null) {
+      write(url, response);
+    }
+  }
+
+  /**
+   * Marks the cached response as revalidated by the repository
+   */
+  public void revalidated(String url, CachedResponse response) {
+    putInMemory(url, new CachedResponse(response.etag, response.body, System.currentTimeMillis()));
+  }
+
+  /**
+   * @return whether the given response may be used without revalidating it
+   */
+  public boolean isFresh(CachedResponse response) {
+    return maxAgeMillis > 0 && System.currentTimeMillis() - response.validatedAt < maxAgeMillis;
+  }
+
+  public synchronized int size() {
+    return responses.size();
+  }
+
+  private synchronized void putInMemory(String url, CachedResponse response) {
+    if (response.body.length > maxBytes) {
+      return;
+    }
+    CachedResponse previous = responses.put(url, response);
+    if (previous != null) {
+      this.bytes -= previous.body.length;
+    }
+    this.bytes += response.body.length;
+
+    Iterator<CachedResponse> leastRecentlyUsed = responses.values().iterator();
+    while (this.bytes > maxBytes && leastRecentlyUsed.hasNext()) {
+      this.bytes -= leastRecentlyUsed.next().body.length;
+      leastRecentlyUsed.remove();
+    }
+  }
+
+  private CachedResponse read(String url) {
+    Path file = directory.resolve(fileName(url));
+    if (!Files.exists(file)) {
+      return null;
+    }
+    try (InputStream in = Files.newInputStream(file)) {
+      DataInputStream data = new DataInputStream(in);
+      if (!url.equals(data.readUTF())) {
+        return null;
+      }
+      String etag = data.readUTF();
+      // a response read from disk is revalidated before it is used
+      return new CachedResponse(etag, IOUtils.toByteArray(data), 0);
+    } catch (IOException e) {
+      LOGGER.warn("Cannot read cached response for " + url, e);
+      return null;
+    }
+  }
+
+  private void write(String url, CachedResponse response) {
+    try {
+      Path file = directory.resolve(fileName(url));
+      Path temporary = Files.createTempFile(directory, "response", ".tmp");
+      try (OutputStream out = Files.newOutputStream(temporary)) {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeUTF(url);
+        data.writeUTF(response.etag);
+        data.write(response.body);
+        data.flush();
+      }
+      Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      LOGGER.warn("Cannot write cached response for " + url, e);
+    }
+  }
+
+  private static String fileName(String url) {
+    try {
+      byte[] digest =
+          MessageDigest.getInstance("SHA-256").digest(url.getBytes(StandardCharsets.UTF_8));
+      StringBuilder name = new StringBuilder(digest.length * 2);
+      for (byte b : digest) {
+        name.append(String.format("%02x", b));
+      }
+      return name.toString();
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not supported", e);
+    }
+  }
+
+  public static final class CachedResponse {
+
+    private final String etag;
+
+    private final byte[] body;
+
+    private final long validatedAt;
+
+    CachedResponse(String etag, byte[] body, long validatedAt) {
+      this.etag = etag;
+      this.body = body;
+      this.validatedAt = validatedAt;
+    }
+
+    public String getETag() {
+      return etag;
+    }
+
+    public byte[] getBody() {
+      return body;
+    }
+  }
+}
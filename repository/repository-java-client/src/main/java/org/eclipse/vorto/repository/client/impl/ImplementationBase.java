@@ -12,22 +12,35 @@
  */
 package org.eclipse.vorto.repository.client.impl;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
-import org.apache.commons.io.IOUtils;
+import org.apache.http.Header;
+import org.apache.http.HttpHeaders;
 import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
 import org.apache.http.client.HttpClient;
 import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.util.EntityUtils;
 import org.eclipse.vorto.model.AbstractModel;
 import org.eclipse.vorto.model.BooleanAttributeProperty;
 import org.eclipse.vorto.model.DictionaryType;
@@ -41,6 +54,7 @@ import org.eclipse.vorto.model.Infomodel;
 import org.eclipse.vorto.model.ModelId;
 import org.eclipse.vorto.model.PrimitiveType;
 import org.eclipse.vorto.repository.client.RepositoryClientException;
+import org.eclipse.vorto.repository.client.impl.HttpResponseCache.CachedResponse;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
@@ -49,7 +63,6 @@ import com.google.gson.JsonDeserializer;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
-import com.google.gson.JsonSyntaxException;
 
 public class ImplementationBase {
 
@@ -86,7 +99,10 @@ public class ImplementationBase {
                 public Date deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context)
                         throws JsonParseException {
                     try {
-                        return DATE_FORMAT.parse(json.getAsJsonPrimitive().getAsString());
+                        // SimpleDateFormat is not thread-safe, and a client may be used concurrently
+                        synchronized (DATE_FORMAT) {
+                            return DATE_FORMAT.parse(json.getAsJsonPrimitive().getAsString());
+                        }
                     } catch (ParseException e) {
                         throw new JsonParseException(e);
                     }
@@ -108,34 +124,15 @@ public class ImplementationBase {
 
               for (Entry<java.lang.String, JsonElement> entry : jsonEntrySet) {
                   AbstractModel value = null;
-                  if (entry.getValue().getAsJsonObject().has("type") && entry.getValue()
-                          .getAsJsonObject()
-                          .get("type")
-                          .getAsJsonPrimitive()
-                          .getAsString()
-                          .equals("InformationModel")) {
-                      value = context.deserialize(entry.getValue(), Infomodel.class);
-                  } else if (entry.getValue().getAsJsonObject().has("type") && entry.getValue()
-                          .getAsJsonObject()
-                          .get("type")
-                          .getAsJsonPrimitive()
-                          .getAsString()
-                          .equals("Functionblock")) {
-                      value = context.deserialize(entry.getValue(), FunctionblockModel.class);
-                  } else if (entry.getValue().getAsJsonObject().has("type") && entry.getValue()
-                          .getAsJsonObject()
-                          .get("type")
-                          .getAsJsonPrimitive()
-                          .getAsString()
-                          .equals("Datatype") && ((JsonElement) entry.getValue()).getAsJsonObject().has("literals")) {
-                      value = context.deserialize(entry.getValue(), EnumModel.class);
-                  } else if (entry.getValue().getAsJsonObject().has("type") && entry.getValue()
-                          .getAsJsonObject()
-                          .get("type")
-                          .getAsJsonPrimitive()
-                          .getAsString()
-                          .equals("Datatype")) {
-                      value = context.deserialize(entry.getValue(), EntityModel.class);
+                  JsonObject model = entry.getValue().getAsJsonObject();
+                  String modelType = model.has("type") ? model.getAsJsonPrimitive("type").getAsString() : null;
+                  if ("InformationModel".equals(modelType)) {
+                      value = context.deserialize(model, Infomodel.class);
+                  } else if ("Functionblock".equals(modelType)) {
+                      value = context.deserialize(model, FunctionblockModel.class);
+                  } else if ("Datatype".equals(modelType)) {
+                      value = context.deserialize(model,
+                              model.has("literals") ? EnumModel.class : EntityModel.class);
                   }
                   if (value != null) {
                       deserializedMap.put(getModelId(entry.getKey()), value);
@@ -156,11 +153,19 @@ public class ImplementationBase {
     })
       .create();
 
+  private HttpResponseCache responseCache;
+
   public ImplementationBase(HttpClient httpClient, RequestContext requestContext) {
     this.httpClient = httpClient;
     this.requestContext = requestContext;
   }
 
+  public ImplementationBase(HttpClient httpClient, RequestContext requestContext,
+      HttpResponseCache responseCache) {
+    this(httpClient, requestContext);
+    this.responseCache = responseCache;
+  }
+
   protected RequestContext getRequestContext() {
     return requestContext;
   }
@@ -168,8 +173,8 @@ public class ImplementationBase {
   protected <K> Function<HttpResponse, K> transformToType(Type type) {
     return response -> {
       try {
-        return gson.fromJson(IOUtils.toString(response.getEntity().getContent(), "UTF-8"), type);
-      } catch (IOException | JsonSyntaxException e) {
+        return fromJson(response.getEntity().getContent(), type);
+      } catch (IOException e) {
         throw new RepositoryClientException("Error in converting result to " + type.getTypeName(),
             e);
       }
@@ -177,15 +182,57 @@ public class ImplementationBase {
   }
 
   protected <K> Function<HttpResponse, K> transformToClass(Class<K> modelClass) {
-    return response -> {
-      try {
-        return gson.fromJson(IOUtils.toString(response.getEntity().getContent(), "UTF-8"),
-            modelClass);
-      } catch (IOException | JsonSyntaxException e) {
-        throw new RepositoryClientException("Error in converting result to " + modelClass.getName(),
-            e);
-      }
-    };
+    return transformToType(modelClass);
+  }
+
+  /**
+   * Parses the JSON directly from the given stream, without buffering it first
+   */
+  private <K> K fromJson(InputStream content, Type type) {
+    try (Reader reader = new InputStreamReader(content, StandardCharsets.UTF_8)) {
+      return gson.fromJson(reader, type);
+    } catch (IOException | JsonParseException e) {
+      throw new RepositoryClientException("Error in converting result to " + type.getTypeName(),
+          e);
+    }
+  }
+
+  /**
+   * Requests the given URL and converts the JSON response to the given type. Responses with an
+   * entity tag are cached and revalidated with If-None-Match on the next request, so that an
+   * unchanged response is neither downloaded nor sent again.
+   */
+  protected <K> K requestCachedAndTransform(String url, Type type) {
+    if (responseCache == null) {
+      return requestAndTransform(url, transformToType(type));
+    }
+    final Optional<CachedResponse> cached = responseCache.get(url);
+    if (cached.isPresent() && responseCache.isFresh(cached.get())) {
+      return fromJson(new ByteArrayInputStream(cached.get().getBody()), type);
+    }
+
+    HttpGet query = createGet(url);
+    cached.ifPresent(response -> query.setHeader(HttpHeaders.IF_NONE_MATCH, response.getETag()));
+    try {
+      return httpClient.execute(query, response -> {
+        int statusCode = response.getStatusLine().getStatusCode();
+        if (statusCode == HttpStatus.SC_NOT_MODIFIED && cached.isPresent()) {
+          responseCache.revalidated(url, cached.get());
+          return fromJson(new ByteArrayInputStream(cached.get().getBody()), type);
+        } else if (statusCode >= 200 && statusCode < 300) {
+          Header etag = response.getFirstHeader(HttpHeaders.ETAG);
+          if (etag == null) {
+            return fromJson(response.getEntity().getContent(), type);
+          }
+          byte[] body = EntityUtils.toByteArray(response.getEntity());
+          responseCache.put(url, etag.getValue(), body);
+          return fromJson(new ByteArrayInputStream(body), type);
+        }
+        return null;
+      });
+    } catch (IOException e) {
+      throw new RepositoryClientException("Error in executing URL : " + url, e);
+    }
   }
 
   protected <K> K requestAndTransform(String url, Function<HttpResponse, K> successFn) {
@@ -194,22 +241,52 @@ public class ImplementationBase {
 
   protected <K> K requestAndTransform(String url, Function<HttpResponse, K> successFn,
       Supplier<K> errorSupplier) {
-    HttpGet query = new HttpGet(url);
+    return execute(createGet(url), successFn, response -> errorSupplier.get());
+  }
+
+  /**
+   * Posts the given body as JSON to the given URL and transforms the response
+   */
+  protected <K> K postAndTransform(String url, Object body, Function<HttpResponse, K> successFn) {
+    return postAndTransform(url, body, successFn, response -> null);
+  }
 
+  /**
+   * Posts the given body as JSON to the given URL and transforms the response, using the given
+   * function for responses that are not successful
+   */
+  protected <K> K postAndTransform(String url, Object body, Function<HttpResponse, K> successFn,
+      Function<HttpResponse, K> errorFn) {
+    HttpPost post = new HttpPost(url);
     if (requestContext.getRequestConfig() != null) {
-      query.setConfig(requestContext.getRequestConfig());
+      post.setConfig(requestContext.getRequestConfig());
     }
+    post.setEntity(new StringEntity(gson.toJson(body), ContentType.APPLICATION_JSON));
+    return execute(post, successFn, errorFn);
+  }
 
+  private <K> K execute(HttpUriRequest query, Function<HttpResponse, K> successFn,
+      Function<HttpResponse, K> errorFn) {
+    String url = query.getURI().toString();
     try {
       return httpClient.execute(query, response -> {
         int statusCode = response.getStatusLine().getStatusCode();
         if (statusCode >= 200 && statusCode < 300) {
           return successFn.apply(response);
         }
-        return errorSupplier.get();
+        return errorFn.apply(response);
       });
     } catch (IOException e) {
       throw new RepositoryClientException("Error in executing URL : " + url, e);
     }
   }
+
+  private HttpGet createGet(String url) {
+    HttpGet query = new HttpGet(url);
+
+    if (requestContext.getRequestConfig() != null) {
+      query.setConfig(requestContext.getRequestConfig());
+    }
+    return query;
+  }
 }
@@ -0,0 +1,197 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.client.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.apache.http.Header;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.util.EntityUtils;
+import org.eclipse.vorto.model.ModelId;
+import org.eclipse.vorto.repository.client.ModelContent;
+import org.eclipse.vorto.repository.client.RepositoryClientException;
+import org.junit.Test;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+public class DefaultRepositoryClientTest {
+
+  private static final ModelId LAMP = ModelId.fromPrettyFormat("org.eclipse.vorto:Lamp:1.0.0");
+
+  private static final String LAMP_CONTENT = content("Lamp");
+
+  private static final String CHANGED_LAMP_CONTENT = content("ChangedLamp");
+
+  private final FakeHttpClient httpClient = new FakeHttpClient();
+
+  @Test
+  public void testRevalidateCachedContent() {
+    HttpResponseCache cache = new HttpResponseCache(1024, 0, null);
+    DefaultRepositoryClient client = createClient(cache);
+    httpClient.respond(HttpStatus.SC_OK, "\"1\"", LAMP_CONTENT)
+        .respond(HttpStatus.SC_NOT_MODIFIED, "\"1\"", null);
+
+    assertEquals("Lamp", client.getContent(LAMP).getRoot().getName());
+    assertEquals("Lamp", client.getContent(LAMP).getRoot().getName());
+
+    assertEquals(2, httpClient.getRequests().size());
+    assertNull(ifNoneMatch(httpClient.getRequests().get(0)));
+    assertEquals("\"1\"", ifNoneMatch(httpClient.getRequests().get(1)));
+  }
+
+  @Test
+  public void testReplaceChangedContent() {
+    HttpResponseCache cache = new HttpResponseCache(1024, 0, null);
+    DefaultRepositoryClient client = createClient(cache);
+    httpClient.respond(HttpStatus.SC_OK, "\"1\"", LAMP_CONTENT)
+        .respond(HttpStatus.SC_OK, "\"2\"", CHANGED_LAMP_CONTENT)
+        .respond(HttpStatus.SC_NOT_MODIFIED, "\"2\"", null);
+
+    client.getContent(LAMP);
+    assertEquals("ChangedLamp", client.getContent(LAMP).getRoot().getName());
+    assertEquals("ChangedLamp", client.getContent(LAMP).getRoot().getName());
+
+    assertEquals("\"1\"", ifNoneMatch(httpClient.getRequests().get(1)));
+    assertEquals("\"2\"", ifNoneMatch(httpClient.getRequests().get(2)));
+    assertEquals("\"2\"", cache.get(contentUrl()).get().getETag());
+  }
+
+  @Test
+  public void testUseFreshContentWithoutRequest() {
+    DefaultRepositoryClient client = createClient(new HttpResponseCache(1024, 60000, null));
+    httpClient.respond(HttpStatus.SC_OK, "\"1\"", LAMP_CONTENT);
+
+    client.getContent(LAMP);
+    ModelContent content = client.getContent(LAMP);
+
+    assertEquals("Lamp", content.getRoot().getName());
+    assertEquals(1, httpClient.getRequests().size());
+  }
+
+  @Test
+  public void testDoNotCacheUntaggedContent() {
+    HttpResponseCache cache = new HttpResponseCache(1024, 0, null);
+    DefaultRepositoryClient client = createClient(cache);
+    httpClient.respond(HttpStatus.SC_OK, null, LAMP_CONTENT)
+        .respond(HttpStatus.SC_OK, null, LAMP_CONTENT);
+
+    client.getContent(LAMP);
+    client.getContent(LAMP);
+
+    assertEquals(0, cache.size());
+    assertNull(ifNoneMatch(httpClient.getRequests().get(1)));
+  }
+
+  @Test
+  public void testMissingContent() {
+    HttpResponseCache cache = new HttpResponseCache(1024, 0, null);
+    DefaultRepositoryClient client = createClient(cache);
+    httpClient.respond(HttpStatus.SC_NOT_FOUND, null, null);
+
+    assertNull(client.getContent(LAMP));
+    assertFalse(cache.get(contentUrl()).isPresent());
+  }
+
+  @Test
+  public void testSplitContentsRequestRejectedByRepository() {
+    DefaultRepositoryClient client = new DefaultRepositoryClient(httpClient,
+        new RequestContext("http://repository", RequestConfig.DEFAULT), null, 4);
+    List<ModelId> modelIds = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      modelIds.add(ModelId.fromPrettyFormat("org.eclipse.vorto:Lamp" + i + ":1.0.0"));
+    }
+    // the repository allows at most 2 models per request
+    Function<HttpRequest, CloseableHttpResponse> repository = request -> {
+      List<String> requested = requestedModelIds(request);
+      if (requested.size() > 2) {
+        return FakeHttpClient.response(HttpStatus.SC_BAD_REQUEST, null, null);
+      }
+      StringBuilder json = new StringBuilder("{");
+      for (String modelId : requested) {
+        json.append(json.length() > 1 ? "," : "").append('"').append(modelId).append("\":")
+            .append(content(ModelId.fromPrettyFormat(modelId).getName()));
+      }
+      return FakeHttpClient.response(HttpStatus.SC_OK, null, json.append('}').toString());
+    };
+    for (int i = 0; i < 5; i++) {
+      httpClient.respond(repository);
+    }
+
+    Map<ModelId, ModelContent> contents = client.getContents(modelIds);
+
+    assertEquals(modelIds, new ArrayList<>(contents.keySet()));
+    assertEquals("Lamp4", contents.get(modelIds.get(4)).getRoot().getName());
+    // 4 rejected, 2, 2, then the remaining 1
+    assertEquals(Arrays.asList(4, 2, 2, 1), Arrays.asList(
+        httpClient.getRequests().stream().map(request -> requestedModelIds(request).size())
+            .toArray()));
+  }
+
+  @Test(expected = RepositoryClientException.class)
+  public void testFailedContentsRequest() {
+    DefaultRepositoryClient client = createClient(null);
+    httpClient.respond(HttpStatus.SC_INTERNAL_SERVER_ERROR, null, null);
+
+    client.getContents(Arrays.asList(LAMP));
+  }
+
+  @Test(expected = RepositoryClientException.class)
+  public void testSingleContentRejectedByRepository() {
+    DefaultRepositoryClient client = createClient(null);
+    httpClient.respond(HttpStatus.SC_BAD_REQUEST, null, null);
+
+    client.getContents(Arrays.asList(LAMP));
+  }
+
+  private static List<String> requestedModelIds(HttpRequest request) {
+    try {
+      return new Gson().fromJson(
+          EntityUtils.toString(((HttpEntityEnclosingRequest) request).getEntity()),
+          new TypeToken<List<String>>() {}.getType());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private DefaultRepositoryClient createClient(HttpResponseCache cache) {
+    return new DefaultRepositoryClient(httpClient,
+        new RequestContext("http://repository", RequestConfig.DEFAULT), cache);
+  }
+
+  private static String contentUrl() {
+    return "http://repository/api/v1/models/" + LAMP.getPrettyFormat() + "/content";
+  }
+
+  private static String ifNoneMatch(HttpRequest request) {
+    Header header = request.getFirstHeader(HttpHeaders.IF_NONE_MATCH);
+    return header != null ? header.getValue() : null;
+  }
+
+  private static String content(String rootName) {
+    return "{\"root\":{\"name\":\"" + rootName
+        + "\",\"namespace\":\"org.eclipse.vorto\",\"version\":\"1.0.0\"},\"models\":{}}";
+  }
+}
@@ -0,0 +1,104 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.client.impl;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Function;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.HttpContext;
+
+/**
+ * Answers requests with the given responses in order, and records the requests
+ */
+class FakeHttpClient extends CloseableHttpClient {
+
+  private final Deque<Function<HttpRequest, CloseableHttpResponse>> responses = new ArrayDeque<>();
+
+  private final List<HttpRequest> requests = new ArrayList<>();
+
+  /**
+   * @param etag entity tag of the response, or {@code null} for an untagged response
+   */
+  FakeHttpClient respond(int statusCode, String etag, String json) {
+    return respond(request -> response(statusCode, etag, json));
+  }
+
+  FakeHttpClient respond(Function<HttpRequest, CloseableHttpResponse> response) {
+    responses.add(response);
+    return this;
+  }
+
+  List<HttpRequest> getRequests() {
+    return requests;
+  }
+
+  static CloseableHttpResponse response(int statusCode, String etag, String json) {
+    Response response = new Response(statusCode);
+    if (etag != null) {
+      response.setHeader(HttpHeaders.ETAG, etag);
+    }
+    if (json != null) {
+      response.setEntity(new StringEntity(json, ContentType.APPLICATION_JSON));
+    }
+    return response;
+  }
+
+  @Override
+  protected CloseableHttpResponse doExecute(HttpHost target, HttpRequest request,
+      HttpContext context) {
+    requests.add(request);
+    Function<HttpRequest, CloseableHttpResponse> response = responses.poll();
+    if (response == null) {
+      throw new IllegalStateException("Unexpected request " + request.getRequestLine());
+    }
+    return response.apply(request);
+  }
+
+  @Override
+  public void close() {}
+
+  @Override
+  @Deprecated
+  public HttpParams getParams() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  @Deprecated
+  public ClientConnectionManager getConnectionManager() {
+    throw new UnsupportedOperationException();
+  }
+
+  private static final class Response extends BasicHttpResponse implements CloseableHttpResponse {
+
+    Response(int statusCode) {
+      super(HttpVersion.HTTP_1_1, statusCode, null);
+    }
+
+    @Override
+    public void close() {}
+  }
+}
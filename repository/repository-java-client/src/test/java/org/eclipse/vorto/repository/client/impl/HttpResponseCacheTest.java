@@ -0,0 +1,105 @@
+/**
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.vorto.repository.client.impl;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.io.File;
+import org.eclipse.vorto.repository.client.impl.HttpResponseCache.CachedResponse;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class HttpResponseCacheTest {
+
+  private static final String LAMP = "https://repository/api/v1/models/vorto:Lamp:1.0.0/content";
+
+  private static final String COLOR = "https://repository/api/v1/models/vorto:Color:1.0.0/content";
+
+  private static final String SWITCH =
+      "https://repository/api/v1/models/vorto:Switch:1.0.0/content";
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void testGetByUrl() {
+    HttpResponseCache cache = new HttpResponseCache(100, 0, null);
+    cache.put(LAMP, "\"1\"", new byte[] {1, 2, 3});
+
+    CachedResponse response = cache.get(LAMP).get();
+    assertEquals("\"1\"", response.getETag());
+    assertArrayEquals(new byte[] {1, 2, 3}, response.getBody());
+    assertFalse(cache.get(COLOR).isPresent());
+  }
+
+  @Test
+  public void testEvictLeastRecentlyUsedByBytes() {
+    HttpResponseCache cache = new HttpResponseCache(10, 0, null);
+    cache.put(LAMP, "\"1\"", new byte[4]);
+    cache.put(COLOR, "\"1\"", new byte[4]);
+    cache.get(LAMP);
+    cache.put(SWITCH, "\"1\"", new byte[4]);
+
+    assertEquals(2, cache.size());
+    assertTrue(cache.get(LAMP).isPresent());
+    assertFalse(cache.get(COLOR).isPresent());
+    assertTrue(cache.get(SWITCH).isPresent());
+  }
+
+  @Test
+  public void testSkipResponseLargerThanCache() {
+    HttpResponseCache cache = new HttpResponseCache(2, 0, null);
+    cache.put(LAMP, "\"1\"", new byte[4]);
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testFreshOnlyWithMaxAge() {
+    HttpResponseCache revalidating = new HttpResponseCache(100, 0, null);
+    revalidating.put(LAMP, "\"1\"", new byte[1]);
+    assertFalse(revalidating.isFresh(revalidating.get(LAMP).get()));
+
+    HttpResponseCache cache = new HttpResponseCache(100, 60000, null);
+    cache.put(LAMP, "\"1\"", new byte[1]);
+    assertTrue(cache.isFresh(cache.get(LAMP).get()));
+  }
+
+  @Test
+  public void testReadResponseFromDirectory() throws Exception {
+    File directory = folder.newFolder();
+    new HttpResponseCache(100, 60000, directory).put(LAMP, "\"1\"", new byte[] {1, 2, 3});
+
+    HttpResponseCache restarted = new HttpResponseCache(100, 60000, directory);
+    CachedResponse response = restarted.get(LAMP).get();
+    assertEquals("\"1\"", response.getETag());
+    assertArrayEquals(new byte[] {1, 2, 3}, response.getBody());
+    // a response read from disk is revalidated before it is used
+    assertFalse(restarted.isFresh(response));
+    assertFalse(restarted.get(COLOR).isPresent());
+  }
+
+  @Test
+  public void testReplaceResponseInDirectory() throws Exception {
+    File directory = folder.newFolder();
+    HttpResponseCache cache = new HttpResponseCache(100, 0, directory);
+    cache.put(LAMP, "\"1\"", new byte[] {1});
+    cache.put(LAMP, "\"2\"", new byte[] {2});
+
+    CachedResponse response = new HttpResponseCache(100, 0, directory).get(LAMP).get();
+    assertEquals("\"2\"", response.getETag());
+    assertArrayEquals(new byte[] {2}, response.getBody());
+  }
+}
@@ -27,6 +27,7 @@ import org.apache.http.ssl.SSLContextBuilder;
 import org.apache.log4j.Logger;
 import org.eclipse.vorto.repository.core.IModelRepositoryFactory;
 import org.eclipse.vorto.repository.search.ElasticSearchService;
+import org.eclipse.vorto.repository.search.ModelReindexer;
 import org.eclipse.vorto.repository.services.NamespaceService;
 import org.eclipse.vorto.repository.services.UserNamespaceRoleService;
 import org.elasticsearch.client.RestClient;
@@ -78,6 +79,18 @@ public class ElasticSearchConfiguration {
   @Value("${aws.aesEndpoint:https://search-vorto-test-i566tsfta74oi6s6hbzfwproui.eu-central-1.es.amazonaws.com}")
   private String aesEndpoint;
   
+  @Value("${search.reindex.parallelism:4}")
+  private int reindexParallelism;
+
+  @Value("${search.reindex.bulkActions:1000}")
+  private int reindexBulkActions;
+
+  @Value("${search.reindex.bulkSizeInMb:5}")
+  private long reindexBulkSizeInMb;
+
+  @Value("${search.reindex.concurrentBulkRequests:2}")
+  private int reindexConcurrentBulkRequests;
+
   private AWSCredentialsProvider credentialsProvider = new DefaultAWSCredentialsProviderChain();
 
   private static final Logger LOGGER = Logger.getLogger(ElasticSearchConfiguration.class);
@@ -95,7 +108,14 @@ public class ElasticSearchConfiguration {
   @Bean
   @Profile(value = { "prod", "int", "local-docker", "local-dev", "local-dev-mysql","local-benchmark-test"})
   public ElasticSearchService elasticSearch() {
-    return new ElasticSearchService(client, repositoryFactory, userNamespaceRoleService);
+    ElasticSearchService searchService =
+        new ElasticSearchService(client, repositoryFactory, userNamespaceRoleService);
+    ModelReindexer reindexer = searchService.getReindexer();
+    reindexer.setParallelism(reindexParallelism);
+    reindexer.setBulkActions(reindexBulkActions);
+    reindexer.setBulkSizeInMb(reindexBulkSizeInMb);
+    reindexer.setConcurrentBulkRequests(reindexConcurrentBulkRequests);
+    return searchService;
   }
   
   @Bean
@@ -12,6 +12,11 @@
  */
 package org.eclipse.vorto.repository.server.config.config;
 
+import org.eclipse.vorto.repository.core.impl.cache.ExpiringMapCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.cache.CacheStatisticsProvider;
+import org.springframework.boot.actuate.cache.DefaultCacheStatistics;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.concurrent.ConcurrentMapCache;
@@ -21,24 +26,52 @@ import org.springframework.context.annotation.Configuration;
 
 import java.util.Arrays;
 
+/**
+ * Configures the application-wide caches. <br/>
+ * Namespaces, namespace roles and user-namespace role associations change at runtime and are held
+ * in bounded {@link ExpiringMapCache}s, evicted by their repositories on every change.<br/>
+ * Their size and hit/miss ratios are exposed as {@literal cache.*} metrics.
+ */
 @Configuration
 @EnableCaching
 public class RepositoryCachingConfiguration {
 
+  @Value("${config.cache.maxSize:10000}")
+  private int maxSize;
+
+  @Value("${config.cache.ttlSeconds:300}")
+  private long ttlSeconds;
+
   @Bean
   public CacheManager cacheManager() {
     SimpleCacheManager cacheManager = new SimpleCacheManager();
     cacheManager.setCaches(
         Arrays.asList(
             new ConcurrentMapCache("userRepositoryRolesCache"),
-            new ConcurrentMapCache("namespaceRolesCache"),
+            expiring("namespaceRolesCache"),
             new ConcurrentMapCache("repositoryRolesCache"),
             new ConcurrentMapCache("privilegesCache"),
-            new ConcurrentMapCache("namespaceRoleCache"),
+            expiring("namespaceRoleCache"),
             new ConcurrentMapCache("repositoryRoleCache"),
-            new ConcurrentMapCache("privilegeCache")
+            new ConcurrentMapCache("privilegeCache"),
+            expiring("namespacesCache"),
+            expiring("userNamespaceRolesCache")
         )
     );
     return cacheManager;
   }
+
+  @Bean
+  public CacheStatisticsProvider<ExpiringMapCache> expiringMapCacheStatisticsProvider() {
+    return (cacheManager, cache) -> {
+      DefaultCacheStatistics statistics = new DefaultCacheStatistics();
+      statistics.setSize(cache.getSize());
+      statistics.setGetCacheCounts(cache.getHitCount(), cache.getMissCount());
+      return statistics;
+    };
+  }
+
+  private Cache expiring(String name) {
+    return new ExpiringMapCache(name, maxSize, ttlSeconds);
+  }
 }
@@ -114,6 +114,8 @@ public class SecurityConfiguration extends WebSecurityConfigurerAdapter {
 
     http.httpBasic().and().authorizeRequests().antMatchers(HttpMethod.GET, "/rest/**", "/api/**")
         .permitAll().antMatchers("/user/**").permitAll()
+        // reads the contents of several models, so it is as public as the GET content endpoints
+        .antMatchers(HttpMethod.POST, "/api/v1/models/content").permitAll()
         .antMatchers(HttpMethod.PUT, "/rest/**", "/api/**").authenticated()
         .antMatchers(HttpMethod.POST, "/rest/**", "/api/**").authenticated()
         .antMatchers(HttpMethod.DELETE, "/rest/**", "/api/**").authenticated().and()
@@ -16,10 +16,16 @@ import static org.hamcrest.CoreMatchers.equalTo;
 import static org.junit.Assert.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.google.gson.Gson;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import org.junit.Test;
+import org.springframework.http.MediaType;
 
 public class ModelControllerIntegrationTest extends IntegrationTestBase {
 
@@ -53,6 +59,33 @@ public class ModelControllerIntegrationTest extends IntegrationTestBase {
     assertTrue(true);
   }
 
+  @Test
+  public void testGetModelContents() throws Exception {
+    String missing = "com.mycompany.missing:Missing:1.0.0";
+    repositoryServer
+        .perform(post("/api/v1/models/content").with(userModelCreator)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(new Gson().toJson(Arrays.asList(testModel.prettyName, missing))))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$['" + testModel.prettyName + "'].root.name",
+            equalTo(testModel.modelName)))
+        .andExpect(jsonPath("$['" + missing + "']").doesNotExist());
+  }
+
+  @Test
+  public void testGetModelContentsExceedingMaxBulkContentSize() throws Exception {
+    // repo.config.maxBulkContentSize defaults to 500
+    List<String> modelIds = new ArrayList<>();
+    for (int i = 0; i <= 500; i++) {
+      modelIds.add(testModel.prettyName);
+    }
+    repositoryServer
+        .perform(post("/api/v1/models/content").with(userModelCreator)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(new Gson().toJson(modelIds)))
+        .andExpect(status().isBadRequest());
+  }
+
   /*
    * Download file including dependencies
    */
@@ -16,6 +16,7 @@ import org.junit.Test;
 
 import static org.junit.Assert.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 public class ModelSearchControllerIntegrationTest extends IntegrationTestBase {
@@ -25,4 +26,19 @@ public class ModelSearchControllerIntegrationTest extends IntegrationTestBase {
     repositoryServer.perform(get("/api/v1/search/models?expression=").with(userModelCreator)).andExpect(status().isOk());
     assertTrue(true);
   }
+
+  @Test
+  public void testModelSearchPage() throws Exception {
+    repositoryServer.perform(get("/api/v1/search/models/page?expression=&pageSize=1")
+        .with(userModelCreator)).andExpect(status().isOk())
+        .andExpect(jsonPath("$.models").isArray());
+  }
+
+  @Test
+  public void testModelSearchPageWithInvalidParameters() throws Exception {
+    repositoryServer.perform(get("/api/v1/search/models/page?expression=&pageSize=0")
+        .with(userModelCreator)).andExpect(status().isBadRequest());
+    repositoryServer.perform(get("/api/v1/search/models/page?expression=&continuationToken=%25")
+        .with(userModelCreator)).andExpect(status().isBadRequest());
+  }
 }
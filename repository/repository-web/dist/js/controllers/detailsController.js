@@ -16,12 +16,14 @@ define(["../init/appController"], function (repositoryControllers) {
       ['$q', '$rootScope', '$scope', '$http', '$routeParams', '$location',
         '$route',
         '$uibModal', '$window', '$timeout', 'openCreateModelDialog',
-        'confirmPublish', 'SessionTimeoutService',
+        'confirmPublish', 'SessionTimeoutService', 'ModelSearchService',
         function ($q, $rootScope, $scope, $http, $routeParams, $location,
             $route,
             $uibModal,
             $window, $timeout, openCreateModelDialog,
-            confirmPublish, sessionTimeoutService) {
+            confirmPublish, sessionTimeoutService, modelSearchService) {
+
+          var SEARCH_PAGE_SIZE = 100;
 
           $scope.cannotDeleteComment = false;
           $scope.isLoadingComments = false;
@@ -616,6 +618,8 @@ define(["../init/appController"], function (repositoryControllers) {
                 $scope.searchResult = [];
                 $scope.searchModelType = 'all';
                 $scope.searchFilter = "";
+                $scope.searchExpression = "";
+                $scope.continuationToken = null;
 
                 $scope.searchReferences = function () {
                   $scope.isLoading = true;
@@ -625,14 +629,34 @@ define(["../init/appController"], function (repositoryControllers) {
                   } else {
                     filter = $scope.searchFilter + " " + $scope.searchModelType;
                   }
-                  $http.get('./api/v1/search/models?expression=' + filter)
+                  $scope.searchExpression = filter;
+                  modelSearchService.searchPage(filter, SEARCH_PAGE_SIZE)
                   .then(
-                      function (result) {
-                        $scope.searchResult = result.data;
+                      function (page) {
+                        $scope.searchResult = page.models;
+                        $scope.continuationToken = page.continuationToken;
                         $scope.isLoading = false;
                       },
                       function (error) {
                         $scope.searchResult = [];
+                        $scope.continuationToken = null;
+                        $scope.isLoading = false;
+                      }
+                  );
+                };
+
+                $scope.loadMoreReferences = function () {
+                  $scope.isLoading = true;
+                  modelSearchService.searchPage($scope.searchExpression,
+                      SEARCH_PAGE_SIZE, $scope.continuationToken)
+                  .then(
+                      function (page) {
+                        $scope.searchResult = $scope.searchResult.concat(
+                            page.models);
+                        $scope.continuationToken = page.continuationToken;
+                        $scope.isLoading = false;
+                      },
+                      function (error) {
                         $scope.isLoading = false;
                       }
                   );
@@ -14,9 +14,9 @@ define(["../../init/appController"], function (repositoryControllers) {
 
   repositoryControllers.controller("namespaceManagementController",
       ["$rootScope", "$scope", "$http", "$uibModal", "dialogConfirm",
-        "dialogPrompt",
+        "dialogPrompt", "ModelSearchService",
         function ($rootScope, $scope, $http, $uibModal, dialogConfirm,
-            dialogPrompt) {
+            dialogPrompt, modelSearchService) {
           $scope.namespaces = [];
           $scope.filteredNamespaces = [];
           $scope.isRetrievingNamespaces = false;
@@ -281,14 +281,14 @@ define(["../../init/appController"], function (repositoryControllers) {
                 };
 
                 $scope.getPublicModelsForNamespace = function () {
-                  $http
-                  .get(
-                      './api/v1/search/models?expression=namespace:'
-                      + namespace.name + ' visibility:Public'
+                  // a single hit is enough to tell
+                  modelSearchService
+                  .searchPage(
+                      'namespace:' + namespace.name + ' visibility:Public', 1
                   )
                   .then(
-                      function (result) {
-                        $scope.hasPublicModels = result.data.length > 0;
+                      function (page) {
+                        $scope.hasPublicModels = page.models.length > 0;
                       },
                       function (error) {
                         console.log("Problem getting data from repository");
@@ -13,8 +13,10 @@
 define(["../init/appController"],function(repositoryControllers) {
   
   repositoryControllers.controller('SearchController', 
-    ['$scope', '$filter', '$rootScope', '$http', '$location', '$uibModal', 'openCreateModelDialog', '$timeout',
-    function ($scope,$filter,$rootScope,$http,$location,$uibModal, openCreateModelDialog, $timeout) {
+    ['$scope', '$filter', '$rootScope', '$http', '$location', '$uibModal', 'openCreateModelDialog', '$timeout', 'ModelSearchService',
+    function ($scope,$filter,$rootScope,$http,$location,$uibModal, openCreateModelDialog, $timeout, ModelSearchService) {
+
+    var PAGE_SIZE = 50;
 
     $scope.models = [];
     $scope.filteredModels = [];
@@ -25,6 +27,9 @@ define(["../init/appController"],function(repositoryControllers) {
     $scope.queryFilter = "";
     $scope.fileToUpload = null;
     $scope.isLoading = false;
+    $scope.isLoadingMore = false;
+    $scope.searchExpression = "";
+    $scope.continuationToken = null;
     $scope.onlyYourModels = false;
     
     $scope.clearInput = function() {
@@ -64,11 +69,14 @@ define(["../init/appController"],function(repositoryControllers) {
         	}
         }
 
-        $http.get('./api/v1/search/models?expression=' + filter)
+        $scope.searchExpression = filter;
+        $scope.continuationToken = null;
+        ModelSearchService.searchPage(filter, PAGE_SIZE)
         .then(
-            function(result) {
-            	$scope.models = result.data;
-            	$scope.modelsTotal = result.data.length;
+            function(page) {
+            	$scope.models = page.models;
+            	$scope.modelsTotal = page.models.length;
+            	$scope.continuationToken = page.continuationToken;
               $scope.isLoading = false;
               filterModels();
             },
@@ -80,6 +88,23 @@ define(["../init/appController"],function(repositoryControllers) {
         );
     };
 
+    $scope.loadMore = function() {
+        $scope.isLoadingMore = true;
+        ModelSearchService.searchPage($scope.searchExpression, PAGE_SIZE, $scope.continuationToken)
+        .then(
+            function(page) {
+            	$scope.models = $scope.models.concat(page.models);
+            	$scope.modelsTotal = $scope.models.length;
+            	$scope.continuationToken = page.continuationToken;
+              $scope.isLoadingMore = false;
+              filterModels();
+            },
+            function(error) {
+                $scope.isLoadingMore = false;
+            }
+        );
+    };
+
     $scope.search();
 
     $scope.itemsByPage 		= 15;
@@ -14,6 +14,7 @@ define([
   '../service/commonDialogServices',
   '../service/modelCreationService',
   '../service/modelDetailsService',
+  '../service/modelSearchService',
   '../service/sessionTimeoutService'
 ], function () {
 
@@ -13,8 +13,8 @@
 define(["../init/appService"], function(repository) {
 
 repository.factory('openCreateModelDialog',
-    ['$rootScope', '$http', '$location', '$uibModal',
-    function($rootScope, $http, $location, $uibModal) {
+    ['$rootScope', '$http', '$location', '$uibModal', 'ModelSearchService',
+    function($rootScope, $http, $location, $uibModal, modelSearchService) {
    
     return function($scope) {
         return function(action) {
@@ -48,11 +48,22 @@ repository.factory('openCreateModelDialog',
                     };
                     
                     $scope.loadFunctionblocks = function() {
+                        var expression = 'state:Released namespace:org.eclipse.vorto type:Functionblock';
+                        var loaded = [];
 
-                        $http.get('./api/v1/search/models?expression=state:Released namespace:org.eclipse.vorto type:Functionblock')
+                        // follows the continuation token until the last page is reached
+                        var loadPage = function(continuationToken) {
+                            return modelSearchService.searchPage(expression, 1000, continuationToken)
+                            .then(function(page) {
+                                loaded = loaded.concat(page.models);
+                                return page.continuationToken ? loadPage(page.continuationToken) : loaded;
+                            });
+                        };
+
+                        loadPage(null)
                         .then(
-                            function(response) {
-                                $scope.functionblocks = response.data;
+                            function(functionblocks) {
+                                $scope.functionblocks = functionblocks;
                                 $scope.isLoading = false;
                             },
                             function(error) {
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+define(["../init/appService"], function (repository) {
+
+  repository.factory('ModelSearchService', ['$http',
+    function ($http) {
+
+      var SEARCH_PAGE_URL = './api/v1/search/models/page';
+
+      var factory = {
+        searchPage: searchPage
+      };
+
+      return factory;
+
+      /**
+       * Fetches one page of the models matching the given expression. The page holds the models
+       * and the continuationToken to fetch the next page with, which is null on the last page.
+       */
+      function searchPage(expression, pageSize, continuationToken) {
+        var params = {
+          expression: expression,
+          pageSize: pageSize
+        };
+        if (continuationToken) {
+          params.continuationToken = continuationToken;
+        }
+        return $http.get(SEARCH_PAGE_URL, {params: params})
+        .then(function (response) {
+          return response.data;
+        });
+      }
+    }]);
+
+});